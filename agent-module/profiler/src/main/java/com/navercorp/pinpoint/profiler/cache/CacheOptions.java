@@ -0,0 +1,98 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Policy;
+
+import java.util.Optional;
+import java.util.OptionalLong;
+
+/**
+ * Bound of a cache: either a maximum number of entries or a maximum weight in bytes.
+ */
+public class CacheOptions {
+
+    private final int maximumSize;
+    private final long maximumWeight;
+    private final boolean recordStats;
+
+    public static CacheOptions ofSize(int maximumSize) {
+        return new CacheOptions(maximumSize, 0, false);
+    }
+
+    /**
+     * @param maximumSize maximum number of entries, used as the initial capacity when the cache is weighted
+     * @param maximumWeight maximum estimated bytes of the entries, 0 or less means bounded by maximumSize
+     * @param recordStats record hit/miss/eviction statistics
+     */
+    public CacheOptions(int maximumSize, long maximumWeight, boolean recordStats) {
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+        this.recordStats = recordStats;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    public boolean isWeighted() {
+        return maximumWeight > 0;
+    }
+
+    public boolean isRecordStats() {
+        return recordStats;
+    }
+
+    <K, V> com.github.benmanes.caffeine.cache.Cache<K, V> newCache() {
+        final Caffeine<Object, Object> cacheBuilder = CaffeineBuilder.newBuilder();
+        cacheBuilder.initialCapacity(maximumSize);
+        if (isWeighted()) {
+            cacheBuilder.maximumWeight(maximumWeight);
+            cacheBuilder.weigher(EntryWeigher.INSTANCE);
+        } else {
+            cacheBuilder.maximumSize(maximumSize);
+        }
+        if (recordStats) {
+            cacheBuilder.recordStats();
+        }
+        return cacheBuilder.build();
+    }
+
+    static long weightedSize(com.github.benmanes.caffeine.cache.Cache<?, ?> cache) {
+        final Optional<? extends Policy.Eviction<?, ?>> eviction = cache.policy().eviction();
+        if (eviction.isPresent()) {
+            final OptionalLong weightedSize = eviction.get().weightedSize();
+            if (weightedSize.isPresent()) {
+                return weightedSize.getAsLong();
+            }
+        }
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public String toString() {
+        return "CacheOptions{" +
+                "maximumSize=" + maximumSize +
+                ", maximumWeight=" + maximumWeight +
+                ", recordStats=" + recordStats +
+                '}';
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * Keeps the 128-bit murmur3 digest of the key instead of the key itself.
+ * <p>
+ * The cached keys are only used to detect values that were already sent, so long keys such as
+ * ORM generated sql do not have to stay on the heap.
+ */
+public class DigestKeyCache<V> implements StatsCache<String, V> {
+
+    private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+
+    private final StatsCache<HashCode, V> delegate;
+
+    public DigestKeyCache(StatsCache<HashCode, V> delegate) {
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+    }
+
+    public static HashCode digest(String key) {
+        return HASH_FUNCTION.hashString(key, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public V put(String key) {
+        return delegate.put(digest(key));
+    }
+
+    @Override
+    public CacheStats stats() {
+        return delegate.stats();
+    }
+
+    @Override
+    public long weightedSize() {
+        return delegate.weightedSize();
+    }
+}
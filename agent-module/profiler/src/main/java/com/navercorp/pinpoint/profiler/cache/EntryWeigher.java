@@ -0,0 +1,58 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import com.google.common.hash.HashCode;
+
+/**
+ * Estimates the retained heap bytes of a cache entry on a 64-bit JVM with compressed oops.
+ * <p>
+ * The weight is an estimate, not a measurement: strings are counted at 2 bytes per char,
+ * while compact strings (JDK 9+) store Latin-1 sql in 1 byte per char, and the overheads are
+ * typical object sizes that vary with the JVM and the cache implementation.
+ */
+final class EntryWeigher implements Weigher<Object, Object> {
+
+    static final EntryWeigher INSTANCE = new EntryWeigher();
+
+    // cache node + Result + id
+    static final int ENTRY_OVERHEAD = 96;
+    // String + char[] header
+    static final int STRING_OVERHEAD = 56;
+    // HashCode + 128bit byte[]
+    static final int DIGEST_WEIGHT = 48;
+    static final int DEFAULT_KEY_WEIGHT = 16;
+
+    private EntryWeigher() {
+    }
+
+    @Override
+    public int weigh(Object key, Object value) {
+        final long weight = ENTRY_OVERHEAD + keyWeight(key);
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    static long keyWeight(Object key) {
+        if (key instanceof String) {
+            return STRING_OVERHEAD + 2L * ((String) key).length();
+        }
+        if (key instanceof HashCode) {
+            return DIGEST_WEIGHT;
+        }
+        return DEFAULT_KEY_WEIGHT;
+    }
+}
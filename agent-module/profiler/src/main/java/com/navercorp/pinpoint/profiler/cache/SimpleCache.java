@@ -16,17 +16,16 @@
 
 package com.navercorp.pinpoint.profiler.cache;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
 import java.util.Objects;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author emeroad
  */
-public class SimpleCache<T> implements Cache<T, Result<Integer>> {
+public class SimpleCache<T> implements StatsCache<T, Result<Integer>> {
     // zero means not exist.
-    private final ConcurrentMap<T, Result<Integer>> cache;
+    private final com.github.benmanes.caffeine.cache.Cache<T, Result<Integer>> cache;
     private final IdAllocator idAllocator;
 
     public SimpleCache(IdAllocator idAllocator) {
@@ -34,22 +33,17 @@ public class SimpleCache<T> implements Cache<T, Result<Integer>> {
     }
 
     public SimpleCache(IdAllocator idAllocator, int cacheSize) {
-        this.cache = createCache(cacheSize);
-        this.idAllocator = Objects.requireNonNull(idAllocator, "idTransformer");
-
+        this(idAllocator, CacheOptions.ofSize(cacheSize));
     }
 
-    private ConcurrentMap<T, Result<Integer>> createCache(int maxCacheSize) {
-        final Caffeine<Object, Object> cacheBuilder = CaffeineBuilder.newBuilder();
-        cacheBuilder.initialCapacity(maxCacheSize);
-        cacheBuilder.maximumSize(maxCacheSize);
-        com.github.benmanes.caffeine.cache.Cache<T, Result<Integer>> localCache = cacheBuilder.build();
-        return localCache.asMap();
+    public SimpleCache(IdAllocator idAllocator, CacheOptions cacheOptions) {
+        this.cache = cacheOptions.newCache();
+        this.idAllocator = Objects.requireNonNull(idAllocator, "idTransformer");
     }
 
     @Override
     public Result<Integer> put(T value) {
-        final Result<Integer> find = this.cache.get(value);
+        final Result<Integer> find = this.cache.getIfPresent(value);
         if (find != null) {
             return find;
         }
@@ -57,7 +51,7 @@ public class SimpleCache<T> implements Cache<T, Result<Integer>> {
         // Use negative values too to reduce data size
         final int newId = nextId();
         final Result<Integer> result = new Result<>(false, newId);
-        final Result<Integer> before = this.cache.putIfAbsent(value, result);
+        final Result<Integer> before = this.cache.asMap().putIfAbsent(value, result);
         if (before != null) {
             return before;
         }
@@ -67,4 +61,14 @@ public class SimpleCache<T> implements Cache<T, Result<Integer>> {
     private int nextId() {
         return this.idAllocator.allocate();
     }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public long weightedSize() {
+        return CacheOptions.weightedSize(cache);
+    }
 }
@@ -1,42 +1,47 @@
 package com.navercorp.pinpoint.profiler.cache;
 
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 
-import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 
-public class UidCache implements Cache<String, Result<byte[]>> {
+public class UidCache<K> implements StatsCache<K, Result<byte[]>> {
     // zero means not exist.
-    private final ConcurrentMap<String, Result<byte[]>> cache;
+    private final com.github.benmanes.caffeine.cache.Cache<K, Result<byte[]>> cache;
 
-    private final Function<String, byte[]> uidFunction;
+    private final Function<K, byte[]> uidFunction;
 
-    public UidCache(int cacheSize, Function<String, byte[]> uidFunction) {
-        this.cache = createCache(cacheSize);
-        this.uidFunction = uidFunction;
+    public UidCache(int cacheSize, Function<K, byte[]> uidFunction) {
+        this(CacheOptions.ofSize(cacheSize), uidFunction);
     }
 
-    private ConcurrentMap<String, Result<byte[]>> createCache(int maxCacheSize) {
-        final Caffeine<Object, Object> cacheBuilder = CaffeineBuilder.newBuilder();
-        cacheBuilder.initialCapacity(maxCacheSize);
-        cacheBuilder.maximumSize(maxCacheSize);
-        com.github.benmanes.caffeine.cache.Cache<String, Result<byte[]>> localCache = cacheBuilder.build();
-        return localCache.asMap();
+    public UidCache(CacheOptions cacheOptions, Function<K, byte[]> uidFunction) {
+        this.cache = cacheOptions.newCache();
+        this.uidFunction = uidFunction;
     }
 
     @Override
-    public Result<byte[]> put(String value) {
-        final Result<byte[]> find = this.cache.get(value);
+    public Result<byte[]> put(K value) {
+        final Result<byte[]> find = this.cache.getIfPresent(value);
         if (find != null) {
             return find;
         }
 
         final byte[] uid = uidFunction.apply(value);
         final Result<byte[]> result = new Result<>(false, uid);
-        final Result<byte[]> before = this.cache.putIfAbsent(value, result);
+        final Result<byte[]> before = this.cache.asMap().putIfAbsent(value, result);
         if (before != null) {
             return before;
         }
         return new Result<>(true, uid);
     }
+
+    @Override
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    @Override
+    public long weightedSize() {
+        return CacheOptions.weightedSize(cache);
+    }
 }
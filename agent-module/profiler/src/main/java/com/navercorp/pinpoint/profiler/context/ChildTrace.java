@@ -147,10 +147,11 @@ public class ChildTrace implements Trace {
         if (spanEvent.isTimeRecording()) {
             spanEvent.markAfterTime();
         }
-        logSpan(spanEvent);
-        // state restore
+        // state restore before the SpanEvent is stored, a stored SpanEvent may be recycled by the SpanEventPool
+        // a late write after the last block end goes to a dummy SpanEvent
         final SpanEvent previous = callStack.peek();
-        wrappedSpanEventRecorder(wrappedSpanEventRecorder, previous);
+        wrappedSpanEventRecorder(wrappedSpanEventRecorder, previous != null ? previous : dummySpanEvent());
+        logSpan(spanEvent);
     }
 
 
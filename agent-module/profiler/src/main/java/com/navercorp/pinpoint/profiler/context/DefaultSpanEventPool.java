@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.util.queue.BoundedArrayQueue;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded lock-free pool of {@link SpanEvent}.
+ * <p>
+ * SpanEvents are acquired on application threads and released on the span sender thread
+ * once the span has been converted to its transport message.
+ * If the pool is empty a new instance is allocated, and if it is full the released instance is left to the GC.
+ */
+public class DefaultSpanEventPool implements SpanEventPool {
+
+    private final BoundedArrayQueue<SpanEvent> pool;
+
+    private final LongAdder allocateCount = new LongAdder();
+    private final LongAdder reuseCount = new LongAdder();
+
+    public DefaultSpanEventPool(int size) {
+        this.pool = new BoundedArrayQueue<>(size);
+    }
+
+    @Override
+    public SpanEvent acquire() {
+        final SpanEvent spanEvent = pool.poll();
+        if (spanEvent != null) {
+            reuseCount.increment();
+            return spanEvent;
+        }
+        allocateCount.increment();
+        return new SpanEvent();
+    }
+
+    @Override
+    public void release(SpanEvent spanEvent) {
+        if (spanEvent == null || SpanEventFactory.isDisableSpanEvent(spanEvent)) {
+            return;
+        }
+        spanEvent.reset();
+        pool.offer(spanEvent);
+    }
+
+    public long getAllocateCount() {
+        return allocateCount.sum();
+    }
+
+    public long getReuseCount() {
+        return reuseCount.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultSpanEventPool{" +
+                "pool=" + pool +
+                ", allocateCount=" + getAllocateCount() +
+                ", reuseCount=" + getReuseCount() +
+                '}';
+    }
+}
@@ -64,6 +64,33 @@ public class SpanEvent extends DefaultFrameAttachment {
         this.annotations.add(annotation);
     }
 
+    /**
+     * Clears the recorded state so that the instance can be reused by {@link SpanEventPool}.
+     * The annotation list is kept to avoid reallocating it.
+     */
+    void reset() {
+        detachFrameObject();
+        this.timeRecording = true;
+        this.stackId = 0;
+        this.startTime = 0;
+        this.elapsedTime = 0;
+        this.sequence = 0;
+        this.serviceType = 0;
+        this.endPoint = null;
+        if (this.annotations instanceof ArrayList) {
+            this.annotations.clear();
+        } else {
+            this.annotations = null;
+        }
+        this.depth = -1;
+        this.nextSpanId = -1;
+        this.destinationId = null;
+        this.apiId = 0;
+        this.exceptionInfo = null;
+        this.asyncIdObject = null;
+        this.executeQueryType = false;
+    }
+
     public void setExceptionInfo(int exceptionClassId, String exceptionMessage) {
         this.exceptionInfo = new IntStringValue(exceptionClassId, exceptionMessage);
     }
@@ -0,0 +1,393 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSlot;
+import com.navercorp.pinpoint.profiler.cache.CaffeineBuilder;
+import com.navercorp.pinpoint.profiler.context.id.LocalTraceRoot;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ActiveTraceRepository that keeps the active trace histogram up to date on register/purge.
+ * <p>
+ * Active traces are counted in stripes selected by thread id. Each stripe keeps the number of active traces and
+ * a ring of counters indexed by the start time of the trace, in buckets of {@code resolution} ms.
+ * The ring only covers the slow threshold of the histogram; older traces are very slow by definition,
+ * so the very slow count is the total minus the other slots.
+ * {@link #getActiveTraceHistogram(long)} reads the counters only, so its cost does not depend on the number of active traces.
+ * The elapsed time of a trace is rounded up to the start of its bucket.
+ * <p>
+ * {@link #snapshot()} and {@link #getThreadIdList()} still scan every active trace for the thread dump.
+ */
+public class StripedActiveTraceRepository implements ActiveTraceRepository {
+
+    // memory leak defense threshold
+    private static final int DEFAULT_MAX_ACTIVE_TRACE_SIZE = 1024 * 10;
+    static final int DEFAULT_RESOLUTION = 100;
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+    private final boolean isDebug = logger.isDebugEnabled();
+
+    // oom safe cache
+    private final ConcurrentMap<ActiveTraceHandle, StripedActiveTrace> activeTraceInfoMap;
+
+    private final ResponseTimeCollector responseTimeCollector;
+
+    private final HistogramSchema histogramSchema = BaseHistogramSchema.NORMAL_SCHEMA;
+    private final ActiveTraceHistogram emptyActiveTraceHistogram = new EmptyActiveTraceHistogram(histogramSchema);
+
+    private final Stripe[] stripes;
+    private final int stripeMask;
+    private final long resolution;
+    private final int bucketSize;
+
+    public StripedActiveTraceRepository(ResponseTimeCollector responseTimeCollector) {
+        this(responseTimeCollector, DEFAULT_MAX_ACTIVE_TRACE_SIZE, Runtime.getRuntime().availableProcessors(), DEFAULT_RESOLUTION);
+    }
+
+    public StripedActiveTraceRepository(ResponseTimeCollector responseTimeCollector, int maxActiveTraceSize, int stripes, int resolution) {
+        this.responseTimeCollector = Objects.requireNonNull(responseTimeCollector, "responseTimeCollector");
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("resolution must be positive");
+        }
+        this.activeTraceInfoMap = createCache(maxActiveTraceSize);
+
+        this.resolution = resolution;
+        // +1 for the partially elapsed bucket, +1 margin
+        this.bucketSize = (int) (histogramSchema.getSlowSlot().getSlotTime() / resolution) + 2;
+
+        final int stripeSize = stripes <= 1 ? 1 : Integer.highestOneBit((stripes - 1) << 1);
+        this.stripes = new Stripe[stripeSize];
+        for (int i = 0; i < stripeSize; i++) {
+            this.stripes[i] = new Stripe(bucketSize);
+        }
+        this.stripeMask = stripeSize - 1;
+    }
+
+    private ConcurrentMap<ActiveTraceHandle, StripedActiveTrace> createCache(int maxActiveTraceSize) {
+        final Caffeine<Object, Object> cacheBuilder = CaffeineBuilder.newBuilder();
+        cacheBuilder.initialCapacity(maxActiveTraceSize);
+        cacheBuilder.maximumSize(maxActiveTraceSize);
+        final Cache<ActiveTraceHandle, StripedActiveTrace> localCache = cacheBuilder
+                .removalListener(this::onRemoval)
+                .build();
+        return localCache.asMap();
+    }
+
+    private void onRemoval(ActiveTraceHandle key, StripedActiveTrace activeTrace, RemovalCause cause) {
+        if (activeTrace != null && cause.wasEvicted()) {
+            // explicit removal is uncounted by purge()
+            uncount(activeTrace);
+        }
+    }
+
+    private void remove(ActiveTraceHandle key, long purgeTime) {
+        if (isDebug) {
+            logger.debug("remove ActiveTrace key:{}", key);
+        }
+        final StripedActiveTrace activeTrace = this.activeTraceInfoMap.remove(key);
+        if (activeTrace != null) {
+            uncount(activeTrace);
+            final long responseTime = purgeTime - activeTrace.getStartTime();
+            responseTimeCollector.add(responseTime);
+        }
+    }
+
+    @Override
+    public ActiveTraceHandle register(LocalTraceRoot localTraceRoot) {
+        if (isDebug) {
+            logger.debug("register ActiveTrace key:{}", localTraceRoot);
+        }
+
+        final long id = localTraceRoot.getLocalTransactionId();
+
+        final ActiveTraceHandle handle = new StripedActiveTraceHandle(id);
+
+        this.activeTraceInfoMap.computeIfAbsent(handle, activeTraceHandle -> {
+            final StripedActiveTrace activeTrace = new StripedActiveTrace(localTraceRoot, currentStripe());
+            count(activeTrace);
+            return activeTrace;
+        });
+
+        return handle;
+    }
+
+    private Stripe currentStripe() {
+        final long threadId = Thread.currentThread().getId();
+        // spread sequential thread ids
+        final int hash = (int) (threadId * 0x9E3779B97F4A7C15L >>> 32);
+        return stripes[hash & stripeMask];
+    }
+
+    private void count(StripedActiveTrace activeTrace) {
+        final long startTime = activeTrace.getStartTime();
+        if (!isStarted(startTime)) {
+            return;
+        }
+        final Stripe stripe = activeTrace.stripe;
+        stripe.activeCount.incrementAndGet();
+
+        final long bucket = startTime / resolution;
+        final int index = (int) (bucket % bucketSize);
+        final AtomicLongArray counters = stripe.counters;
+        while (true) {
+            final long current = counters.get(index);
+            final long currentBucket = current >>> COUNT_BITS;
+            final long next;
+            if (currentBucket == bucket) {
+                next = current + 1;
+            } else if (currentBucket < bucket) {
+                // recycle the bucket, its traces are older than the slow threshold
+                next = (bucket << COUNT_BITS) | 1;
+            } else {
+                // older than the slow threshold, counted as very slow
+                return;
+            }
+            if (counters.compareAndSet(index, current, next)) {
+                return;
+            }
+        }
+    }
+
+    private void uncount(StripedActiveTrace activeTrace) {
+        final long startTime = activeTrace.getStartTime();
+        if (!isStarted(startTime)) {
+            return;
+        }
+        final Stripe stripe = activeTrace.stripe;
+        stripe.activeCount.decrementAndGet();
+
+        final long bucket = startTime / resolution;
+        final int index = (int) (bucket % bucketSize);
+        final AtomicLongArray counters = stripe.counters;
+        while (true) {
+            final long current = counters.get(index);
+            if ((current >>> COUNT_BITS) != bucket || (current & COUNT_MASK) == 0) {
+                // bucket already recycled
+                return;
+            }
+            if (counters.compareAndSet(index, current, current - 1)) {
+                return;
+            }
+        }
+    }
+
+    // @ThreadSafe
+    @Override
+    public List<ActiveTraceSnapshot> snapshot() {
+        if (this.activeTraceInfoMap.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Collection<StripedActiveTrace> activeTraceCollection = this.activeTraceInfoMap.values();
+        final List<ActiveTraceSnapshot> collectData = new ArrayList<>(activeTraceCollection.size());
+
+        for (ActiveTrace trace : activeTraceCollection) {
+            final long startTime = trace.getStartTime();
+            // not started
+            if (!isStarted(startTime)) {
+                continue;
+            }
+            final ActiveTraceSnapshot snapshot = trace.snapshot();
+            collectData.add(snapshot);
+        }
+        if (isDebug) {
+            logger.debug("activeTraceSnapshot size:{}", collectData.size());
+        }
+        return collectData;
+    }
+
+    // @ThreadSafe
+    @Override
+    public List<Long> getThreadIdList() {
+        final List<ActiveTraceSnapshot> snapshots = snapshot();
+        if (snapshots.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final List<Long> collectData = new ArrayList<>(snapshots.size());
+        for (ActiveTraceSnapshot snapshot : snapshots) {
+            collectData.add(snapshot.getThreadId());
+        }
+        return collectData;
+    }
+
+    // @ThreadSafe
+    @Override
+    public ActiveTraceHistogram getActiveTraceHistogram(long currentTime) {
+        long activeCount = 0;
+        long fastCount = 0;
+        long normalCount = 0;
+        long slowCount = 0;
+        for (Stripe stripe : stripes) {
+            activeCount += stripe.activeCount.get();
+
+            final AtomicLongArray counters = stripe.counters;
+            for (int i = 0; i < bucketSize; i++) {
+                final long current = counters.get(i);
+                final long count = current & COUNT_MASK;
+                if (count == 0) {
+                    continue;
+                }
+                final long bucketStartTime = (current >>> COUNT_BITS) * resolution;
+                final long elapsedTime = currentTime - bucketStartTime;
+                final HistogramSlot slot = histogramSchema.findHistogramSlot((int) Math.min(elapsedTime, Integer.MAX_VALUE), false);
+                switch (slot.getSlotType()) {
+                    case FAST:
+                        fastCount += count;
+                        break;
+                    case NORMAL:
+                        normalCount += count;
+                        break;
+                    case SLOW:
+                        slowCount += count;
+                        break;
+                    default:
+                        // derived from activeCount
+                        break;
+                }
+            }
+        }
+        if (activeCount <= 0) {
+            return emptyActiveTraceHistogram;
+        }
+        final long verySlowCount = Math.max(0, activeCount - fastCount - normalCount - slowCount);
+        return new StripedActiveTraceHistogram(histogramSchema, (int) fastCount, (int) normalCount, (int) slowCount, (int) verySlowCount);
+    }
+
+    private boolean isStarted(long startTime) {
+        return startTime > 0;
+    }
+
+    private static final class Stripe {
+        private final AtomicLong activeCount = new AtomicLong();
+        // (start time bucket << COUNT_BITS) | count
+        private final AtomicLongArray counters;
+
+        private Stripe(int bucketSize) {
+            this.counters = new AtomicLongArray(bucketSize);
+        }
+    }
+
+    private static final class StripedActiveTrace extends DefaultActiveTrace {
+        // the stripe the trace is counted in, purge may happen on another thread
+        private final Stripe stripe;
+
+        private StripedActiveTrace(LocalTraceRoot traceRoot, Stripe stripe) {
+            super(traceRoot);
+            this.stripe = stripe;
+        }
+    }
+
+    private static final class StripedActiveTraceHistogram implements ActiveTraceHistogram {
+        private final HistogramSchema histogramSchema;
+        private final int fastCount;
+        private final int normalCount;
+        private final int slowCount;
+        private final int verySlowCount;
+
+        private StripedActiveTraceHistogram(HistogramSchema histogramSchema, int fastCount, int normalCount, int slowCount, int verySlowCount) {
+            this.histogramSchema = histogramSchema;
+            this.fastCount = fastCount;
+            this.normalCount = normalCount;
+            this.slowCount = slowCount;
+            this.verySlowCount = verySlowCount;
+        }
+
+        @Override
+        public HistogramSchema getHistogramSchema() {
+            return histogramSchema;
+        }
+
+        @Override
+        public int getFastCount() {
+            return fastCount;
+        }
+
+        @Override
+        public int getNormalCount() {
+            return normalCount;
+        }
+
+        @Override
+        public int getSlowCount() {
+            return slowCount;
+        }
+
+        @Override
+        public int getVerySlowCount() {
+            return verySlowCount;
+        }
+
+        @Override
+        public List<Integer> getCounter() {
+            return Arrays.asList(fastCount, normalCount, slowCount, verySlowCount);
+        }
+    }
+
+    private class StripedActiveTraceHandle implements ActiveTraceHandle {
+        private final long id;
+
+        StripedActiveTraceHandle(long id) {
+            this.id = id;
+        }
+
+        @Override
+        public void purge(long purgeTime) {
+            remove(this, purgeTime);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            StripedActiveTraceHandle that = (StripedActiveTraceHandle) o;
+
+            return id == that.id;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(id);
+        }
+
+        @Override
+        public String toString() {
+            return "StripedActiveTraceHandle{" +
+                    "id=" + id +
+                    '}';
+        }
+    }
+}
@@ -20,6 +20,8 @@ public interface ContextConfig {
 
     boolean isTraceAgentActiveThread();
 
+    boolean isTraceAgentActiveThreadStriped();
+
     boolean isTraceAgentDataSource();
 
     int getDataSourceTraceLimitSize();
@@ -36,6 +38,10 @@ public interface ContextConfig {
 
     int getIoBufferingBufferSize();
 
+    boolean isSpanEventPoolEnable();
+
+    int getSpanEventPoolSize();
+
     String getProfilerJvmVendorName();
 
     String getProfilerOSName();
@@ -22,6 +22,8 @@ public class DefaultContextConfig implements ContextConfig {
 
     @Value("${profiler.pinpoint.activethread}")
     private boolean traceAgentActiveThread = true;
+    @Value("${profiler.pinpoint.activethread.striped}")
+    private boolean traceAgentActiveThreadStriped = false;
 
     @Value("${profiler.pinpoint.datasource}")
     private boolean traceAgentDataSource = false;
@@ -49,6 +51,11 @@ public class DefaultContextConfig implements ContextConfig {
     @Value("${profiler.io.buffering.buffersize}")
     private int ioBufferingBufferSize = 20;
 
+    @Value("${profiler.span.event.pool.enable}")
+    private boolean spanEventPoolEnable = false;
+    @Value("${profiler.span.event.pool.size}")
+    private int spanEventPoolSize = 4096;
+
     @Value("profiler.jvm.vendor.name")
     private String profileJvmVendorName;
     // JVM
@@ -71,6 +78,11 @@ public class DefaultContextConfig implements ContextConfig {
         return traceAgentActiveThread;
     }
 
+    @Override
+    public boolean isTraceAgentActiveThreadStriped() {
+        return traceAgentActiveThreadStriped;
+    }
+
     @Override
     public boolean isTraceAgentDataSource() {
         return traceAgentDataSource;
@@ -111,6 +123,16 @@ public class DefaultContextConfig implements ContextConfig {
         return ioBufferingBufferSize;
     }
 
+    @Override
+    public boolean isSpanEventPoolEnable() {
+        return spanEventPoolEnable;
+    }
+
+    @Override
+    public int getSpanEventPoolSize() {
+        return spanEventPoolSize;
+    }
+
     @Override
     public String getProfilerJvmVendorName() {
         return profileJvmVendorName;
@@ -135,6 +157,7 @@ public class DefaultContextConfig implements ContextConfig {
     public String toString() {
         return "DefaultContextConfig{" +
                 "traceAgentActiveThread=" + traceAgentActiveThread +
+                ", traceAgentActiveThreadStriped=" + traceAgentActiveThreadStriped +
                 ", traceAgentDataSource=" + traceAgentDataSource +
                 ", dataSourceTraceLimitSize=" + dataSourceTraceLimitSize +
                 ", deadlockMonitorEnable=" + deadlockMonitorEnable +
@@ -143,6 +166,8 @@ public class DefaultContextConfig implements ContextConfig {
                 ", samplingContinueThroughput=" + samplingContinueThroughput +
                 ", ioBufferingEnable=" + ioBufferingEnable +
                 ", ioBufferingBufferSize=" + ioBufferingBufferSize +
+                ", spanEventPoolEnable=" + spanEventPoolEnable +
+                ", spanEventPoolSize=" + spanEventPoolSize +
                 ", profileJvmVendorName='" + profileJvmVendorName + '\'' +
                 ", profileOsName='" + profileOsName + '\'' +
                 ", DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL=" + DEFAULT_AGENT_INFO_SEND_RETRY_INTERVAL +
@@ -22,14 +22,18 @@ import com.navercorp.pinpoint.common.profiler.logging.ThrottledLogger;
 import com.navercorp.pinpoint.common.profiler.message.MessageConverter;
 import com.navercorp.pinpoint.grpc.trace.PSpan;
 import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.profiler.context.DisabledSpanEventPool;
 import com.navercorp.pinpoint.profiler.context.Span;
 import com.navercorp.pinpoint.profiler.context.SpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
 import com.navercorp.pinpoint.profiler.context.grpc.mapper.SpanMessageMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -50,29 +54,52 @@ public class GrpcSpanMessageConverter implements MessageConverter<SpanType, Gene
 
 
     private final SpanMessageMapper mapper;
+    private final SpanEventPool spanEventPool;
 
     public GrpcSpanMessageConverter(String agentId, short applicationServiceType,
                                     SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor,
                                     SpanMessageMapper spanMessageMapper) {
+        this(agentId, applicationServiceType, spanProcessor, spanMessageMapper, DisabledSpanEventPool.INSTANCE);
+    }
+
+    public GrpcSpanMessageConverter(String agentId, short applicationServiceType,
+                                    SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanProcessor,
+                                    SpanMessageMapper spanMessageMapper,
+                                    SpanEventPool spanEventPool) {
         this.agentId = Objects.requireNonNull(agentId, "agentId");
         this.applicationServiceType = applicationServiceType;
         this.spanProcessor = Objects.requireNonNull(spanProcessor, "spanProcessor");
         this.mapper = Objects.requireNonNull(spanMessageMapper, "spanMessageMapper");
+        this.spanEventPool = Objects.requireNonNull(spanEventPool, "spanEventPool");
     }
 
     @Override
     public GeneratedMessageV3 toMessage(SpanType message) {
         if (message instanceof SpanChunk) {
             final SpanChunk spanChunk = (SpanChunk) message;
-            return buildPSpanChunk(spanChunk);
+            final PSpanChunk pSpanChunk = buildPSpanChunk(spanChunk);
+            release(spanChunk.getSpanEventList());
+            return pSpanChunk;
         }
         if (message instanceof Span) {
             final Span span = (Span) message;
-            return buildPSpan(span);
+            final PSpan pSpan = buildPSpan(span);
+            release(span.getSpanEventList());
+            return pSpan;
         }
         return null;
     }
 
+    private void release(List<SpanEvent> spanEventList) {
+        if (spanEventList == null) {
+            return;
+        }
+        // SpanEvents are no longer referenced once converted
+        for (SpanEvent spanEvent : spanEventList) {
+            spanEventPool.release(spanEvent);
+        }
+    }
+
     @VisibleForTesting
     PSpan buildPSpan(Span span) {
         final PSpan.Builder pSpan = PSpan.newBuilder();
@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.common.profiler.message.MessageConverter;
 import com.navercorp.pinpoint.common.trace.ServiceType;
 import com.navercorp.pinpoint.grpc.trace.PSpan;
 import com.navercorp.pinpoint.grpc.trace.PSpanChunk;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.SpanType;
 import com.navercorp.pinpoint.profiler.context.compress.SpanProcessor;
 import com.navercorp.pinpoint.profiler.context.grpc.config.SpanUriGetter;
@@ -42,22 +43,25 @@ public class GrpcSpanMessageConverterProvider implements Provider<MessageConvert
     private final SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanPostProcessor;
     private final SpanUriGetter spanUriGetter;
     private final SpanMessageMapper mapper;
+    private final SpanEventPool spanEventPool;
 
     @Inject
     public GrpcSpanMessageConverterProvider(@AgentId String agentId, @ApplicationServerType ServiceType applicationServiceType,
                                             SpanProcessor<PSpan.Builder, PSpanChunk.Builder> spanPostProcessor,
                                             SpanUriGetter spanUriGetter,
-                                            SpanMessageMapper spanMessageMapper) {
+                                            SpanMessageMapper spanMessageMapper,
+                                            SpanEventPool spanEventPool) {
         this.agentId = Objects.requireNonNull(agentId, "agentId");
         this.applicationServiceTypeCode = applicationServiceType.getCode();
         this.spanPostProcessor = Objects.requireNonNull(spanPostProcessor, "spanPostProcessor");
         this.spanUriGetter = Objects.requireNonNull(spanUriGetter, "spanUriGetter");
         this.mapper = Objects.requireNonNull(spanMessageMapper, "spanMessageMapper");
+        this.spanEventPool = Objects.requireNonNull(spanEventPool, "spanEventPool");
     }
 
     @Override
     public MessageConverter<SpanType, GeneratedMessageV3> get() {
-        return new GrpcSpanMessageConverter(agentId, applicationServiceTypeCode, spanPostProcessor, mapper);
+        return new GrpcSpanMessageConverter(agentId, applicationServiceTypeCode, spanPostProcessor, mapper, spanEventPool);
     }
 
 }
@@ -23,6 +23,7 @@ import com.navercorp.pinpoint.common.config.util.ValueAnnotationProcessor;
 import com.navercorp.pinpoint.common.config.util.spring.PropertyPlaceholderHelper;
 import com.navercorp.pinpoint.grpc.client.config.ClientOption;
 import com.navercorp.pinpoint.grpc.client.config.SslOption;
+import com.navercorp.pinpoint.profiler.sender.grpc.SenderQueueType;
 
 import java.util.Properties;
 
@@ -61,6 +62,7 @@ public class GrpcTransportConfig {
     private static final long DEFAULT_DISCARD_COUNT_FOR_RECONNECT = 1000;
     private static final long DEFAULT_NOT_READY_TIMEOUT_MILLIS = 5 * 60 * 1000;
     private static final long DEFAULT_RPC_MAX_AGE_MILLIS = 3153600000000L; // Disabled
+    private static final String DEFAULT_SENDER_QUEUE_TYPE = SenderQueueType.DEFAULT_SENDER_QUEUE_TYPE.name();
 
     public final static long DEFAULT_RENEW_TRANSPORT_PERIOD_MILLIS_DISABLE = 3153600000000L;
     private static final long DEFAULT_RENEW_TRANSPORT_PERIOD_MILLIS = DEFAULT_RENEW_TRANSPORT_PERIOD_MILLIS_DISABLE; // Disabled
@@ -167,6 +169,9 @@ public class GrpcTransportConfig {
     @Value("${profiler.transport.grpc.span.sender.rpc.age.max.millis}")
     private long spanRpcMaxAgeMillis = DEFAULT_RPC_MAX_AGE_MILLIS;
 
+    @Value("${profiler.transport.grpc.sender.queue.type}")
+    private String senderQueueType = DEFAULT_SENDER_QUEUE_TYPE;
+
     @Value("${profiler.transport.grpc.loadbalancer.renew.period.millis}")
     private long renewTransportPeriodMillis = DEFAULT_RENEW_TRANSPORT_PERIOD_MILLIS;
 
@@ -326,6 +331,10 @@ public class GrpcTransportConfig {
         return spanRpcMaxAgeMillis;
     }
 
+    public SenderQueueType getSenderQueueType() {
+        return SenderQueueType.of(senderQueueType);
+    }
+
     public long getRenewTransportPeriodMillis() {
         return renewTransportPeriodMillis;
     }
@@ -449,6 +458,7 @@ public class GrpcTransportConfig {
         sb.append(", agentRequestTimeout=").append(agentRequestTimeout);
         sb.append(", metadataRequestTimeout=").append(metadataRequestTimeout);
         sb.append(", spanRequestTimeout=").append(spanRequestTimeout);
+        sb.append(", senderQueueType=").append(senderQueueType);
         sb.append(", statRequestTimeout=").append(statRequestTimeout);
         sb.append(", metadataRetryMaxCount=").append(metadataRetryMaxCount);
         sb.append(", metadataRetryDelayMillis=").append(metadataRetryDelayMillis);
@@ -43,6 +43,7 @@ import com.navercorp.pinpoint.profiler.instrument.ASMBytecodeDumpService;
 import com.navercorp.pinpoint.profiler.instrument.BytecodeDumpTransformer;
 import com.navercorp.pinpoint.profiler.instrument.InstrumentEngine;
 import com.navercorp.pinpoint.profiler.instrument.lambda.LambdaTransformBootloader;
+import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerLookupCache;
 import com.navercorp.pinpoint.profiler.interceptor.registry.InterceptorRegistryBinder;
 import com.navercorp.pinpoint.profiler.monitor.AgentStatMonitor;
 import com.navercorp.pinpoint.profiler.monitor.DeadlockMonitor;
@@ -75,6 +76,7 @@ public class DefaultApplicationContext implements ApplicationContext {
     private final ServerMetaDataRegistryService serverMetaDataRegistryService;
 
     private final ClassFileTransformer classFileTransformer;
+    private final TransformerLookupCache transformerLookupCache;
 
     private final InstrumentEngine instrumentEngine;
     private final DynamicTransformTrigger dynamicTransformTrigger;
@@ -101,6 +103,7 @@ public class DefaultApplicationContext implements ApplicationContext {
         this.instrumentEngine = injector.getInstance(InstrumentEngine.class);
 
         this.classFileTransformer = injector.getInstance(ClassFileTransformer.class);
+        this.transformerLookupCache = injector.getInstance(TransformerLookupCache.class);
         this.dynamicTransformTrigger = injector.getInstance(DynamicTransformTrigger.class);
 
         ClassFileTransformer classFileTransformer = wrap(this.classFileTransformer);
@@ -234,6 +237,7 @@ public class DefaultApplicationContext implements ApplicationContext {
         this.agentInfoSender.stop();
         this.agentStatMonitor.stop();
         this.deadlockMonitor.stop();
+        this.transformerLookupCache.close();
 
         // Need to process stop
         if (rpcModuleLifeCycle != null) {
@@ -22,6 +22,8 @@ import com.google.inject.Provider;
 import com.navercorp.pinpoint.profiler.context.active.ActiveTraceRepository;
 import com.navercorp.pinpoint.profiler.context.active.DefaultActiveTraceRepository;
 import com.navercorp.pinpoint.profiler.context.active.EmptyActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.active.StripedActiveTraceRepository;
+import com.navercorp.pinpoint.profiler.context.config.ContextConfig;
 import com.navercorp.pinpoint.profiler.context.module.config.TraceAgentActiveThread;
 import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeCollector;
 
@@ -34,17 +36,23 @@ import java.util.Objects;
 public class ActiveTraceRepositoryProvider implements Provider<ActiveTraceRepository> {
 
     private final boolean isTraceAgentActiveThread;
+    private final boolean isTraceAgentActiveThreadStriped;
     private final ResponseTimeCollector responseTimeCollector;
 
     @Inject
-    public ActiveTraceRepositoryProvider(@TraceAgentActiveThread boolean isTraceAgentActiveThread, ResponseTimeCollector responseTimeCollector) {
+    public ActiveTraceRepositoryProvider(@TraceAgentActiveThread boolean isTraceAgentActiveThread, ContextConfig contextConfig, ResponseTimeCollector responseTimeCollector) {
         this.isTraceAgentActiveThread = isTraceAgentActiveThread;
+        Objects.requireNonNull(contextConfig, "contextConfig");
+        this.isTraceAgentActiveThreadStriped = contextConfig.isTraceAgentActiveThreadStriped();
         this.responseTimeCollector = Objects.requireNonNull(responseTimeCollector, "responseTimeCollector");
 
     }
 
     public ActiveTraceRepository get() {
         if (isTraceAgentActiveThread) {
+            if (isTraceAgentActiveThreadStriped) {
+                return new StripedActiveTraceRepository(responseTimeCollector);
+            }
             return new DefaultActiveTraceRepository(responseTimeCollector);
         }
         ActiveTraceRepository emptyActiveTraceRepository = new EmptyActiveTraceRepository(responseTimeCollector);
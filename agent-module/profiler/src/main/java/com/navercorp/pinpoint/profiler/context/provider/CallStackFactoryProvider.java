@@ -22,6 +22,7 @@ import com.navercorp.pinpoint.profiler.context.CallStackFactory;
 import com.navercorp.pinpoint.profiler.context.CallStackFactoryV1;
 import com.navercorp.pinpoint.profiler.context.CallStackFactoryV2;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
 import com.navercorp.pinpoint.profiler.context.TraceDataFormatVersion;
 import com.navercorp.pinpoint.profiler.instrument.config.InstrumentConfig;
 
@@ -36,11 +37,14 @@ public class CallStackFactoryProvider implements Provider<CallStackFactory<SpanE
     private final int callStackMaxDepth;
     private final int callStackMaxSequence;
     private final int callStackOverflowLogRation;
+    private final SpanEventPool spanEventPool;
 
     @Inject
     public CallStackFactoryProvider(InstrumentConfig instrumentConfig,
-                                    TraceDataFormatVersion version) {
+                                    TraceDataFormatVersion version,
+                                    SpanEventPool spanEventPool) {
         this.version = Objects.requireNonNull(version, "version");
+        this.spanEventPool = Objects.requireNonNull(spanEventPool, "spanEventPool");
         this.callStackMaxDepth = instrumentConfig.getCallStackMaxDepth();
         this.callStackMaxSequence = instrumentConfig.getCallStackMaxSequence();
         this.callStackOverflowLogRation = instrumentConfig.getCallStackOverflowLogRation();
@@ -49,7 +53,7 @@ public class CallStackFactoryProvider implements Provider<CallStackFactory<SpanE
     @Override
     public CallStackFactory<SpanEvent> get() {
         if (version == TraceDataFormatVersion.V2) {
-            return new CallStackFactoryV2(callStackMaxDepth, callStackMaxSequence, callStackOverflowLogRation);
+            return new CallStackFactoryV2(callStackMaxDepth, callStackMaxSequence, callStackOverflowLogRation, spanEventPool);
         }
         if (version == TraceDataFormatVersion.V1) {
             return new CallStackFactoryV1(callStackMaxDepth, callStackMaxSequence, callStackOverflowLogRation);
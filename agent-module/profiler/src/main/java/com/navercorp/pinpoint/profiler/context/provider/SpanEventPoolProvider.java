@@ -0,0 +1,43 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.profiler.context.DefaultSpanEventPool;
+import com.navercorp.pinpoint.profiler.context.DisabledSpanEventPool;
+import com.navercorp.pinpoint.profiler.context.SpanEventPool;
+import com.navercorp.pinpoint.profiler.context.config.ContextConfig;
+
+import java.util.Objects;
+
+public class SpanEventPoolProvider implements Provider<SpanEventPool> {
+
+    private final ContextConfig contextConfig;
+
+    @Inject
+    public SpanEventPoolProvider(ContextConfig contextConfig) {
+        this.contextConfig = Objects.requireNonNull(contextConfig, "contextConfig");
+    }
+
+    @Override
+    public SpanEventPool get() {
+        if (contextConfig.isSpanEventPoolEnable()) {
+            return new DefaultSpanEventPool(contextConfig.getSpanEventPoolSize());
+        }
+        return DisabledSpanEventPool.INSTANCE;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.provider;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.navercorp.pinpoint.common.Version;
+import com.navercorp.pinpoint.common.util.StringUtils;
+import com.navercorp.pinpoint.profiler.instrument.config.InstrumentConfig;
+import com.navercorp.pinpoint.profiler.instrument.config.InstrumentMatcherCacheConfig;
+import com.navercorp.pinpoint.profiler.instrument.transformer.DefaultTransformerLookupCache;
+import com.navercorp.pinpoint.profiler.instrument.transformer.DisableTransformerLookupCache;
+import com.navercorp.pinpoint.profiler.instrument.transformer.TransformerLookupCache;
+import com.navercorp.pinpoint.profiler.plugin.MatchableClassFileTransformer;
+import com.navercorp.pinpoint.profiler.plugin.PluginContextLoadResult;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.instrument.ClassFileTransformer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+public class TransformerLookupCacheProvider implements Provider<TransformerLookupCache> {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final InstrumentConfig instrumentConfig;
+    private final InstrumentMatcherCacheConfig instrumentMatcherCacheConfig;
+    private final PluginContextLoadResult pluginContextLoadResult;
+
+    @Inject
+    public TransformerLookupCacheProvider(InstrumentConfig instrumentConfig,
+                                          InstrumentMatcherCacheConfig instrumentMatcherCacheConfig,
+                                          PluginContextLoadResult pluginContextLoadResult) {
+        this.instrumentConfig = Objects.requireNonNull(instrumentConfig, "instrumentConfig");
+        this.instrumentMatcherCacheConfig = Objects.requireNonNull(instrumentMatcherCacheConfig, "instrumentMatcherCacheConfig");
+        this.pluginContextLoadResult = Objects.requireNonNull(pluginContextLoadResult, "pluginContextLoadResult");
+    }
+
+    @Override
+    public TransformerLookupCache get() {
+        if (!instrumentMatcherCacheConfig.isInstrumentMatcherEnable() || !instrumentMatcherCacheConfig.isLookupCacheEnable()) {
+            return new DisableTransformerLookupCache();
+        }
+
+        final String lookupCacheFile = instrumentMatcherCacheConfig.getLookupCacheFile();
+        final Path cacheFile = StringUtils.hasText(lookupCacheFile) ? Paths.get(lookupCacheFile) : null;
+        final TransformerLookupCache lookupCache = new DefaultTransformerLookupCache(cacheFile, newVersion(), instrumentMatcherCacheConfig.getLookupCacheSize());
+        logger.info("{}", lookupCache);
+        return lookupCache;
+    }
+
+    /**
+     * agent version + plugin matchers + instrument configuration
+     */
+    private String newVersion() {
+        final List<String> matchers = new ArrayList<>();
+        for (ClassFileTransformer transformer : pluginContextLoadResult.getClassFileTransformer()) {
+            if (transformer instanceof MatchableClassFileTransformer) {
+                matchers.add(String.valueOf(((MatchableClassFileTransformer) transformer).getMatcher()));
+            }
+        }
+        Collections.sort(matchers);
+
+        final CRC32 crc32 = new CRC32();
+        for (String matcher : matchers) {
+            crc32.update(matcher.getBytes(StandardCharsets.UTF_8));
+        }
+        crc32.update(String.valueOf(instrumentConfig).getBytes(StandardCharsets.UTF_8));
+        crc32.update(String.valueOf(instrumentMatcherCacheConfig).getBytes(StandardCharsets.UTF_8));
+        return Version.VERSION + '-' + matchers.size() + '-' + Long.toHexString(crc32.getValue());
+    }
+}
@@ -109,7 +109,7 @@ public class SpanGrpcDataSenderProvider implements Provider<DataSender<SpanType>
         logger.info("failState:{}", failState);
 
         final SpanGrpcDataSender spanGrpcDataSender = new SpanGrpcDataSender(collectorIp, collectorPort,
-                senderExecutorQueueSize, messageConverter,
+                senderExecutorQueueSize, grpcTransportConfig.getSenderQueueType(), messageConverter,
                 reconnectExecutor, channelFactory, failState, grpcTransportConfig.getSpanRpcMaxAgeMillis());
 
         if (grpcTransportConfig.isSpanEnableStatLogging()) {
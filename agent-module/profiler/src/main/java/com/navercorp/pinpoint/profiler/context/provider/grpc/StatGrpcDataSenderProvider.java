@@ -31,6 +31,7 @@ import com.navercorp.pinpoint.profiler.context.grpc.config.GrpcTransportConfig;
 import com.navercorp.pinpoint.profiler.context.module.StatDataSender;
 import com.navercorp.pinpoint.profiler.monitor.metric.MetricType;
 import com.navercorp.pinpoint.profiler.sender.grpc.ReconnectExecutor;
+import com.navercorp.pinpoint.profiler.sender.grpc.SenderQueueType;
 import com.navercorp.pinpoint.profiler.sender.grpc.StatGrpcDataSender;
 import io.grpc.ClientInterceptor;
 import io.grpc.NameResolverProvider;
@@ -89,7 +90,8 @@ public class StatGrpcDataSenderProvider implements Provider<DataSender<MetricTyp
 
         // not singleton
         ReconnectExecutor reconnectExecutor = reconnectExecutorProvider.get();
-        return new StatGrpcDataSender(collectorIp, collectorPort, senderExecutorQueueSize, messageConverter, reconnectExecutor, channelFactory);
+        final SenderQueueType senderQueueType = grpcTransportConfig.getSenderQueueType();
+        return new StatGrpcDataSender(collectorIp, collectorPort, senderExecutorQueueSize, senderQueueType, messageConverter, reconnectExecutor, channelFactory);
     }
 
     private ChannelFactoryBuilder newChannelFactoryBuilder(boolean sslEnable) {
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.profiler.context.provider.metadata;
 
+import com.navercorp.pinpoint.profiler.cache.CacheOptions;
 import com.navercorp.pinpoint.profiler.cache.IdAllocator;
 import com.navercorp.pinpoint.profiler.cache.SimpleCache;
 
@@ -42,6 +43,11 @@ public class SimpleCacheFactory {
         return new SimpleCache<>(idAllocator, size);
     }
 
+    public <T> SimpleCache<T> newSimpleCache(CacheOptions cacheOptions) {
+        IdAllocator idAllocator = newIdAllocator(type, cacheOptions.getMaximumSize());
+        return new SimpleCache<>(idAllocator, cacheOptions);
+    }
+
     private IdAllocator newIdAllocator(IdAllocator.ID_TYPE type, int size) {
         switch (type) {
             case BYPASS:
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.provider.metadata;
+
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.common.util.ByteSizeUnit;
+import com.navercorp.pinpoint.profiler.cache.CacheOptions;
+
+import java.util.Objects;
+
+public class SqlCacheConfig {
+
+    public static final String MAX_WEIGHT_NAME = "profiler.jdbc.sqlcache.maxweight";
+    public static final String DIGEST_KEY_NAME = "profiler.jdbc.sqlcache.digestkey";
+
+    private final int cacheSize;
+    private final long maxWeight;
+    private final boolean digestKey;
+
+    public SqlCacheConfig(ProfilerConfig profilerConfig) {
+        Objects.requireNonNull(profilerConfig, "profilerConfig");
+        this.cacheSize = profilerConfig.getJdbcSqlCacheSize();
+        final String maxWeight = profilerConfig.readString(MAX_WEIGHT_NAME, null);
+        this.maxWeight = ByteSizeUnit.getByteSize(maxWeight, 0);
+        this.digestKey = profilerConfig.readBoolean(DIGEST_KEY_NAME, false);
+    }
+
+    public int getCacheSize() {
+        return cacheSize;
+    }
+
+    /**
+     * @return maximum estimated bytes of the cached sql, 0 means bounded by {@link #getCacheSize()}
+     */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public boolean isDigestKey() {
+        return digestKey;
+    }
+
+    public CacheOptions toCacheOptions() {
+        return new CacheOptions(cacheSize, maxWeight, false);
+    }
+
+    @Override
+    public String toString() {
+        return "SqlCacheConfig{" +
+                "cacheSize=" + cacheSize +
+                ", maxWeight=" + maxWeight +
+                ", digestKey=" + digestKey +
+                '}';
+    }
+}
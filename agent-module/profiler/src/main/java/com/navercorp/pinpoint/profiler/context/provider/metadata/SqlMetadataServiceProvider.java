@@ -16,11 +16,16 @@
 
 package com.navercorp.pinpoint.profiler.context.provider.metadata;
 
+import com.google.common.hash.HashCode;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.common.profiler.message.EnhancedDataSender;
-import com.navercorp.pinpoint.profiler.cache.SimpleCache;
+import com.navercorp.pinpoint.profiler.cache.CacheOptions;
+import com.navercorp.pinpoint.profiler.cache.DigestKeyCache;
+import com.navercorp.pinpoint.profiler.cache.Result;
+import com.navercorp.pinpoint.profiler.cache.StatsCache;
+import com.navercorp.pinpoint.profiler.cache.UidCache;
 import com.navercorp.pinpoint.profiler.context.module.MetadataDataSender;
 import com.navercorp.pinpoint.profiler.context.monitor.config.MonitorConfig;
 import com.navercorp.pinpoint.profiler.metadata.DefaultSqlMetaDataService;
@@ -30,6 +35,8 @@ import com.navercorp.pinpoint.profiler.metadata.SqlCacheService;
 import com.navercorp.pinpoint.profiler.metadata.SqlMetaDataService;
 import com.navercorp.pinpoint.profiler.metadata.SqlUidMetaDataService;
 import com.navercorp.pinpoint.profiler.metadata.UidCachingSqlNormalizer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 import java.util.Objects;
 
@@ -37,6 +44,8 @@ import java.util.Objects;
  * @author Woonduk Kang(emeroad)
  */
 public class SqlMetadataServiceProvider implements Provider<SqlMetaDataService> {
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
     private final ProfilerConfig profilerConfig;
     private final MonitorConfig monitorConfig;
     private final EnhancedDataSender<MetaDataType> enhancedDataSender;
@@ -55,20 +64,40 @@ public class SqlMetadataServiceProvider implements Provider<SqlMetaDataService>
 
     @Override
     public SqlMetaDataService get() {
-        final int jdbcSqlCacheSize = profilerConfig.getJdbcSqlCacheSize();
+        final SqlCacheConfig sqlCacheConfig = new SqlCacheConfig(profilerConfig);
+        logger.info("SqlCacheConfig:{}", sqlCacheConfig);
+        final CacheOptions cacheOptions = sqlCacheConfig.toCacheOptions();
         final int maxSqlLength = profilerConfig.getMaxSqlLength();
 
         if (monitorConfig.isSqlStatEnable()) {
             final int maxSqlCacheLength = profilerConfig.getMaxSqlCacheLength();
 
-            UidCachingSqlNormalizer simpleCachingSqlNormalizer = new UidCachingSqlNormalizer(jdbcSqlCacheSize, maxSqlCacheLength);
+            final StatsCache<String, Result<byte[]>> sqlCache = newUidCache(sqlCacheConfig, cacheOptions);
+            UidCachingSqlNormalizer simpleCachingSqlNormalizer = new UidCachingSqlNormalizer(sqlCache, maxSqlCacheLength);
             SqlCacheService<byte[]> sqlCacheService = new SqlCacheService<>(enhancedDataSender, simpleCachingSqlNormalizer, maxSqlLength);
             return new SqlUidMetaDataService(sqlCacheService);
         } else {
-            final SimpleCache<String> stringCache = simpleCacheFactory.newSimpleCache(jdbcSqlCacheSize);
-            SimpleCachingSqlNormalizer simpleCachingSqlNormalizer = new SimpleCachingSqlNormalizer(stringCache);
+            final StatsCache<String, Result<Integer>> sqlCache = newSimpleCache(sqlCacheConfig, cacheOptions);
+            SimpleCachingSqlNormalizer simpleCachingSqlNormalizer = new SimpleCachingSqlNormalizer(sqlCache);
             SqlCacheService<Integer> sqlCacheService = new SqlCacheService<>(enhancedDataSender, simpleCachingSqlNormalizer, maxSqlLength);
             return new DefaultSqlMetaDataService(sqlCacheService);
         }
     }
+
+    private StatsCache<String, Result<byte[]>> newUidCache(SqlCacheConfig sqlCacheConfig, CacheOptions cacheOptions) {
+        if (sqlCacheConfig.isDigestKey()) {
+            // the digest is the same murmur3 hash used as sql uid
+            final UidCache<HashCode> digestCache = new UidCache<>(cacheOptions, HashCode::asBytes);
+            return new DigestKeyCache<>(digestCache);
+        }
+        return new UidCache<>(cacheOptions, sql -> DigestKeyCache.digest(sql).asBytes());
+    }
+
+    private StatsCache<String, Result<Integer>> newSimpleCache(SqlCacheConfig sqlCacheConfig, CacheOptions cacheOptions) {
+        if (sqlCacheConfig.isDigestKey()) {
+            final StatsCache<HashCode, Result<Integer>> digestCache = simpleCacheFactory.newSimpleCache(cacheOptions);
+            return new DigestKeyCache<>(digestCache);
+        }
+        return simpleCacheFactory.newSimpleCache(cacheOptions);
+    }
 }
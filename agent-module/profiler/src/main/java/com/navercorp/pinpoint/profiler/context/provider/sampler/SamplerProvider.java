@@ -20,6 +20,7 @@ import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplerFactory;
 import com.navercorp.pinpoint.profiler.sampler.CountingSamplerFactory;
 import com.navercorp.pinpoint.profiler.sampler.FalseSampler;
 import com.navercorp.pinpoint.profiler.sampler.PercentSamplerFactory;
@@ -62,6 +63,8 @@ public class SamplerProvider implements Provider<Sampler> {
                 return newCountingSamplerFactory(profilerConfig);
             case PERCENT:
                 return newPercentSamplerFactory(profilerConfig);
+            case ADAPTIVE:
+                return newAdaptiveSamplerFactory(profilerConfig);
             default:
                 // parse fail
                 throw new IllegalStateException("Unexpected samplerType: " + samplerType);
@@ -84,5 +87,13 @@ public class SamplerProvider implements Provider<Sampler> {
         return new PercentSamplerFactory(config);
     }
 
+    private SamplerFactory newAdaptiveSamplerFactory(ProfilerConfig profilerConfig) {
+
+        AdaptiveSamplerFactory.Config config = AdaptiveSamplerFactory.config(profilerConfig);
+        logger.info("AdaptiveSamplerFactory.Config:{}", config);
+
+        return new AdaptiveSamplerFactory(config);
+    }
+
 
 }
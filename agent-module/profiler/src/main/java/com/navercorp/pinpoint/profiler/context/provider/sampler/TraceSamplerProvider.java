@@ -64,7 +64,7 @@ public class TraceSamplerProvider implements Provider<TraceSampler> {
         }
 
         final SamplerType samplerType = samplerConfig.getSamplerType();
-        final TraceSampler urlTraceSampler = newUrlSampler(traceSampler, samplerType);
+        final TraceSampler urlTraceSampler = newUrlSampler(traceSampler, samplerType, samplerConfig.getUrlSamplingCacheSize());
         logger.info("TraceSamplerProvider {}", urlTraceSampler);
         return urlTraceSampler;
     }
@@ -77,7 +77,7 @@ public class TraceSamplerProvider implements Provider<TraceSampler> {
         return traceSampler;
     }
 
-    TraceSampler newUrlSampler(TraceSampler defaultTraceSampler, SamplerType samplerType) {
+    TraceSampler newUrlSampler(TraceSampler defaultTraceSampler, SamplerType samplerType, int cacheSize) {
         final Map<String, TraceSampler> urlMap = new LinkedHashMap<>();
         final UrlSamplerConfig urlSamplerConfig = new UrlSamplerConfig(profilerConfig, samplerType);
         for (Map.Entry<Integer, UrlSamplerInfo> entry : urlSamplerConfig.entryList()) {
@@ -88,6 +88,6 @@ public class TraceSamplerProvider implements Provider<TraceSampler> {
             final TraceSampler traceSampler = newTraceSampler(idGenerator, urlInfo.getSampler(), urlInfo.getSamplingNewThroughput(), urlInfo.getSamplingContinueThroughput());
             urlMap.put(urlInfo.getUrlPath(), traceSampler);
         }
-        return new UrlTraceSampler(urlMap, defaultTraceSampler);
+        return new UrlTraceSampler(urlMap, defaultTraceSampler, cacheSize);
     }
 }
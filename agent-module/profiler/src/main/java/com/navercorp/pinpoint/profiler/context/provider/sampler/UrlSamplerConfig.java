@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.profiler.context.provider.sampler;
 import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
 import com.navercorp.pinpoint.bootstrap.util.NumberUtils;
 import com.navercorp.pinpoint.common.util.MapUtils;
+import com.navercorp.pinpoint.profiler.sampler.AdaptiveSamplerFactory;
 import com.navercorp.pinpoint.profiler.sampler.CountingSamplerFactory;
 import com.navercorp.pinpoint.profiler.sampler.PercentRateSampler;
 import com.navercorp.pinpoint.profiler.sampler.PercentSamplerFactory;
@@ -36,10 +37,11 @@ public class UrlSamplerConfig {
     private static final String PATH = ".path";
     private static final String COUNTING_SAMPLING_RATE = ".counting.sampling-rate";
     private static final String PERCENT_SAMPLING_RATE = ".percent.sampling-rate";
+    private static final String ADAPTIVE_TARGET_THROUGHPUT = ".adaptive.target-throughput";
     private static final String NEW_THROUGHPUT = ".new.throughput";
     private static final String CONTINUE_THROUGHPUT = ".continue.throughput";
 
-    private static final String PATTERN_REGEX = PREFIX + "[0-9]+" + "(" + PATH + "|" + COUNTING_SAMPLING_RATE + "|" + PERCENT_SAMPLING_RATE + "|" + NEW_THROUGHPUT + "|" + CONTINUE_THROUGHPUT + ")";
+    private static final String PATTERN_REGEX = PREFIX + "[0-9]+" + "(" + PATH + "|" + COUNTING_SAMPLING_RATE + "|" + PERCENT_SAMPLING_RATE + "|" + ADAPTIVE_TARGET_THROUGHPUT + "|" + NEW_THROUGHPUT + "|" + CONTINUE_THROUGHPUT + ")";
 
     private ProfilerConfig config;
     private SamplerType samplerType;
@@ -95,6 +97,14 @@ public class UrlSamplerConfig {
                     final PercentSamplerFactory factory = new PercentSamplerFactory(samplingRate);
                     target.setSampler(factory.createSampler());
                 }
+            } else if (key.endsWith(ADAPTIVE_TARGET_THROUGHPUT)) {
+                if (samplerType == SamplerType.ADAPTIVE) {
+                    int targetThroughput = NumberUtils.parseInteger(entry.getValue(), -1);
+                    // per url throughput, interval and smoothing follow the global adaptive config
+                    final AdaptiveSamplerFactory.Config adaptiveConfig = AdaptiveSamplerFactory.config(config);
+                    final AdaptiveSamplerFactory factory = new AdaptiveSamplerFactory(adaptiveConfig.withTargetThroughput(targetThroughput));
+                    target.setSampler(factory.createSampler());
+                }
             } else if (key.endsWith(NEW_THROUGHPUT)) {
                 int samplingNewThroughput = NumberUtils.parseInteger(entry.getValue(), 0);
                 target.setSamplingNewThroughput(samplingNewThroughput);
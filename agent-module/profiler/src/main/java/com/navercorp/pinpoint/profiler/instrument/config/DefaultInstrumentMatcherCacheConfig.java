@@ -40,6 +40,13 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
     @Value("${profiler.instrument.matcher.super.cache.entry.size}")
     private int superCacheEntrySize = 4;
 
+    @Value("${profiler.instrument.matcher.lookup.cache.enable}")
+    private boolean lookupCacheEnable = false;
+    @Value("${profiler.instrument.matcher.lookup.cache.size}")
+    private int lookupCacheSize = 65536;
+    @Value("${profiler.instrument.matcher.lookup.cache.file}")
+    private String lookupCacheFile = "";
+
     @Override
     public boolean isInstrumentMatcherEnable() {
         return instrumentMatcherEnable;
@@ -103,6 +110,33 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
         this.superCacheEntrySize = superCacheEntrySize;
     }
 
+    @Override
+    public boolean isLookupCacheEnable() {
+        return lookupCacheEnable;
+    }
+
+    public void setLookupCacheEnable(boolean lookupCacheEnable) {
+        this.lookupCacheEnable = lookupCacheEnable;
+    }
+
+    @Override
+    public int getLookupCacheSize() {
+        return lookupCacheSize;
+    }
+
+    public void setLookupCacheSize(int lookupCacheSize) {
+        this.lookupCacheSize = lookupCacheSize;
+    }
+
+    @Override
+    public String getLookupCacheFile() {
+        return lookupCacheFile;
+    }
+
+    public void setLookupCacheFile(String lookupCacheFile) {
+        this.lookupCacheFile = lookupCacheFile;
+    }
+
     @Override
     public String toString() {
         return "DefaultInstrumentMatcherCacheConfig{" +
@@ -112,6 +146,9 @@ public class DefaultInstrumentMatcherCacheConfig implements InstrumentMatcherCac
                 ", annotationCacheEntrySize=" + annotationCacheEntrySize +
                 ", superCacheSize=" + superCacheSize +
                 ", superCacheEntrySize=" + superCacheEntrySize +
+                ", lookupCacheEnable=" + lookupCacheEnable +
+                ", lookupCacheSize=" + lookupCacheSize +
+                ", lookupCacheFile='" + lookupCacheFile + '\'' +
                 '}';
     }
 }
\ No newline at end of file
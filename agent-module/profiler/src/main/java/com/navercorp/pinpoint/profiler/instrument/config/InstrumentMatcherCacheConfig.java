@@ -30,4 +30,10 @@ public interface InstrumentMatcherCacheConfig {
     int getSuperCacheSize();
 
     int getSuperCacheEntrySize();
+
+    boolean isLookupCacheEnable();
+
+    int getLookupCacheSize();
+
+    String getLookupCacheFile();
 }
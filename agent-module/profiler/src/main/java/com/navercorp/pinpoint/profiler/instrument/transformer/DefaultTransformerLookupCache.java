@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.CRC32;
+
+/**
+ * Lookup cache keyed by (class internal name, class bytes checksum).
+ * <p>
+ * When a cache file is given, the entries are loaded on creation and written back on {@link #close()}.
+ * The file is only reused if its version matches, the version being derived from the agent version,
+ * the registered plugin matchers and the instrument configuration.
+ * <p>
+ * Only negative lookups are cached. Woven bytecode is never reused, because transformers register
+ * interceptors as a side effect of the transformation.
+ * The key does not contain the class loader, so callers only put lookups that do not depend on it.
+ */
+public class DefaultTransformerLookupCache implements TransformerLookupCache {
+
+    private static final String HEADER = "#pinpoint-transformer-lookup-cache:";
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final Path cacheFile;
+    private final String version;
+    private final int maxSize;
+
+    private final Set<String> notTransformTargets = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean modified = new AtomicBoolean(false);
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public DefaultTransformerLookupCache(Path cacheFile, String version, int maxSize) {
+        this.cacheFile = cacheFile;
+        this.version = Objects.requireNonNull(version, "version");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("negative maxSize:" + maxSize);
+        }
+        this.maxSize = maxSize;
+        load();
+    }
+
+    private void load() {
+        if (cacheFile == null || !Files.isRegularFile(cacheFile)) {
+            return;
+        }
+        try (BufferedReader reader = Files.newBufferedReader(cacheFile, StandardCharsets.UTF_8)) {
+            final String header = reader.readLine();
+            if (!(HEADER + version).equals(header)) {
+                logger.info("Ignore transformer lookup cache. version mismatch file:{}", cacheFile);
+                return;
+            }
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (notTransformTargets.size() >= maxSize) {
+                    break;
+                }
+                if (!line.isEmpty()) {
+                    notTransformTargets.add(line);
+                }
+            }
+            logger.info("Transformer lookup cache loaded. file:{} size:{}", cacheFile, notTransformTargets.size());
+        } catch (IOException e) {
+            logger.warn("Failed to load transformer lookup cache. file:{}", cacheFile, e);
+            notTransformTargets.clear();
+        }
+    }
+
+    static String newKey(String classInternalName, byte[] classFileBuffer) {
+        final CRC32 crc32 = new CRC32();
+        crc32.update(classFileBuffer, 0, classFileBuffer.length);
+        return classInternalName + ' ' + Long.toHexString(crc32.getValue()) + ' ' + classFileBuffer.length;
+    }
+
+    @Override
+    public boolean isNotTransformTarget(String classInternalName, byte[] classFileBuffer) {
+        if (classInternalName == null || classFileBuffer == null) {
+            return false;
+        }
+        final String key = newKey(classInternalName, classFileBuffer);
+        if (notTransformTargets.contains(key)) {
+            hitCount.increment();
+            return true;
+        }
+        missCount.increment();
+        return false;
+    }
+
+    @Override
+    public void putNotTransformTarget(String classInternalName, byte[] classFileBuffer) {
+        if (classInternalName == null || classFileBuffer == null) {
+            return;
+        }
+        if (notTransformTargets.size() >= maxSize) {
+            return;
+        }
+        if (notTransformTargets.add(newKey(classInternalName, classFileBuffer))) {
+            modified.set(true);
+        }
+    }
+
+    @Override
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    int size() {
+        return notTransformTargets.size();
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        logger.info("Transformer lookup cache hit:{} miss:{} size:{}", getHitCount(), getMissCount(), size());
+        if (cacheFile == null || !modified.get()) {
+            return;
+        }
+        save();
+    }
+
+    private void save() {
+        try {
+            final Path parent = cacheFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            final Path tempFile = Files.createTempFile(parent, cacheFile.getFileName().toString(), ".tmp");
+            try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                writer.write(HEADER + version);
+                writer.newLine();
+                for (String key : notTransformTargets) {
+                    writer.write(key);
+                    writer.newLine();
+                }
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Transformer lookup cache saved. file:{} size:{}", cacheFile, size());
+        } catch (IOException e) {
+            logger.warn("Failed to save transformer lookup cache. file:{}", cacheFile, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "DefaultTransformerLookupCache{" +
+                "cacheFile=" + cacheFile +
+                ", version='" + version + '\'' +
+                ", maxSize=" + maxSize +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+public class DisableTransformerLookupCache implements TransformerLookupCache {
+
+    @Override
+    public boolean isNotTransformTarget(String classInternalName, byte[] classFileBuffer) {
+        return false;
+    }
+
+    @Override
+    public void putNotTransformTarget(String classInternalName, byte[] classFileBuffer) {
+
+    }
+
+    @Override
+    public long getHitCount() {
+        return 0;
+    }
+
+    @Override
+    public long getMissCount() {
+        return 0;
+    }
+
+    @Override
+    public void close() {
+
+    }
+}
@@ -18,9 +18,13 @@ package com.navercorp.pinpoint.profiler.instrument.transformer;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.BasedMatcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.MatcherType;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.AnnotationInternalNameMatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.ClassInternalNameMatcherOperand;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.InterfaceInternalNameMatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.MatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.PackageInternalNameMatcherOperand;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.SuperClassInternalNameMatcherOperand;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.operator.MatcherOperator;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadata;
 import com.navercorp.pinpoint.profiler.instrument.classreading.InternalClassMetadataReader;
 import com.navercorp.pinpoint.profiler.instrument.config.InstrumentMatcherCacheConfig;
@@ -31,18 +35,29 @@ import org.apache.logging.log4j.Logger;
 import java.lang.instrument.ClassFileTransformer;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 
 /**
  * @author jaehong.kim
  */
 public class MatchableTransformerRegistry implements TransformerRegistry {
+    // lookup functions of the package name based index
+    private static final Function<Set<IndexValue>, Boolean> CLASS_LOADER_DEPENDENT = (indexValues) -> {
+        for (IndexValue value : indexValues) {
+            if (!value.classLoaderIndependent) {
+                return Boolean.TRUE;
+            }
+        }
+        return null;
+    };
+
+    private static final Function<Set<IndexValue>, Boolean> ANY = (indexValues) -> Boolean.TRUE;
+
     private final Logger logger = LogManager.getLogger(this.getClass());
     private final boolean isDebug = logger.isDebugEnabled();
 
@@ -52,21 +67,26 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     // class matcher operand.
     private final Map<String, IndexValue> classNameBasedIndex = new HashMap<>(64);
     // package matcher operand.
-    private final Map<String, Set<IndexValue>> packageNameBasedIndex;
+    private final PackageNameTrie<IndexValue> packageNameBasedIndex = new PackageNameTrie<>();
 
     private final TransformerMatcherExecutionPlanner executionPlanner = new TransformerMatcherExecutionPlanner();
     private final TransformerMatcher transformerMatcher;
+    // misses of class loader independent matchers only
+    private final TransformerLookupCache lookupCache;
 
     public MatchableTransformerRegistry(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, List<MatchableClassFileTransformer> matchableClassFileTransformerList) {
+        this(instrumentMatcherCacheConfig, matchableClassFileTransformerList, new DisableTransformerLookupCache());
+    }
+
+    public MatchableTransformerRegistry(InstrumentMatcherCacheConfig instrumentMatcherCacheConfig, List<MatchableClassFileTransformer> matchableClassFileTransformerList,
+                                        TransformerLookupCache lookupCache) {
         Objects.requireNonNull(instrumentMatcherCacheConfig, "instrumentMatcherCacheConfig");
         Objects.requireNonNull(matchableClassFileTransformerList, "matchableClassFileTransformerList");
+        this.lookupCache = Objects.requireNonNull(lookupCache, "lookupCache");
 
         final List<MatchableClassFileTransformer> defaultTransfomerList = filterDefaultMatcher(matchableClassFileTransformerList);
         this.defaultTransformerRegistry = new DefaultTransformerRegistry(defaultTransfomerList);
 
-        // sorted by package name length.
-        this.packageNameBasedIndex = new TreeMap<>();
-
         final List<MatchableClassFileTransformer> baseTransformer = filterBaseMatcher(matchableClassFileTransformerList);
         for (MatchableClassFileTransformer transformer : baseTransformer) {
             try {
@@ -95,10 +115,21 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
             return transformer;
         }
 
+        final IndexValue classIndexValue = this.classNameBasedIndex.get(classInternalName);
+        if (classIndexValue != null && classIndexValue.operand instanceof ClassInternalNameMatcherOperand) {
+            // single operand.
+            return classIndexValue.transformer;
+        }
+
+        final boolean cacheable = isLookupCacheable(classInternalName, classIndexValue);
+        if (cacheable && lookupCache.isNotTransformTarget(classInternalName, classFileBuffer)) {
+            return null;
+        }
+
         final ClassMetadataWrapper classMetadataWrapper = new ClassMetadataWrapper(classFileBuffer, classMetadata);
         // find class name based.
-        if (!this.classNameBasedIndex.isEmpty()) {
-            final ClassFileTransformer classBaseTransformer = findClassBasedTransformer(classLoader, classInternalName, classMetadataWrapper);
+        if (classIndexValue != null) {
+            final ClassFileTransformer classBaseTransformer = match(classLoader, classIndexValue, classMetadataWrapper);
             if (classBaseTransformer != null) {
                 return classBaseTransformer;
             }
@@ -113,40 +144,67 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
         }
 
         // not found.
+        if (cacheable && classMetadataWrapper.isRead()) {
+            lookupCache.putNotTransformTarget(classInternalName, classFileBuffer);
+        }
         return null;
     }
 
-    private ClassFileTransformer findClassBasedTransformer(final ClassLoader classLoader, final String classInternalName, final ClassMetadataWrapper classMetadataWrapper) {
-        IndexValue indexValue = this.classNameBasedIndex.get(classInternalName);
-        if (indexValue != null) {
-            if (indexValue.operand instanceof ClassInternalNameMatcherOperand) {
-                // single operand.
-                return indexValue.transformer;
+    /**
+     * A miss is only cached if some matcher was evaluated and none of the evaluated matchers depends on the class loader.
+     * Name only lookups are cheaper than the checksum of the lookup cache.
+     */
+    private boolean isLookupCacheable(final String classInternalName, final IndexValue classIndexValue) {
+        boolean evaluated = false;
+        if (classIndexValue != null) {
+            if (!classIndexValue.classLoaderIndependent) {
+                return false;
             }
-
-            ClassFileTransformer transformer = match(classLoader, indexValue, classMetadataWrapper);
-            if (transformer != null) {
-                return transformer;
+            evaluated = true;
+        }
+        if (!this.packageNameBasedIndex.isEmpty()) {
+            if (this.packageNameBasedIndex.lookup(classInternalName, CLASS_LOADER_DEPENDENT) != null) {
+                return false;
             }
+            evaluated = evaluated || this.packageNameBasedIndex.lookup(classInternalName, ANY) != null;
         }
+        return evaluated;
+    }
 
-        return null;
+    /**
+     * @return true if the operand only reads the metadata of the class itself, not of its super classes, interfaces or annotations.
+     */
+    static boolean isClassLoaderIndependent(final MatcherOperand operand) {
+        if (operand == null) {
+            return true;
+        }
+        if (operand instanceof MatcherOperator) {
+            final MatcherOperator operator = (MatcherOperator) operand;
+            return isClassLoaderIndependent(operator.getLeftOperand()) && isClassLoaderIndependent(operator.getRightOperand());
+        }
+        if (operand instanceof InterfaceInternalNameMatcherOperand) {
+            return !((InterfaceInternalNameMatcherOperand) operand).isConsiderHierarchy();
+        }
+        if (operand instanceof SuperClassInternalNameMatcherOperand) {
+            return !((SuperClassInternalNameMatcherOperand) operand).isConsiderHierarchy();
+        }
+        if (operand instanceof AnnotationInternalNameMatcherOperand) {
+            return !((AnnotationInternalNameMatcherOperand) operand).isConsiderMetaAnnotation();
+        }
+        return operand instanceof ClassInternalNameMatcherOperand || operand instanceof PackageInternalNameMatcherOperand;
     }
 
     private ClassFileTransformer findPackageBasedTransformer(final ClassLoader classLoader, final String classInternalName, final ClassMetadataWrapper classMetadataWrapper) {
-        for (Map.Entry<String, Set<IndexValue>> entry : this.packageNameBasedIndex.entrySet()) {
-            final String packageInternalName = entry.getKey();
-            if (classInternalName.startsWith(packageInternalName)) {
-                for (IndexValue value : entry.getValue()) {
-                    ClassFileTransformer transformer = match(classLoader, value, classMetadataWrapper);
-                    if (transformer != null) {
-                        return transformer;
-                    }
+        // visited by package name length.
+        return this.packageNameBasedIndex.lookup(classInternalName, (indexValues) -> {
+            for (IndexValue value : indexValues) {
+                ClassFileTransformer transformer = match(classLoader, value, classMetadataWrapper);
+                if (transformer != null) {
+                    return transformer;
                 }
             }
-        }
-
-        return null;
+            return null;
+        });
     }
 
     private ClassFileTransformer match(final ClassLoader classLoader, final IndexValue indexValue, final ClassMetadataWrapper classMetadataWrapper) {
@@ -214,7 +272,7 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
                 indexed = true;
             } else if (operand instanceof PackageInternalNameMatcherOperand) {
                 PackageInternalNameMatcherOperand packageInternalNameMatcherOperand = (PackageInternalNameMatcherOperand) operand;
-                addIndexData(packageInternalNameMatcherOperand.getPackageInternalName(), indexValue, this.packageNameBasedIndex);
+                this.packageNameBasedIndex.put(packageInternalNameMatcherOperand.getPackageInternalName(), indexValue);
                 indexed = true;
             } else {
                 throw new IllegalArgumentException("invalid matcher or execution planner - unknown operand. condition=" + condition + ", unknown operand=" + operand);
@@ -226,23 +284,16 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
         }
     }
 
-    private void addIndexData(final String key, final IndexValue indexValue, final Map<String, Set<IndexValue>> index) {
-        Set<IndexValue> indexValueSet = index.get(key);
-        if (indexValueSet == null) {
-            indexValueSet = new HashSet<>();
-            index.put(key, indexValueSet);
-        }
-        indexValueSet.add(indexValue);
-    }
-
     static class IndexValue {
         private final MatcherOperand operand;
         private final ClassFileTransformer transformer;
+        private final boolean classLoaderIndependent;
         private final AtomicLong accumulatorTimeMillis = new AtomicLong(0);
 
         public IndexValue(final MatcherOperand operand, final ClassFileTransformer transformer) {
             this.operand = operand;
             this.transformer = transformer;
+            this.classLoaderIndependent = isClassLoaderIndependent(operand);
         }
 
         public long accumulatorTime(final long startTimeMillis) {
@@ -255,6 +306,7 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
     class ClassMetadataWrapper {
         private final byte[] classFileBuffer;
         private InternalClassMetadata classMetadata;
+        private boolean failed;
 
         ClassMetadataWrapper(final byte[] classFileBuffer, final InternalClassMetadata classMetadata) {
             this.classFileBuffer = classFileBuffer;
@@ -269,11 +321,16 @@ public class MatchableTransformerRegistry implements TransformerRegistry {
                     if (logger.isInfoEnabled()) {
                         logger.info("Failed to read metadata of class bytes.", e);
                     }
+                    this.failed = true;
                     return null;
                 }
             }
 
             return this.classMetadata;
         }
+
+        boolean isRead() {
+            return !failed;
+        }
     }
 }
\ No newline at end of file
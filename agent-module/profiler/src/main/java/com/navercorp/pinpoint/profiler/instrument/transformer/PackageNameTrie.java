@@ -0,0 +1,141 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Character trie of package internal names.
+ * <p>
+ * {@link #lookup(String, Function)} walks the class internal name once and visits the registered
+ * package prefixes from the shortest to the longest, so the cost is bounded by the length of the
+ * class name rather than by the number of registered packages.
+ * Not thread-safe for {@link #put(String, Object)}; the trie must be fully built before lookups.
+ */
+public class PackageNameTrie<V> {
+
+    private final Node<V> root = new Node<>();
+    private int size;
+
+    public void put(final String packageInternalName, final V value) {
+        Objects.requireNonNull(packageInternalName, "packageInternalName");
+        Objects.requireNonNull(value, "value");
+
+        Node<V> node = root;
+        for (int i = 0; i < packageInternalName.length(); i++) {
+            node = node.getOrAddChild(packageInternalName.charAt(i));
+        }
+        if (node.values == null) {
+            node.values = new LinkedHashSet<>();
+            size++;
+        }
+        node.values.add(value);
+    }
+
+    /**
+     * @return the first non-null result of {@code function} for the packages that are a prefix of {@code classInternalName}
+     */
+    public <R> R lookup(final String classInternalName, final Function<Set<V>, R> function) {
+        Node<V> node = root;
+        final int length = classInternalName.length();
+        for (int i = 0; i <= length; i++) {
+            if (node.values != null) {
+                final R result = function.apply(node.values);
+                if (result != null) {
+                    return result;
+                }
+            }
+            if (i == length) {
+                break;
+            }
+            node = node.getChild(classInternalName.charAt(i));
+            if (node == null) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    public Set<V> get(final String packageInternalName) {
+        Node<V> node = root;
+        for (int i = 0; i < packageInternalName.length(); i++) {
+            node = node.getChild(packageInternalName.charAt(i));
+            if (node == null) {
+                return Collections.emptySet();
+            }
+        }
+        if (node.values == null) {
+            return Collections.emptySet();
+        }
+        return node.values;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static class Node<V> {
+        private static final char[] EMPTY_KEYS = new char[0];
+
+        // sorted
+        private char[] keys = EMPTY_KEYS;
+        private Node<V>[] children = newArray(0);
+        private Set<V> values;
+
+        @SuppressWarnings("unchecked")
+        private static <V> Node<V>[] newArray(int length) {
+            return (Node<V>[]) new Node[length];
+        }
+
+        Node<V> getChild(char ch) {
+            final int index = Arrays.binarySearch(keys, ch);
+            if (index < 0) {
+                return null;
+            }
+            return children[index];
+        }
+
+        Node<V> getOrAddChild(char ch) {
+            final int index = Arrays.binarySearch(keys, ch);
+            if (index >= 0) {
+                return children[index];
+            }
+            final int insertionPoint = -(index + 1);
+            final char[] newKeys = new char[keys.length + 1];
+            final Node<V>[] newChildren = newArray(children.length + 1);
+            System.arraycopy(keys, 0, newKeys, 0, insertionPoint);
+            System.arraycopy(children, 0, newChildren, 0, insertionPoint);
+            System.arraycopy(keys, insertionPoint, newKeys, insertionPoint + 1, keys.length - insertionPoint);
+            System.arraycopy(children, insertionPoint, newChildren, insertionPoint + 1, children.length - insertionPoint);
+
+            final Node<V> child = new Node<>();
+            newKeys[insertionPoint] = ch;
+            newChildren[insertionPoint] = child;
+            this.keys = newKeys;
+            this.children = newChildren;
+            return child;
+        }
+    }
+}
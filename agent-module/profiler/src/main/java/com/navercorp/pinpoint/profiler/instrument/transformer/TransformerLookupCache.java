@@ -0,0 +1,35 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+/**
+ * Remembers classes for which no {@link java.lang.instrument.ClassFileTransformer} was found,
+ * so that the matcher evaluation can be skipped when the same class bytes are loaded again.
+ * <p>
+ * Entries are not scoped by class loader. Only misses that depend on the class bytes alone may be put.
+ */
+public interface TransformerLookupCache {
+
+    boolean isNotTransformTarget(String classInternalName, byte[] classFileBuffer);
+
+    void putNotTransformTarget(String classInternalName, byte[] classFileBuffer);
+
+    long getHitCount();
+
+    long getMissCount();
+
+    void close();
+}
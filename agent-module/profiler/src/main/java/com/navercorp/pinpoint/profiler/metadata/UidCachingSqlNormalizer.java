@@ -11,6 +11,7 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Objects;
 import java.util.function.Function;
 
 public class UidCachingSqlNormalizer implements CachingSqlNormalizer<ParsingResultInternal<byte[]>> {
@@ -22,7 +23,13 @@ public class UidCachingSqlNormalizer implements CachingSqlNormalizer<ParsingResu
     private final int lengthLimit;
 
     public UidCachingSqlNormalizer(int cacheSize, int lengthLimit) {
-        this.sqlCache = new UidCache(cacheSize, hashFunction);
+        this.sqlCache = new UidCache<>(cacheSize, hashFunction);
+        this.sqlNormalizer = new DefaultSqlNormalizer();
+        this.lengthLimit = lengthLimit;
+    }
+
+    public UidCachingSqlNormalizer(Cache<String, Result<byte[]>> sqlCache, int lengthLimit) {
+        this.sqlCache = Objects.requireNonNull(sqlCache, "sqlCache");
         this.sqlNormalizer = new DefaultSqlNormalizer();
         this.lengthLimit = lengthLimit;
     }
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.common.util.MathUtils;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sampler that keeps the number of sampled transactions close to a target throughput.
+ * <p>
+ * Requests are counted per interval. When an interval ends, the request rate is smoothed with an
+ * exponentially weighted moving average and the sampling rate is set to {@code targetThroughput / smoothedRequestRate}.
+ * The sampling decision itself works like {@link PercentRateSampler} with the current sampling rate.
+ * <p>
+ * All state is kept in atomic variables; the thread that wins the CAS on the interval start recalculates the rate.
+ */
+public class AdaptiveSampler implements Sampler {
+    // Supported range 100% ~ 0.0001%
+    public static final long MAX = 1_000_000;
+
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final double targetThroughput;
+    private final long intervalNanos;
+    private final double smoothingFactor;
+    private final LongSupplier nanoClock;
+
+    private final AtomicLong counter = new AtomicLong(0);
+    private final LongAdder requestCount = new LongAdder();
+    private final AtomicLong intervalStart;
+
+    private volatile long samplingRate = MAX;
+    // written only by the thread that won the interval CAS
+    private volatile double smoothedRequestRate = -1;
+
+    public AdaptiveSampler(double targetThroughput, long intervalMillis, double smoothingFactor) {
+        this(targetThroughput, intervalMillis, smoothingFactor, System::nanoTime);
+    }
+
+    AdaptiveSampler(double targetThroughput, long intervalMillis, double smoothingFactor, LongSupplier nanoClock) {
+        if (targetThroughput <= 0) {
+            throw new IllegalArgumentException("Invalid targetThroughput " + targetThroughput);
+        }
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Invalid intervalMillis " + intervalMillis);
+        }
+        if (smoothingFactor <= 0 || smoothingFactor > 1) {
+            throw new IllegalArgumentException("Invalid smoothingFactor " + smoothingFactor);
+        }
+        this.targetThroughput = targetThroughput;
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+        this.smoothingFactor = smoothingFactor;
+        this.nanoClock = Objects.requireNonNull(nanoClock, "nanoClock");
+        this.intervalStart = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    @Override
+    public boolean isSampling() {
+        requestCount.increment();
+
+        final long now = nanoClock.getAsLong();
+        final long start = intervalStart.get();
+        final long elapsed = now - start;
+        if (elapsed >= intervalNanos && intervalStart.compareAndSet(start, now)) {
+            updateSamplingRate(elapsed);
+        }
+
+        final long samplingRate = this.samplingRate;
+        if (samplingRate >= MAX) {
+            return true;
+        }
+        final long seed = counter.addAndGet(samplingRate);
+        final long remainder = MathUtils.floorMod(seed, MAX);
+        return remainder > 0 && remainder <= samplingRate;
+    }
+
+    private void updateSamplingRate(long elapsedNanos) {
+        // sumThenReset() is not an atomic snapshot: requests counted while it runs fall into this
+        // or the next window. Each cell is drained with getAndSet, so none is lost, and the skew is
+        // bounded by the number of concurrent callers, which the smoothing absorbs.
+        final long requests = requestCount.sumThenReset();
+        final double requestRate = requests * NANOS_PER_SECOND / elapsedNanos;
+
+        final double previous = this.smoothedRequestRate;
+        final double smoothed;
+        if (previous < 0) {
+            smoothed = requestRate;
+        } else {
+            smoothed = smoothingFactor * requestRate + (1 - smoothingFactor) * previous;
+        }
+        this.smoothedRequestRate = smoothed;
+        this.samplingRate = toSamplingRate(smoothed);
+    }
+
+    private long toSamplingRate(double requestRate) {
+        if (requestRate <= targetThroughput) {
+            return MAX;
+        }
+        final long rate = (long) (targetThroughput / requestRate * MAX);
+        return Math.max(rate, 1);
+    }
+
+    long getSamplingRate() {
+        return samplingRate;
+    }
+
+    double getSmoothedRequestRate() {
+        return smoothedRequestRate;
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSampler{" +
+                "targetThroughput=" + targetThroughput +
+                ", intervalNanos=" + intervalNanos +
+                ", smoothingFactor=" + smoothingFactor +
+                ", samplingRate=" + samplingRate +
+                ", smoothedRequestRate=" + smoothedRequestRate +
+                '}';
+    }
+}
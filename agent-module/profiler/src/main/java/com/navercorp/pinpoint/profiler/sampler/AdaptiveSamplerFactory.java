@@ -0,0 +1,116 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.config.ProfilerConfig;
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import com.navercorp.pinpoint.bootstrap.util.NumberUtils;
+
+
+public class AdaptiveSamplerFactory implements SamplerFactory {
+
+    public static final String TARGET_THROUGHPUT_NAME = "profiler.sampling.adaptive.target-throughput";
+    public static final String INTERVAL_NAME = "profiler.sampling.adaptive.interval";
+    public static final String SMOOTHING_FACTOR_NAME = "profiler.sampling.adaptive.smoothing-factor";
+
+    public static final int DEFAULT_TARGET_THROUGHPUT = 20;
+    public static final long DEFAULT_INTERVAL = 1000;
+    public static final double DEFAULT_SMOOTHING_FACTOR = 0.3;
+
+    private final int targetThroughput;
+    private final long interval;
+    private final double smoothingFactor;
+
+    public AdaptiveSamplerFactory(int targetThroughput) {
+        this(targetThroughput, DEFAULT_INTERVAL, DEFAULT_SMOOTHING_FACTOR);
+    }
+
+    public AdaptiveSamplerFactory(int targetThroughput, long interval, double smoothingFactor) {
+        this.targetThroughput = targetThroughput;
+        this.interval = interval;
+        this.smoothingFactor = smoothingFactor;
+    }
+
+    public AdaptiveSamplerFactory(Config config) {
+        this(config.getTargetThroughput(), config.getInterval(), config.getSmoothingFactor());
+    }
+
+    @Override
+    public Sampler createSampler() {
+        if (targetThroughput <= 0) {
+            return FalseSampler.INSTANCE;
+        }
+        final long interval = this.interval > 0 ? this.interval : DEFAULT_INTERVAL;
+        final double smoothingFactor = (this.smoothingFactor > 0 && this.smoothingFactor <= 1) ? this.smoothingFactor : DEFAULT_SMOOTHING_FACTOR;
+        return new AdaptiveSampler(targetThroughput, interval, smoothingFactor);
+    }
+
+    @Override
+    public String toString() {
+        return "AdaptiveSamplerFactory{" +
+                "targetThroughput=" + targetThroughput +
+                ", interval=" + interval +
+                ", smoothingFactor=" + smoothingFactor +
+                '}';
+    }
+
+    public static Config config(ProfilerConfig profilerConfig) {
+        int targetThroughput = profilerConfig.readInt(TARGET_THROUGHPUT_NAME, DEFAULT_TARGET_THROUGHPUT);
+        long interval = profilerConfig.readLong(INTERVAL_NAME, DEFAULT_INTERVAL);
+        String smoothingFactorStr = profilerConfig.readString(SMOOTHING_FACTOR_NAME, null);
+        double smoothingFactor = NumberUtils.parseDouble(smoothingFactorStr, DEFAULT_SMOOTHING_FACTOR);
+        return new Config(targetThroughput, interval, smoothingFactor);
+    }
+
+    public static class Config {
+        private final int targetThroughput;
+        private final long interval;
+        private final double smoothingFactor;
+
+        public Config(int targetThroughput, long interval, double smoothingFactor) {
+            this.targetThroughput = targetThroughput;
+            this.interval = interval;
+            this.smoothingFactor = smoothingFactor;
+        }
+
+        public int getTargetThroughput() {
+            return targetThroughput;
+        }
+
+        public long getInterval() {
+            return interval;
+        }
+
+        public double getSmoothingFactor() {
+            return smoothingFactor;
+        }
+
+        public Config withTargetThroughput(int targetThroughput) {
+            return new Config(targetThroughput, interval, smoothingFactor);
+        }
+
+        @Override
+        public String toString() {
+            return "Config{" +
+                    "targetThroughput=" + targetThroughput +
+                    ", interval=" + interval +
+                    ", smoothingFactor=" + smoothingFactor +
+                    '}';
+        }
+    }
+
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Url path rules indexed by their literal leading segments.
+ * <p>
+ * An Ant-style pattern is stored on the node of its last literal segment before the first wildcard segment,
+ * e.g. {@code /api/v1/user?.do} is stored on the {@code /api/v1} node and {@code /**} on the root node.
+ * A lookup only walks the nodes on the path of the requested url and checks the rules found there,
+ * so rules for unrelated prefixes are never evaluated.
+ * Non-pattern rules are resolved with a single hash lookup.
+ * <p>
+ * When several rules match, the first registered rule wins, same as a linear scan.
+ */
+final class UrlPathMatcherTrie<V> {
+
+    private static final char PATH_SEPARATOR = '/';
+
+    private final Node<V> root = new Node<>();
+    private final Map<String, Rule<V>> exactRules = new HashMap<>();
+    private int ruleCount = 0;
+
+    UrlPathMatcherTrie() {
+    }
+
+    void add(String urlPath, V value) {
+        Objects.requireNonNull(urlPath, "urlPath");
+        Objects.requireNonNull(value, "value");
+
+        final int order = ruleCount++;
+        if (!AntPathMatcher.isAntStylePattern(urlPath)) {
+            final Rule<V> rule = new Rule<>(order, new EqualsPathMatcher(urlPath), value);
+            exactRules.putIfAbsent(urlPath, rule);
+            return;
+        }
+
+        final Rule<V> rule = new Rule<>(order, new AntPathMatcher(urlPath), value);
+        Node<V> node = root;
+        int offset = 0;
+        while (true) {
+            final int end = nextSeparator(urlPath, offset);
+            final String segment = segment(urlPath, offset, end);
+            if (segment != null) {
+                if (isWildcardSegment(segment)) {
+                    break;
+                }
+                node = node.getOrAddChild(segment);
+            }
+            if (end >= urlPath.length()) {
+                break;
+            }
+            offset = end + 1;
+        }
+        node.rules.add(rule);
+    }
+
+    V find(String urlPath) {
+        Rule<V> matched = exactRules.get(urlPath);
+
+        Node<V> node = root;
+        matched = match(node, urlPath, matched);
+
+        int offset = 0;
+        while (offset < urlPath.length()) {
+            final int end = nextSeparator(urlPath, offset);
+            final String segment = segment(urlPath, offset, end);
+            if (segment != null) {
+                node = node.getChild(segment);
+                if (node == null) {
+                    break;
+                }
+                matched = match(node, urlPath, matched);
+            }
+            offset = end + 1;
+        }
+
+        if (matched == null) {
+            return null;
+        }
+        return matched.value;
+    }
+
+    private Rule<V> match(Node<V> node, String urlPath, Rule<V> matched) {
+        for (Rule<V> rule : node.rules) {
+            if (matched != null && rule.order > matched.order) {
+                // rules are sorted by order
+                return matched;
+            }
+            if (rule.matcher.isMatched(urlPath)) {
+                return rule;
+            }
+        }
+        return matched;
+    }
+
+    int size() {
+        return ruleCount;
+    }
+
+    private static int nextSeparator(String urlPath, int offset) {
+        final int index = urlPath.indexOf(PATH_SEPARATOR, offset);
+        if (index == -1) {
+            return urlPath.length();
+        }
+        return index;
+    }
+
+    /**
+     * Same tokenizing rule as AntPathMatcher : tokens are trimmed and empty tokens are ignored
+     */
+    private static String segment(String urlPath, int start, int end) {
+        if (start >= end) {
+            return null;
+        }
+        final String segment = urlPath.substring(start, end).trim();
+        if (segment.isEmpty()) {
+            return null;
+        }
+        return segment;
+    }
+
+    private static boolean isWildcardSegment(String segment) {
+        return segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1;
+    }
+
+    private static final class Rule<V> {
+        private final int order;
+        private final PathMatcher matcher;
+        private final V value;
+
+        private Rule(int order, PathMatcher matcher, V value) {
+            this.order = order;
+            this.matcher = matcher;
+            this.value = value;
+        }
+    }
+
+    private static final class Node<V> {
+        private final Map<String, Node<V>> children = new HashMap<>();
+        private final List<Rule<V>> rules = new ArrayList<>(1);
+
+        private Node<V> getChild(String segment) {
+            return children.get(segment);
+        }
+
+        private Node<V> getOrAddChild(String segment) {
+            return children.computeIfAbsent(segment, key -> new Node<>());
+        }
+    }
+}
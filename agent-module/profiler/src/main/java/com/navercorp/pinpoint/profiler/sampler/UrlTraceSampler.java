@@ -16,35 +16,51 @@
 
 package com.navercorp.pinpoint.profiler.sampler;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.navercorp.pinpoint.bootstrap.sampler.TraceSampler;
-import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
-import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
-import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
 import com.navercorp.pinpoint.common.util.StringUtils;
+import com.navercorp.pinpoint.profiler.cache.CaffeineBuilder;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 public class UrlTraceSampler implements TraceSampler {
-    private final UrlPathMatcher[] urlPathMatcherList;
+    public static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final UrlPathMatcherTrie<TraceSampler> urlPathMatcherTrie;
     private final TraceSampler defaultTraceSampler;
+    // nullable, urlPath -> TraceSampler
+    private final Cache<String, TraceSampler> samplerCache;
 
     public UrlTraceSampler(Map<String, TraceSampler> urlMap, TraceSampler defaultTraceSampler) {
+        this(urlMap, defaultTraceSampler, DEFAULT_CACHE_SIZE);
+    }
+
+    public UrlTraceSampler(Map<String, TraceSampler> urlMap, TraceSampler defaultTraceSampler, int cacheSize) {
         Objects.requireNonNull(urlMap, "urlMap");
         this.defaultTraceSampler = Objects.requireNonNull(defaultTraceSampler, "defaultSampler");
 
-        final List<UrlPathMatcher> list = new ArrayList<>();
+        final UrlPathMatcherTrie<TraceSampler> trie = new UrlPathMatcherTrie<>();
         for (Map.Entry<String, TraceSampler> entry : urlMap.entrySet()) {
             final String urlPath = entry.getKey();
             final TraceSampler traceSampler = entry.getValue();
             if (StringUtils.isEmpty(urlPath) || traceSampler == null) {
                 continue;
             }
-            list.add(new UrlPathMatcher(urlPath, traceSampler));
+            trie.add(urlPath, traceSampler);
+        }
+        this.urlPathMatcherTrie = trie;
+        this.samplerCache = newCache(cacheSize);
+    }
+
+    private Cache<String, TraceSampler> newCache(int cacheSize) {
+        if (cacheSize <= 0) {
+            return null;
         }
-        this.urlPathMatcherList = list.toArray(new UrlPathMatcher[0]);
+        final Caffeine<Object, Object> cacheBuilder = CaffeineBuilder.newBuilder();
+        cacheBuilder.maximumSize(cacheSize);
+        return cacheBuilder.build();
     }
 
     @Override
@@ -74,36 +90,33 @@ public class UrlTraceSampler implements TraceSampler {
     }
 
     TraceSampler getSampler(String urlPath) {
-        for (UrlPathMatcher urlPathMatcher : this.urlPathMatcherList) {
-            if (urlPathMatcher != null && urlPathMatcher.isMatched(urlPath)) {
-                if (urlPathMatcher.getTraceSampler() != null) {
-                    return urlPathMatcher.getTraceSampler();
-                }
-            }
+        final Cache<String, TraceSampler> samplerCache = this.samplerCache;
+        if (samplerCache == null) {
+            return findSampler(urlPath);
         }
-        return this.defaultTraceSampler;
-    }
-
-    private static class UrlPathMatcher implements PathMatcher {
-        private final PathMatcher pathMatcher;
-        private final TraceSampler traceSampler;
-
-        public UrlPathMatcher(String urlPath, TraceSampler traceSampler) {
-            if (AntPathMatcher.isAntStylePattern(urlPath)) {
-                this.pathMatcher = new AntPathMatcher(urlPath);
-            } else {
-                this.pathMatcher = new EqualsPathMatcher(urlPath);
-            }
-            this.traceSampler = traceSampler;
-        }
-
-        @Override
-        public boolean isMatched(String urlPath) {
-            return this.pathMatcher.isMatched(urlPath);
+        final TraceSampler cached = samplerCache.getIfPresent(urlPath);
+        if (cached != null) {
+            return cached;
         }
+        final TraceSampler traceSampler = findSampler(urlPath);
+        samplerCache.put(urlPath, traceSampler);
+        return traceSampler;
+    }
 
-        public TraceSampler getTraceSampler() {
+    private TraceSampler findSampler(String urlPath) {
+        final TraceSampler traceSampler = this.urlPathMatcherTrie.find(urlPath);
+        if (traceSampler != null) {
             return traceSampler;
         }
+        return this.defaultTraceSampler;
+    }
+
+    @Override
+    public String toString() {
+        return "UrlTraceSampler{" +
+                "rules=" + urlPathMatcherTrie.size() +
+                ", cache=" + (samplerCache != null) +
+                ", defaultTraceSampler=" + defaultTraceSampler +
+                '}';
     }
 }
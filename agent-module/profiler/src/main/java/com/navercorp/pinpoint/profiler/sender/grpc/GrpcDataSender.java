@@ -24,9 +24,10 @@ import com.navercorp.pinpoint.grpc.ExecutorUtils;
 import com.navercorp.pinpoint.grpc.client.ChannelFactory;
 
 import java.util.concurrent.BlockingQueue;
+import java.util.Objects;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -35,15 +36,25 @@ public abstract class GrpcDataSender<T> extends AbstractGrpcDataSender<T> {
 
     protected final ExecutorService executor;
     protected final BlockingQueue<T> queue;
+    protected final LongAdder dropCount = new LongAdder();
 
     public GrpcDataSender(String host, int port,
                           int executorQueueSize,
                           MessageConverter<T, GeneratedMessageV3> messageConverter,
                           ChannelFactory channelFactory) {
+        this(host, port, executorQueueSize, SenderQueueType.DEFAULT_SENDER_QUEUE_TYPE, messageConverter, channelFactory);
+    }
+
+    public GrpcDataSender(String host, int port,
+                          int executorQueueSize,
+                          SenderQueueType queueType,
+                          MessageConverter<T, GeneratedMessageV3> messageConverter,
+                          ChannelFactory channelFactory) {
         super(host, port, messageConverter, channelFactory);
+        Objects.requireNonNull(queueType, "queueType");
 
         this.executor = newExecutorService(name + "-Executor", executorQueueSize);
-        this.queue = new LinkedBlockingQueue<>(executorQueueSize);
+        this.queue = queueType.newQueue(executorQueueSize);
     }
 
     protected ExecutorService newExecutorService(String name, int senderExecutorQueueSize) {
@@ -56,18 +67,30 @@ public abstract class GrpcDataSender<T> extends AbstractGrpcDataSender<T> {
         if (this.queue.offer(data)) {
             return true;
         }
+        dropCount.increment();
         if (logger.isDebugEnabled()) {
-            logger.debug("reject message queue size:{}", this.queue.size());
+            logger.debug("reject message queue size:{} dropCount:{}", this.queue.size(), dropCount.sum());
         } else {
             if (tLogger.isInfoEnabled()) {
-                tLogger.info("reject message queue size : {}", this.queue.size());
+                tLogger.info("reject message queue size : {} dropCount : {}", this.queue.size(), dropCount.sum());
             }
         }
         return false;
     }
 
+    /**
+     * @return number of messages rejected because the sender queue was full
+     */
+    public long getDropCount() {
+        return dropCount.sum();
+    }
+
 
     protected void release() {
+        final long dropCount = getDropCount();
+        if (dropCount > 0) {
+            logger.info("{} dropped {} messages", name, dropCount);
+        }
         ExecutorUtils.shutdownExecutorService(name, executor);
         super.releaseChannel();
     }
@@ -117,6 +117,7 @@ public class MetadataGrpcDataSender<T> extends GrpcDataSender<T> implements Enha
         try {
             executor.execute(convertAndRun);
         } catch (RejectedExecutionException reject) {
+            dropCount.increment();
             logger.info("Rejected metadata={}", data.getClass().getSimpleName());
             return false;
         }
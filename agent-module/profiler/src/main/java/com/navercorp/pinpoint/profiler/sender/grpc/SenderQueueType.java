@@ -0,0 +1,53 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sender.grpc;
+
+import com.navercorp.pinpoint.profiler.util.queue.BoundedArrayBlockingQueue;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Queue implementation between the application threads and the sender thread.
+ */
+public enum SenderQueueType {
+
+    LINKED {
+        @Override
+        public <T> BlockingQueue<T> newQueue(int capacity) {
+            return new LinkedBlockingQueue<>(capacity);
+        }
+    },
+    MPSC {
+        @Override
+        public <T> BlockingQueue<T> newQueue(int capacity) {
+            return new BoundedArrayBlockingQueue<>(capacity);
+        }
+    };
+
+    public static final SenderQueueType DEFAULT_SENDER_QUEUE_TYPE = LINKED;
+
+    public abstract <T> BlockingQueue<T> newQueue(int capacity);
+
+    public static SenderQueueType of(String name) {
+        for (SenderQueueType type : values()) {
+            if (type.name().equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return DEFAULT_SENDER_QUEUE_TYPE;
+    }
+}
@@ -94,7 +94,19 @@ public class SpanGrpcDataSender extends GrpcDataSender<SpanType> {
                               ChannelFactory channelFactory,
                               StreamState failState,
                               long maxRpcAgeMillis) {
-        super(host, port, executorQueueSize, messageConverter, channelFactory);
+        this(host, port, executorQueueSize, SenderQueueType.DEFAULT_SENDER_QUEUE_TYPE, messageConverter,
+                reconnectExecutor, channelFactory, failState, maxRpcAgeMillis);
+    }
+
+    public SpanGrpcDataSender(String host, int port,
+                              int executorQueueSize,
+                              SenderQueueType queueType,
+                              MessageConverter<SpanType, GeneratedMessageV3> messageConverter,
+                              ReconnectExecutor reconnectExecutor,
+                              ChannelFactory channelFactory,
+                              StreamState failState,
+                              long maxRpcAgeMillis) {
+        super(host, port, executorQueueSize, queueType, messageConverter, channelFactory);
 
         this.interval = newIntervalFunction(maxRpcAgeMillis);
         this.rpcExpiredAt = new AtomicLong(System.currentTimeMillis());
@@ -99,7 +99,16 @@ public class StatGrpcDataSender extends GrpcDataSender<MetricType> {
                               MessageConverter<MetricType, GeneratedMessageV3> messageConverter,
                               ReconnectExecutor reconnectExecutor,
                               ChannelFactory channelFactory) {
-        super(host, port, executorQueueSize, messageConverter, channelFactory);
+        this(host, port, executorQueueSize, SenderQueueType.DEFAULT_SENDER_QUEUE_TYPE, messageConverter, reconnectExecutor, channelFactory);
+    }
+
+    public StatGrpcDataSender(String host, int port,
+                              int executorQueueSize,
+                              SenderQueueType queueType,
+                              MessageConverter<MetricType, GeneratedMessageV3> messageConverter,
+                              ReconnectExecutor reconnectExecutor,
+                              ChannelFactory channelFactory) {
+        super(host, port, executorQueueSize, queueType, messageConverter, channelFactory);
 
         this.reconnectExecutor = Objects.requireNonNull(reconnectExecutor, "reconnectExecutor");
         final Runnable reconnectJob = new NamedRunnable(ID) {
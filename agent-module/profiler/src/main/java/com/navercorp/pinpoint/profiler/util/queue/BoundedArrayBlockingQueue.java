@@ -0,0 +1,209 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import java.util.AbstractQueue;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link BlockingQueue} view of a {@link BoundedArrayQueue}.
+ * <p>
+ * Producers never take a lock. A consumer blocked in {@link #take()} or {@link #poll(long, TimeUnit)}
+ * is parked and woken up by the producer that publishes the next element. Several consumers may block at once,
+ * e.g. the old and the new stream thread of a data sender while it reconnects; every blocked consumer is woken up,
+ * so the waiter queue is meant to stay small. Non-blocking methods can be called from any thread.
+ * Blocked producers back off with a short park.
+ */
+public class BoundedArrayBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    private static final long PUT_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final BoundedArrayQueue<E> queue;
+
+    private final Queue<Thread> consumerWaiters = new ConcurrentLinkedQueue<>();
+
+    public BoundedArrayBlockingQueue(int capacity) {
+        this.queue = new BoundedArrayQueue<>(capacity, true);
+    }
+
+    @Override
+    public boolean offer(E e) {
+        // the volatile store publishing the element is visible before consumerWaiters is read
+        if (!queue.offer(e)) {
+            return false;
+        }
+        if (!consumerWaiters.isEmpty()) {
+            for (Thread waiter : consumerWaiters) {
+                LockSupport.unpark(waiter);
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public E poll() {
+        return queue.poll();
+    }
+
+    @Override
+    public E peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            LockSupport.parkNanos(this, PUT_BACKOFF_NANOS);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!offer(e)) {
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            final long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            LockSupport.parkNanos(this, Math.min(remaining, PUT_BACKOFF_NANOS));
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        final Thread waiter = Thread.currentThread();
+        consumerWaiters.add(waiter);
+        try {
+            while (true) {
+                e = poll();
+                if (e != null) {
+                    return e;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                LockSupport.park(this);
+            }
+        } finally {
+            consumerWaiters.remove(waiter);
+        }
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        E e = poll();
+        if (e != null) {
+            return e;
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        final Thread waiter = Thread.currentThread();
+        consumerWaiters.add(waiter);
+        try {
+            while (true) {
+                e = poll();
+                if (e != null) {
+                    return e;
+                }
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                LockSupport.parkNanos(this, remaining);
+            }
+        } finally {
+            consumerWaiters.remove(waiter);
+        }
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c, "c");
+        if (c == this) {
+            throw new IllegalArgumentException("drainTo self");
+        }
+        int count = 0;
+        while (count < maxElements) {
+            final E e = poll();
+            if (e == null) {
+                break;
+            }
+            c.add(e);
+            count++;
+        }
+        return count;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity() - size();
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public int capacity() {
+        return queue.capacity();
+    }
+
+    /**
+     * Weakly consistent, see {@link BoundedArrayQueue#iterator()}.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return queue.iterator();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedArrayBlockingQueue{" +
+                "capacity=" + capacity() +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free multi-producer/multi-consumer array queue. (Dmitry Vyukov's algorithm)
+ * <p>
+ * Each slot carries a sequence number telling whether it is ready for the next producer or consumer,
+ * so neither {@link #offer(Object)} nor {@link #poll()} allocates.
+ */
+public class BoundedArrayQueue<E> implements Iterable<E> {
+
+    private final AtomicReferenceArray<E> buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final int capacity;
+
+    private final PaddedAtomicLong producerIndex = new PaddedAtomicLong();
+    // cached consumerIndex + capacity, lets producers skip reading the consumer's cache line
+    private final PaddedAtomicLong producerLimit;
+    private final PaddedAtomicLong consumerIndex = new PaddedAtomicLong();
+
+    /**
+     * @param capacity rounded up to a power of two
+     */
+    public BoundedArrayQueue(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * @param exact if true, at most {@code capacity} elements are queued, otherwise the capacity is rounded up to a power of two
+     */
+    BoundedArrayQueue(int capacity, boolean exact) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("negative capacity:" + capacity);
+        }
+        final int size = roundToPowerOfTwo(capacity);
+        this.buffer = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.capacity = exact ? capacity : size;
+        this.producerLimit = new PaddedAtomicLong(this.capacity);
+    }
+
+    static int roundToPowerOfTwo(int value) {
+        if (value > (1 << 30)) {
+            throw new IllegalArgumentException("capacity too large:" + value);
+        }
+        return 1 << (32 - Integer.numberOfLeadingZeros(value - 1));
+    }
+
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException("e");
+        }
+        long limit = producerLimit.get();
+        long index = producerIndex.get();
+        while (true) {
+            if (index >= limit) {
+                limit = consumerIndex.get() + capacity;
+                if (index >= limit) {
+                    // full
+                    return false;
+                }
+                producerLimit.lazySet(limit);
+            }
+            final int offset = (int) (index & mask);
+            final long sequence = sequences.get(offset);
+            final long diff = sequence - index;
+            if (diff == 0) {
+                if (producerIndex.compareAndSet(index, index + 1)) {
+                    buffer.lazySet(offset, e);
+                    // publish
+                    sequences.set(offset, index + 1);
+                    return true;
+                }
+                index = producerIndex.get();
+            } else if (diff < 0) {
+                // full
+                return false;
+            } else {
+                index = producerIndex.get();
+            }
+        }
+    }
+
+    public E poll() {
+        long index = consumerIndex.get();
+        while (true) {
+            final int offset = (int) (index & mask);
+            final long sequence = sequences.get(offset);
+            final long diff = sequence - (index + 1);
+            if (diff == 0) {
+                if (consumerIndex.compareAndSet(index, index + 1)) {
+                    final E e = buffer.get(offset);
+                    buffer.lazySet(offset, null);
+                    // release the slot for the next round
+                    sequences.set(offset, index + mask + 1);
+                    return e;
+                }
+                index = consumerIndex.get();
+            } else if (diff < 0) {
+                // empty
+                return null;
+            } else {
+                index = consumerIndex.get();
+            }
+        }
+    }
+
+    public E peek() {
+        while (true) {
+            final long index = consumerIndex.get();
+            final int offset = (int) (index & mask);
+            final long diff = sequences.get(offset) - (index + 1);
+            if (diff < 0) {
+                // empty
+                return null;
+            }
+            if (diff == 0) {
+                final E e = buffer.get(offset);
+                // not polled in the meantime
+                if (e != null && consumerIndex.get() == index) {
+                    return e;
+                }
+            }
+        }
+    }
+
+    public int size() {
+        // read consumerIndex first, so that the difference never goes negative
+        final long consumer = consumerIndex.get();
+        final long size = producerIndex.get() - consumer;
+        if (size < 0) {
+            return 0;
+        }
+        return (int) Math.min(size, capacity);
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Weakly consistent iterator. It returns the elements queued when it was created that are not polled yet,
+     * may return elements offered afterwards, and never throws {@link java.util.ConcurrentModificationException}.
+     * {@link Iterator#remove()} is not supported.
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new Itr();
+    }
+
+    private class Itr implements Iterator<E> {
+        private long index = consumerIndex.get();
+        private E next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (true) {
+                // skip the polled elements
+                index = Math.max(index, consumerIndex.get());
+                if (index >= producerIndex.get()) {
+                    return false;
+                }
+                final int offset = (int) (index & mask);
+                final long sequence = sequences.get(offset);
+                if (sequence - (index + 1) < 0) {
+                    // claimed by a producer, not published yet
+                    return false;
+                }
+                final E e = buffer.get(offset);
+                // the slot still holds the element of this round
+                final boolean sameRound = sequences.get(offset) == index + 1;
+                index++;
+                if (e != null && sameRound) {
+                    next = e;
+                    return true;
+                }
+            }
+        }
+
+        @Override
+        public E next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final E e = next;
+            next = null;
+            return e;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedArrayQueue{" +
+                "capacity=" + capacity() +
+                ", size=" + size() +
+                '}';
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link AtomicLong} followed by a cache line of padding, so that two hot counters allocated
+ * back to back do not share a cache line.
+ */
+@SuppressWarnings("unused")
+final class PaddedAtomicLong extends AtomicLong {
+
+    private long p01, p02, p03, p04, p05, p06, p07;
+    private long p08, p09, p10, p11, p12, p13, p14, p15;
+
+    PaddedAtomicLong() {
+    }
+
+    PaddedAtomicLong(long initialValue) {
+        super(initialValue);
+    }
+}
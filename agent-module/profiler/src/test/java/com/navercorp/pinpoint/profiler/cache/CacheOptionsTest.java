@@ -0,0 +1,75 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CacheOptionsTest {
+
+    @Test
+    public void maximumWeight() {
+        final long maxWeight = 64 * 1024;
+        final CacheOptions cacheOptions = new CacheOptions(1024, maxWeight, true);
+        final Cache<String, Result<Integer>> cache = cacheOptions.newCache();
+
+        final String largeSql = newSql(8 * 1024);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i + largeSql, new Result<>(true, i));
+        }
+        cache.cleanUp();
+
+        assertThat(CacheOptions.weightedSize(cache)).isLessThanOrEqualTo(maxWeight);
+        assertThat(cache.estimatedSize()).isLessThan(100);
+        assertThat(cache.stats().evictionCount()).isPositive();
+    }
+
+    @Test
+    public void maximumSize() {
+        final CacheOptions cacheOptions = CacheOptions.ofSize(10);
+        final Cache<String, Result<Integer>> cache = cacheOptions.newCache();
+
+        final String largeSql = newSql(8 * 1024);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i + largeSql, new Result<>(true, i));
+        }
+        cache.cleanUp();
+
+        assertThat(cache.estimatedSize()).isEqualTo(10);
+        assertThat(CacheOptions.weightedSize(cache)).isEqualTo(10);
+    }
+
+    @Test
+    public void entryWeight() {
+        final int small = EntryWeigher.INSTANCE.weigh("select 1", null);
+        final int large = EntryWeigher.INSTANCE.weigh(newSql(1024), null);
+        final int digest = EntryWeigher.INSTANCE.weigh(DigestKeyCache.digest(newSql(1024)), null);
+
+        assertThat(large - small).isEqualTo(2 * (1024 - "select 1".length()));
+        assertThat(digest).isLessThan(small);
+    }
+
+    private static String newSql(int length) {
+        StringBuilder sql = new StringBuilder(length);
+        sql.append("select ");
+        while (sql.length() < length) {
+            sql.append('a');
+        }
+        return sql.toString();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.cache;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DigestKeyCacheTest {
+
+    @Test
+    public void put() {
+        SimpleCache<HashCode> simpleCache = new SimpleCache<>(new IdAllocator.ZigZagAllocator(), new CacheOptions(1024, 0, true));
+        DigestKeyCache<Result<Integer>> cache = new DigestKeyCache<>(simpleCache);
+
+        Result<Integer> first = cache.put("select * from A");
+        Result<Integer> second = cache.put("select * from A");
+        Result<Integer> other = cache.put("select * from B");
+
+        assertThat(first.isNewValue()).isTrue();
+        assertThat(second.isNewValue()).isFalse();
+        assertThat(second.getId()).isEqualTo(first.getId());
+        assertThat(other.isNewValue()).isTrue();
+        assertThat(other.getId()).isNotEqualTo(first.getId());
+
+        assertThat(cache.stats().hitCount()).isEqualTo(1);
+        assertThat(cache.weightedSize()).isEqualTo(2);
+    }
+
+    @Test
+    public void uid() {
+        final String sql = "select * from A";
+        UidCache<HashCode> uidCache = new UidCache<>(1024, HashCode::asBytes);
+        DigestKeyCache<Result<byte[]>> cache = new DigestKeyCache<>(uidCache);
+
+        byte[] expected = Hashing.murmur3_128().hashString(sql, StandardCharsets.UTF_8).asBytes();
+        assertThat(cache.put(sql).getId()).isEqualTo(expected);
+    }
+}
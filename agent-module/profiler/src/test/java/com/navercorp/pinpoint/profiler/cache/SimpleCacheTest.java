@@ -54,4 +54,17 @@ public class SimpleCacheTest {
         Assertions.assertTrue(newValue.isNewValue());
 
     }
+
+    @Test
+    public void stats() {
+        CacheOptions cacheOptions = new CacheOptions(1024, 0, true);
+        SimpleCache<String> cache = new SimpleCache<>(new IdAllocator.ZigZagAllocator(), cacheOptions);
+        cache.put("test");
+        cache.put("test");
+        cache.put("new");
+
+        Assertions.assertEquals(1, cache.stats().hitCount());
+        Assertions.assertEquals(2, cache.stats().missCount());
+        Assertions.assertEquals(2, cache.weightedSize());
+    }
 }
@@ -17,14 +17,14 @@ import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class UidCacheTest {
-    UidCache sut;
+    UidCache<String> sut;
 
     @Mock
     Function<String, byte[]> uidFunction;
 
     @BeforeEach
     void setUp() {
-        sut = new UidCache(1024, uidFunction);
+        sut = new UidCache<>(1024, uidFunction);
 
         when(uidFunction.apply(any()))
                 .thenReturn(new byte[]{});
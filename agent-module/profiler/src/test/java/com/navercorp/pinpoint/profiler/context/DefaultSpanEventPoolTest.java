@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.profiler.context.annotation.Annotations;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultSpanEventPoolTest {
+
+    @Test
+    public void reuse() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(4);
+
+        SpanEvent spanEvent = pool.acquire();
+        spanEvent.setApiId(10);
+        spanEvent.setDepth(3);
+        spanEvent.setEndPoint("endPoint");
+        spanEvent.addAnnotation(Annotations.of(1, "value"));
+        pool.release(spanEvent);
+
+        SpanEvent reused = pool.acquire();
+        assertThat(reused).isSameAs(spanEvent);
+        assertThat(reused.getApiId()).isZero();
+        assertThat(reused.getDepth()).isEqualTo(-1);
+        assertThat(reused.getEndPoint()).isNull();
+        assertThat(reused.getAnnotations()).isEmpty();
+
+        assertThat(pool.getAllocateCount()).isEqualTo(1);
+        assertThat(pool.getReuseCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void skipDisableSpanEvent() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(4);
+        pool.release(new DisableSpanEvent());
+
+        assertThat(pool.acquire()).isNotInstanceOf(DisableSpanEvent.class);
+    }
+
+    @Test
+    public void allocationPerRequest() {
+        final int requests = 1000;
+        final int spanEventPerRequest = 10;
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(64);
+        SpanEventFactory factory = new SpanEventFactory(pool);
+
+        SpanEvent[] spanEvents = new SpanEvent[spanEventPerRequest];
+        for (int i = 0; i < requests; i++) {
+            for (int j = 0; j < spanEventPerRequest; j++) {
+                spanEvents[j] = factory.newInstance();
+            }
+            // sender thread
+            for (SpanEvent spanEvent : spanEvents) {
+                pool.release(spanEvent);
+            }
+        }
+
+        assertThat(pool.getAllocateCount()).isEqualTo(spanEventPerRequest);
+        assertThat(pool.getReuseCount()).isEqualTo((long) (requests - 1) * spanEventPerRequest);
+    }
+}
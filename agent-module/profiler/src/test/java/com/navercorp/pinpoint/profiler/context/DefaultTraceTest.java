@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.profiler.context;
 import com.navercorp.pinpoint.bootstrap.context.SpanEventRecorder;
 import com.navercorp.pinpoint.bootstrap.context.SpanRecorder;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
 import com.navercorp.pinpoint.profiler.context.errorhandler.BypassErrorHandler;
 import com.navercorp.pinpoint.profiler.context.errorhandler.IgnoreErrorHandler;
 import com.navercorp.pinpoint.profiler.context.exception.DefaultExceptionRecorder;
@@ -35,10 +36,12 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -146,19 +149,50 @@ public class DefaultTraceTest {
         trace.close();
     }
 
+    @Test
+    public void lateWriteAfterRelease() {
+        DefaultSpanEventPool pool = new DefaultSpanEventPool(4);
+        CallStack<SpanEvent> callStack = new CallStackFactoryV2(64, -1, 1000, pool).newCallStack();
+        Storage storage = mock(Storage.class);
+        Trace trace = newTrace(callStack, storage);
+
+        SpanEventRecorder recorder = trace.traceBlockBegin();
+        recorder.recordApiId(10);
+        recorder.recordAttribute(AnnotationKey.ARGS0, "value");
+        trace.traceBlockEnd();
+
+        ArgumentCaptor<SpanEvent> captor = ArgumentCaptor.forClass(SpanEvent.class);
+        verify(storage).store(captor.capture());
+        SpanEvent stored = captor.getValue();
+        Assertions.assertEquals(10, stored.getApiId());
+        // converted and recycled by the sender thread
+        pool.release(stored);
+
+        recorder.recordApiId(20);
+        recorder.recordEndPoint("endPoint");
+        recorder.recordAttribute(AnnotationKey.ARGS0, "late");
+
+        SpanEvent reused = pool.acquire();
+        Assertions.assertSame(stored, reused);
+        Assertions.assertEquals(0, reused.getApiId());
+        Assertions.assertNull(reused.getEndPoint());
+        Assertions.assertTrue(reused.getAnnotations().isEmpty());
+        trace.close();
+    }
+
     private Trace newTrace() {
         return newTrace(64);
     }
 
     private Trace newTrace(final int maxCallStackDepth) {
-        when(traceRoot.getShared()).thenReturn(shared);
-
         CallStackFactory<SpanEvent> callStackFactory = new CallStackFactoryV1(maxCallStackDepth, -1, 1000);
-        CallStack<SpanEvent> callStack = callStackFactory.newCallStack();
+        return newTrace(callStackFactory.newCallStack(), mock(Storage.class));
+    }
 
-        SpanFactory spanFactory = new DefaultSpanFactory();
+    private Trace newTrace(CallStack<SpanEvent> callStack, Storage storage) {
+        when(traceRoot.getShared()).thenReturn(shared);
 
-        Storage storage = mock(Storage.class);
+        SpanFactory spanFactory = new DefaultSpanFactory();
 
         final Span span = spanFactory.newSpan(traceRoot);
 
@@ -0,0 +1,177 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.context.active;
+
+import com.navercorp.pinpoint.profiler.context.id.LocalTraceRoot;
+import com.navercorp.pinpoint.profiler.context.id.TraceRoot;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ResponseTimeValue;
+import com.navercorp.pinpoint.profiler.monitor.metric.response.ReuseResponseTimeCollector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StripedActiveTraceRepositoryTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    public void histogram() {
+        ActiveTraceRepository repository = new StripedActiveTraceRepository(new ReuseResponseTimeCollector(), 1024, 4, 100);
+
+        register(repository, 1, NOW - 100);
+        register(repository, 2, NOW - 900);
+        register(repository, 3, NOW - 1500);
+        register(repository, 4, NOW - 4000);
+        register(repository, 5, NOW - 6000);
+        register(repository, 6, NOW - 60000);
+
+        ActiveTraceHistogram histogram = repository.getActiveTraceHistogram(NOW);
+        assertThat(histogram.getCounter()).containsExactly(2, 1, 1, 2);
+    }
+
+    @Test
+    public void histogram_sameAsFullScan() {
+        ActiveTraceRepository striped = new StripedActiveTraceRepository(new ReuseResponseTimeCollector(), 1024, 8, 100);
+        ActiveTraceRepository fullScan = new DefaultActiveTraceRepository(new ReuseResponseTimeCollector(), 1024);
+
+        // bucket aligned start times, elapsed time is exact
+        for (int i = 1; i <= 200; i++) {
+            long startTime = NOW - (i * 37 % 80) * 100L;
+            register(striped, i, startTime);
+            register(fullScan, i, startTime);
+        }
+
+        ActiveTraceHistogram expected = fullScan.getActiveTraceHistogram(NOW);
+        assertThat(striped.getActiveTraceHistogram(NOW).getCounter()).isEqualTo(expected.getCounter());
+        assertThat(striped.getActiveTraceHistogram(NOW + 2000).getCounter()).isEqualTo(fullScan.getActiveTraceHistogram(NOW + 2000).getCounter());
+    }
+
+    @Test
+    public void purge() {
+        ReuseResponseTimeCollector responseTimeCollector = new ReuseResponseTimeCollector();
+        ActiveTraceRepository repository = new StripedActiveTraceRepository(responseTimeCollector, 1024, 4, 100);
+
+        ActiveTraceHandle fast = register(repository, 1, NOW - 100);
+        ActiveTraceHandle verySlow = register(repository, 2, NOW - 60000);
+        register(repository, 3, NOW - 4000);
+
+        fast.purge(NOW);
+        verySlow.purge(NOW);
+        // purge twice
+        fast.purge(NOW);
+
+        assertThat(repository.getActiveTraceHistogram(NOW).getCounter()).containsExactly(0, 0, 1, 0);
+        assertThat(repository.snapshot()).hasSize(1);
+
+        ResponseTimeValue responseTimeValue = responseTimeCollector.resetAndGetValue();
+        assertThat(responseTimeValue.getTransactionCount()).isEqualTo(2);
+        assertThat(responseTimeValue.getMax()).isEqualTo(60000);
+    }
+
+    @Test
+    public void purge_empty() {
+        ActiveTraceRepository repository = new StripedActiveTraceRepository(new ReuseResponseTimeCollector());
+
+        register(repository, 1, NOW - 100).purge(NOW);
+
+        assertThat(repository.getActiveTraceHistogram(NOW).getCounter()).containsExactly(0, 0, 0, 0);
+        assertThat(repository.snapshot()).isEmpty();
+        assertThat(repository.getThreadIdList()).isEmpty();
+    }
+
+    @Test
+    public void notStarted() {
+        ActiveTraceRepository repository = new StripedActiveTraceRepository(new ReuseResponseTimeCollector());
+
+        ActiveTraceHandle handle = register(repository, 1, 0);
+
+        assertThat(repository.getActiveTraceHistogram(NOW).getCounter()).containsExactly(0, 0, 0, 0);
+        assertThat(repository.snapshot()).isEmpty();
+        handle.purge(NOW);
+        assertThat(repository.getActiveTraceHistogram(NOW).getCounter()).containsExactly(0, 0, 0, 0);
+    }
+
+    @Test
+    public void bucketRecycled() {
+        ActiveTraceRepository repository = new StripedActiveTraceRepository(new ReuseResponseTimeCollector(), 1024, 1, 100);
+
+        // same ring slot, 52 buckets apart
+        ActiveTraceHandle old = register(repository, 1, NOW - 5200);
+        register(repository, 2, NOW);
+
+        assertThat(repository.getActiveTraceHistogram(NOW).getCounter()).containsExactly(1, 0, 0, 1);
+
+        old.purge(NOW);
+        assertThat(repository.getActiveTraceHistogram(NOW).getCounter()).containsExactly(1, 0, 0, 0);
+    }
+
+    @Test
+    public void snapshot_threadDump() {
+        ActiveTraceRepository repository = new StripedActiveTraceRepository(new ReuseResponseTimeCollector());
+
+        register(repository, 1, NOW - 100);
+        register(repository, 2, NOW - 200);
+
+        assertThat(repository.snapshot()).hasSize(2);
+        assertThat(repository.getThreadIdList()).hasSize(2);
+    }
+
+    @Test
+    public void concurrent() throws InterruptedException {
+        final int threads = 8;
+        final int tracePerThread = 1000;
+        final ActiveTraceRepository repository = new StripedActiveTraceRepository(new ReuseResponseTimeCollector(), threads * tracePerThread, 4, 100);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch latch = new CountDownLatch(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                final int thread = i;
+                executor.execute(() -> {
+                    final List<ActiveTraceHandle> handles = new ArrayList<>();
+                    for (int j = 0; j < tracePerThread; j++) {
+                        handles.add(register(repository, thread * tracePerThread + j, NOW - j % 50 * 100));
+                    }
+                    // remove half
+                    for (int j = 0; j < tracePerThread; j += 2) {
+                        handles.get(j).purge(NOW);
+                    }
+                    latch.countDown();
+                });
+            }
+            assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ActiveTraceHistogram histogram = repository.getActiveTraceHistogram(NOW);
+        assertThat(histogram.getFastCount() + histogram.getNormalCount() + histogram.getSlowCount() + histogram.getVerySlowCount())
+                .isEqualTo(threads * tracePerThread / 2);
+        assertThat(repository.snapshot()).hasSize(threads * tracePerThread / 2);
+    }
+
+    private ActiveTraceHandle register(ActiveTraceRepository repository, long id, long startTime) {
+        LocalTraceRoot traceRoot = TraceRoot.local("agentId", startTime, id);
+        return repository.register(traceRoot);
+    }
+}
@@ -75,6 +75,24 @@ public class UrlSamplerConfigTest {
         Assertions.assertFalse(urlInfo.isValid());
     }
 
+    @Test
+    public void adaptiveSamplerFollowsGlobalConfig() {
+        Properties properties = new Properties();
+        properties.setProperty("profiler.sampling.adaptive.interval", "5000");
+        properties.setProperty("profiler.sampling.adaptive.smoothing-factor", "0.5");
+        properties.setProperty("profiler.sampling.url.1.path", "/foo");
+        properties.setProperty("profiler.sampling.url.1.adaptive.target-throughput", "7");
+        ProfilerConfig profilerConfig = ProfilerConfigLoader.load(properties);
+
+        UrlSamplerConfig urlSamplerConfig = new UrlSamplerConfig(profilerConfig, SamplerType.ADAPTIVE);
+        List<Map.Entry<Integer, UrlSamplerInfo>> entryList = urlSamplerConfig.entryList();
+        UrlSamplerInfo urlInfo = entryList.get(0).getValue();
+        assertThat(urlInfo.getSampler().toString())
+                .contains("targetThroughput=7.0")
+                .contains("intervalNanos=5000000000")
+                .contains("smoothingFactor=0.5");
+    }
+
     @Test
     public void invalidConfig() {
         Properties properties = new Properties();
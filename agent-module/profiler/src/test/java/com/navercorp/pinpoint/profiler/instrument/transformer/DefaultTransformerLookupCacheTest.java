@@ -0,0 +1,66 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DefaultTransformerLookupCacheTest {
+
+    private final byte[] classFileBuffer = "class-bytes".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void hitAndMiss() {
+        DefaultTransformerLookupCache cache = new DefaultTransformerLookupCache(null, "v1", 16);
+
+        assertThat(cache.isNotTransformTarget("com/test/Foo", classFileBuffer)).isFalse();
+        cache.putNotTransformTarget("com/test/Foo", classFileBuffer);
+        assertThat(cache.isNotTransformTarget("com/test/Foo", classFileBuffer)).isTrue();
+        assertThat(cache.isNotTransformTarget("com/test/Foo", "changed".getBytes(StandardCharsets.UTF_8))).isFalse();
+
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void maxSize() {
+        DefaultTransformerLookupCache cache = new DefaultTransformerLookupCache(null, "v1", 1);
+        cache.putNotTransformTarget("com/test/Foo", classFileBuffer);
+        cache.putNotTransformTarget("com/test/Bar", classFileBuffer);
+
+        assertThat(cache.size()).isEqualTo(1);
+    }
+
+    @Test
+    public void reuseCacheFile(@TempDir Path tempDir) {
+        Path cacheFile = tempDir.resolve("transformer.cache");
+
+        DefaultTransformerLookupCache cache = new DefaultTransformerLookupCache(cacheFile, "v1", 16);
+        cache.putNotTransformTarget("com/test/Foo", classFileBuffer);
+        cache.close();
+
+        DefaultTransformerLookupCache reload = new DefaultTransformerLookupCache(cacheFile, "v1", 16);
+        assertThat(reload.isNotTransformTarget("com/test/Foo", classFileBuffer)).isTrue();
+
+        DefaultTransformerLookupCache versionChanged = new DefaultTransformerLookupCache(cacheFile, "v2", 16);
+        assertThat(versionChanged.isNotTransformTarget("com/test/Foo", classFileBuffer)).isFalse();
+    }
+}
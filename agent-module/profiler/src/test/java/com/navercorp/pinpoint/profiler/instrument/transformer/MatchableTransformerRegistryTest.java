@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.instrument.transformer;
 
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.InterfaceInternalNameMatcherOperand;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.operand.MatcherOperand;
 import com.navercorp.pinpoint.profiler.instrument.config.DefaultInstrumentMatcherCacheConfig;
 import com.navercorp.pinpoint.profiler.plugin.Foo;
@@ -36,6 +37,7 @@ import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * @author jaehong.kim
@@ -67,6 +69,67 @@ public class MatchableTransformerRegistryTest {
         System.out.println(classFileTransformer.toString());
     }
 
+    @Test
+    public void lookupCache() {
+        final DefaultTransformerLookupCache lookupCache = new DefaultTransformerLookupCache(null, "test", 16);
+        final MatcherOperand operand = new InterfaceInternalNameMatcherOperand("java.lang.Runnable", false);
+        final MatchableTransformerRegistry registry = newRegistry(Matchers.newPackageBasedMatcher("com.navercorp.pinpoint.profiler.plugin", operand), lookupCache);
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final byte[] classFileByteCodes = BytecodeUtils.getClassFile(classLoader, Foo.class.getName());
+
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/plugin/Foo", classFileByteCodes));
+        assertEquals(1, lookupCache.size());
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/plugin/Foo", classFileByteCodes));
+        assertEquals(1, lookupCache.getHitCount());
+    }
+
+    @Test
+    public void lookupCache_classLoaderDependent() {
+        final DefaultTransformerLookupCache lookupCache = new DefaultTransformerLookupCache(null, "test", 16);
+        // reads the super classes through the class loader
+        final MatcherOperand operand = new InterfaceInternalNameMatcherOperand("java.lang.Runnable", true);
+        final MatchableTransformerRegistry registry = newRegistry(Matchers.newPackageBasedMatcher("com.navercorp.pinpoint.profiler.plugin", operand), lookupCache);
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final byte[] classFileByteCodes = BytecodeUtils.getClassFile(classLoader, Foo.class.getName());
+
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/plugin/Foo", classFileByteCodes));
+        assertEquals(0, lookupCache.size());
+        assertEquals(0, lookupCache.getMissCount());
+    }
+
+    @Test
+    public void lookupCache_nameOnly() {
+        final DefaultTransformerLookupCache lookupCache = new DefaultTransformerLookupCache(null, "test", 16);
+        final MatchableTransformerRegistry registry = newRegistry(Matchers.newPackageBasedMatcher("com.navercorp.pinpoint.profiler.plugin"), lookupCache);
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final byte[] classFileByteCodes = BytecodeUtils.getClassFile(classLoader, Bar.class.getName());
+
+        // no matcher is evaluated, the checksum is not computed
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/sender/Bar", classFileByteCodes));
+        assertEquals(0, lookupCache.size());
+        assertEquals(0, lookupCache.getMissCount());
+    }
+
+    @Test
+    public void lookupCache_invalidClassFile() {
+        final DefaultTransformerLookupCache lookupCache = new DefaultTransformerLookupCache(null, "test", 16);
+        final MatchableTransformerRegistry registry = newRegistry(Matchers.newPackageBasedMatcher("com.navercorp.pinpoint.profiler.plugin"), lookupCache);
+
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+
+        assertNull(registry.findTransformer(classLoader, "com/navercorp/pinpoint/profiler/plugin/Foo", new byte[]{1, 2, 3}));
+        assertEquals(0, lookupCache.size());
+    }
+
+    private MatchableTransformerRegistry newRegistry(Matcher matcher, TransformerLookupCache lookupCache) {
+        List<MatchableClassFileTransformer> matchableClassFileTransformerList = new ArrayList<>();
+        matchableClassFileTransformerList.add(new MockMatchableClassFileTransformer(matcher));
+        return new MatchableTransformerRegistry(new DefaultInstrumentMatcherCacheConfig(), matchableClassFileTransformerList, lookupCache);
+    }
+
     @Test
     public void packageNameBasedIndex() {
         // sorted
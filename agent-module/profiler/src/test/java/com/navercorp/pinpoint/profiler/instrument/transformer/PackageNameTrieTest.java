@@ -0,0 +1,99 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PackageNameTrieTest {
+
+    @Test
+    public void lookupOrder() {
+        PackageNameTrie<String> trie = new PackageNameTrie<>();
+        trie.put("com/navercorp/pinpoint/", "long");
+        trie.put("com/", "short");
+        trie.put("org/apache/", "apache");
+
+        List<String> visited = new ArrayList<>();
+        String result = trie.lookup("com/navercorp/pinpoint/Foo", (values) -> {
+            visited.addAll(values);
+            return null;
+        });
+
+        assertThat(result).isNull();
+        assertThat(visited).containsExactly("short", "long");
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void lookupFirstMatch() {
+        PackageNameTrie<String> trie = new PackageNameTrie<>();
+        trie.put("com/foo", "foo");
+        trie.put("com/foo/bar", "bar");
+
+        assertThat(trie.lookup("com/foo/bar/Baz", (values) -> values.iterator().next())).isEqualTo("foo");
+        assertThat(trie.lookup("com/fo", (values) -> values.iterator().next())).isNull();
+        assertThat(trie.lookup("com/foo", (values) -> values.iterator().next())).isEqualTo("foo");
+        assertThat(trie.get("com/foo/bar")).containsExactly("bar");
+        assertThat(trie.get("com/foo/ba")).isEmpty();
+    }
+
+    @Test
+    public void sameResultAsLinearScan() {
+        final String[] packages = {
+                "org/apache/catalina/", "org/apache/catalina/core/", "org/apache/coyote/", "org/apache/http/",
+                "org/springframework/web/", "org/springframework/web/servlet/", "org/springframework/beans/",
+                "com/mysql/", "com/mysql/cj/jdbc/", "io/netty/", "io/netty/channel/", "io/grpc/", "java/util/concurrent/",
+        };
+        final String[] classNames = {
+                "org/apache/catalina/core/StandardHostValve", "org/apache/catalina/connector/CoyoteAdapter",
+                "org/apache/coyote/http11/Http11Processor", "org/apache/http/impl/client/CloseableHttpClient",
+                "org/springframework/web/servlet/DispatcherServlet", "org/springframework/beans/factory/BeanFactory",
+                "org/springframework/context/ApplicationContext", "com/mysql/cj/jdbc/ConnectionImpl",
+                "io/netty/channel/DefaultChannelPipeline", "io/netty/util/Recycler", "io/grpc/ManagedChannel",
+                "java/util/concurrent/ThreadPoolExecutor", "java/lang/String", "com/example/Main", "io/nett",
+        };
+
+        PackageNameTrie<String> trie = new PackageNameTrie<>();
+        Map<String, String> linear = new TreeMap<>();
+        for (String packageName : packages) {
+            trie.put(packageName, packageName);
+            linear.put(packageName, packageName);
+        }
+
+        for (String className : classNames) {
+            List<String> expected = new ArrayList<>();
+            for (Map.Entry<String, String> entry : linear.entrySet()) {
+                if (className.startsWith(entry.getKey())) {
+                    expected.add(entry.getValue());
+                }
+            }
+
+            List<String> actual = new ArrayList<>();
+            trie.lookup(className, (values) -> {
+                actual.addAll(values);
+                return null;
+            });
+            assertThat(actual).as(className).isEqualTo(expected);
+        }
+    }
+}
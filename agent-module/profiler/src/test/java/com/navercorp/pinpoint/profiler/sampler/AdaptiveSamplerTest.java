@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.sampler.Sampler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+public class AdaptiveSamplerTest {
+
+    private final AtomicLong clock = new AtomicLong(0);
+
+    @Test
+    public void lowTraffic_sampleAll() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 1000, 0.5, clock::get);
+
+        for (int second = 0; second < 5; second++) {
+            int sampled = runSecond(sampler, 50);
+            assertThat(sampled).isEqualTo(50);
+        }
+        assertThat(sampler.getSamplingRate()).isEqualTo(AdaptiveSampler.MAX);
+    }
+
+    @Test
+    public void highTraffic_convergeToTarget() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 1000, 0.5, clock::get);
+
+        int sampled = 0;
+        for (int second = 0; second < 10; second++) {
+            sampled = runSecond(sampler, 10_000);
+        }
+        assertThat(sampler.getSmoothedRequestRate()).isCloseTo(10_000, within(100.0));
+        assertThat(sampled).isBetween(95, 105);
+    }
+
+    @Test
+    public void trafficChange_followTraffic() {
+        AdaptiveSampler sampler = new AdaptiveSampler(100, 1000, 0.5, clock::get);
+
+        for (int second = 0; second < 10; second++) {
+            runSecond(sampler, 10_000);
+        }
+        final long peakRate = sampler.getSamplingRate();
+
+        int sampled = 0;
+        for (int second = 0; second < 10; second++) {
+            sampled = runSecond(sampler, 1_000);
+        }
+        assertThat(sampler.getSamplingRate()).isGreaterThan(peakRate);
+        assertThat(sampled).isBetween(95, 105);
+
+        for (int second = 0; second < 10; second++) {
+            sampled = runSecond(sampler, 10);
+        }
+        assertThat(sampler.getSamplingRate()).isEqualTo(AdaptiveSampler.MAX);
+        assertThat(sampled).isEqualTo(10);
+    }
+
+    @Test
+    public void smoothing() {
+        AdaptiveSampler sampler = new AdaptiveSampler(10, 1000, 0.5, clock::get);
+
+        runSecond(sampler, 1000);
+        runSecond(sampler, 1000);
+        assertThat(sampler.getSmoothedRequestRate()).isCloseTo(1000, within(1.0));
+
+        // spike is only partially reflected
+        runSecond(sampler, 3000);
+        // the next request closes the interval
+        sampler.isSampling();
+        assertThat(sampler.getSmoothedRequestRate()).isCloseTo(2000, within(1.0));
+    }
+
+    @Test
+    public void invalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(0, 1000, 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(10, 0, 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(10, 1000, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new AdaptiveSampler(10, 1000, 1.5));
+    }
+
+    @Test
+    public void factory() {
+        Sampler sampler = new AdaptiveSamplerFactory(0).createSampler();
+        assertThat(sampler).isSameAs(FalseSampler.INSTANCE);
+
+        sampler = new AdaptiveSamplerFactory(10, -1, 2).createSampler();
+        assertThat(sampler).isInstanceOf(AdaptiveSampler.class);
+    }
+
+    /**
+     * spreads the requests evenly over one second
+     * @return sampled count
+     */
+    private int runSecond(Sampler sampler, int requests) {
+        final long start = clock.get();
+        final long second = TimeUnit.SECONDS.toNanos(1);
+        int sampled = 0;
+        for (int i = 0; i < requests; i++) {
+            clock.set(start + second * i / requests);
+            if (sampler.isSampling()) {
+                sampled++;
+            }
+        }
+        clock.set(start + second);
+        return sampled;
+    }
+}
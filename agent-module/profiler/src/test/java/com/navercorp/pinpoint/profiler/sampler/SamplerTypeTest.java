@@ -9,5 +9,6 @@ public class SamplerTypeTest {
     public void of() {
         Assertions.assertEquals(SamplerType.COUNTING, SamplerType.of("counting"));
         Assertions.assertEquals(SamplerType.PERCENT, SamplerType.of("percent"));
+        Assertions.assertEquals(SamplerType.ADAPTIVE, SamplerType.of("adaptive"));
     }
 }
\ No newline at end of file
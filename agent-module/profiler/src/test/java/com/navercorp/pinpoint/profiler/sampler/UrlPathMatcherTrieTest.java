@@ -0,0 +1,189 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.sampler;
+
+import com.navercorp.pinpoint.bootstrap.util.AntPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.EqualsPathMatcher;
+import com.navercorp.pinpoint.bootstrap.util.PathMatcher;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UrlPathMatcherTrieTest {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    @Test
+    public void find() {
+        UrlPathMatcherTrie<String> trie = new UrlPathMatcherTrie<>();
+        trie.add("/foo/*", "foo");
+        trie.add("/**/bar???", "bar");
+        trie.add("/baz/**", "baz");
+        trie.add("/exact/path", "exact");
+
+        assertThat(trie.find("/foo/bar")).isEqualTo("foo");
+        assertThat(trie.find("/AAA/bar001")).isEqualTo("bar");
+        assertThat(trie.find("/baz")).isEqualTo("baz");
+        assertThat(trie.find("/baz/foo/bar")).isEqualTo("baz");
+        assertThat(trie.find("/exact/path")).isEqualTo("exact");
+
+        assertThat(trie.find("/foo")).isNull();
+        assertThat(trie.find("/exact/path/1")).isNull();
+        assertThat(trie.find("/CCC/bar/DDD")).isNull();
+        assertThat(trie.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void find_firstRuleWins() {
+        UrlPathMatcherTrie<String> trie = new UrlPathMatcherTrie<>();
+        trie.add("/**", "all");
+        trie.add("/api/users", "users");
+        trie.add("/api/*", "api");
+
+        assertThat(trie.find("/api/users")).isEqualTo("all");
+        assertThat(trie.find("/api/orders")).isEqualTo("all");
+
+        trie = new UrlPathMatcherTrie<>();
+        trie.add("/api/v1/*", "v1");
+        trie.add("/api/**", "api");
+        trie.add("/api/v1/users", "users");
+
+        assertThat(trie.find("/api/v1/users")).isEqualTo("v1");
+        assertThat(trie.find("/api/v1/users/1")).isEqualTo("api");
+        assertThat(trie.find("/api/v2/users")).isEqualTo("api");
+    }
+
+    @Test
+    public void find_sameAsLinearScan() {
+        final List<String> patterns = newPatterns(200);
+        final UrlPathMatcherTrie<String> trie = new UrlPathMatcherTrie<>();
+        final List<PathMatcher> linear = new ArrayList<>();
+        for (String pattern : patterns) {
+            trie.add(pattern, pattern);
+            linear.add(newPathMatcher(pattern));
+        }
+
+        final Random random = new Random(1);
+        for (int i = 0; i < 5000; i++) {
+            final String path = newPath(random);
+            assertThat(trie.find(path)).as(path).isEqualTo(linearFind(patterns, linear, path));
+        }
+    }
+
+    @Disabled
+    @Test
+    public void benchmark() {
+        final int lookups = 1_000_000;
+        for (int rules : new int[]{10, 100, 1000}) {
+            final List<String> patterns = newPatterns(rules);
+            final UrlPathMatcherTrie<String> trie = new UrlPathMatcherTrie<>();
+            final List<PathMatcher> linear = new ArrayList<>();
+            for (String pattern : patterns) {
+                trie.add(pattern, pattern);
+                linear.add(newPathMatcher(pattern));
+            }
+            final String[] paths = new String[1024];
+            final Random random = new Random(rules);
+            for (int i = 0; i < paths.length; i++) {
+                paths[i] = newPath(random);
+            }
+
+            long start = System.nanoTime();
+            int found = 0;
+            for (int i = 0; i < lookups; i++) {
+                if (trie.find(paths[i & 1023]) != null) {
+                    found++;
+                }
+            }
+            final long trieElapsed = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < lookups / 10; i++) {
+                if (linearFind(patterns, linear, paths[i & 1023]) != null) {
+                    found++;
+                }
+            }
+            final long linearElapsed = (System.nanoTime() - start) * 10;
+
+            logger.info("rules={} trie={}ns/op linear={}ns/op found={}", rules, trieElapsed / lookups, linearElapsed / lookups, found);
+        }
+    }
+
+    private static List<String> newPatterns(int size) {
+        final List<String> patterns = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (i % 5) {
+                case 0:
+                    patterns.add("/api/v" + (i % 3) + "/service" + i + "/*");
+                    break;
+                case 1:
+                    patterns.add("/api/v" + (i % 3) + "/service" + i + "/**");
+                    break;
+                case 2:
+                    patterns.add("/static/" + i + "/*.js");
+                    break;
+                case 3:
+                    patterns.add("/page/" + i);
+                    break;
+                default:
+                    patterns.add("/**/item" + i + "??");
+                    break;
+            }
+        }
+        return patterns;
+    }
+
+    private static String newPath(Random random) {
+        final int i = random.nextInt(1200);
+        switch (random.nextInt(6)) {
+            case 0:
+                return "/api/v" + (i % 3) + "/service" + i + "/list";
+            case 1:
+                return "/api/v" + (i % 3) + "/service" + i + "/a/b/c";
+            case 2:
+                return "/static/" + i + "/main.js";
+            case 3:
+                return "/page/" + i;
+            case 4:
+                return "/shop/category/item" + i + "01";
+            default:
+                return "/unknown/" + i;
+        }
+    }
+
+    private static PathMatcher newPathMatcher(String pattern) {
+        if (AntPathMatcher.isAntStylePattern(pattern)) {
+            return new AntPathMatcher(pattern);
+        }
+        return new EqualsPathMatcher(pattern);
+    }
+
+    private static String linearFind(List<String> patterns, List<PathMatcher> matchers, String path) {
+        for (int i = 0; i < matchers.size(); i++) {
+            if (matchers.get(i).isMatched(path)) {
+                return patterns.get(i);
+            }
+        }
+        return null;
+    }
+}
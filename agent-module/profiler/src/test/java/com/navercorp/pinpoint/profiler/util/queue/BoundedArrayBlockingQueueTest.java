@@ -0,0 +1,218 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import com.navercorp.pinpoint.profiler.sender.grpc.SenderQueueType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedArrayBlockingQueueTest {
+
+    private static final int[] PRODUCERS = {1, 2, 4, 8, 16, 32, 64};
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    @Test
+    public void offerPoll() {
+        BoundedArrayBlockingQueue<String> queue = new BoundedArrayBlockingQueue<>(3);
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.peek()).isNull();
+
+        assertThat(queue.offer("a")).isTrue();
+        assertThat(queue.offer("b")).isTrue();
+        assertThat(queue.offer("c")).isTrue();
+        assertThat(queue.offer("d")).isFalse();
+        assertThat(queue.size()).isEqualTo(3);
+        assertThat(queue.remainingCapacity()).isEqualTo(0);
+
+        assertThat(queue.peek()).isEqualTo("a");
+        assertThat(queue.poll()).isEqualTo("a");
+        assertThat(queue.offer("d")).isTrue();
+        assertThat(queue.poll()).isEqualTo("b");
+        assertThat(queue.poll()).isEqualTo("c");
+        assertThat(queue.poll()).isEqualTo("d");
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void iterator() {
+        BoundedArrayBlockingQueue<Integer> queue = new BoundedArrayBlockingQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+        queue.poll();
+        queue.offer(4);
+
+        List<Integer> elements = new ArrayList<>();
+        for (Integer element : queue) {
+            elements.add(element);
+        }
+        assertThat(elements).containsExactly(1, 2, 3, 4);
+        assertThat(queue.contains(3)).isTrue();
+        assertThat(queue.contains(0)).isFalse();
+        assertThat(queue.size()).isEqualTo(4);
+    }
+
+    @Test
+    public void drainTo() {
+        BoundedArrayBlockingQueue<Integer> queue = new BoundedArrayBlockingQueue<>(8);
+        for (int i = 0; i < 5; i++) {
+            queue.offer(i);
+        }
+        List<Integer> buffer = new ArrayList<>();
+        assertThat(queue.drainTo(buffer, 3)).isEqualTo(3);
+        assertThat(buffer).containsExactly(0, 1, 2);
+
+        assertThat(queue.drainTo(buffer)).isEqualTo(2);
+        assertThat(buffer).containsExactly(0, 1, 2, 3, 4);
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void take_wakeUp() throws Exception {
+        final BoundedArrayBlockingQueue<String> queue = new BoundedArrayBlockingQueue<>(4);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<String> future = executor.submit(queue::take);
+            TimeUnit.MILLISECONDS.sleep(100);
+            assertThat(future.isDone()).isFalse();
+
+            queue.offer("a");
+            assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("a");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void take_multipleWaiters() throws Exception {
+        final BoundedArrayBlockingQueue<String> queue = new BoundedArrayBlockingQueue<>(4);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // e.g. the old and the new stream thread while the data sender reconnects
+            Future<String> first = executor.submit(queue::take);
+            Future<String> second = executor.submit(() -> queue.poll(10, TimeUnit.SECONDS));
+            TimeUnit.MILLISECONDS.sleep(100);
+            assertThat(first.isDone()).isFalse();
+            assertThat(second.isDone()).isFalse();
+
+            queue.offer("a");
+            queue.offer("b");
+            List<String> taken = new ArrayList<>();
+            taken.add(first.get(5, TimeUnit.SECONDS));
+            taken.add(second.get(5, TimeUnit.SECONDS));
+            assertThat(taken).containsExactlyInAnyOrder("a", "b");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void poll_timeout() throws InterruptedException {
+        BoundedArrayBlockingQueue<String> queue = new BoundedArrayBlockingQueue<>(4);
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isNull();
+
+        queue.offer("a");
+        assertThat(queue.poll(10, TimeUnit.MILLISECONDS)).isEqualTo("a");
+    }
+
+    @Test
+    public void multiProducer() throws InterruptedException {
+        for (int producers : PRODUCERS) {
+            final BoundedArrayBlockingQueue<Long> queue = new BoundedArrayBlockingQueue<>(1024);
+            final long sum = produceAndConsume(queue, producers, 2000);
+
+            final long expected = (long) producers * (2000L * 2001L / 2);
+            assertThat(sum).as("producers=%d", producers).isEqualTo(expected);
+            assertThat(queue.isEmpty()).isTrue();
+        }
+    }
+
+    @Disabled
+    @Test
+    public void contentionBenchmark() throws InterruptedException {
+        final int count = 200_000;
+        for (int producers : PRODUCERS) {
+            for (SenderQueueType queueType : SenderQueueType.values()) {
+                final BlockingQueue<Long> queue = queueType.newQueue(1024);
+                final long start = System.nanoTime();
+                produceAndConsume(queue, producers, count);
+                final long elapsed = System.nanoTime() - start;
+
+                final long messages = (long) producers * count;
+                logger.info("{} producers={} ops/ms={}", queueType, producers, messages * 1_000_000 / elapsed);
+            }
+        }
+    }
+
+    private long produceAndConsume(BlockingQueue<Long> queue, int producers, int count) throws InterruptedException {
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        final CountDownLatch startLatch = new CountDownLatch(1);
+        final LongAdder rejected = new LongAdder();
+        try {
+            for (int i = 0; i < producers; i++) {
+                executor.execute(() -> {
+                    try {
+                        startLatch.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                    for (long value = 1; value <= count; value++) {
+                        while (!queue.offer(value)) {
+                            rejected.increment();
+                            Thread.yield();
+                        }
+                    }
+                });
+            }
+            startLatch.countDown();
+
+            final List<Long> buffer = new ArrayList<>(64);
+            final long total = (long) producers * count;
+            long consumed = 0;
+            long sum = 0;
+            while (consumed < total) {
+                buffer.add(queue.take());
+                queue.drainTo(buffer, 63);
+                for (Long value : buffer) {
+                    sum += value;
+                }
+                consumed += buffer.size();
+                buffer.clear();
+            }
+            logger.debug("producers={} rejected={}", producers, rejected.sum());
+            return sum;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
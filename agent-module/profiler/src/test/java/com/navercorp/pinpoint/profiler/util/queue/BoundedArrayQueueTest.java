@@ -0,0 +1,128 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.profiler.util.queue;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedArrayQueueTest {
+
+    @Test
+    public void capacity() {
+        assertThat(new BoundedArrayQueue<String>(1).capacity()).isEqualTo(1);
+        assertThat(new BoundedArrayQueue<String>(3).capacity()).isEqualTo(4);
+        assertThat(new BoundedArrayQueue<String>(1024).capacity()).isEqualTo(1024);
+    }
+
+    @Test
+    public void offerPoll() {
+        BoundedArrayQueue<String> queue = new BoundedArrayQueue<>(2);
+        assertThat(queue.poll()).isNull();
+
+        assertThat(queue.offer("a")).isTrue();
+        assertThat(queue.offer("b")).isTrue();
+        assertThat(queue.offer("c")).isFalse();
+        assertThat(queue.size()).isEqualTo(2);
+
+        assertThat(queue.poll()).isEqualTo("a");
+        assertThat(queue.offer("c")).isTrue();
+        assertThat(queue.poll()).isEqualTo("b");
+        assertThat(queue.poll()).isEqualTo("c");
+        assertThat(queue.poll()).isNull();
+        assertThat(queue.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void peek() {
+        BoundedArrayQueue<String> queue = new BoundedArrayQueue<>(2);
+        assertThat(queue.peek()).isNull();
+
+        queue.offer("a");
+        queue.offer("b");
+        assertThat(queue.peek()).isEqualTo("a");
+        assertThat(queue.poll()).isEqualTo("a");
+        assertThat(queue.peek()).isEqualTo("b");
+    }
+
+    @Test
+    public void iterator() {
+        BoundedArrayQueue<Integer> queue = new BoundedArrayQueue<>(4);
+        for (int i = 0; i < 4; i++) {
+            queue.offer(i);
+        }
+
+        Iterator<Integer> iterator = queue.iterator();
+        assertThat(iterator.next()).isEqualTo(0);
+        // polled after the iterator was created
+        queue.poll();
+        queue.poll();
+        queue.offer(4);
+
+        List<Integer> rest = new ArrayList<>();
+        iterator.forEachRemaining(rest::add);
+        assertThat(rest).containsExactly(2, 3, 4);
+        assertThat(iterator.hasNext()).isFalse();
+        Assertions.assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    public void concurrentOffer() throws InterruptedException {
+        final int producers = 4;
+        final int count = 10000;
+        final BoundedArrayQueue<Long> queue = new BoundedArrayQueue<>(128);
+        final ExecutorService executor = Executors.newFixedThreadPool(producers);
+        final CountDownLatch latch = new CountDownLatch(producers);
+        for (int i = 0; i < producers; i++) {
+            executor.execute(() -> {
+                for (long value = 1; value <= count; value++) {
+                    while (!queue.offer(value)) {
+                        Thread.yield();
+                    }
+                }
+                latch.countDown();
+            });
+        }
+
+        final AtomicLong sum = new AtomicLong();
+        long polled = 0;
+        while (polled < (long) producers * count) {
+            final Long value = queue.poll();
+            if (value == null) {
+                Thread.yield();
+                continue;
+            }
+            sum.addAndGet(value);
+            polled++;
+        }
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(sum.get()).isEqualTo(producers * ((long) count * (count + 1) / 2));
+        assertThat(queue.isEmpty()).isTrue();
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * Caffeine cache exported with its size, hit, miss and eviction metrics.
+ */
+public interface MonitoredCache {
+
+    String getName();
+
+    /**
+     * @return the cache recording its stats, or null if the cache is disabled
+     */
+    Cache<?, ?> getCache();
+}
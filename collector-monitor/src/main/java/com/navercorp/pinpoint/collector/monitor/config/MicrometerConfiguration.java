@@ -16,10 +16,22 @@
 package com.navercorp.pinpoint.collector.monitor.config;
 
 import com.navercorp.pinpoint.collector.monitor.dao.hbase.BulkOperationReporter;
+import com.navercorp.pinpoint.collector.monitor.dao.hbase.LinkFlushReporter;
 import com.navercorp.pinpoint.collector.monitor.MonitoredThreadPoolExecutorFactoryProvider;
+import com.navercorp.pinpoint.collector.monitor.cache.MonitoredCache;
+import com.navercorp.pinpoint.collector.monitor.micrometer.AsyncPollerMetrics;
 import com.navercorp.pinpoint.collector.monitor.micrometer.BulkOperationMetrics;
+import com.navercorp.pinpoint.collector.monitor.micrometer.CacheMetrics;
+import com.navercorp.pinpoint.collector.monitor.micrometer.GrpcMessageSizeMetrics;
 import com.navercorp.pinpoint.collector.monitor.micrometer.HBaseAsyncOperationMetrics;
+import com.navercorp.pinpoint.collector.monitor.micrometer.LinkFlushMetrics;
 import com.navercorp.pinpoint.collector.monitor.micrometer.MicrometerThreadPoolExecutorFactoryProvider;
+import com.navercorp.pinpoint.collector.monitor.micrometer.SpanSinkMetrics;
+import com.navercorp.pinpoint.collector.monitor.micrometer.StreamQueueMetrics;
+import com.navercorp.pinpoint.collector.monitor.receiver.GrpcMessageSizeReporter;
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
+import com.navercorp.pinpoint.collector.monitor.service.SpanSinkReporter;
+import com.navercorp.pinpoint.common.hbase.async.AsyncPollerStats;
 import com.navercorp.pinpoint.common.hbase.counter.HBaseBatchPerformance;
 import io.grpc.ServerInterceptor;
 import io.micrometer.core.instrument.Counter;
@@ -34,12 +46,14 @@ import io.netty.buffer.ByteBufAllocatorMetricProvider;
 import io.netty.buffer.PooledByteBufAllocator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * @author intr3p1d
@@ -131,6 +145,54 @@ public class MicrometerConfiguration {
         return new BulkOperationMetrics(bulkOperationReporters, meterRegistry);
     }
 
+    @Bean
+    public LinkFlushMetrics linkFlushMetrics(
+            ObjectProvider<LinkFlushReporter> linkFlushReporters,
+            MeterRegistry meterRegistry
+    ) {
+        return new LinkFlushMetrics(linkFlushReporters.orderedStream().collect(Collectors.toList()), meterRegistry);
+    }
+
+    @Bean
+    public StreamQueueMetrics streamQueueMetrics(
+            ObjectProvider<StreamQueueReporter> streamQueueReporters,
+            MeterRegistry meterRegistry
+    ) {
+        return new StreamQueueMetrics(streamQueueReporters.orderedStream().collect(Collectors.toList()), meterRegistry);
+    }
+
+    @Bean
+    public GrpcMessageSizeMetrics grpcMessageSizeMetrics(
+            ObjectProvider<GrpcMessageSizeReporter> grpcMessageSizeReporters,
+            MeterRegistry meterRegistry
+    ) {
+        return new GrpcMessageSizeMetrics(grpcMessageSizeReporters.orderedStream().collect(Collectors.toList()), meterRegistry);
+    }
+
+    @Bean
+    public AsyncPollerMetrics asyncPollerMetrics(
+            ObjectProvider<AsyncPollerStats> asyncPollerStats,
+            MeterRegistry meterRegistry
+    ) {
+        return new AsyncPollerMetrics(asyncPollerStats.orderedStream().collect(Collectors.toList()), meterRegistry);
+    }
+
+    @Bean
+    public SpanSinkMetrics spanSinkMetrics(
+            ObjectProvider<SpanSinkReporter> spanSinkReporters,
+            MeterRegistry meterRegistry
+    ) {
+        return new SpanSinkMetrics(spanSinkReporters.orderedStream().collect(Collectors.toList()), meterRegistry);
+    }
+
+    @Bean
+    public CacheMetrics cacheMetrics(
+            ObjectProvider<MonitoredCache> monitoredCaches,
+            MeterRegistry meterRegistry
+    ) {
+        return new CacheMetrics(monitoredCaches.orderedStream().collect(Collectors.toList()), meterRegistry);
+    }
+
     @Bean
     public HBaseAsyncOperationMetrics asyncOperationMetrics(
             List<HBaseBatchPerformance> hBaseAsyncOperationList,
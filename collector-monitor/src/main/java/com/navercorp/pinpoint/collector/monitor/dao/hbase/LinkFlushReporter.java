@@ -0,0 +1,71 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.collector.monitor.dao.hbase;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reports the flush decisions of the map statistics link writers.
+ */
+public class LinkFlushReporter {
+
+    private final LongAdder deferredCount = new LongAdder();
+
+    private volatile long flushIntervalMillis;
+    private volatile int batchSize;
+    private volatile long latencyMillis;
+    private volatile long pendingCount;
+    private volatile boolean backpressure;
+
+    public void reportDecision(long flushIntervalMillis, int batchSize, long latencyMillis, long pendingCount, boolean backpressure) {
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.batchSize = batchSize;
+        this.latencyMillis = latencyMillis;
+        this.pendingCount = pendingCount;
+        this.backpressure = backpressure;
+    }
+
+    public void reportDeferred() {
+        deferredCount.increment();
+    }
+
+    public long getFlushIntervalMillis() {
+        return flushIntervalMillis;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public long getLatencyMillis() {
+        return latencyMillis;
+    }
+
+    public long getPendingCount() {
+        return pendingCount;
+    }
+
+    public boolean isBackpressure() {
+        return backpressure;
+    }
+
+    /**
+     * @return number of link flushes skipped under backpressure
+     */
+    public long getDeferredCount() {
+        return deferredCount.sum();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor.micrometer;
+
+import com.navercorp.pinpoint.common.hbase.async.AsyncPollerStats;
+import com.navercorp.pinpoint.common.hbase.async.AsyncPollerStats.TableStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.hadoop.hbase.TableName;
+
+import java.util.List;
+import java.util.Objects;
+
+public class AsyncPollerMetrics {
+
+    private static final String ASYNC_POLLER = "hbase.async.poller";
+    private static final String QUEUE_DEPTH = ASYNC_POLLER + ".queue.depth";
+    private static final String INFLIGHT_BYTES = ASYNC_POLLER + ".inflight.bytes";
+    private static final String SHED_COUNT = ASYNC_POLLER + ".shed.count";
+    private static final String FAIL_COUNT = ASYNC_POLLER + ".fail.count";
+    private static final String LATENCY_COUNT = ASYNC_POLLER + ".latency.count";
+    private static final String LATENCY_SUM = ASYNC_POLLER + ".latency.sum";
+    private static final String LATENCY_BUCKET = ASYNC_POLLER + ".latency.bucket";
+
+    private static final String POLLER_TAG_KEY = "poller";
+    private static final String TABLE_TAG_KEY = "table";
+    private static final String BUCKET_TAG_KEY = "le";
+
+    private final List<AsyncPollerStats> asyncPollerStats;
+    private final MeterRegistry meterRegistry;
+
+    public AsyncPollerMetrics(List<AsyncPollerStats> asyncPollerStats, MeterRegistry meterRegistry) {
+        this.asyncPollerStats = Objects.requireNonNull(asyncPollerStats, "asyncPollerStats");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry");
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        for (AsyncPollerStats stats : asyncPollerStats) {
+            final String name = stats.getName();
+            Gauge.builder(QUEUE_DEPTH, stats, AsyncPollerStats::getQueueDepth)
+                    .tag(POLLER_TAG_KEY, name)
+                    .register(meterRegistry);
+
+            Gauge.builder(INFLIGHT_BYTES, stats, AsyncPollerStats::getInFlightBytes)
+                    .tag(POLLER_TAG_KEY, name)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+
+            stats.setTableListener((tableName, tableStats) -> registerTable(name, tableName, tableStats));
+        }
+    }
+
+    private void registerTable(String name, TableName tableName, TableStats stats) {
+        final String table = tableName.getNameAsString();
+        FunctionCounter.builder(SHED_COUNT, stats, TableStats::getShedCount)
+                .tag(POLLER_TAG_KEY, name)
+                .tag(TABLE_TAG_KEY, table)
+                .register(meterRegistry);
+
+        FunctionCounter.builder(FAIL_COUNT, stats, TableStats::getFailCount)
+                .tag(POLLER_TAG_KEY, name)
+                .tag(TABLE_TAG_KEY, table)
+                .register(meterRegistry);
+
+        FunctionCounter.builder(LATENCY_COUNT, stats, TableStats::getLatencyCount)
+                .tag(POLLER_TAG_KEY, name)
+                .tag(TABLE_TAG_KEY, table)
+                .register(meterRegistry);
+
+        FunctionCounter.builder(LATENCY_SUM, stats, TableStats::getLatencySum)
+                .tag(POLLER_TAG_KEY, name)
+                .tag(TABLE_TAG_KEY, table)
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+
+        final long[] buckets = AsyncPollerStats.LATENCY_BUCKETS;
+        for (int i = 0; i <= buckets.length; i++) {
+            final int index = i;
+            final String le = i < buckets.length ? Long.toString(buckets[i]) : "+Inf";
+            FunctionCounter.builder(LATENCY_BUCKET, stats, s -> s.getLatencyBucketCount(index))
+                    .tag(POLLER_TAG_KEY, name)
+                    .tag(TABLE_TAG_KEY, table)
+                    .tag(BUCKET_TAG_KEY, le)
+                    .register(meterRegistry);
+        }
+    }
+}
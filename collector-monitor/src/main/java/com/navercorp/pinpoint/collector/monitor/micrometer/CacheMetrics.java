@@ -0,0 +1,49 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor.micrometer;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.navercorp.pinpoint.collector.monitor.cache.MonitoredCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.util.List;
+import java.util.Objects;
+
+public class CacheMetrics {
+
+    private final List<MonitoredCache> monitoredCaches;
+    private final MeterRegistry meterRegistry;
+
+    public CacheMetrics(List<MonitoredCache> monitoredCaches, MeterRegistry meterRegistry) {
+        this.monitoredCaches = Objects.requireNonNull(monitoredCaches, "monitoredCaches");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry");
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        for (MonitoredCache monitoredCache : monitoredCaches) {
+            final Cache<?, ?> cache = monitoredCache.getCache();
+            if (cache == null) {
+                continue;
+            }
+            // cache.gets{result=hit|miss}, cache.size, cache.evictions ...
+            CaffeineCacheMetrics.monitor(meterRegistry, cache, monitoredCache.getName());
+        }
+    }
+}
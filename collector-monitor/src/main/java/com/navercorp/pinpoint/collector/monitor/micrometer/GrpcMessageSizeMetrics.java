@@ -0,0 +1,62 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor.micrometer;
+
+import com.navercorp.pinpoint.collector.monitor.receiver.GrpcMessageSizeReporter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Objects;
+
+public class GrpcMessageSizeMetrics {
+
+    private static final String GRPC_INBOUND = "grpc.inbound";
+    private static final String MESSAGES = GRPC_INBOUND + ".messages";
+    private static final String WIRE_BYTES = GRPC_INBOUND + ".wire.bytes";
+    private static final String UNCOMPRESSED_BYTES = GRPC_INBOUND + ".uncompressed.bytes";
+
+    private static final String RECEIVER_TAG_KEY = "receiver";
+
+    private final List<GrpcMessageSizeReporter> reporters;
+    private final MeterRegistry meterRegistry;
+
+    public GrpcMessageSizeMetrics(List<GrpcMessageSizeReporter> reporters, MeterRegistry meterRegistry) {
+        this.reporters = Objects.requireNonNull(reporters, "reporters");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry");
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        for (GrpcMessageSizeReporter reporter : reporters) {
+            final String name = reporter.getName();
+            FunctionCounter.builder(MESSAGES, reporter, GrpcMessageSizeReporter::getInboundMessages)
+                    .tag(RECEIVER_TAG_KEY, name)
+                    .register(meterRegistry);
+
+            FunctionCounter.builder(WIRE_BYTES, reporter, GrpcMessageSizeReporter::getInboundWireBytes)
+                    .tag(RECEIVER_TAG_KEY, name)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+
+            FunctionCounter.builder(UNCOMPRESSED_BYTES, reporter, GrpcMessageSizeReporter::getInboundUncompressedBytes)
+                    .tag(RECEIVER_TAG_KEY, name)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -71,6 +71,12 @@ public class HBaseAsyncOperationMetrics {
                         .mapToLong(HBaseBatchPerformance::getCurrentOpsCount)
                         .sum())
                 .register(meterRegistry);
+
+        Gauge.builder(AVERAGE_LATENCY, hBaseAsyncOperations, ops -> ops.stream()
+                        .mapToLong(HBaseBatchPerformance::getOpsAverageLatency)
+                        .max()
+                        .orElse(0))
+                .register(meterRegistry);
     }
 
 }
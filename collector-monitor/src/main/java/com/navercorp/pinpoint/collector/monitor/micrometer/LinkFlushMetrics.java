@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.collector.monitor.micrometer;
+
+import com.navercorp.pinpoint.collector.monitor.dao.hbase.LinkFlushReporter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Objects;
+
+public class LinkFlushMetrics {
+
+    private static final String MAP_LINK_FLUSH = "map-link.flush";
+    private static final String INTERVAL = MAP_LINK_FLUSH + ".interval";
+    private static final String BATCH_SIZE = MAP_LINK_FLUSH + ".batchsize";
+    private static final String LATENCY = MAP_LINK_FLUSH + ".latency";
+    private static final String PENDING_COUNT = MAP_LINK_FLUSH + ".pending.count";
+    private static final String BACKPRESSURE = MAP_LINK_FLUSH + ".backpressure";
+    private static final String DEFERRED_COUNT = MAP_LINK_FLUSH + ".deferred.count";
+
+    private final List<LinkFlushReporter> linkFlushReporters;
+    private final MeterRegistry meterRegistry;
+
+    public LinkFlushMetrics(List<LinkFlushReporter> linkFlushReporters, MeterRegistry meterRegistry) {
+        this.linkFlushReporters = Objects.requireNonNull(linkFlushReporters, "linkFlushReporters");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry");
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        for (LinkFlushReporter reporter : linkFlushReporters) {
+            Gauge.builder(INTERVAL, reporter, LinkFlushReporter::getFlushIntervalMillis)
+                    .register(meterRegistry);
+
+            Gauge.builder(BATCH_SIZE, reporter, LinkFlushReporter::getBatchSize)
+                    .register(meterRegistry);
+
+            Gauge.builder(LATENCY, reporter, LinkFlushReporter::getLatencyMillis)
+                    .register(meterRegistry);
+
+            Gauge.builder(PENDING_COUNT, reporter, LinkFlushReporter::getPendingCount)
+                    .register(meterRegistry);
+
+            Gauge.builder(BACKPRESSURE, reporter, r -> r.isBackpressure() ? 1 : 0)
+                    .register(meterRegistry);
+
+            Gauge.builder(DEFERRED_COUNT, reporter, LinkFlushReporter::getDeferredCount)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor.micrometer;
+
+import com.navercorp.pinpoint.collector.monitor.service.SpanSinkReporter;
+import com.navercorp.pinpoint.collector.monitor.service.SpanSinkReporter.StageCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class SpanSinkMetrics {
+
+    private static final String SPAN_SINK = "span.sink";
+    private static final String WAIT = SPAN_SINK + ".wait";
+    private static final String RUN = SPAN_SINK + ".run";
+    private static final String REJECTED_COUNT = SPAN_SINK + ".rejected.count";
+    private static final String CALLER_RUN_COUNT = SPAN_SINK + ".caller.run.count";
+
+    private static final String SINK_TAG_KEY = "sink";
+
+    private final List<SpanSinkReporter> spanSinkReporters;
+    private final MeterRegistry meterRegistry;
+
+    public SpanSinkMetrics(List<SpanSinkReporter> spanSinkReporters, MeterRegistry meterRegistry) {
+        this.spanSinkReporters = Objects.requireNonNull(spanSinkReporters, "spanSinkReporters");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry");
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        for (SpanSinkReporter reporter : spanSinkReporters) {
+            for (StageCounter stage : reporter.getStages()) {
+                FunctionTimer.builder(WAIT, stage, StageCounter::getCount, StageCounter::getWaitMillis, TimeUnit.MILLISECONDS)
+                        .tag(SINK_TAG_KEY, stage.getName())
+                        .register(meterRegistry);
+
+                FunctionTimer.builder(RUN, stage, StageCounter::getCount, StageCounter::getRunMillis, TimeUnit.MILLISECONDS)
+                        .tag(SINK_TAG_KEY, stage.getName())
+                        .register(meterRegistry);
+
+                FunctionCounter.builder(REJECTED_COUNT, stage, StageCounter::getRejectedCount)
+                        .tag(SINK_TAG_KEY, stage.getName())
+                        .register(meterRegistry);
+
+                FunctionCounter.builder(CALLER_RUN_COUNT, stage, StageCounter::getCallerRunCount)
+                        .tag(SINK_TAG_KEY, stage.getName())
+                        .register(meterRegistry);
+            }
+        }
+    }
+}
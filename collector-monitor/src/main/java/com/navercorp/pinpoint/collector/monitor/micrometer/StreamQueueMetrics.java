@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor.micrometer;
+
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter.QueueCounter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class StreamQueueMetrics {
+
+    private static final String GRPC_STREAM = "grpc.stream";
+    private static final String QUEUE_COUNT = GRPC_STREAM + ".queue.count";
+    private static final String QUEUE_DEPTH = GRPC_STREAM + ".queue.depth";
+    private static final String DROP_COUNT = GRPC_STREAM + ".drop.count";
+    private static final String REJECTED_COUNT = GRPC_STREAM + ".rejected.count";
+
+    private static final String STREAM_TAG_KEY = "stream";
+    private static final String QUEUE_TAG_KEY = "key";
+
+    private final List<StreamQueueReporter> streamQueueReporters;
+    private final MeterRegistry meterRegistry;
+
+    public StreamQueueMetrics(List<StreamQueueReporter> streamQueueReporters, MeterRegistry meterRegistry) {
+        this.streamQueueReporters = Objects.requireNonNull(streamQueueReporters, "streamQueueReporters");
+        this.meterRegistry = Objects.requireNonNull(meterRegistry, "meterRegistry");
+        registerMetrics();
+    }
+
+    private void registerMetrics() {
+        for (StreamQueueReporter reporter : streamQueueReporters) {
+            final String name = reporter.getName();
+            Gauge.builder(QUEUE_COUNT, reporter, StreamQueueReporter::getQueueCount)
+                    .tag(STREAM_TAG_KEY, name)
+                    .register(meterRegistry);
+
+            Gauge.builder(QUEUE_DEPTH, reporter, StreamQueueReporter::getQueueDepth)
+                    .tag(STREAM_TAG_KEY, name)
+                    .register(meterRegistry);
+
+            Gauge.builder(DROP_COUNT, reporter, StreamQueueReporter::getDropCount)
+                    .tag(STREAM_TAG_KEY, name)
+                    .register(meterRegistry);
+
+            Gauge.builder(REJECTED_COUNT, reporter, StreamQueueReporter::getRejectedCount)
+                    .tag(STREAM_TAG_KEY, name)
+                    .register(meterRegistry);
+
+            reporter.setQueueListener(new QueueMeterListener(name));
+        }
+    }
+
+    /**
+     * Per agent (or application) meters live as long as the queue of the scheduler.
+     */
+    private class QueueMeterListener implements StreamQueueReporter.QueueListener {
+        private final String name;
+        private final Map<QueueCounter, List<Meter>> meters = new ConcurrentHashMap<>();
+
+        private QueueMeterListener(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public void onAdd(String key, QueueCounter counter) {
+            Gauge depth = Gauge.builder(QUEUE_DEPTH, counter, QueueCounter::getDepth)
+                    .tag(STREAM_TAG_KEY, name)
+                    .tag(QUEUE_TAG_KEY, key)
+                    .register(meterRegistry);
+
+            FunctionCounter drop = FunctionCounter.builder(DROP_COUNT, counter, QueueCounter::getDropCount)
+                    .tag(STREAM_TAG_KEY, name)
+                    .tag(QUEUE_TAG_KEY, key)
+                    .register(meterRegistry);
+
+            meters.put(counter, List.of(depth, drop));
+        }
+
+        @Override
+        public void onRemove(String key, QueueCounter counter) {
+            List<Meter> removed = meters.remove(counter);
+            if (removed != null) {
+                removed.forEach(meterRegistry::remove);
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor.receiver;
+
+import java.util.Objects;
+import java.util.function.LongSupplier;
+
+/**
+ * Inbound message count and byte size of a grpc receiver, on the wire (possibly compressed) and after decompression.
+ */
+public class GrpcMessageSizeReporter {
+
+    private static final LongSupplier ZERO = () -> 0;
+
+    private final String name;
+
+    private volatile LongSupplier inboundMessages = ZERO;
+    private volatile LongSupplier inboundWireBytes = ZERO;
+    private volatile LongSupplier inboundUncompressedBytes = ZERO;
+
+    public GrpcMessageSizeReporter(String name) {
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Binds the counters of the stream tracer installed by the receiver.
+     */
+    public void bind(LongSupplier inboundMessages, LongSupplier inboundWireBytes, LongSupplier inboundUncompressedBytes) {
+        this.inboundMessages = Objects.requireNonNull(inboundMessages, "inboundMessages");
+        this.inboundWireBytes = Objects.requireNonNull(inboundWireBytes, "inboundWireBytes");
+        this.inboundUncompressedBytes = Objects.requireNonNull(inboundUncompressedBytes, "inboundUncompressedBytes");
+    }
+
+    public long getInboundMessages() {
+        return inboundMessages.getAsLong();
+    }
+
+    public long getInboundWireBytes() {
+        return inboundWireBytes.getAsLong();
+    }
+
+    public long getInboundUncompressedBytes() {
+        return inboundUncompressedBytes.getAsLong();
+    }
+
+    @Override
+    public String toString() {
+        return "GrpcMessageSizeReporter{" +
+                "name='" + name + '\'' +
+                ", inboundMessages=" + getInboundMessages() +
+                ", inboundWireBytes=" + getInboundWireBytes() +
+                ", inboundUncompressedBytes=" + getInboundUncompressedBytes() +
+                '}';
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.monitor.receiver;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue depth and drop counters of a grpc stream scheduler, per agent or application.
+ */
+public class StreamQueueReporter {
+
+    private static final QueueListener EMPTY_LISTENER = new QueueListener() {
+        @Override
+        public void onAdd(String key, QueueCounter counter) {
+        }
+
+        @Override
+        public void onRemove(String key, QueueCounter counter) {
+        }
+    };
+
+    private final String name;
+
+    private final ConcurrentMap<String, QueueCounter> queues = new ConcurrentHashMap<>();
+    private final LongAdder dropCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile QueueListener listener = EMPTY_LISTENER;
+
+    public StreamQueueReporter(String name) {
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public QueueCounter addQueue(String key) {
+        Objects.requireNonNull(key, "key");
+        final QueueCounter counter = new QueueCounter();
+        final QueueCounter old = queues.put(key, counter);
+        if (old != null) {
+            listener.onRemove(key, old);
+        }
+        listener.onAdd(key, counter);
+        return counter;
+    }
+
+    public void removeQueue(String key, QueueCounter counter) {
+        if (queues.remove(key, counter)) {
+            listener.onRemove(key, counter);
+        }
+    }
+
+    /**
+     * Registers the listener and replays the queues that already exist.
+     */
+    public synchronized void setQueueListener(QueueListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener");
+        queues.forEach(listener::onAdd);
+    }
+
+    public int getQueueCount() {
+        return queues.size();
+    }
+
+    public long getQueueDepth() {
+        long depth = 0;
+        for (QueueCounter counter : queues.values()) {
+            depth += counter.getDepth();
+        }
+        return depth;
+    }
+
+    public long getDropCount() {
+        return dropCount.sum();
+    }
+
+    /**
+     * @return number of times the worker executor refused a task
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public void reportReject() {
+        rejectedCount.increment();
+    }
+
+    public interface QueueListener {
+        void onAdd(String key, QueueCounter counter);
+
+        void onRemove(String key, QueueCounter counter);
+    }
+
+    public class QueueCounter {
+        private final AtomicInteger depth = new AtomicInteger();
+        private final LongAdder drop = new LongAdder();
+
+        private QueueCounter() {
+        }
+
+        public void setDepth(int depth) {
+            this.depth.set(depth);
+        }
+
+        public int getDepth() {
+            return depth.get();
+        }
+
+        public void drop() {
+            drop.increment();
+            dropCount.increment();
+        }
+
+        public long getDropCount() {
+            return drop.sum();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "StreamQueueReporter{" +
+                "name='" + name + '\'' +
+                ", queueCount=" + queues.size() +
+                ", dropCount=" + dropCount +
+                ", rejectedCount=" + rejectedCount +
+                '}';
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.monitor.service;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue wait time, run time, rejected tasks and tasks run on the caller thread of each sink (stage) a span is written to.
+ */
+public class SpanSinkReporter {
+
+    private final Map<String, StageCounter> stages;
+
+    public SpanSinkReporter(String... stageNames) {
+        Objects.requireNonNull(stageNames, "stageNames");
+        final Map<String, StageCounter> stages = new LinkedHashMap<>();
+        for (String stageName : stageNames) {
+            stages.put(stageName, new StageCounter(stageName));
+        }
+        this.stages = Collections.unmodifiableMap(stages);
+    }
+
+    public StageCounter getStage(String stageName) {
+        final StageCounter stage = stages.get(stageName);
+        if (stage == null) {
+            throw new IllegalArgumentException("unknown stage:" + stageName);
+        }
+        return stage;
+    }
+
+    public Collection<StageCounter> getStages() {
+        return stages.values();
+    }
+
+    public static class StageCounter {
+        private final String name;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder runNanos = new LongAdder();
+        private final LongAdder rejectedCount = new LongAdder();
+        private final LongAdder callerRunCount = new LongAdder();
+
+        private StageCounter(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public void reportLatency(long waitNanos, long runNanos) {
+            this.count.increment();
+            this.waitNanos.add(waitNanos);
+            this.runNanos.add(runNanos);
+        }
+
+        public void reportReject() {
+            rejectedCount.increment();
+        }
+
+        public void reportCallerRun() {
+            callerRunCount.increment();
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public double getWaitMillis() {
+            return toMillis(waitNanos.sum());
+        }
+
+        public double getRunMillis() {
+            return toMillis(runNanos.sum());
+        }
+
+        private static double toMillis(long nanos) {
+            return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+
+        public long getRejectedCount() {
+            return rejectedCount.sum();
+        }
+
+        public long getCallerRunCount() {
+            return callerRunCount.sum();
+        }
+    }
+}
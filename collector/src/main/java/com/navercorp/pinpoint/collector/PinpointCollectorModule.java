@@ -5,6 +5,7 @@ import com.navercorp.pinpoint.collector.config.ClusterModule;
 import com.navercorp.pinpoint.collector.config.CollectorCommonConfiguration;
 import com.navercorp.pinpoint.collector.config.CollectorConfiguration;
 import com.navercorp.pinpoint.collector.config.FlinkContextModule;
+import com.navercorp.pinpoint.collector.config.SpanSinkConfiguration;
 import com.navercorp.pinpoint.collector.grpc.CollectorGrpcConfiguration;
 import com.navercorp.pinpoint.collector.grpc.ssl.GrpcSslModule;
 import com.navercorp.pinpoint.collector.manage.CollectorAdminConfiguration;
@@ -28,6 +29,7 @@ import org.springframework.context.annotation.Import;
 
         FlinkContextModule.class,
         CollectorConfiguration.class,
+        SpanSinkConfiguration.class,
         CollectorHbaseModule.class,
 
         CollectorGrpcConfiguration.class,
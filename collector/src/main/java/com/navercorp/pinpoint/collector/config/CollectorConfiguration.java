@@ -19,18 +19,21 @@ package com.navercorp.pinpoint.collector.config;
 
 import com.navercorp.pinpoint.collector.sampler.SimpleSpanSamplerFactory;
 import com.navercorp.pinpoint.collector.sampler.SpanSamplerFactory;
+import com.navercorp.pinpoint.collector.service.MetaDataCache;
 import com.navercorp.pinpoint.common.server.executor.ExecutorCustomizer;
 import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
 import com.navercorp.pinpoint.common.server.executor.ThreadPoolExecutorCustomizer;
 import com.navercorp.pinpoint.common.server.util.CallerUtils;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
 import org.springframework.validation.annotation.Validated;
 
+import java.time.Duration;
 import java.util.concurrent.ExecutorService;
 
 @Configuration
@@ -65,4 +68,32 @@ public class CollectorConfiguration {
         return new SimpleSpanSamplerFactory(collectorProperties);
     }
 
+    @Bean
+    public MetaDataCache apiMetaDataCache(@Value("${collector.metadata.cache.enable:false}") boolean enable,
+                                          @Value("${collector.metadata.cache.api.max-size:500000}") long maximumSize,
+                                          @Value("${collector.metadata.cache.expire-after-write:3600000}") Duration expireAfterWrite) {
+        return newMetaDataCache("metadata.api", enable, maximumSize, expireAfterWrite);
+    }
+
+    @Bean
+    public MetaDataCache sqlMetaDataCache(@Value("${collector.metadata.cache.enable:false}") boolean enable,
+                                          @Value("${collector.metadata.cache.sql.max-size:500000}") long maximumSize,
+                                          @Value("${collector.metadata.cache.expire-after-write:3600000}") Duration expireAfterWrite) {
+        return newMetaDataCache("metadata.sql", enable, maximumSize, expireAfterWrite);
+    }
+
+    @Bean
+    public MetaDataCache stringMetaDataCache(@Value("${collector.metadata.cache.enable:false}") boolean enable,
+                                             @Value("${collector.metadata.cache.string.max-size:100000}") long maximumSize,
+                                             @Value("${collector.metadata.cache.expire-after-write:3600000}") Duration expireAfterWrite) {
+        return newMetaDataCache("metadata.string", enable, maximumSize, expireAfterWrite);
+    }
+
+    private MetaDataCache newMetaDataCache(String name, boolean enable, long maximumSize, Duration expireAfterWrite) {
+        if (!enable) {
+            return MetaDataCache.disabled(name);
+        }
+        return MetaDataCache.newCache(name, maximumSize, expireAfterWrite);
+    }
+
 }
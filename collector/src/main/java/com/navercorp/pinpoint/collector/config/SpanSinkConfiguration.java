@@ -0,0 +1,122 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.config;
+
+import com.navercorp.pinpoint.collector.monitor.MonitoringExecutors;
+import com.navercorp.pinpoint.collector.monitor.service.SpanSinkReporter;
+import com.navercorp.pinpoint.collector.service.SpanSink;
+import com.navercorp.pinpoint.collector.service.SpanSinks;
+import com.navercorp.pinpoint.common.server.thread.MonitoringExecutorProperties;
+import com.navercorp.pinpoint.common.server.util.CallerUtils;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.FactoryBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Executors of the span sinks, created only when the sinks run in parallel.
+ */
+@Configuration
+public class SpanSinkConfiguration {
+
+    private static final String PARALLEL_ENABLE = "collector.span.sink.parallel.enable";
+
+    private final Logger logger = LogManager.getLogger(SpanSinkConfiguration.class);
+
+    @Bean
+    public SpanSinkReporter spanSinkReporter() {
+        return new SpanSinkReporter(SpanSinks.INDEX, SpanSinks.HOST, SpanSinks.STAT);
+    }
+
+    @Bean
+    @Validated
+    @ConfigurationProperties("collector.span.sink.index.executor")
+    public MonitoringExecutorProperties spanIndexSinkExecutorProperties() {
+        return new MonitoringExecutorProperties();
+    }
+
+    @Bean
+    @Validated
+    @ConfigurationProperties("collector.span.sink.host.executor")
+    public MonitoringExecutorProperties spanHostSinkExecutorProperties() {
+        return new MonitoringExecutorProperties();
+    }
+
+    @Bean
+    @Validated
+    @ConfigurationProperties("collector.span.sink.stat.executor")
+    public MonitoringExecutorProperties spanStatSinkExecutorProperties() {
+        return new MonitoringExecutorProperties();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PARALLEL_ENABLE, havingValue = "true")
+    public FactoryBean<ExecutorService> spanIndexSinkExecutor(MonitoringExecutors executors) {
+        String beanName = CallerUtils.getCallerMethodName();
+        return executors.newExecutorFactoryBean(spanIndexSinkExecutorProperties(), beanName);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PARALLEL_ENABLE, havingValue = "true")
+    public FactoryBean<ExecutorService> spanHostSinkExecutor(MonitoringExecutors executors) {
+        String beanName = CallerUtils.getCallerMethodName();
+        return executors.newExecutorFactoryBean(spanHostSinkExecutorProperties(), beanName);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = PARALLEL_ENABLE, havingValue = "true")
+    public FactoryBean<ExecutorService> spanStatSinkExecutor(MonitoringExecutors executors) {
+        String beanName = CallerUtils.getCallerMethodName();
+        return executors.newExecutorFactoryBean(spanStatSinkExecutorProperties(), beanName);
+    }
+
+    @Bean
+    public SpanSinks spanSinks(@Value("${" + PARALLEL_ENABLE + ":false}") boolean parallel,
+                               @Value("${collector.span.sink.host.caller-runs:false}") boolean hostCallerRuns,
+                               @Value("${collector.span.sink.stat.caller-runs:false}") boolean statCallerRuns,
+                               @Qualifier("spanIndexSinkExecutor") ObjectProvider<ExecutorService> indexExecutor,
+                               @Qualifier("spanHostSinkExecutor") ObjectProvider<ExecutorService> hostExecutor,
+                               @Qualifier("spanStatSinkExecutor") ObjectProvider<ExecutorService> statExecutor,
+                               SpanSinkReporter reporter) {
+        SpanSinks spanSinks = new SpanSinks(
+                // the trace is written anyway, so its index is never dropped
+                newSink(parallel, indexExecutor, true, reporter.getStage(SpanSinks.INDEX)),
+                newSink(parallel, hostExecutor, hostCallerRuns, reporter.getStage(SpanSinks.HOST)),
+                newSink(parallel, statExecutor, statCallerRuns, reporter.getStage(SpanSinks.STAT))
+        );
+        logger.info("{}", spanSinks);
+        return spanSinks;
+    }
+
+    private SpanSink newSink(boolean parallel, ObjectProvider<ExecutorService> executor, boolean callerRuns,
+                             SpanSinkReporter.StageCounter counter) {
+        if (!parallel) {
+            return SpanSink.direct(counter);
+        }
+        return SpanSink.async(executor.getObject(), callerRuns, counter);
+    }
+}
@@ -21,17 +21,18 @@ import com.navercorp.pinpoint.collector.util.CollectorUtils;
 import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
-import com.navercorp.pinpoint.common.hbase.HbaseTableConstants;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyEncoder;
 import com.navercorp.pinpoint.common.server.util.SpanUtils;
+import jakarta.annotation.PreDestroy;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
 
 import java.util.Objects;
@@ -56,14 +57,30 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
 
     private final RowKeyEncoder<SpanBo> applicationIndexRowKeyEncoder;
 
+    // null if batch is disabled
+    private final RowBatchPutWriter batchPutWriter;
+
+    // encoding buffer reused by the grpc worker thread, the values are copied out of it
+    private static final int ENCODE_BUFFER_SIZE = 256;
+    private static final int ENCODE_BUFFER_MAX_REUSE = 1024 * 4;
+    private static final ThreadLocal<Buffer> ENCODE_BUFFER = ThreadLocal.withInitial(() -> new AutomaticBuffer(ENCODE_BUFFER_SIZE));
 
     public HbaseApplicationTraceIndexDao(HbasePutWriter putWriter,
                                          TableNameProvider tableNameProvider,
-                                         @Qualifier("applicationIndexRowKeyEncoder") RowKeyEncoder<SpanBo> applicationIndexRowKeyEncoder) {
+                                         @Qualifier("applicationIndexRowKeyEncoder") RowKeyEncoder<SpanBo> applicationIndexRowKeyEncoder,
+                                         @Value("${collector.application-trace-index.batch.enable:false}") boolean batchEnable,
+                                         @Value("${collector.application-trace-index.batch.window:10}") long batchWindowMillis,
+                                         @Value("${collector.application-trace-index.batch.max-rows:10000}") int batchMaxRows) {
         this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.applicationIndexRowKeyEncoder = Objects.requireNonNull(applicationIndexRowKeyEncoder, "applicationIndexRowKeyEncoder");
         logger.info("ApplicationIndexRowKeyEncoder:{}", applicationIndexRowKeyEncoder);
+        if (batchEnable) {
+            this.batchPutWriter = new RowBatchPutWriter("ApplicationTraceIndex-BatchFlusher", putWriter, batchWindowMillis, batchMaxRows);
+            logger.info("ApplicationTraceIndex batch window:{}ms maxRows:{}", batchWindowMillis, batchMaxRows);
+        } else {
+            this.batchPutWriter = null;
+        }
     }
 
     @Override
@@ -82,33 +99,55 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         final long acceptedTime = span.getCollectorAcceptTime();
         final byte[] distributedKey = applicationIndexRowKeyEncoder.encodeRowKey(span);
 
-        final Put put = new Put(distributedKey, true);
-
         final byte[] qualifier = SpanUtils.getVarTransactionId(span);
-
         final byte[] indexValue = buildIndexValue(span);
-        put.addColumn(INDEX.getName(), qualifier, acceptedTime, indexValue);
-
         final byte[] metaDataValue = buildMetaData(span);
-        put.addColumn(META.getName(), qualifier, metaDataValue);
 
         final TableName applicationTraceIndexTableName = tableNameProvider.getTableName(INDEX.getTable());
+        if (batchPutWriter != null) {
+            batchPutWriter.put(applicationTraceIndexTableName, distributedKey,
+                    put -> addColumns(put, qualifier, acceptedTime, indexValue, metaDataValue));
+            return;
+        }
+
+        final Put put = new Put(distributedKey, true);
+        addColumns(put, qualifier, acceptedTime, indexValue, metaDataValue);
         putWriter.put(applicationTraceIndexTableName, put);
     }
 
+    private void addColumns(Put put, byte[] qualifier, long acceptedTime, byte[] indexValue, byte[] metaDataValue) {
+        put.addColumn(INDEX.getName(), qualifier, acceptedTime, indexValue);
+        put.addColumn(META.getName(), qualifier, metaDataValue);
+    }
+
+    private static Buffer getEncodeBuffer() {
+        final Buffer buffer = ENCODE_BUFFER.get();
+        buffer.setOffset(0);
+        return buffer;
+    }
+
+    private static byte[] copyAndRelease(Buffer buffer) {
+        final byte[] bytes = buffer.copyBuffer();
+        if (bytes.length > ENCODE_BUFFER_MAX_REUSE) {
+            // do not keep a buffer expanded by a huge value
+            ENCODE_BUFFER.remove();
+        }
+        return bytes;
+    }
+
     private byte[] buildIndexValue(SpanBo span) {
-        final Buffer buffer = new AutomaticBuffer(10 + HbaseTableConstants.AGENT_ID_MAX_LEN);
+        final Buffer buffer = getEncodeBuffer();
         buffer.putVInt(span.getElapsed());
         buffer.putSVInt(span.getErrCode());
         buffer.putPrefixedString(span.getAgentId());
-        return buffer.getBuffer();
+        return copyAndRelease(buffer);
     }
 
     /**
      * DotMetaData.Builder.read();
      */
     private byte[] buildMetaData(SpanBo span) {
-        Buffer buffer = new AutomaticBuffer(64);
+        final Buffer buffer = getEncodeBuffer();
         buffer.putByte((byte) 0);
         buffer.putLong(span.getSpanId());
         buffer.putLong(span.getStartTime());
@@ -120,7 +159,14 @@ public class HbaseApplicationTraceIndexDao implements ApplicationTraceIndexDao {
         buffer.putPrefixedString(span.getEndPoint());
         buffer.putPrefixedString(span.getAgentName());
 
-        return buffer.getBuffer();
+        return copyAndRelease(buffer);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (batchPutWriter != null) {
+            batchPutWriter.close();
+        }
     }
 
 }
\ No newline at end of file
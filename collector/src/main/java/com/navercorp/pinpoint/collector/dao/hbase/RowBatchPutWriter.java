@@ -0,0 +1,126 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Collects the columns written to the same row within {@code windowMillis} into one multi-qualifier Put.
+ * <p>
+ * The batch is written when the window elapses or it holds {@code maxRows} rows, whichever comes first.
+ *
+ * @see WindowedBatcher
+ */
+public class RowBatchPutWriter implements Closeable {
+
+    private final HbasePutWriter putWriter;
+    private final int maxRows;
+
+    private final WindowedBatcher<RowKey, PendingRow> batcher;
+
+    public RowBatchPutWriter(String name, HbasePutWriter putWriter, long windowMillis, int maxRows) {
+        Objects.requireNonNull(name, "name");
+        this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
+        this.maxRows = maxRows;
+        this.batcher = new WindowedBatcher<>(name, windowMillis, maxRows, PendingRow::new, this::write);
+    }
+
+    /**
+     * @param columns adds the columns to the Put of the row, called while the row is locked
+     */
+    public void put(TableName tableName, byte[] row, Consumer<Put> columns) {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(row, "row");
+        Objects.requireNonNull(columns, "columns");
+
+        batcher.add(new RowKey(tableName, row), pendingRow -> {
+            final boolean newRow = pendingRow.put.isEmpty();
+            columns.accept(pendingRow.put);
+            return newRow ? 1 : 0;
+        });
+    }
+
+    private void write(Map<RowKey, PendingRow> rows) {
+        for (PendingRow row : rows.values()) {
+            putWriter.put(row.tableName, row.put);
+        }
+    }
+
+    public void flush() {
+        batcher.flush();
+    }
+
+    @Override
+    public void close() {
+        batcher.close();
+    }
+
+    private static class PendingRow {
+        private final TableName tableName;
+        private final Put put;
+
+        private PendingRow(RowKey rowKey) {
+            this.tableName = rowKey.tableName;
+            this.put = new Put(rowKey.row, true);
+        }
+    }
+
+    private static class RowKey {
+        private final TableName tableName;
+        private final byte[] row;
+        private final int hashCode;
+
+        private RowKey(TableName tableName, byte[] row) {
+            this.tableName = tableName;
+            this.row = row;
+            this.hashCode = 31 * tableName.hashCode() + Arrays.hashCode(row);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof RowKey)) {
+                return false;
+            }
+            RowKey rowKey = (RowKey) o;
+            return tableName.equals(rowKey.tableName) && Arrays.equals(row, rowKey.row);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "RowBatchPutWriter{" +
+                "maxRows=" + maxRows +
+                ", putWriter=" + putWriter +
+                '}';
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Merges the values added within {@code windowMillis} by key and hands them to the writer as one batch.
+ * <p>
+ * The batch is written when the window elapses or it reaches {@code maxSize}, whichever comes first, and on close.
+ * Batches are written one at a time and in order. A thread adding to a full batch waits until it is written,
+ * so the batch never grows past {@code maxSize} plus the adds in progress while a slow write is running.
+ *
+ * @param <K> merge key
+ * @param <V> merged value, updated while it is locked
+ */
+public class WindowedBatcher<K, V> implements Closeable {
+
+    private static final int CLOSED = -1;
+    private static final int FULL = -2;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final String name;
+    private final int maxSize;
+    private final Function<K, V> valueFactory;
+    private final Consumer<Map<K, V>> writer;
+
+    private final AtomicReference<Batch<K, V>> current = new AtomicReference<>(new Batch<>());
+    // serializes the writes, an adder waits here while the previous batch is written
+    private final Lock writeLock = new ReentrantLock();
+    private final ScheduledExecutorService flusher;
+
+    /**
+     * @param valueFactory creates the value of a key added for the first time in a batch
+     * @param writer       writes a batch, the map is no longer modified
+     */
+    public WindowedBatcher(String name, long windowMillis, int maxSize, Function<K, V> valueFactory, Consumer<Map<K, V>> writer) {
+        this.name = Objects.requireNonNull(name, "name");
+        if (windowMillis <= 0) {
+            throw new IllegalArgumentException("windowMillis must be positive:" + windowMillis);
+        }
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive:" + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.valueFactory = Objects.requireNonNull(valueFactory, "valueFactory");
+        this.writer = Objects.requireNonNull(writer, "writer");
+
+        this.flusher = Executors.newSingleThreadScheduledExecutor(PinpointThreadFactory.createThreadFactory(name, true));
+        this.flusher.scheduleWithFixedDelay(this::flushQuietly, windowMillis, windowMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param update merges into the value of the key and returns the size it adds to the batch, called while the value is locked
+     */
+    public void add(K key, ToIntFunction<V> update) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(update, "update");
+
+        while (true) {
+            final Batch<K, V> batch = current.get();
+            final int size = batch.add(key, valueFactory, update, maxSize);
+            if (size == CLOSED) {
+                // swapped by flush
+                continue;
+            }
+            if (size == FULL) {
+                flushQuietly(batch);
+                continue;
+            }
+            if (size >= maxSize) {
+                flushQuietly(batch);
+            }
+            return;
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (Throwable th) {
+            logger.warn("{} flush failed", name, th);
+        }
+    }
+
+    private void flushQuietly(Batch<K, V> full) {
+        try {
+            flush(full);
+        } catch (Throwable th) {
+            logger.warn("{} flush failed", name, th);
+        }
+    }
+
+    public void flush() {
+        writeLock.lock();
+        try {
+            write(current.getAndSet(new Batch<>()));
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void flush(Batch<K, V> full) {
+        writeLock.lock();
+        try {
+            // another thread may have written it while this one was waiting
+            if (current.compareAndSet(full, new Batch<>())) {
+                write(full);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void write(Batch<K, V> batch) {
+        batch.close();
+        if (!batch.values.isEmpty()) {
+            writer.accept(batch.values);
+        }
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    private static class Batch<K, V> {
+        private final Map<K, V> values = new ConcurrentHashMap<>();
+        private final AtomicInteger size = new AtomicInteger();
+        // writers share the read lock, flush waits for them with the write lock
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private boolean closed;
+
+        /**
+         * @return size of the batch, {@link #CLOSED} if the batch is already flushed or {@link #FULL}
+         */
+        private int add(K key, Function<K, V> valueFactory, ToIntFunction<V> update, int maxSize) {
+            lock.readLock().lock();
+            try {
+                if (closed) {
+                    return CLOSED;
+                }
+                if (size.get() >= maxSize) {
+                    return FULL;
+                }
+                final V value = values.computeIfAbsent(key, valueFactory);
+                final int added;
+                synchronized (value) {
+                    added = update.applyAsInt(value);
+                }
+                return size.addAndGet(added);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void close() {
+            lock.writeLock().lock();
+            try {
+                closed = true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "WindowedBatcher{" +
+                "name='" + name + '\'' +
+                ", maxSize=" + maxSize +
+                '}';
+    }
+}
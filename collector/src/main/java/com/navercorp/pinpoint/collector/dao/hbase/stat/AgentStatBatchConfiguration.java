@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class AgentStatBatchConfiguration {
+
+    private final Logger logger = LogManager.getLogger(AgentStatBatchConfiguration.class);
+
+    @Bean(destroyMethod = "close")
+    public AgentStatBatchWriter agentStatBatchWriter(HbasePutWriter putWriter,
+                                                     @Value("${collector.agent-stat.batch.enable:false}") boolean enable,
+                                                     @Value("${collector.agent-stat.batch.window:1000}") long windowMillis,
+                                                     @Value("${collector.agent-stat.batch.max-data-points:100000}") int maxDataPoints) {
+        if (!enable) {
+            return AgentStatBatchWriter.direct(putWriter);
+        }
+        AgentStatBatchWriter writer = new AgentStatBatchWriter("AgentStatBatchWriter", putWriter, windowMillis, maxDataPoints);
+        logger.info("{}", writer);
+        return writer;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.collector.dao.hbase.WindowedBatcher;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Buffers the agent stat batches of many agents and writes them as large multi-row batches.
+ * <p>
+ * The data points of the same agent and stat type are merged before they are encoded,
+ * so the batches of an agent that fall in the same row (time slot) are written as one cell instead of one cell per batch.
+ * The buffer is written when the window elapses or it holds {@code maxDataPoints} data points, whichever comes first,
+ * and on close.
+ * <p>
+ * Without a window, each batch is written as soon as it arrives.
+ *
+ * @see WindowedBatcher
+ */
+public class AgentStatBatchWriter implements Closeable {
+
+    static final int WRITE_BATCH_SIZE = 1000;
+
+    private static final Comparator<AgentStatDataPoint> TIMESTAMP_ORDER = Comparator.comparingLong(AgentStatDataPoint::getTimestamp);
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final HbasePutWriter putWriter;
+    private final int maxDataPoints;
+
+    private final WindowedBatcher<BatchKey, PendingDataPoints> batcher;
+
+    public static AgentStatBatchWriter direct(HbasePutWriter putWriter) {
+        return new AgentStatBatchWriter(putWriter);
+    }
+
+    private AgentStatBatchWriter(HbasePutWriter putWriter) {
+        this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
+        this.maxDataPoints = 0;
+        this.batcher = null;
+    }
+
+    public AgentStatBatchWriter(String name, HbasePutWriter putWriter, long windowMillis, int maxDataPoints) {
+        Objects.requireNonNull(name, "name");
+        this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
+        this.maxDataPoints = maxDataPoints;
+        this.batcher = new WindowedBatcher<>(name, windowMillis, maxDataPoints, key -> new PendingDataPoints(), this::write);
+    }
+
+    public <T extends AgentStatDataPoint> void write(DefaultAgentStatDao<T> dao, String agentId, List<T> dataPoints) {
+        Objects.requireNonNull(dao, "dao");
+        Objects.requireNonNull(agentId, "agentId");
+        Objects.requireNonNull(dataPoints, "dataPoints");
+
+        if (batcher == null) {
+            writePuts(dao.getTableName(), dao.createPuts(agentId, dataPoints));
+            return;
+        }
+
+        batcher.add(new BatchKey(dao, agentId), pending -> {
+            pending.dataPoints.addAll(dataPoints);
+            pending.batches++;
+            return dataPoints.size();
+        });
+    }
+
+    public void flush() {
+        if (batcher == null) {
+            return;
+        }
+        batcher.flush();
+    }
+
+    private void write(Map<BatchKey, PendingDataPoints> batch) {
+        final Map<TableName, List<Put>> tables = new HashMap<>();
+        for (Map.Entry<BatchKey, PendingDataPoints> entry : batch.entrySet()) {
+            final BatchKey key = entry.getKey();
+            try {
+                final List<Put> puts = createPuts(key.dao, key.agentId, entry.getValue());
+                if (!puts.isEmpty()) {
+                    tables.computeIfAbsent(key.dao.getTableName(), tableName -> new ArrayList<>()).addAll(puts);
+                }
+            } catch (Exception e) {
+                logger.warn("Failed to create agent stat puts. agentId:{}", key.agentId, e);
+            }
+        }
+        tables.forEach(this::writePuts);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends AgentStatDataPoint> List<Put> createPuts(DefaultAgentStatDao<T> dao, String agentId, PendingDataPoints pending) {
+        final List<T> dataPoints = (List<T>) (List<?>) pending.dataPoints;
+        if (pending.batches > 1) {
+            // the batches of an agent usually arrive in order, the first data point is the qualifier of the cell
+            dataPoints.sort(TIMESTAMP_ORDER);
+        }
+        return dao.createPuts(agentId, dataPoints);
+    }
+
+    private void writePuts(TableName tableName, List<Put> puts) {
+        if (puts.isEmpty()) {
+            return;
+        }
+        for (int from = 0; from < puts.size(); from += WRITE_BATCH_SIZE) {
+            final int to = Math.min(from + WRITE_BATCH_SIZE, puts.size());
+            putWriter.put(tableName, puts.subList(from, to));
+        }
+    }
+
+    @Override
+    public void close() {
+        if (batcher == null) {
+            return;
+        }
+        batcher.close();
+    }
+
+    private static class PendingDataPoints {
+        private final List<AgentStatDataPoint> dataPoints = new ArrayList<>();
+        private int batches;
+    }
+
+    private static class BatchKey {
+        private final DefaultAgentStatDao<?> dao;
+        private final String agentId;
+
+        private BatchKey(DefaultAgentStatDao<?> dao, String agentId) {
+            this.dao = dao;
+            this.agentId = agentId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey batchKey = (BatchKey) o;
+            return dao == batchKey.dao && agentId.equals(batchKey.agentId);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(dao) + agentId.hashCode();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AgentStatBatchWriter{" +
+                "maxDataPoints=" + maxDataPoints +
+                ", batch=" + (batcher != null) +
+                ", putWriter=" + putWriter +
+                '}';
+    }
+}
@@ -4,7 +4,6 @@ import com.navercorp.pinpoint.collector.dao.AgentStatDao;
 import com.navercorp.pinpoint.collector.util.CollectorUtils;
 import com.navercorp.pinpoint.common.hbase.HbaseTable;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
-import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatSerializer;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
@@ -23,7 +22,7 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
     private final AgentStatType agentStatType;
     private final HbaseTable tableName;
     private final Function<AgentStatBo, List<T>> dataPointFunction;
-    private final HbasePutWriter putWriter;
+    private final AgentStatBatchWriter batchWriter;
     private final TableNameProvider tableNameProvider;
     private final AgentStatHbaseOperationFactory operations;
     private final AgentStatSerializer<T> serializer;
@@ -33,7 +32,7 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
     public DefaultAgentStatDao(AgentStatType agentStatType,
                                HbaseTable tableName,
                                Function<AgentStatBo, List<T>> dataPointFunction,
-                               HbasePutWriter putWriter,
+                               AgentStatBatchWriter batchWriter,
                                TableNameProvider tableNameProvider,
                                AgentStatHbaseOperationFactory operations,
                                AgentStatSerializer<T> serializer) {
@@ -41,7 +40,7 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
         this.tableName = Objects.requireNonNull(tableName, "tableName");
         this.dataPointFunction = Objects.requireNonNull(dataPointFunction, "dataPointFunction");
 
-        this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
+        this.batchWriter = Objects.requireNonNull(batchWriter, "batchWriter");
 
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.operations = Objects.requireNonNull(operations, "operations");
@@ -62,13 +61,16 @@ public class DefaultAgentStatDao<T extends AgentStatDataPoint> implements AgentS
             return;
         }
 
+        this.batchWriter.write(this, agentId, dataPoints);
+    }
+
+    List<Put> createPuts(String agentId, List<T> dataPoints) {
         dataPoints = preprocessor.apply(dataPoints);
-        List<Put> puts = this.operations.createPuts(agentId, agentStatType, dataPoints, this.serializer);
-        if (puts.isEmpty()) {
-            return;
-        }
-        TableName tableName = tableNameProvider.getTableName(this.tableName);
-        this.putWriter.put(tableName, puts);
+        return this.operations.createPuts(agentId, agentStatType, dataPoints, this.serializer);
+    }
+
+    TableName getTableName() {
+        return tableNameProvider.getTableName(this.tableName);
     }
 
     @Override
@@ -3,7 +3,6 @@ package com.navercorp.pinpoint.collector.dao.hbase.stat;
 import com.navercorp.pinpoint.collector.dao.AgentStatDao;
 import com.navercorp.pinpoint.common.hbase.HbaseTable;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
-import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatSerializer;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
@@ -31,20 +30,20 @@ import java.util.function.Function;
 @Configuration
 public class HBaseDaoConfiguration {
 
-    private final HbasePutWriter putWriter;
+    private final AgentStatBatchWriter batchWriter;
     private final HbaseTable hbaseTable = HbaseTable.AGENT_STAT_VER2;
     private final TableNameProvider tableNameProvider;
     private final AgentStatHbaseOperationFactory operations;
 
-    public HBaseDaoConfiguration(HbasePutWriter putWriter, TableNameProvider tableNameProvider, AgentStatHbaseOperationFactory operations) {
-        this.putWriter = Objects.requireNonNull(putWriter, "putWriter");
+    public HBaseDaoConfiguration(AgentStatBatchWriter agentStatBatchWriter, TableNameProvider tableNameProvider, AgentStatHbaseOperationFactory operations) {
+        this.batchWriter = Objects.requireNonNull(agentStatBatchWriter, "agentStatBatchWriter");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.operations = Objects.requireNonNull(operations, "operations");
     }
 
     private <T extends AgentStatDataPoint> AgentStatDao<T> newAgentStatDao(AgentStatType agentStatType, Function<AgentStatBo, List<T>> dataPointFunction, AgentStatSerializer<T> serializer) {
         return new DefaultAgentStatDao<>(agentStatType, hbaseTable, dataPointFunction,
-                putWriter, tableNameProvider, operations, serializer);
+                batchWriter, tableNameProvider, operations, serializer);
     }
 
     @Bean
@@ -59,7 +58,7 @@ public class HBaseDaoConfiguration {
 
     @Bean
     public AgentStatDao<DataSourceListBo> getDataSourceListDao(AgentStatSerializer<DataSourceListBo> serializer) {
-        return new HbaseDataSourceListDao(putWriter, tableNameProvider, operations, serializer);
+        return new HbaseDataSourceListDao(batchWriter, tableNameProvider, operations, serializer);
     }
 
     @Bean
@@ -18,7 +18,6 @@ package com.navercorp.pinpoint.collector.dao.hbase.stat;
 
 import com.navercorp.pinpoint.common.hbase.HbaseTable;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
-import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatSerializer;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
@@ -37,12 +36,12 @@ import java.util.List;
  */
 public class HbaseDataSourceListDao extends DefaultAgentStatDao<DataSourceListBo> {
 
-    public HbaseDataSourceListDao(HbasePutWriter putWriter,
+    public HbaseDataSourceListDao(AgentStatBatchWriter batchWriter,
                                   TableNameProvider tableNameProvider,
                                   AgentStatHbaseOperationFactory operationFactory,
                                   AgentStatSerializer<DataSourceListBo> serializer) {
         super(AgentStatType.DATASOURCE, HbaseTable.AGENT_STAT_VER2, AgentStatBo::getDataSourceListBos,
-                putWriter, tableNameProvider, operationFactory, serializer);
+                batchWriter, tableNameProvider, operationFactory, serializer);
         this.preprocessor = this::reorderDataSourceListBos;
     }
 
@@ -36,15 +36,18 @@ public class BulkConfiguration {
 
     private final boolean enableBulk;
 
+    private final boolean enablePreAggregation;
 
     public BulkConfiguration(@Value("${collector.cachedStatDao.caller.limit:-1}") int callerLimitSize,
                              @Value("${collector.cachedStatDao.callee.limit:-1}") int calleeLimitSize,
                              @Value("${collector.cachedStatDao.self.limit:-1}") int selfLimitSize,
-                             @Value("${collector.cachedStatDao.bulk.enable:true}") boolean enableBulk) {
+                             @Value("${collector.cachedStatDao.bulk.enable:true}") boolean enableBulk,
+                             @Value("${collector.cachedStatDao.bulk.preaggregation.enable:false}") boolean enablePreAggregation) {
         this.callerLimitSize = callerLimitSize;
         this.calleeLimitSize = calleeLimitSize;
         this.selfLimitSize = selfLimitSize;
         this.enableBulk = enableBulk;
+        this.enablePreAggregation = enablePreAggregation;
     }
 
     public int getCallerLimitSize() {
@@ -63,6 +66,10 @@ public class BulkConfiguration {
         return enableBulk;
     }
 
+    public boolean enablePreAggregation() {
+        return enablePreAggregation;
+    }
+
     @PostConstruct
     public void log() {
         logger.info("{}", this);
@@ -75,6 +82,7 @@ public class BulkConfiguration {
                 ", calleeLimitSize=" + calleeLimitSize +
                 ", selfLimitSize=" + selfLimitSize +
                 ", enableBulk=" + enableBulk +
+                ", enablePreAggregation=" + enablePreAggregation +
                 '}';
     }
 }
@@ -4,10 +4,12 @@ import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapResponseTimeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCalleeDao;
 import com.navercorp.pinpoint.collector.dao.hbase.HbaseMapStatisticsCallerDao;
 import com.navercorp.pinpoint.collector.monitor.dao.hbase.BulkOperationReporter;
+import com.navercorp.pinpoint.collector.monitor.dao.hbase.LinkFlushReporter;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.hbase.async.HbaseAsyncTemplate;
+import com.navercorp.pinpoint.common.hbase.counter.HbaseBatchPerformanceCounter;
 import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Bean;
@@ -24,24 +26,44 @@ public class BulkFactory {
     private final BulkConfiguration bulkConfiguration;
     private final BulkIncrementerFactory bulkIncrementerFactory;
     private final BulkOperationReporterFactory bulkOperationReporterFactory;
+    private final LinkFlushConfiguration linkFlushConfiguration;
 
     public BulkFactory(BulkConfiguration bulkConfiguration,
                        BulkIncrementerFactory bulkIncrementerFactory,
-                       BulkOperationReporterFactory bulkOperationReporterFactory) {
+                       BulkOperationReporterFactory bulkOperationReporterFactory,
+                       LinkFlushConfiguration linkFlushConfiguration) {
         this.bulkConfiguration = Objects.requireNonNull(bulkConfiguration, "bulkConfiguration");
         this.bulkIncrementerFactory = Objects.requireNonNull(bulkIncrementerFactory, "bulkIncrementerFactory");
         this.bulkOperationReporterFactory = Objects.requireNonNull(bulkOperationReporterFactory, "bulkOperationReporterFactory");
+        this.linkFlushConfiguration = Objects.requireNonNull(linkFlushConfiguration, "linkFlushConfiguration");
+    }
+
+    @Bean
+    public LinkFlushReporter linkFlushReporter() {
+        return new LinkFlushReporter();
+    }
+
+    @Bean
+    public LinkFlushController linkFlushController(HbaseBatchPerformanceCounter batchPerformanceCounter,
+                                                   LinkFlushReporter linkFlushReporter) {
+        return new LinkFlushController(linkFlushConfiguration, batchPerformanceCounter, linkFlushReporter);
     }
 
 
     private BulkIncrementer newBulkIncrementer(String reporterName, HbaseColumnFamily hbaseColumnFamily, int limitSize) {
         BulkOperationReporter reporter = bulkOperationReporterFactory.getBulkOperationReporter(reporterName);
         RowKeyMerge merge = new RowKeyMerge(hbaseColumnFamily);
-        BulkIncrementer bulkIncrementer = new DefaultBulkIncrementer(merge);
+        BulkIncrementer bulkIncrementer = newBulkIncrementer(merge);
 
         return bulkIncrementerFactory.wrap(bulkIncrementer, limitSize, reporter);
     }
 
+    private BulkIncrementer newBulkIncrementer(RowKeyMerge merge) {
+        if (bulkConfiguration.enablePreAggregation()) {
+            return new StripedBulkIncrementer(merge);
+        }
+        return new DefaultBulkIncrementer(merge);
+    }
 
     private BulkUpdater getBulkUpdater(String reporterName) {
         BulkOperationReporter reporter = bulkOperationReporterFactory.getBulkOperationReporter(reporterName);
@@ -56,10 +78,11 @@ public class BulkFactory {
                                      TableNameProvider tableNameProvider,
                                      RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                      BulkIncrementer bulkIncrementer,
-                                     BulkUpdater bulkUpdater) {
+                                     BulkUpdater bulkUpdater,
+                                     LinkFlushController linkFlushController) {
         if (bulkConfiguration.enableBulk()) {
             return new DefaultBulkWriter(loggerName, asyncTemplate, rowKeyDistributorByHashPrefix,
-                    bulkIncrementer, bulkUpdater, descriptor, tableNameProvider);
+                    bulkIncrementer, bulkUpdater, descriptor, tableNameProvider, linkFlushController);
         } else {
             return new SyncWriter(loggerName, hbaseTemplate, rowKeyDistributorByHashPrefix, descriptor, tableNameProvider);
         }
@@ -87,9 +110,10 @@ public class BulkFactory {
                                        TableNameProvider tableNameProvider,
                                        @Qualifier("statisticsCallerRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                        @Qualifier("callerBulkIncrementer") BulkIncrementer bulkIncrementer,
-                                       @Qualifier("callerBulkUpdater") BulkUpdater bulkUpdater) {
+                                       @Qualifier("callerBulkUpdater") BulkUpdater bulkUpdater,
+                                       LinkFlushController linkFlushController) {
         String loggerName = newBulkWriterName(HbaseMapStatisticsCallerDao.class.getName());
-        return newBulkWriter(loggerName, hbaseTemplate, asyncTemplate, HbaseColumnFamily.MAP_STATISTICS_CALLEE_VER2_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater);
+        return newBulkWriter(loggerName, hbaseTemplate, asyncTemplate, HbaseColumnFamily.MAP_STATISTICS_CALLEE_VER2_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater, linkFlushController);
     }
 
 
@@ -115,9 +139,10 @@ public class BulkFactory {
                                        TableNameProvider tableNameProvider,
                                        @Qualifier("statisticsCalleeRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                        @Qualifier("calleeBulkIncrementer") BulkIncrementer bulkIncrementer,
-                                       @Qualifier("calleeBulkUpdater") BulkUpdater bulkUpdater) {
+                                       @Qualifier("calleeBulkUpdater") BulkUpdater bulkUpdater,
+                                       LinkFlushController linkFlushController) {
         String loggerName = newBulkWriterName(HbaseMapStatisticsCalleeDao.class.getName());
-        return newBulkWriter(loggerName, hbaseTemplate, asyncTemplate, HbaseColumnFamily.MAP_STATISTICS_CALLER_VER2_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater);
+        return newBulkWriter(loggerName, hbaseTemplate, asyncTemplate, HbaseColumnFamily.MAP_STATISTICS_CALLER_VER2_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater, linkFlushController);
     }
 
     @Bean
@@ -141,9 +166,10 @@ public class BulkFactory {
                                      TableNameProvider tableNameProvider,
                                      @Qualifier("statisticsSelfRowKeyDistributor") RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix,
                                      @Qualifier("selfBulkIncrementer") BulkIncrementer bulkIncrementer,
-                                     @Qualifier("selfBulkUpdater") BulkUpdater bulkUpdater) {
+                                     @Qualifier("selfBulkUpdater") BulkUpdater bulkUpdater,
+                                     LinkFlushController linkFlushController) {
         String loggerName = newBulkWriterName(HbaseMapResponseTimeDao.class.getName());
-        return newBulkWriter(loggerName, hbaseTemplate, asyncTemplate, HbaseColumnFamily.MAP_STATISTICS_SELF_VER2_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater);
+        return newBulkWriter(loggerName, hbaseTemplate, asyncTemplate, HbaseColumnFamily.MAP_STATISTICS_SELF_VER2_COUNTER, tableNameProvider, rowKeyDistributorByHashPrefix, bulkIncrementer, bulkUpdater, linkFlushController);
     }
 
     private String newBulkWriterName(String className) {
@@ -1,5 +1,6 @@
 package com.navercorp.pinpoint.collector.dao.hbase.statistics;
 
+import com.navercorp.pinpoint.common.hbase.CasResult;
 import com.navercorp.pinpoint.common.hbase.CheckAndMax;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
@@ -8,6 +9,7 @@ import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
 import org.apache.commons.collections4.ListUtils;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.client.Result;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -16,6 +18,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author emeroad
@@ -33,7 +36,7 @@ public class DefaultBulkWriter implements BulkWriter {
     private final HbaseColumnFamily tableDescriptor;
     private final TableNameProvider tableNameProvider;
     private final HbaseAsyncTemplate asyncTemplate;
-    private int batchSize = 200;
+    private final LinkFlushController flushController;
 
     public DefaultBulkWriter(String loggerName,
                              HbaseAsyncTemplate asyncTemplate,
@@ -41,7 +44,8 @@ public class DefaultBulkWriter implements BulkWriter {
                              BulkIncrementer bulkIncrementer,
                              BulkUpdater bulkUpdater,
                              HbaseColumnFamily tableDescriptor,
-                             TableNameProvider tableNameProvider) {
+                             TableNameProvider tableNameProvider,
+                             LinkFlushController flushController) {
         this.logger = LogManager.getLogger(loggerName);
         this.asyncTemplate = Objects.requireNonNull(asyncTemplate, "asyncTemplate");
         this.rowKeyDistributorByHashPrefix = Objects.requireNonNull(rowKeyDistributorByHashPrefix, "rowKeyDistributorByHashPrefix");
@@ -49,10 +53,7 @@ public class DefaultBulkWriter implements BulkWriter {
         this.bulkUpdater = Objects.requireNonNull(bulkUpdater, "bulkUpdater");
         this.tableDescriptor = Objects.requireNonNull(tableDescriptor, "tableDescriptor");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
-    }
-
-    public void setBatchSize(int batchSize) {
-        this.batchSize = batchSize;
+        this.flushController = Objects.requireNonNull(flushController, "flushController");
     }
 
     @Override
@@ -76,7 +77,14 @@ public class DefaultBulkWriter implements BulkWriter {
     @Override
     public void flushLink() {
 
+        flushController.onFlush(bulkIncrementer.getSize());
+        if (flushController.isBackpressure()) {
+            // hbase is behind, keep merging increments in memory until the next flush
+            flushController.reportDeferred();
+            return;
+        }
         // update statistics by rowkey and column for now. need to update it by rowkey later.
+        final int batchSize = flushController.getBatchSize();
         Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributorByHashPrefix);
 
         for (Map.Entry<TableName, List<Increment>> entry : incrementMap.entrySet()) {
@@ -87,7 +95,9 @@ public class DefaultBulkWriter implements BulkWriter {
             }
             List<List<Increment>> partition = ListUtils.partition(increments, batchSize);
             for (List<Increment> incrementList : partition) {
-                asyncTemplate.increment(tableName, incrementList);
+                final long startTime = flushController.onSubmit(incrementList.size());
+                List<CompletableFuture<Result>> futures = asyncTemplate.increment(tableName, incrementList);
+                whenComplete(futures, incrementList.size(), startTime);
             }
         }
 
@@ -104,6 +114,7 @@ public class DefaultBulkWriter implements BulkWriter {
             }
         }
 
+        final int batchSize = flushController.getBatchSize();
         Map<TableName, List<CheckAndMax>> maxUpdates = new HashMap<>();
         for (Map.Entry<RowInfo, Long> entry : maxUpdateMap.entrySet()) {
             final RowInfo rowInfo = entry.getKey();
@@ -121,11 +132,18 @@ public class DefaultBulkWriter implements BulkWriter {
             List<CheckAndMax> maxs = entry.getValue();
             List<List<CheckAndMax>> partition = ListUtils.partition(maxs, batchSize);
             for (List<CheckAndMax> checkAndMaxes : partition) {
-                this.asyncTemplate.maxColumnValue(tableName, checkAndMaxes);
+                final long startTime = flushController.onSubmit(checkAndMaxes.size());
+                List<CompletableFuture<CasResult>> futures = this.asyncTemplate.maxColumnValue(tableName, checkAndMaxes);
+                whenComplete(futures, checkAndMaxes.size(), startTime);
             }
         }
     }
 
+    private void whenComplete(List<? extends CompletableFuture<?>> futures, int size, long startTime) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((result, throwable) -> flushController.onComplete(size, startTime, throwable));
+    }
+
     private byte[] getColumnFamilyName() {
         return tableDescriptor.getName();
     }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import jakarta.annotation.PostConstruct;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Objects;
+
+@Component
+public class LinkFlushConfiguration {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    public static final int DEFAULT_BATCH_SIZE = 200;
+
+    private final boolean enableAdaptive;
+    private final Duration flushInterval;
+    private final Duration minFlushInterval;
+    private final Duration maxFlushInterval;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final Duration targetLatency;
+    private final long maxInFlight;
+
+    public LinkFlushConfiguration(@Value("${collector.map-link.flush.adaptive.enable:false}") boolean enableAdaptive,
+                                  @Value("${collector.map-link.stat.flush-interval:5000}") Duration flushInterval,
+                                  @Value("${collector.map-link.flush.adaptive.min-interval:1000}") Duration minFlushInterval,
+                                  @Value("${collector.map-link.flush.adaptive.max-interval:30000}") Duration maxFlushInterval,
+                                  @Value("${collector.map-link.flush.adaptive.min-batch-size:200}") int minBatchSize,
+                                  @Value("${collector.map-link.flush.adaptive.max-batch-size:2000}") int maxBatchSize,
+                                  @Value("${collector.map-link.flush.adaptive.target-latency:500}") Duration targetLatency,
+                                  @Value("${collector.map-link.flush.adaptive.max-inflight:100000}") long maxInFlight) {
+        this.enableAdaptive = enableAdaptive;
+        this.flushInterval = Objects.requireNonNull(flushInterval, "flushInterval");
+        this.minFlushInterval = Objects.requireNonNull(minFlushInterval, "minFlushInterval");
+        this.maxFlushInterval = Objects.requireNonNull(maxFlushInterval, "maxFlushInterval");
+        if (minFlushInterval.compareTo(maxFlushInterval) > 0) {
+            throw new IllegalArgumentException("min-interval must not be greater than max-interval");
+        }
+        if (minBatchSize <= 0 || minBatchSize > maxBatchSize) {
+            throw new IllegalArgumentException("invalid batch size min:" + minBatchSize + " max:" + maxBatchSize);
+        }
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetLatency = Objects.requireNonNull(targetLatency, "targetLatency");
+        this.maxInFlight = maxInFlight;
+    }
+
+    public boolean isEnableAdaptive() {
+        return enableAdaptive;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public Duration getMinFlushInterval() {
+        return minFlushInterval;
+    }
+
+    public Duration getMaxFlushInterval() {
+        return maxFlushInterval;
+    }
+
+    public int getMinBatchSize() {
+        return minBatchSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public Duration getTargetLatency() {
+        return targetLatency;
+    }
+
+    public long getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    @PostConstruct
+    public void log() {
+        logger.info("{}", this);
+    }
+
+    @Override
+    public String toString() {
+        return "LinkFlushConfiguration{" +
+                "enableAdaptive=" + enableAdaptive +
+                ", flushInterval=" + flushInterval +
+                ", minFlushInterval=" + minFlushInterval +
+                ", maxFlushInterval=" + maxFlushInterval +
+                ", minBatchSize=" + minBatchSize +
+                ", maxBatchSize=" + maxBatchSize +
+                ", targetLatency=" + targetLatency +
+                ", maxInFlight=" + maxInFlight +
+                '}';
+    }
+}
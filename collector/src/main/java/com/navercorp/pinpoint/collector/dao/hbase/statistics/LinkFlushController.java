@@ -0,0 +1,197 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.collector.monitor.dao.hbase.LinkFlushReporter;
+import com.navercorp.pinpoint.common.hbase.counter.HbaseBatchPerformanceCounter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decides the flush interval and batch size of the map statistics writers from the observed hbase latency.
+ * <p>
+ * Every async increment batch is recorded in {@link HbaseBatchPerformanceCounter}; its latency is smoothed
+ * and the number of operations still in flight is read back from the counter.
+ * When hbase falls behind (latency over the target, or too many operations in flight) the interval and the batch size
+ * are doubled, so more increments are merged in memory and fewer requests are sent.
+ * When hbase is fast they are halved back, which spreads the writes and avoids periodic spikes.
+ * While too many operations are in flight, flushes are deferred and the counts keep merging in memory,
+ * bounded by {@link SizeLimitedBulkIncrementer}. Backpressure is read from the live in-flight count,
+ * so flushing resumes as soon as hbase catches up.
+ * <p>
+ * If adaptive flushing is disabled, the configured interval and the default batch size are used as is.
+ */
+public class LinkFlushController {
+
+    private static final double SMOOTHING_FACTOR = 0.3;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final LinkFlushConfiguration configuration;
+    private final HbaseBatchPerformanceCounter performanceCounter;
+    private final LinkFlushReporter reporter;
+
+    private final long minFlushInterval;
+    private final long maxFlushInterval;
+    private final long targetLatency;
+
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private volatile long flushInterval;
+    private volatile int batchSize;
+    private volatile boolean backpressure = false;
+
+    // guarded by this
+    private double latency = -1;
+
+    public LinkFlushController(LinkFlushConfiguration configuration,
+                               HbaseBatchPerformanceCounter performanceCounter,
+                               LinkFlushReporter reporter) {
+        this.configuration = Objects.requireNonNull(configuration, "configuration");
+        this.performanceCounter = Objects.requireNonNull(performanceCounter, "performanceCounter");
+        this.reporter = Objects.requireNonNull(reporter, "reporter");
+
+        this.minFlushInterval = configuration.getMinFlushInterval().toMillis();
+        this.maxFlushInterval = configuration.getMaxFlushInterval().toMillis();
+        this.targetLatency = configuration.getTargetLatency().toMillis();
+
+        final long flushInterval = configuration.getFlushInterval().toMillis();
+        if (configuration.isEnableAdaptive()) {
+            this.flushInterval = Math.min(Math.max(flushInterval, minFlushInterval), maxFlushInterval);
+            this.batchSize = configuration.getMinBatchSize();
+        } else {
+            this.flushInterval = flushInterval;
+            this.batchSize = LinkFlushConfiguration.DEFAULT_BATCH_SIZE;
+        }
+        report();
+    }
+
+    public boolean isAdaptive() {
+        return configuration.isEnableAdaptive();
+    }
+
+    public long getFlushInterval() {
+        return flushInterval;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public boolean isBackpressure() {
+        return isAdaptive() && performanceCounter.getCurrentOpsCount() > configuration.getMaxInFlight();
+    }
+
+    public void reportDeferred() {
+        reporter.reportDeferred();
+    }
+
+    /**
+     * @return start time to pass to {@link #onComplete(int, long, Throwable)}
+     */
+    public long onSubmit(int size) {
+        performanceCounter.opsCount(size);
+        return System.nanoTime();
+    }
+
+    public void onComplete(int size, long startTime, Throwable error) {
+        final long latencyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        performanceCounter.latency(latencyMillis);
+        if (error != null) {
+            performanceCounter.opsFailed(size);
+        } else {
+            performanceCounter.success(size);
+        }
+        updateLatency(latencyMillis);
+    }
+
+    private synchronized void updateLatency(long latencyMillis) {
+        if (latency < 0) {
+            latency = latencyMillis;
+        } else {
+            latency = SMOOTHING_FACTOR * latencyMillis + (1 - SMOOTHING_FACTOR) * latency;
+        }
+    }
+
+    /**
+     * @param pendingCount number of keys waiting in the incrementer when a flush starts
+     */
+    public void onFlush(long pendingCount) {
+        this.pendingCount.accumulateAndGet(pendingCount, Math::max);
+    }
+
+    /**
+     * Recalculates the flush decision. Called by the scheduler before each link flush.
+     *
+     * @return delay in milliseconds until the next flush
+     */
+    public synchronized long nextFlushInterval() {
+        if (!isAdaptive()) {
+            return flushInterval;
+        }
+        final long inFlight = performanceCounter.getCurrentOpsCount();
+        final long pending = pendingCount.getAndSet(0);
+        final boolean overloaded = inFlight > configuration.getMaxInFlight();
+        final boolean slow = latency > targetLatency;
+
+        long flushInterval = this.flushInterval;
+        int batchSize = this.batchSize;
+        if (overloaded || slow) {
+            flushInterval = Math.min(flushInterval * 2, maxFlushInterval);
+            batchSize = Math.min(batchSize * 2, configuration.getMaxBatchSize());
+        } else if (latency < targetLatency / 2.0) {
+            if (pending > configuration.getMaxBatchSize()) {
+                // hbase keeps up, do not let the keys pile up
+                flushInterval = minFlushInterval;
+            } else {
+                flushInterval = Math.max(flushInterval / 2, minFlushInterval);
+            }
+            batchSize = Math.max(batchSize / 2, configuration.getMinBatchSize());
+        }
+
+        if (flushInterval != this.flushInterval || batchSize != this.batchSize || overloaded != this.backpressure) {
+            logger.info("Link flush changed interval:{}ms batchSize:{} backpressure:{} latency:{}ms inFlight:{} pending:{}",
+                    flushInterval, batchSize, overloaded, (long) latency, inFlight, pending);
+        }
+        this.flushInterval = flushInterval;
+        this.batchSize = batchSize;
+        this.backpressure = overloaded;
+        report(pending);
+        return flushInterval;
+    }
+
+    private void report() {
+        report(0);
+    }
+
+    private void report(long pending) {
+        reporter.reportDecision(flushInterval, batchSize, (long) Math.max(latency, 0), pending, backpressure);
+    }
+
+    @Override
+    public String toString() {
+        return "LinkFlushController{" +
+                "flushInterval=" + flushInterval +
+                ", batchSize=" + batchSize +
+                ", backpressure=" + backpressure +
+                '}';
+    }
+}
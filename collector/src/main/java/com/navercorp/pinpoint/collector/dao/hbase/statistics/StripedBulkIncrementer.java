@@ -0,0 +1,220 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * BulkIncrementer that pre-aggregates increments in per-thread tables before they are merged.
+ * <p>
+ * Each span handler thread counts into its own plain HashMap, so a hot link updated by many threads never funnels
+ * through a shared monitor. The table lock is only contended while the table is being merged.
+ * Lookups use a reusable probe key, so a key that has already been seen is counted without allocating a RowInfo or boxing the count.
+ * {@link #getSize()} and {@link #getIncrements(RowKeyDistributorByHashPrefix)} swap the thread tables and merge them
+ * into one pending table, so the size counts every distinct key exactly once.
+ */
+class StripedBulkIncrementer implements BulkIncrementer {
+
+    private final RowKeyMerge rowKeyMerge;
+
+    private final List<LocalTable> localTables = new CopyOnWriteArrayList<>();
+    private final ThreadLocal<LocalTable> localTable = ThreadLocal.withInitial(this::newLocalTable);
+
+    // guarded by itself, only touched by the flush and monitoring threads
+    private final Map<LinkKey, Counter> merged = new HashMap<>();
+
+    StripedBulkIncrementer(RowKeyMerge rowKeyMerge) {
+        this.rowKeyMerge = Objects.requireNonNull(rowKeyMerge, "rowKeyMerge");
+    }
+
+    private LocalTable newLocalTable() {
+        final LocalTable table = new LocalTable(Thread.currentThread());
+        localTables.add(table);
+        return table;
+    }
+
+    @Override
+    public void increment(TableName tableName, RowKey rowKey, ColumnName columnName) {
+        increment(tableName, rowKey, columnName, 1L);
+    }
+
+    @Override
+    public void increment(TableName tableName, RowKey rowKey, ColumnName columnName, long addition) {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(rowKey, "rowKey");
+        Objects.requireNonNull(columnName, "columnName");
+
+        final LocalTable table = localTable.get();
+        synchronized (table) {
+            table.add(tableName, rowKey, columnName, addition);
+        }
+    }
+
+    @Override
+    public Map<TableName, List<Increment>> getIncrements(RowKeyDistributorByHashPrefix rowKeyDistributor) {
+        final Map<RowInfo, Long> snapshot;
+        synchronized (merged) {
+            merge();
+            snapshot = new HashMap<>(merged.size() * 4 / 3 + 1);
+            for (Map.Entry<LinkKey, Counter> entry : merged.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().value);
+            }
+            merged.clear();
+        }
+        return rowKeyMerge.createBulkIncrement(snapshot, rowKeyDistributor);
+    }
+
+    @Override
+    public int getSize() {
+        synchronized (merged) {
+            merge();
+            return merged.size();
+        }
+    }
+
+    private void merge() {
+        for (LocalTable table : localTables) {
+            // checked before the drain, a terminated thread can not add to its table anymore
+            final boolean alive = table.isAlive();
+            final Map<LinkKey, Counter> drained;
+            synchronized (table) {
+                drained = table.drain();
+            }
+            for (Map.Entry<LinkKey, Counter> entry : drained.entrySet()) {
+                final Counter counter = merged.putIfAbsent(entry.getKey(), entry.getValue());
+                if (counter != null) {
+                    counter.value += entry.getValue().value;
+                }
+            }
+            if (!alive) {
+                localTables.remove(table);
+            }
+        }
+    }
+
+    private static final class LocalTable {
+        private final WeakReference<Thread> owner;
+        private Map<LinkKey, Counter> table = new HashMap<>();
+        private final LinkKey probe = new LinkKey();
+
+        private LocalTable(Thread owner) {
+            this.owner = new WeakReference<>(owner);
+        }
+
+        private void add(TableName tableName, RowKey rowKey, ColumnName columnName, long addition) {
+            final int hash = LinkKey.hash(tableName, rowKey, columnName);
+            probe.set(tableName, rowKey, columnName, hash);
+            final Counter counter = table.get(probe);
+            if (counter != null) {
+                counter.value += addition;
+                return;
+            }
+            final LinkKey key = new LinkKey();
+            key.set(tableName, rowKey, columnName, hash);
+            table.put(key, new Counter(addition));
+        }
+
+        private Map<LinkKey, Counter> drain() {
+            final Map<LinkKey, Counter> copy = this.table;
+            if (copy.isEmpty()) {
+                // never hand out the live table, it is read outside the table lock
+                return Collections.emptyMap();
+            }
+            this.table = new HashMap<>(copy.size() * 4 / 3 + 1);
+            return copy;
+        }
+
+        private boolean isAlive() {
+            final Thread thread = owner.get();
+            return thread != null && thread.isAlive();
+        }
+    }
+
+    private static final class Counter {
+        private long value;
+
+        private Counter(long value) {
+            this.value = value;
+        }
+    }
+
+    /**
+     * Same equality as {@link DefaultRowInfo}. Keys stored in a table are never modified.
+     */
+    private static final class LinkKey implements RowInfo {
+        private TableName tableName;
+        private RowKey rowKey;
+        private ColumnName columnName;
+        private int hash;
+
+        private static int hash(TableName tableName, RowKey rowKey, ColumnName columnName) {
+            int result = tableName.hashCode();
+            result = 31 * result + rowKey.hashCode();
+            result = 31 * result + columnName.hashCode();
+            return result;
+        }
+
+        private void set(TableName tableName, RowKey rowKey, ColumnName columnName, int hash) {
+            this.tableName = tableName;
+            this.rowKey = rowKey;
+            this.columnName = columnName;
+            this.hash = hash;
+        }
+
+        @Override
+        public TableName getTableName() {
+            return tableName;
+        }
+
+        @Override
+        public RowKey getRowKey() {
+            return rowKey;
+        }
+
+        @Override
+        public ColumnName getColumnName() {
+            return columnName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            LinkKey that = (LinkKey) o;
+
+            if (!tableName.equals(that.tableName)) return false;
+            if (!rowKey.equals(that.rowKey)) return false;
+            return columnName.equals(that.columnName);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
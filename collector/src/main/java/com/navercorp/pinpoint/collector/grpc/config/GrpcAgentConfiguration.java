@@ -20,6 +20,7 @@ import com.google.protobuf.GeneratedMessageV3;
 import com.navercorp.pinpoint.collector.handler.RequestResponseHandler;
 import com.navercorp.pinpoint.collector.handler.SimpleAndRequestResponseHandler;
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
+import com.navercorp.pinpoint.collector.monitor.receiver.GrpcMessageSizeReporter;
 import com.navercorp.pinpoint.collector.receiver.AgentDispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.AgentLifeCycleChangeEventHandler;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
@@ -108,6 +109,11 @@ public class GrpcAgentConfiguration {
         return new SimpleServerCallExecutorSupplier(grpcAgentServerCallExecutor);
     }
 
+    @Bean
+    public GrpcMessageSizeReporter agentMessageSizeReporter() {
+        return new GrpcMessageSizeReporter("AgentReceiver");
+    }
+
     @Bean
     public GrpcReceiver grpcAgentReceiver(@Qualifier("grpcAgentReceiverProperties")
                                           GrpcReceiverProperties properties,
@@ -121,7 +127,9 @@ public class GrpcAgentConfiguration {
                                           Executor grpcSpanExecutor,
                                           @Qualifier("grpcAgentServerCallExecutorSupplier")
                                           SimpleServerCallExecutorSupplier simpleServerCallExecutorSupplier,
-                                          Monitor monitor) {
+                                          Monitor monitor,
+                                          @Qualifier("agentMessageSizeReporter")
+                                          GrpcMessageSizeReporter messageSizeReporter) {
         GrpcReceiver grpcReceiver = new GrpcReceiver();
         grpcReceiver.setBindAddress(properties.getBindAddress());
         grpcReceiver.setAddressFilter(addressFilter);
@@ -135,6 +143,7 @@ public class GrpcAgentConfiguration {
 
         grpcReceiver.setServerCallExecutorSupplier(simpleServerCallExecutorSupplier);
 
+        grpcReceiver.setMessageSizeReporter(messageSizeReporter);
         grpcReceiver.setMonitor(monitor);
         return grpcReceiver;
     }
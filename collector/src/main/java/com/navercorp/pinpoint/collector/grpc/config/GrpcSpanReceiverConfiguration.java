@@ -19,16 +19,20 @@ package com.navercorp.pinpoint.collector.grpc.config;
 import com.google.protobuf.GeneratedMessageV3;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
+import com.navercorp.pinpoint.collector.monitor.receiver.GrpcMessageSizeReporter;
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandlerFactoryBean;
 import com.navercorp.pinpoint.collector.receiver.SpanDispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.grpc.GrpcReceiver;
 import com.navercorp.pinpoint.collector.receiver.grpc.ServerInterceptorFactory;
 import com.navercorp.pinpoint.collector.receiver.grpc.flow.RateLimitClientStreamServerInterceptor;
+import com.navercorp.pinpoint.collector.receiver.grpc.flow.StreamScheduler;
 import com.navercorp.pinpoint.collector.receiver.grpc.monitor.Monitor;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.ServerRequestFactory;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.SpanService;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.StreamCloseOnError;
+import com.navercorp.pinpoint.common.server.thread.MonitoringExecutorProperties;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.server.util.IgnoreAddressFilter;
 import com.navercorp.pinpoint.grpc.channelz.ChannelzRegistry;
@@ -73,14 +77,24 @@ public class GrpcSpanReceiverConfiguration {
                     .build();
         }
 
+        @Bean
+        public StreamQueueReporter spanStreamQueueReporter() {
+            return new StreamQueueReporter("SpanStream");
+        }
+
         @Bean
         public ServerInterceptor spanStreamExecutorInterceptor(@Qualifier("grpcSpanWorkerExecutor")
                                                                Executor executor,
+                                                               @Qualifier("grpcSpanWorkerExecutorProperties")
+                                                               MonitoringExecutorProperties executorProperties,
                                                                @Qualifier("spanBandwidth")
                                                                Bandwidth bandwidth,
                                                                @Qualifier("grpcSpanStreamProperties")
-                                                               GrpcStreamProperties properties) {
-            return new RateLimitClientStreamServerInterceptor("SpanStream", executor, bandwidth, properties.getThrottledLoggerRatio());
+                                                               GrpcStreamProperties properties,
+                                                               @Qualifier("spanStreamQueueReporter")
+                                                               StreamQueueReporter reporter) {
+            StreamScheduler scheduler = GrpcStreamSchedulers.newStreamScheduler("SpanStream", executor, properties, executorProperties, reporter);
+            return new RateLimitClientStreamServerInterceptor("SpanStream", scheduler, bandwidth, properties.getThrottledLoggerRatio());
         }
     }
 
@@ -101,6 +115,11 @@ public class GrpcSpanReceiverConfiguration {
         return List.of(serviceDefinition);
     }
 
+    @Bean
+    public GrpcMessageSizeReporter spanMessageSizeReporter() {
+        return new GrpcMessageSizeReporter("SpanReceiver");
+    }
+
     @Bean
     public GrpcReceiver grpcSpanReceiver(@Qualifier("grpcSpanReceiverProperties")
                                          GrpcReceiverProperties properties,
@@ -115,7 +134,9 @@ public class GrpcSpanReceiverConfiguration {
                                          ChannelzRegistry channelzRegistry,
                                          @Qualifier("grpcSpanServerExecutor")
                                          Executor grpcSpanExecutor,
-                                         Monitor monitor) {
+                                         Monitor monitor,
+                                         @Qualifier("spanMessageSizeReporter")
+                                         GrpcMessageSizeReporter messageSizeReporter) {
         GrpcReceiver grpcReceiver = new GrpcReceiver();
         grpcReceiver.setBindAddress(properties.getBindAddress());
         grpcReceiver.setAddressFilter(addressFilter);
@@ -127,6 +148,7 @@ public class GrpcSpanReceiverConfiguration {
         grpcReceiver.setEnable(properties.isEnable());
         grpcReceiver.setServerOption(properties.getServerOption());
         grpcReceiver.setByteBufAllocator(byteBufAllocator);
+        grpcReceiver.setMessageSizeReporter(messageSizeReporter);
         grpcReceiver.setMonitor(monitor);
         return grpcReceiver;
     }
@@ -19,16 +19,20 @@ package com.navercorp.pinpoint.collector.grpc.config;
 import com.google.protobuf.GeneratedMessageV3;
 import com.navercorp.pinpoint.collector.handler.SimpleHandler;
 import com.navercorp.pinpoint.collector.manage.HandlerManager;
+import com.navercorp.pinpoint.collector.monitor.receiver.GrpcMessageSizeReporter;
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.DispatchHandlerFactoryBean;
 import com.navercorp.pinpoint.collector.receiver.StatDispatchHandler;
 import com.navercorp.pinpoint.collector.receiver.grpc.GrpcReceiver;
 import com.navercorp.pinpoint.collector.receiver.grpc.ServerInterceptorFactory;
 import com.navercorp.pinpoint.collector.receiver.grpc.flow.RateLimitClientStreamServerInterceptor;
+import com.navercorp.pinpoint.collector.receiver.grpc.flow.StreamScheduler;
 import com.navercorp.pinpoint.collector.receiver.grpc.monitor.Monitor;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.ServerRequestFactory;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.StatService;
 import com.navercorp.pinpoint.collector.receiver.grpc.service.StreamCloseOnError;
+import com.navercorp.pinpoint.common.server.thread.MonitoringExecutorProperties;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
 import com.navercorp.pinpoint.common.server.util.IgnoreAddressFilter;
 import com.navercorp.pinpoint.grpc.channelz.ChannelzRegistry;
@@ -75,14 +79,24 @@ public class GrpcStatReceiverConfiguration {
                     .build();
         }
 
+        @Bean
+        public StreamQueueReporter statStreamQueueReporter() {
+            return new StreamQueueReporter("StatStream");
+        }
+
         @Bean
         public ServerInterceptor statStreamExecutorInterceptor(@Qualifier("grpcStatWorkerExecutor")
                                                                Executor executor,
+                                                               @Qualifier("grpcStatWorkerExecutorProperties")
+                                                               MonitoringExecutorProperties executorProperties,
                                                                @Qualifier("statBandwidth")
                                                                Bandwidth bandwidth,
                                                                @Qualifier("grpcStatStreamProperties")
-                                                               GrpcStreamProperties properties) {
-            return new RateLimitClientStreamServerInterceptor("StatStream", executor, bandwidth, properties.getThrottledLoggerRatio());
+                                                               GrpcStreamProperties properties,
+                                                               @Qualifier("statStreamQueueReporter")
+                                                               StreamQueueReporter reporter) {
+            StreamScheduler scheduler = GrpcStreamSchedulers.newStreamScheduler("StatStream", executor, properties, executorProperties, reporter);
+            return new RateLimitClientStreamServerInterceptor("StatStream", scheduler, bandwidth, properties.getThrottledLoggerRatio());
         }
     }
 
@@ -105,6 +119,11 @@ public class GrpcStatReceiverConfiguration {
     }
 
 
+    @Bean
+    public GrpcMessageSizeReporter statMessageSizeReporter() {
+        return new GrpcMessageSizeReporter("StatReceiver");
+    }
+
     @Bean
     public GrpcReceiver grpcStatReceiver(@Qualifier("grpcStatReceiverProperties")
                                          GrpcReceiverProperties properties,
@@ -119,7 +138,9 @@ public class GrpcStatReceiverConfiguration {
                                          ChannelzRegistry channelzRegistry,
                                          @Qualifier("grpcStatServerExecutor")
                                          Executor grpcSpanExecutor,
-                                         Monitor monitor) {
+                                         Monitor monitor,
+                                         @Qualifier("statMessageSizeReporter")
+                                         GrpcMessageSizeReporter messageSizeReporter) {
         GrpcReceiver grpcReceiver = new GrpcReceiver();
         grpcReceiver.setBindAddress(properties.getBindAddress());
         grpcReceiver.setAddressFilter(addressFilter);
@@ -131,6 +152,7 @@ public class GrpcStatReceiverConfiguration {
         grpcReceiver.setEnable(properties.isEnable());
         grpcReceiver.setServerOption(properties.getServerOption());
         grpcReceiver.setByteBufAllocator(byteBufAllocator);
+        grpcReceiver.setMessageSizeReporter(messageSizeReporter);
         grpcReceiver.setMonitor(monitor);
         return grpcReceiver;
     }
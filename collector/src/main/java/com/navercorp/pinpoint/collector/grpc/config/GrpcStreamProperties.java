@@ -16,14 +16,23 @@
 
 package com.navercorp.pinpoint.collector.grpc.config;
 
-
+import com.navercorp.pinpoint.collector.receiver.grpc.flow.StreamKeyType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.PositiveOrZero;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class GrpcStreamProperties {
 
     @PositiveOrZero
     private long throttledLoggerRatio = 1;
 
+    @Valid
+    private final Fair fair = new Fair();
+
     public GrpcStreamProperties() {
     }
 
@@ -36,10 +45,86 @@ public class GrpcStreamProperties {
         this.throttledLoggerRatio = throttledLoggerRatio;
     }
 
+    public Fair getFair() {
+        return fair;
+    }
+
     @Override
     public String toString() {
         return "GrpcStreamProperties{" +
                 ", throttledLoggerRatio=" + throttledLoggerRatio +
+                ", fair=" + fair +
                 '}';
     }
+
+    /**
+     * Fair scheduling of stream messages per agent or application.
+     */
+    public static class Fair {
+        private boolean enable = false;
+
+        @NotNull
+        private StreamKeyType key = StreamKeyType.AGENT;
+
+        // 0 : maxPoolSize of the worker executor
+        @PositiveOrZero
+        private int maxConcurrency = 0;
+
+        @Positive
+        private int queueSizeMax = 1024;
+
+        // weight by application name, default 1
+        private Map<String, Integer> weight = new HashMap<>();
+
+        public boolean isEnable() {
+            return enable;
+        }
+
+        public void setEnable(boolean enable) {
+            this.enable = enable;
+        }
+
+        public StreamKeyType getKey() {
+            return key;
+        }
+
+        public void setKey(StreamKeyType key) {
+            this.key = key;
+        }
+
+        public int getMaxConcurrency() {
+            return maxConcurrency;
+        }
+
+        public void setMaxConcurrency(int maxConcurrency) {
+            this.maxConcurrency = maxConcurrency;
+        }
+
+        public int getQueueSizeMax() {
+            return queueSizeMax;
+        }
+
+        public void setQueueSizeMax(int queueSizeMax) {
+            this.queueSizeMax = queueSizeMax;
+        }
+
+        public Map<String, Integer> getWeight() {
+            return weight;
+        }
+
+        public void setWeight(Map<String, Integer> weight) {
+            this.weight = weight;
+        }
+
+        @Override
+        public String toString() {
+            return "Fair{" +
+                    "enable=" + enable +
+                    ", key=" + key +
+                    ", maxConcurrency=" + maxConcurrency +
+                    ", queueSizeMax=" + queueSizeMax +
+                    ", weight=" + weight +
+                    '}';
+        }
+    }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.grpc.config;
+
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
+import com.navercorp.pinpoint.collector.receiver.grpc.flow.DirectStreamScheduler;
+import com.navercorp.pinpoint.collector.receiver.grpc.flow.FairStreamScheduler;
+import com.navercorp.pinpoint.collector.receiver.grpc.flow.StreamScheduler;
+import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
+
+import java.util.concurrent.Executor;
+
+final class GrpcStreamSchedulers {
+
+    private GrpcStreamSchedulers() {
+    }
+
+    static StreamScheduler newStreamScheduler(String name, Executor executor,
+                                              GrpcStreamProperties streamProperties,
+                                              ExecutorProperties executorProperties,
+                                              StreamQueueReporter reporter) {
+        final GrpcStreamProperties.Fair fair = streamProperties.getFair();
+        if (!fair.isEnable()) {
+            return new DirectStreamScheduler(executor);
+        }
+        int maxConcurrency = fair.getMaxConcurrency();
+        if (maxConcurrency == 0) {
+            maxConcurrency = executorProperties.getMaxPoolSize();
+        }
+        return new FairStreamScheduler(name, executor, fair.getKey(), maxConcurrency, fair.getQueueSizeMax(),
+                fair.getWeight(), reporter, streamProperties.getThrottledLoggerRatio());
+    }
+}
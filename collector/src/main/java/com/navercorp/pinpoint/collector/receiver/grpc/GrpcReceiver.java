@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.collector.receiver.grpc;
 
+import com.navercorp.pinpoint.collector.monitor.receiver.GrpcMessageSizeReporter;
 import com.navercorp.pinpoint.collector.receiver.BindAddress;
 import com.navercorp.pinpoint.collector.receiver.grpc.monitor.Monitor;
 import com.navercorp.pinpoint.common.server.util.AddressFilter;
@@ -23,6 +24,7 @@ import com.navercorp.pinpoint.common.util.Assert;
 import com.navercorp.pinpoint.common.util.CollectionUtils;
 import com.navercorp.pinpoint.grpc.channelz.ChannelzRegistry;
 import com.navercorp.pinpoint.grpc.server.ConnectionCountServerTransportFilter;
+import com.navercorp.pinpoint.grpc.server.MessageSizeStreamTracerFactory;
 import com.navercorp.pinpoint.grpc.server.MetadataServerTransportFilter;
 import com.navercorp.pinpoint.grpc.server.ServerFactory;
 import com.navercorp.pinpoint.grpc.server.ServerOption;
@@ -84,6 +86,7 @@ public class GrpcReceiver implements InitializingBean, DisposableBean, BeanNameA
     private ChannelzRegistry channelzRegistry;
 
     private Monitor monitor = Monitor.NONE;
+    private GrpcMessageSizeReporter messageSizeReporter;
 
 
     @Override
@@ -129,6 +132,14 @@ public class GrpcReceiver implements InitializingBean, DisposableBean, BeanNameA
         StreamCountInterceptor streamCountInterceptor = new StreamCountInterceptor();
         this.serverFactory.addInterceptor(streamCountInterceptor);
 
+        MessageSizeStreamTracerFactory messageSizeTracerFactory = new MessageSizeStreamTracerFactory();
+        this.serverFactory.addStreamTracerFactory(messageSizeTracerFactory);
+        if (messageSizeReporter != null) {
+            messageSizeReporter.bind(messageSizeTracerFactory::getInboundMessages,
+                    messageSizeTracerFactory::getInboundWireBytes,
+                    messageSizeTracerFactory::getInboundUncompressedBytes);
+        }
+
         if (CollectionUtils.hasLength(serverInterceptorList)) {
             for (ServerInterceptor serverInterceptor : serverInterceptorList) {
                 this.serverFactory.addInterceptor(serverInterceptor);
@@ -140,6 +151,8 @@ public class GrpcReceiver implements InitializingBean, DisposableBean, BeanNameA
 
         this.monitor.register(() -> {
             logger.info("{} CurrentTransport:{}, CurrentGrpcStream:{}", beanName, countFilter.getCurrentConnection(), streamCountInterceptor.getCurrentStream());
+            logger.info("{} InboundMessages:{}, InboundWireBytes:{}, InboundUncompressedBytes:{}", beanName,
+                    messageSizeTracerFactory.getInboundMessages(), messageSizeTracerFactory.getInboundWireBytes(), messageSizeTracerFactory.getInboundUncompressedBytes());
         });
 
         // Add service
@@ -264,6 +277,10 @@ public class GrpcReceiver implements InitializingBean, DisposableBean, BeanNameA
         this.channelzRegistry = Objects.requireNonNull(channelzRegistry, "channelzRegistry");
     }
 
+    public void setMessageSizeReporter(GrpcMessageSizeReporter messageSizeReporter) {
+        this.messageSizeReporter = messageSizeReporter;
+    }
+
     public void setMonitor(Monitor monitor) {
         this.monitor = Objects.requireNonNull(monitor, "monitor");
     }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.collector.receiver.grpc.flow;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Executes every message as soon as it arrives. Messages are dropped when the executor is exhausted.
+ */
+public class DirectStreamScheduler implements StreamScheduler {
+
+    private final Stream stream;
+
+    public DirectStreamScheduler(Executor executor) {
+        Objects.requireNonNull(executor, "executor");
+        this.stream = new DirectStream(executor);
+    }
+
+    @Override
+    public Stream open(String applicationName, String agentId) {
+        return stream;
+    }
+
+    private static class DirectStream implements Stream {
+        private final Executor executor;
+
+        private DirectStream(Executor executor) {
+            this.executor = executor;
+        }
+
+        @Override
+        public boolean execute(Runnable task) {
+            try {
+                executor.execute(task);
+                return true;
+            } catch (Throwable th) {
+                return false;
+            }
+        }
+
+        @Override
+        public void drop() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
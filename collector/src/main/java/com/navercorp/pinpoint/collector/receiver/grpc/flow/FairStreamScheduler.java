@@ -0,0 +1,324 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.flow;
+
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter.QueueCounter;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.profiler.logging.ThrottledLogger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Deficit round-robin over per agent (or per application) queues.
+ * <p>
+ * At most {@code maxConcurrency} messages are handed to the worker executor at a time, so the executor is not exhausted
+ * and one chatty agent can not fill its queue. The rest waits in the queue of its agent, and each active queue
+ * is served up to its weight in messages per round.
+ * <p>
+ * Client streams request the next message only after the worker handled the previous one (grpc auto request),
+ * so a message waiting here holds back its stream through grpc flow control instead of being dropped.
+ * Messages are dropped only when the queue of the agent is full.
+ * <p>
+ * When the executor rejects a task while nothing is in flight, no completion would dispatch the queued messages again,
+ * so a drain is retried after {@code retryDelayMillis}.
+ */
+public class FairStreamScheduler implements StreamScheduler {
+
+    private static final int DEFAULT_WEIGHT = 1;
+    private static final long DEFAULT_RETRY_DELAY_MILLIS = 100;
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+    private final ThrottledLogger rejectLogger;
+
+    private final String name;
+    private final Executor executor;
+    private final StreamKeyType keyType;
+    private final int maxConcurrency;
+    private final int maxQueueSize;
+    private final Map<String, Integer> weights;
+    private final StreamQueueReporter reporter;
+    private final ScheduledExecutorService retryScheduler;
+    private final long retryDelayMillis;
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private final Map<String, KeyQueue> queues = new HashMap<>();
+    private final ArrayDeque<KeyQueue> activeQueues = new ArrayDeque<>();
+    private int inFlight;
+    private boolean retryScheduled;
+
+    public FairStreamScheduler(String name, Executor executor, StreamKeyType keyType,
+                               int maxConcurrency, int maxQueueSize, Map<String, Integer> weights,
+                               StreamQueueReporter reporter, long throttledLoggerRatio) {
+        this(name, executor, keyType, maxConcurrency, maxQueueSize, weights, reporter, throttledLoggerRatio,
+                RetrySchedulerHolder.SCHEDULER, DEFAULT_RETRY_DELAY_MILLIS);
+    }
+
+    public FairStreamScheduler(String name, Executor executor, StreamKeyType keyType,
+                               int maxConcurrency, int maxQueueSize, Map<String, Integer> weights,
+                               StreamQueueReporter reporter, long throttledLoggerRatio,
+                               ScheduledExecutorService retryScheduler, long retryDelayMillis) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        this.keyType = Objects.requireNonNull(keyType, "keyType");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive:" + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        if (maxQueueSize <= 0) {
+            throw new IllegalArgumentException("maxQueueSize must be positive:" + maxQueueSize);
+        }
+        this.maxQueueSize = maxQueueSize;
+        this.weights = Map.copyOf(Objects.requireNonNull(weights, "weights"));
+        this.reporter = Objects.requireNonNull(reporter, "reporter");
+        this.rejectLogger = ThrottledLogger.getLogger(logger, throttledLoggerRatio);
+        this.retryScheduler = Objects.requireNonNull(retryScheduler, "retryScheduler");
+        if (retryDelayMillis <= 0) {
+            throw new IllegalArgumentException("retryDelayMillis must be positive:" + retryDelayMillis);
+        }
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    @Override
+    public Stream open(String applicationName, String agentId) {
+        final String key = keyType.getKeyOrUnknown(applicationName, agentId);
+        final int weight = getWeight(applicationName);
+        synchronized (lock) {
+            KeyQueue queue = queues.get(key);
+            if (queue == null) {
+                queue = new KeyQueue(key, weight, reporter.addQueue(key));
+                queues.put(key, queue);
+            }
+            queue.streams++;
+            return new FairStream(queue);
+        }
+    }
+
+    private int getWeight(String applicationName) {
+        if (applicationName == null) {
+            return DEFAULT_WEIGHT;
+        }
+        final Integer weight = weights.get(applicationName);
+        if (weight == null || weight <= 0) {
+            return DEFAULT_WEIGHT;
+        }
+        return weight;
+    }
+
+    private boolean enqueue(KeyQueue queue, Runnable task) {
+        synchronized (lock) {
+            if (queue.removed || queue.tasks.size() >= maxQueueSize) {
+                queue.counter.drop();
+                return false;
+            }
+            queue.tasks.addLast(task);
+            queue.counter.setDepth(queue.tasks.size());
+            if (!queue.active) {
+                queue.active = true;
+                activeQueues.addLast(queue);
+            }
+        }
+        dispatch();
+        return true;
+    }
+
+    private void release(KeyQueue queue) {
+        synchronized (lock) {
+            queue.streams--;
+            removeIfIdle(queue);
+        }
+    }
+
+    // guarded by lock
+    private void removeIfIdle(KeyQueue queue) {
+        if (queue.streams == 0 && queue.tasks.isEmpty() && !queue.removed) {
+            queue.removed = true;
+            queues.remove(queue.key, queue);
+            reporter.removeQueue(queue.key, queue.counter);
+        }
+    }
+
+    private void dispatch() {
+        while (true) {
+            final KeyQueue queue;
+            final Runnable task;
+            synchronized (lock) {
+                if (inFlight >= maxConcurrency) {
+                    return;
+                }
+                queue = activeQueues.peekFirst();
+                if (queue == null) {
+                    return;
+                }
+                if (queue.deficit == 0) {
+                    queue.deficit = queue.weight;
+                }
+                task = queue.tasks.pollFirst();
+                queue.deficit--;
+                if (queue.tasks.isEmpty()) {
+                    activeQueues.pollFirst();
+                    queue.active = false;
+                    queue.deficit = 0;
+                    removeIfIdle(queue);
+                } else if (queue.deficit == 0) {
+                    // end of its turn
+                    activeQueues.pollFirst();
+                    activeQueues.addLast(queue);
+                }
+                queue.counter.setDepth(queue.tasks.size());
+                inFlight++;
+            }
+
+            try {
+                executor.execute(() -> run(task));
+            } catch (Throwable th) {
+                rejected(queue, task);
+                return;
+            }
+        }
+    }
+
+    private void run(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            synchronized (lock) {
+                inFlight--;
+            }
+            dispatch();
+        }
+    }
+
+    /**
+     * The executor is exhausted in spite of maxConcurrency. Put the task back, it is retried on the next completion or message,
+     * or by a delayed drain when nothing is in flight.
+     */
+    private void rejected(KeyQueue queue, Runnable task) {
+        reporter.reportReject();
+        if (rejectLogger.isInfoEnabled()) {
+            rejectLogger.info("Failed to execute. ThreadPool is exhausted. {} key={} count={}", name, queue.key, rejectLogger.getCounter());
+        }
+        synchronized (lock) {
+            inFlight--;
+            if (queue.removed) {
+                // every stream of the key is closed
+                queue.counter.drop();
+                return;
+            }
+            queue.tasks.addFirst(task);
+            queue.counter.setDepth(queue.tasks.size());
+            if (!queue.active) {
+                queue.active = true;
+                activeQueues.addFirst(queue);
+            }
+            if (inFlight > 0 || retryScheduled) {
+                return;
+            }
+            retryScheduled = true;
+        }
+        scheduleRetry();
+    }
+
+    private void scheduleRetry() {
+        try {
+            retryScheduler.schedule(this::retry, retryDelayMillis, TimeUnit.MILLISECONDS);
+        } catch (Throwable th) {
+            logger.warn("Failed to schedule retry. {}", name, th);
+            synchronized (lock) {
+                retryScheduled = false;
+            }
+        }
+    }
+
+    private void retry() {
+        synchronized (lock) {
+            retryScheduled = false;
+        }
+        dispatch();
+    }
+
+    private class FairStream implements Stream {
+        private final KeyQueue queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private FairStream(KeyQueue queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public boolean execute(Runnable task) {
+            return enqueue(queue, task);
+        }
+
+        @Override
+        public void drop() {
+            queue.counter.drop();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                release(queue);
+            }
+        }
+    }
+
+    private static class RetrySchedulerHolder {
+        private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+                PinpointThreadFactory.createThreadFactory("FairStreamScheduler-retry", true));
+    }
+
+    private static class KeyQueue {
+        private final String key;
+        private final int weight;
+        private final QueueCounter counter;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+
+        private int streams;
+        private int deficit;
+        private boolean active;
+        private boolean removed;
+
+        private KeyQueue(String key, int weight, QueueCounter counter) {
+            this.key = key;
+            this.weight = weight;
+            this.counter = counter;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "FairStreamScheduler{" +
+                "name='" + name + '\'' +
+                ", keyType=" + keyType +
+                ", maxConcurrency=" + maxConcurrency +
+                ", maxQueueSize=" + maxQueueSize +
+                ", weights=" + weights +
+                '}';
+    }
+}
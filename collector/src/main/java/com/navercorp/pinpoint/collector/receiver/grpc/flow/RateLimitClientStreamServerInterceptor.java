@@ -42,17 +42,18 @@ public class RateLimitClientStreamServerInterceptor implements ServerInterceptor
     private final ThrottledLogger rejectLogger;
     private final ThrottledLogger bandwidthLogger;
     private final String name;
-    private final Executor executor;
+    private final StreamScheduler scheduler;
 
     private final Bandwidth bandwidth;
 
 
     public RateLimitClientStreamServerInterceptor(String name, final Executor executor, Bandwidth bandwidth, final long throttledLoggerRatio) {
-        this.name = Objects.requireNonNull(name, "name");
+        this(name, new DirectStreamScheduler(executor), bandwidth, throttledLoggerRatio);
+    }
 
-        Objects.requireNonNull(executor, "executor");
-        // Context wrapper
-        this.executor = Context.currentContextExecutor(executor);
+    public RateLimitClientStreamServerInterceptor(String name, final StreamScheduler scheduler, Bandwidth bandwidth, final long throttledLoggerRatio) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
 
         this.bandwidth = Objects.requireNonNull(bandwidth, "bandwidth");
 
@@ -68,6 +69,7 @@ public class RateLimitClientStreamServerInterceptor implements ServerInterceptor
                     this.name, call.getMethodDescriptor().getFullMethodName(), headers, serverCall.getRemoteAddr(), bandwidth.getCapacity(), bandwidth.getRefillTokens());
         }
         final ServerCall.Listener<ReqT> listener = next.startCall(call, headers);
+        final StreamScheduler.Stream stream = scheduler.open(serverCall.getApplicationName(), serverCall.getAgentId());
 
         return new ForwardingServerCallListener.SimpleForwardingServerCallListener<>(listener) {
             private final Bucket bucket = Bucket.builder().addLimit(bandwidth).build();
@@ -75,26 +77,39 @@ public class RateLimitClientStreamServerInterceptor implements ServerInterceptor
             @Override
             public void onMessage(final ReqT message) {
                 if (bucket.tryConsume(1)) {
-                    try {
-                        executor.execute(new Runnable() {
-                            @Override
-                            public void run() {
-                                delegate().onMessage(message);
-                            }
-                        });
-                    } catch (Throwable th) {
+                    // Context wrapper
+                    final Runnable task = Context.current().wrap(new Runnable() {
+                        @Override
+                        public void run() {
+                            delegate().onMessage(message);
+                        }
+                    });
+                    if (!stream.execute(task)) {
                         if (rejectLogger.isInfoEnabled()) {
-                            rejectLogger.info("Failed to request. ThreadPool is exhausted. {} {}/{} {} count={}",
+                            rejectLogger.info("Failed to request. ThreadPool is exhausted or queue is full. {} {}/{} {} count={}",
                                     name, serverCall.getApplicationName(), serverCall.getAgentId(), serverCall.getRemoteAddr(), rejectLogger.getCounter());
                         }
                     }
                 } else {
+                    stream.drop();
                     if (bandwidthLogger.isInfoEnabled()) {
                         bandwidthLogger.info("Too many requests. Bandwidth exceeded. {} {}/{} {}",
                                 name, serverCall.getApplicationName(), serverCall.getAgentId(), serverCall.getRemoteAddr());
                     }
                 }
             }
+
+            @Override
+            public void onCancel() {
+                stream.close();
+                super.onCancel();
+            }
+
+            @Override
+            public void onComplete() {
+                stream.close();
+                super.onComplete();
+            }
         };
     }
 
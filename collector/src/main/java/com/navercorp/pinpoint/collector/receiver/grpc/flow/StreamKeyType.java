@@ -0,0 +1,46 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.collector.receiver.grpc.flow;
+
+/**
+ * Unit of fairness of {@link FairStreamScheduler}.
+ */
+public enum StreamKeyType {
+    AGENT {
+        @Override
+        public String getKey(String applicationName, String agentId) {
+            return agentId;
+        }
+    },
+    APPLICATION {
+        @Override
+        public String getKey(String applicationName, String agentId) {
+            return applicationName;
+        }
+    };
+
+    private static final String UNKNOWN = "UNKNOWN";
+
+    public abstract String getKey(String applicationName, String agentId);
+
+    public String getKeyOrUnknown(String applicationName, String agentId) {
+        final String key = getKey(applicationName, agentId);
+        if (key == null) {
+            return UNKNOWN;
+        }
+        return key;
+    }
+}
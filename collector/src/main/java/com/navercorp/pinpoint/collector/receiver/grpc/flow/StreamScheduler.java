@@ -0,0 +1,38 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.collector.receiver.grpc.flow;
+
+/**
+ * Hands the messages of client streams to the worker executor.
+ */
+public interface StreamScheduler {
+
+    Stream open(String applicationName, String agentId);
+
+    interface Stream {
+        /**
+         * @return false if the message was not accepted
+         */
+        boolean execute(Runnable task);
+
+        /**
+         * A message of the stream was dropped before reaching the scheduler.
+         */
+        void drop();
+
+        void close();
+    }
+}
@@ -18,6 +18,7 @@
 package com.navercorp.pinpoint.collector.scheduler;
 
 import com.navercorp.pinpoint.collector.dao.CachedStatisticsDao;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.LinkFlushController;
 import jakarta.annotation.PostConstruct;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -38,14 +39,17 @@ public class AvgMaxLinkScheduler {
     private final TaskScheduler scheduler;
     private final List<CachedStatisticsDao> statisticsDaoList;
     private final Duration flushInterval;
+    private final LinkFlushController flushController;
 
 
     public AvgMaxLinkScheduler(@Qualifier("statisticsLinkScheduler") TaskScheduler scheduler,
                                @Value("${collector.map-link.avg.flush-period:5000}") Duration flushInterval,
-                               List<CachedStatisticsDao> statisticsDaoList) {
+                               List<CachedStatisticsDao> statisticsDaoList,
+                               LinkFlushController flushController) {
         this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
         this.statisticsDaoList = Objects.requireNonNull(statisticsDaoList, "statisticsDaoList");
         this.flushInterval = Objects.requireNonNull(flushInterval, "flushInterval");
+        this.flushController = Objects.requireNonNull(flushController, "flushController");
         logger.info("AvgMaxLinkScheduler flushPeriod={}", flushInterval);
         logger.info("AvgMaxLinkScheduler CachedStatisticsDao:{}", statisticsDaoList);
     }
@@ -53,7 +57,15 @@ public class AvgMaxLinkScheduler {
     @PostConstruct
     public void linkScheduling()  {
         for (CachedStatisticsDao dao : statisticsDaoList) {
-            this.scheduler.scheduleWithFixedDelay(dao::flushAvgMax, flushInterval);
+            this.scheduler.scheduleWithFixedDelay(() -> flushAvgMax(dao), flushInterval);
         }
     }
+
+    private void flushAvgMax(CachedStatisticsDao dao) {
+        if (flushController.isBackpressure()) {
+            // hbase is behind, keep merging max values in memory until the next period
+            return;
+        }
+        dao.flushAvgMax();
+    }
 }
@@ -18,6 +18,7 @@
 package com.navercorp.pinpoint.collector.scheduler;
 
 import com.navercorp.pinpoint.collector.dao.CachedStatisticsDao;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.LinkFlushController;
 import jakarta.annotation.PostConstruct;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -27,6 +28,7 @@ import org.springframework.scheduling.TaskScheduler;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Objects;
 
@@ -38,21 +40,47 @@ public class StatisticsLinkScheduler {
     private final TaskScheduler scheduler;
     private final List<CachedStatisticsDao> statisticsDaoList;
     private final Duration flushInterval;
+    private final LinkFlushController flushController;
 
     public StatisticsLinkScheduler(@Qualifier("avgMaxLinkScheduler") TaskScheduler scheduler,
                                    @Value("${collector.map-link.stat.flush-interval:5000}") Duration flushInterval,
-                                   List<CachedStatisticsDao> statisticsDaoList) {
+                                   List<CachedStatisticsDao> statisticsDaoList,
+                                   LinkFlushController flushController) {
         this.scheduler = Objects.requireNonNull(scheduler, "scheduler");
         this.statisticsDaoList = Objects.requireNonNull(statisticsDaoList, "statisticsDaoList");
         this.flushInterval = Objects.requireNonNull(flushInterval, "flushInterval");
-        logger.info("StatisticsLinkScheduler flushInterval={}", flushInterval);
+        this.flushController = Objects.requireNonNull(flushController, "flushController");
+        logger.info("StatisticsLinkScheduler flushInterval={} adaptive={}", flushInterval, flushController.isAdaptive());
         logger.info("StatisticsLinkScheduler CachedStatisticsDao:{}", statisticsDaoList);
     }
 
     @PostConstruct
     public void linkScheduling()  {
+        if (flushController.isAdaptive()) {
+            scheduleAdaptive();
+            return;
+        }
         for (CachedStatisticsDao dao : statisticsDaoList) {
             this.scheduler.scheduleWithFixedDelay(dao::flushLink, flushInterval);
         }
     }
+
+    private void scheduleAdaptive() {
+        final long delay = flushController.nextFlushInterval();
+        this.scheduler.schedule(this::flushAdaptive, Instant.now().plusMillis(delay));
+    }
+
+    private void flushAdaptive() {
+        try {
+            for (CachedStatisticsDao dao : statisticsDaoList) {
+                try {
+                    dao.flushLink();
+                } catch (Throwable th) {
+                    logger.warn("flushLink failed. dao:{}", dao, th);
+                }
+            }
+        } finally {
+            scheduleAdaptive();
+        }
+    }
 }
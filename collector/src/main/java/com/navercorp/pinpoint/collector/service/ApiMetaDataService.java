@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.collector.service;
 import com.navercorp.pinpoint.collector.dao.ApiMetaDataDao;
 import com.navercorp.pinpoint.common.server.bo.ApiMetaDataBo;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -29,12 +30,26 @@ import java.util.Objects;
 public class ApiMetaDataService {
 
     private final ApiMetaDataDao sqlMetaDataDao;
+    private final MetaDataCache metaDataCache;
 
-    public ApiMetaDataService(ApiMetaDataDao sqlMetaDataDao) {
+    public ApiMetaDataService(ApiMetaDataDao sqlMetaDataDao,
+                              @Qualifier("apiMetaDataCache") MetaDataCache metaDataCache) {
         this.sqlMetaDataDao = Objects.requireNonNull(sqlMetaDataDao, "sqlMetaDataDao");
+        this.metaDataCache = Objects.requireNonNull(metaDataCache, "metaDataCache");
     }
 
     public void insert(@Valid final ApiMetaDataBo apiMetaDataBo) {
+        final MetaDataCache.Key key = MetaDataCache.key(apiMetaDataBo.getAgentId(), apiMetaDataBo.getAgentStartTime(),
+                apiMetaDataBo.getId(), hash(apiMetaDataBo));
+        if (metaDataCache.isWritten(key)) {
+            return;
+        }
         sqlMetaDataDao.insert(apiMetaDataBo);
+        metaDataCache.written(key);
+    }
+
+    private int hash(ApiMetaDataBo apiMetaDataBo) {
+        return Objects.hash(apiMetaDataBo.getApiInfo(), apiMetaDataBo.getLineNumber(),
+                apiMetaDataBo.getMethodTypeEnum(), apiMetaDataBo.getLocation());
     }
 }
\ No newline at end of file
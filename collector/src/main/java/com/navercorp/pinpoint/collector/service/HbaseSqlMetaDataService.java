@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.collector.dao.SqlMetaDataDao;
 import com.navercorp.pinpoint.common.server.bo.SqlMetaDataBo;
 import com.navercorp.pinpoint.common.util.StringUtils;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -31,20 +32,30 @@ import java.util.Objects;
 public class HbaseSqlMetaDataService implements SqlMetaDataService {
     private final SqlMetaDataDao sqlMetaDataDao;
 
+    private final MetaDataCache metaDataCache;
+
     private final int maxSqlLength;
 
-    public HbaseSqlMetaDataService(SqlMetaDataDao sqlMetaDataDao, CollectorProperties collectorProperties) {
+    public HbaseSqlMetaDataService(SqlMetaDataDao sqlMetaDataDao, CollectorProperties collectorProperties,
+                                   @Qualifier("sqlMetaDataCache") MetaDataCache metaDataCache) {
         this.sqlMetaDataDao = Objects.requireNonNull(sqlMetaDataDao, "sqlMetaDataDao");
         Objects.requireNonNull(collectorProperties, "collectorProperties");
         this.maxSqlLength = collectorProperties.getMaxSqlLength();
+        this.metaDataCache = Objects.requireNonNull(metaDataCache, "metaDataCache");
     }
 
     @Override
     public void insert(@Valid SqlMetaDataBo sqlMetaDataBo) {
+        final MetaDataCache.Key key = MetaDataCache.key(sqlMetaDataBo.getAgentId(), sqlMetaDataBo.getAgentStartTime(),
+                sqlMetaDataBo.getId(), Objects.hashCode(sqlMetaDataBo.getSql()));
+        if (metaDataCache.isWritten(key)) {
+            return;
+        }
         if (sqlMetaDataBo.getSql().length() > maxSqlLength) {
             String sql = StringUtils.abbreviate(sqlMetaDataBo.getSql(), maxSqlLength);
             sqlMetaDataBo = new SqlMetaDataBo(sqlMetaDataBo.getAgentId(), sqlMetaDataBo.getAgentStartTime(), sqlMetaDataBo.getId(), sql);
         }
         this.sqlMetaDataDao.insert(sqlMetaDataBo);
+        metaDataCache.written(key);
     }
 }
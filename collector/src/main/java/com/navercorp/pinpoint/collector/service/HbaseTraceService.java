@@ -62,13 +62,16 @@ public class HbaseTraceService implements TraceService {
     private final SpanStorePublisher publisher;
     private final Executor grpcSpanServerExecutor;
 
+    private final SpanSinks spanSinks;
+
     public HbaseTraceService(TraceDao traceDao,
                              ApplicationTraceIndexDao applicationTraceIndexDao,
                              HostApplicationMapDao hostApplicationMapDao,
                              StatisticsService statisticsService,
                              ServiceTypeRegistryService registry,
                              SpanStorePublisher spanStorePublisher,
-                             @Qualifier("grpcSpanServerExecutor") Executor grpcSpanServerExecutor) {
+                             @Qualifier("grpcSpanServerExecutor") Executor grpcSpanServerExecutor,
+                             SpanSinks spanSinks) {
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
         this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao");
         this.hostApplicationMapDao = Objects.requireNonNull(hostApplicationMapDao, "hostApplicationMapDao");
@@ -76,6 +79,7 @@ public class HbaseTraceService implements TraceService {
         this.registry = Objects.requireNonNull(registry, "registry");
         this.publisher = Objects.requireNonNull(spanStorePublisher, "spanStorePublisher");
         this.grpcSpanServerExecutor = Objects.requireNonNull(grpcSpanServerExecutor, "grpcSpanServerExecutor");
+        this.spanSinks = Objects.requireNonNull(spanSinks, "spanSinks");
     }
 
     @Override
@@ -86,7 +90,9 @@ public class HbaseTraceService implements TraceService {
         final List<SpanEventBo> spanEventList = spanChunkBo.getSpanEventBoList();
         if (spanEventList != null) {
             // TODO need to batch update later.
-            insertSpanEventList(spanEventList, applicationServiceType, spanChunkBo.getApplicationId(), spanChunkBo.getAgentId(), spanChunkBo.getEndPoint());
+            spanSinks.stat().execute(() ->
+                    insertSpanEventList(spanEventList, applicationServiceType, spanChunkBo.getApplicationId(), spanChunkBo.getAgentId(), spanChunkBo.getEndPoint())
+            );
         }
 
         // TODO should be able to tell whether the span chunk is successfully inserted
@@ -102,10 +108,13 @@ public class HbaseTraceService implements TraceService {
     public void insertSpan(@Valid final SpanBo spanBo) {
         SpanInsertEvent event = publisher.captureContext(spanBo);
         CompletableFuture<Void> future = traceDao.asyncInsert(spanBo);
-        applicationTraceIndexDao.insert(spanBo);
-        insertAcceptorHost(spanBo);
-        insertSpanStat(spanBo);
-        insertSpanEventStat(spanBo);
+        // independent of each other, a slow sink does not hold back the others when the sinks run in parallel
+        spanSinks.index().execute(() -> applicationTraceIndexDao.insert(spanBo));
+        spanSinks.host().execute(() -> insertAcceptorHost(spanBo));
+        spanSinks.stat().execute(() -> {
+            insertSpanStat(spanBo);
+            insertSpanEventStat(spanBo);
+        });
 
         future.whenCompleteAsync((unused, throwable) -> {
             final boolean result = throwable == null;
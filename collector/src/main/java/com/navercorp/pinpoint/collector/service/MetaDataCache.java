@@ -0,0 +1,147 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.navercorp.pinpoint.collector.monitor.cache.MonitoredCache;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Remembers the metadata already written to hbase, so the metadata re-sent by an agent
+ * (reconnect, retry, eviction of the agent side cache) does not produce another Put of the same cell.
+ * <p>
+ * A metadata is identified by (agentId, agentStartTime, id) and the hash of its content.
+ * It is cached only after the write succeeded, so a failed write is retried by the next re-send.
+ */
+public class MetaDataCache implements MonitoredCache {
+
+    private static final Boolean WRITTEN = Boolean.TRUE;
+
+    private final String name;
+    private final Cache<Key, Boolean> cache;
+
+    public static MetaDataCache disabled(String name) {
+        return new MetaDataCache(name, null);
+    }
+
+    public static MetaDataCache newCache(String name, long maximumSize, Duration expireAfterWrite) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive:" + maximumSize);
+        }
+        Objects.requireNonNull(expireAfterWrite, "expireAfterWrite");
+        Cache<Key, Boolean> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        return new MetaDataCache(name, cache);
+    }
+
+    private MetaDataCache(String name, Cache<Key, Boolean> cache) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.cache = cache;
+    }
+
+    public static Key key(String agentId, long agentStartTime, int id, int hash) {
+        return new Key(agentId, agentStartTime, id, hash);
+    }
+
+    /**
+     * @return true if the same metadata was already written
+     */
+    public boolean isWritten(Key key) {
+        if (cache == null) {
+            return false;
+        }
+        return cache.getIfPresent(key) != null;
+    }
+
+    public void written(Key key) {
+        if (cache == null) {
+            return;
+        }
+        cache.put(key, WRITTEN);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<?, ?> getCache() {
+        return cache;
+    }
+
+    public static final class Key {
+        private final String agentId;
+        private final long agentStartTime;
+        private final int id;
+        private final int hash;
+
+        private Key(String agentId, long agentStartTime, int id, int hash) {
+            this.agentId = Objects.requireNonNull(agentId, "agentId");
+            this.agentStartTime = agentStartTime;
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key key = (Key) o;
+
+            if (agentStartTime != key.agentStartTime) return false;
+            if (id != key.id) return false;
+            if (hash != key.hash) return false;
+            return agentId.equals(key.agentId);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = agentId.hashCode();
+            result = 31 * result + Long.hashCode(agentStartTime);
+            result = 31 * result + id;
+            result = 31 * result + hash;
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "Key{" +
+                    "agentId='" + agentId + '\'' +
+                    ", agentStartTime=" + agentStartTime +
+                    ", id=" + id +
+                    ", hash=" + hash +
+                    '}';
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MetaDataCache{" +
+                "name='" + name + '\'' +
+                ", enable=" + (cache != null) +
+                '}';
+    }
+}
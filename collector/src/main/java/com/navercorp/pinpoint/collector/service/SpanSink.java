@@ -0,0 +1,117 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.monitor.service.SpanSinkReporter.StageCounter;
+import com.navercorp.pinpoint.common.profiler.logging.ThrottledLogger;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * One of the independent writes of a span (application trace index, host application map, statistics).
+ * <p>
+ * With an executor, the write runs on the bounded queue of the sink, so a slow sink does not hold back the others
+ * or the span worker thread. When the queue of the sink is full, the write is dropped and counted,
+ * or with {@code callerRuns} it runs on the caller thread, which holds back the span worker as backpressure.
+ * Without an executor, the write runs on the caller thread and its failure is thrown to the caller.
+ */
+public class SpanSink {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+    private final ThrottledLogger rejectLogger = ThrottledLogger.getLogger(logger, 1000);
+
+    private final Executor executor;
+    private final boolean callerRuns;
+    private final StageCounter counter;
+
+    public static SpanSink direct(StageCounter counter) {
+        return new SpanSink(null, false, counter);
+    }
+
+    public static SpanSink async(Executor executor, StageCounter counter) {
+        return async(executor, false, counter);
+    }
+
+    /**
+     * @param callerRuns run the write on the caller thread instead of dropping it when the queue is full
+     */
+    public static SpanSink async(Executor executor, boolean callerRuns, StageCounter counter) {
+        return new SpanSink(Objects.requireNonNull(executor, "executor"), callerRuns, counter);
+    }
+
+    private SpanSink(Executor executor, boolean callerRuns, StageCounter counter) {
+        this.executor = executor;
+        this.callerRuns = callerRuns;
+        this.counter = Objects.requireNonNull(counter, "counter");
+    }
+
+    public void execute(Runnable task) {
+        final long submitTime = System.nanoTime();
+        if (executor == null) {
+            run(task, submitTime);
+            return;
+        }
+        try {
+            executor.execute(() -> runAsync(task, submitTime));
+        } catch (RejectedExecutionException e) {
+            if (callerRuns) {
+                counter.reportCallerRun();
+                runAsync(task, submitTime);
+                return;
+            }
+            counter.reportReject();
+            if (rejectLogger.isInfoEnabled()) {
+                rejectLogger.info("Failed to execute. {} sink is full. count={}", counter.getName(), rejectLogger.getCounter());
+            }
+        }
+    }
+
+    private void run(Runnable task, long submitTime) {
+        final long startTime = System.nanoTime();
+        try {
+            task.run();
+        } finally {
+            counter.reportLatency(startTime - submitTime, System.nanoTime() - startTime);
+        }
+    }
+
+    private void runAsync(Runnable task, long submitTime) {
+        try {
+            run(task, submitTime);
+        } catch (Throwable th) {
+            logger.warn("{} sink failed", counter.getName(), th);
+        }
+    }
+
+    public boolean isAsync() {
+        return executor != null;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanSink{" +
+                "name=" + counter.getName() +
+                ", async=" + isAsync() +
+                ", callerRuns=" + callerRuns +
+                '}';
+    }
+}
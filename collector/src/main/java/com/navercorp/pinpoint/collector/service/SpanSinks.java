@@ -0,0 +1,70 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import java.util.Objects;
+
+/**
+ * Sinks of {@link HbaseTraceService} besides the trace itself.
+ */
+public class SpanSinks {
+
+    public static final String INDEX = "index";
+    public static final String HOST = "host";
+    public static final String STAT = "stat";
+
+    private final SpanSink index;
+    private final SpanSink host;
+    private final SpanSink stat;
+
+    public SpanSinks(SpanSink index, SpanSink host, SpanSink stat) {
+        this.index = Objects.requireNonNull(index, "index");
+        this.host = Objects.requireNonNull(host, "host");
+        this.stat = Objects.requireNonNull(stat, "stat");
+    }
+
+    /**
+     * application trace index
+     */
+    public SpanSink index() {
+        return index;
+    }
+
+    /**
+     * host application map of the acceptor
+     */
+    public SpanSink host() {
+        return host;
+    }
+
+    /**
+     * statistics of the span and its span events
+     */
+    public SpanSink stat() {
+        return stat;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanSinks{" +
+                "index=" + index +
+                ", host=" + host +
+                ", stat=" + stat +
+                '}';
+    }
+}
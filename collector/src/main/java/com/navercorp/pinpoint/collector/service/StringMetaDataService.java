@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.collector.service;
 import com.navercorp.pinpoint.collector.dao.StringMetaDataDao;
 import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
 import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.validation.annotation.Validated;
 
@@ -28,12 +29,21 @@ import java.util.Objects;
 @Validated
 public class StringMetaDataService {
     private final StringMetaDataDao stringMetaDataDao;
+    private final MetaDataCache metaDataCache;
 
-    public StringMetaDataService(StringMetaDataDao stringMetaDataDao) {
+    public StringMetaDataService(StringMetaDataDao stringMetaDataDao,
+                                 @Qualifier("stringMetaDataCache") MetaDataCache metaDataCache) {
         this.stringMetaDataDao = Objects.requireNonNull(stringMetaDataDao, "stringMetaDataDao");
+        this.metaDataCache = Objects.requireNonNull(metaDataCache, "metaDataCache");
     }
 
     public void insert(@Valid final StringMetaDataBo stringMetaDataBo) {
+        final MetaDataCache.Key key = MetaDataCache.key(stringMetaDataBo.getAgentId(), stringMetaDataBo.getAgentStartTime(),
+                stringMetaDataBo.getId(), Objects.hashCode(stringMetaDataBo.getStringValue()));
+        if (metaDataCache.isWritten(key)) {
+            return;
+        }
         this.stringMetaDataDao.insert(stringMetaDataBo);
+        metaDataCache.written(key);
     }
 }
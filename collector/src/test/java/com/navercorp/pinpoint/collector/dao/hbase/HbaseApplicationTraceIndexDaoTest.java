@@ -0,0 +1,170 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.profiler.util.TransactionId;
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.serializer.RowKeyEncoder;
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class HbaseApplicationTraceIndexDaoTest {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final TableNameProvider tableNameProvider = newTableNameProvider();
+
+    // one row per application and millisecond
+    private final RowKeyEncoder<SpanBo> rowKeyEncoder = span -> Bytes.toBytes(span.getApplicationId() + span.getCollectorAcceptTime());
+
+    private static TableNameProvider newTableNameProvider() {
+        TableNameProvider tableNameProvider = Mockito.mock(TableNameProvider.class);
+        Mockito.when(tableNameProvider.getTableName(any(HbaseTable.class))).thenReturn(TableName.valueOf("ApplicationTraceIndex"));
+        return tableNameProvider;
+    }
+
+    @Test
+    public void insert() {
+        RowBatchPutWriterTest.TestPutWriter putWriter = new RowBatchPutWriterTest.TestPutWriter();
+        HbaseApplicationTraceIndexDao dao = new HbaseApplicationTraceIndexDao(putWriter, tableNameProvider, rowKeyEncoder, false, 10, 100);
+
+        dao.insert(newSpan("app", 1000, 1));
+        dao.insert(newSpan("app", 1000, 2));
+
+        Assertions.assertEquals(2, putWriter.puts.size());
+        Assertions.assertEquals(2, putWriter.puts.get(0).size());
+        dao.close();
+    }
+
+    @Test
+    public void insert_batch() {
+        RowBatchPutWriterTest.TestPutWriter putWriter = new RowBatchPutWriterTest.TestPutWriter();
+        HbaseApplicationTraceIndexDao dao = new HbaseApplicationTraceIndexDao(putWriter, tableNameProvider, rowKeyEncoder, true, 60_000, 100);
+
+        dao.insert(newSpan("app", 1000, 1));
+        dao.insert(newSpan("app", 1000, 2));
+        dao.insert(newSpan("app", 2000, 3));
+        dao.close();
+
+        Assertions.assertEquals(2, putWriter.puts.size());
+        int cells = 0;
+        for (Put put : putWriter.puts) {
+            cells += put.size();
+        }
+        Assertions.assertEquals(6, cells);
+    }
+
+    @Test
+    public void insert_sameValue() {
+        RowBatchPutWriterTest.TestPutWriter putWriter = new RowBatchPutWriterTest.TestPutWriter();
+        HbaseApplicationTraceIndexDao dao = new HbaseApplicationTraceIndexDao(putWriter, tableNameProvider, rowKeyEncoder, false, 10, 100);
+
+        // the reused encoding buffer must not leak into the previous value
+        dao.insert(newSpan("app", 1000, 1, "long-agent-name-long-agent-name"));
+        dao.insert(newSpan("app", 1000, 2, "a"));
+
+        byte[] first = getMetaData(putWriter.puts.get(0));
+        byte[] second = getMetaData(putWriter.puts.get(1));
+        Assertions.assertEquals('e', first[first.length - 1]);
+        Assertions.assertEquals('a', second[second.length - 1]);
+        dao.close();
+    }
+
+    private static byte[] getMetaData(Put put) {
+        Cell cell = put.getFamilyCellMap().get(HbaseColumnFamily.APPLICATION_TRACE_INDEX_META.getName()).get(0);
+        return CellUtil.cloneValue(cell);
+    }
+
+    /**
+     * index writes per second per collector core, with and without batching
+     */
+    @Disabled
+    @Test
+    public void benchmark() throws Exception {
+        final int threads = Runtime.getRuntime().availableProcessors();
+        final List<SpanBo> spans = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            // entry point heavy application : 20 spans per millisecond
+            spans.add(newSpan("app-" + (i % 10), 1700000000000L + i / 200, i));
+        }
+
+        for (int i = 0; i < 3; i++) {
+            for (boolean batch : new boolean[]{false, true}) {
+                RowBatchPutWriterTest.TestPutWriter putWriter = new RowBatchPutWriterTest.TestPutWriter();
+                HbaseApplicationTraceIndexDao dao = new HbaseApplicationTraceIndexDao(putWriter, tableNameProvider, rowKeyEncoder, batch, 10, 10000);
+                final long elapsed = replay(dao, spans, threads, 10);
+                dao.close();
+                final long writes = (long) spans.size() * threads * 10;
+                logger.info("batch={} writes/s/core={} puts={}", batch, writes * 1000 / Math.max(elapsed, 1) / threads, putWriter.puts.size());
+            }
+        }
+    }
+
+    private long replay(HbaseApplicationTraceIndexDao dao, List<SpanBo> spans, int threads, int loop) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < loop; i++) {
+                    for (SpanBo span : spans) {
+                        dao.insert(span);
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    private SpanBo newSpan(String applicationName, long acceptedTime, long sequence) {
+        return newSpan(applicationName, acceptedTime, sequence, "agentName");
+    }
+
+    private SpanBo newSpan(String applicationName, long acceptedTime, long sequence, String agentName) {
+        SpanBo span = new SpanBo();
+        span.setApplicationId(applicationName);
+        span.setAgentId("agentId");
+        span.setAgentName(agentName);
+        span.setTransactionId(new TransactionId("agentId", 1000, sequence));
+        span.setCollectorAcceptTime(acceptedTime);
+        span.setStartTime(acceptedTime - 10);
+        span.setElapsed(10);
+        span.setSpanId(sequence);
+        span.setRpc("/rpc");
+        return span;
+    }
+}
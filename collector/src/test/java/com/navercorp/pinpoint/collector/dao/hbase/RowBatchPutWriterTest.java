@@ -0,0 +1,123 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class RowBatchPutWriterTest {
+
+    private static final byte[] CF = Bytes.toBytes("CF");
+    private static final long WINDOW = 60_000;
+
+    private final TableName table = TableName.valueOf("table");
+
+    @Test
+    public void sameRow() {
+        TestPutWriter putWriter = new TestPutWriter();
+        RowBatchPutWriter writer = new RowBatchPutWriter("test", putWriter, WINDOW, 100);
+
+        writer.put(table, Bytes.toBytes("row1"), put -> put.addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v1")));
+        writer.put(table, Bytes.toBytes("row1"), put -> put.addColumn(CF, Bytes.toBytes("q2"), Bytes.toBytes("v2")));
+        writer.put(table, Bytes.toBytes("row2"), put -> put.addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v1")));
+        Assertions.assertTrue(putWriter.puts.isEmpty());
+
+        writer.flush();
+
+        Assertions.assertEquals(2, putWriter.puts.size());
+        Put row1 = findPut(putWriter.puts, "row1");
+        Assertions.assertEquals(2, row1.size());
+        Assertions.assertEquals(1, findPut(putWriter.puts, "row2").size());
+
+        writer.close();
+    }
+
+    @Test
+    public void otherTable() {
+        TestPutWriter putWriter = new TestPutWriter();
+        RowBatchPutWriter writer = new RowBatchPutWriter("test", putWriter, WINDOW, 100);
+
+        writer.put(table, Bytes.toBytes("row1"), put -> put.addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v1")));
+        writer.put(TableName.valueOf("other"), Bytes.toBytes("row1"), put -> put.addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v1")));
+        writer.flush();
+
+        Assertions.assertEquals(2, putWriter.puts.size());
+        writer.close();
+    }
+
+    @Test
+    public void maxRows() {
+        TestPutWriter putWriter = new TestPutWriter();
+        RowBatchPutWriter writer = new RowBatchPutWriter("test", putWriter, WINDOW, 2);
+
+        writer.put(table, Bytes.toBytes("row1"), put -> put.addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v1")));
+        Assertions.assertTrue(putWriter.puts.isEmpty());
+
+        writer.put(table, Bytes.toBytes("row2"), put -> put.addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v1")));
+        Assertions.assertEquals(2, putWriter.puts.size());
+
+        writer.close();
+    }
+
+    @Test
+    public void close() {
+        TestPutWriter putWriter = new TestPutWriter();
+        RowBatchPutWriter writer = new RowBatchPutWriter("test", putWriter, WINDOW, 100);
+
+        writer.put(table, Bytes.toBytes("row1"), put -> put.addColumn(CF, Bytes.toBytes("q1"), Bytes.toBytes("v1")));
+        writer.close();
+
+        Assertions.assertEquals(1, putWriter.puts.size());
+    }
+
+    private static Put findPut(List<Put> puts, String row) {
+        for (Put put : puts) {
+            if (Bytes.toString(put.getRow()).equals(row)) {
+                return put;
+            }
+        }
+        throw new AssertionError("not found " + row);
+    }
+
+    static class TestPutWriter implements HbasePutWriter {
+        final List<Put> puts = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<Void> put(TableName tableName, Put put) {
+            puts.add(put);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public List<CompletableFuture<Void>> put(TableName tableName, List<Put> puts) {
+            List<CompletableFuture<Void>> futures = new ArrayList<>(puts.size());
+            for (Put put : puts) {
+                futures.add(put(tableName, put));
+            }
+            return futures;
+        }
+    }
+}
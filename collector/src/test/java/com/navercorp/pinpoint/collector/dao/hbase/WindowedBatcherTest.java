@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToIntFunction;
+
+public class WindowedBatcherTest {
+
+    private static final long WINDOW = 60_000;
+
+    private final List<Map<String, Long>> batches = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void mergeByKey() {
+        WindowedBatcher<String, AtomicLong> batcher = new WindowedBatcher<>("test", WINDOW, 100, key -> new AtomicLong(), this::write);
+
+        batcher.add("a", add(1));
+        batcher.add("b", add(2));
+        batcher.add("a", add(3));
+        Assertions.assertTrue(batches.isEmpty());
+
+        batcher.flush();
+        Assertions.assertEquals(List.of(Map.of("a", 4L, "b", 2L)), batches);
+
+        batcher.flush();
+        Assertions.assertEquals(1, batches.size());
+        batcher.close();
+    }
+
+    @Test
+    public void maxSize() {
+        WindowedBatcher<String, AtomicLong> batcher = new WindowedBatcher<>("test", WINDOW, 3, key -> new AtomicLong(), this::write);
+
+        batcher.add("a", add(2));
+        Assertions.assertTrue(batches.isEmpty());
+        batcher.add("b", add(1));
+        Assertions.assertEquals(List.of(Map.of("a", 2L, "b", 1L)), batches);
+
+        batcher.close();
+    }
+
+    @Test
+    public void close() {
+        WindowedBatcher<String, AtomicLong> batcher = new WindowedBatcher<>("test", WINDOW, 100, key -> new AtomicLong(), this::write);
+
+        batcher.add("a", add(1));
+        batcher.close();
+
+        Assertions.assertEquals(List.of(Map.of("a", 1L)), batches);
+    }
+
+    @Test
+    public void fullWhileWriting() throws Exception {
+        final CountDownLatch writing = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        WindowedBatcher<String, AtomicLong> batcher = new WindowedBatcher<>("test", WINDOW, 2, key -> new AtomicLong(), batch -> {
+            writing.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            write(batch);
+        });
+
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            // the first batch is full and its write is slow
+            Future<?> first = executor.submit(() -> batcher.add("a", add(2)));
+            Assertions.assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+            batcher.add("b", add(1));
+            // the next batch gets full while the first one is written, the adders wait instead of growing it
+            Future<?> filling = executor.submit(() -> batcher.add("c", add(1)));
+            Future<?> blocked = executor.submit(() -> batcher.add("d", add(1)));
+            TimeUnit.MILLISECONDS.sleep(100);
+            Assertions.assertFalse(filling.isDone());
+            Assertions.assertFalse(blocked.isDone());
+
+            release.countDown();
+            first.get(5, TimeUnit.SECONDS);
+            filling.get(5, TimeUnit.SECONDS);
+            blocked.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        batcher.close();
+
+        Assertions.assertEquals(3, batches.size());
+        Assertions.assertEquals(Map.of("a", 2L), batches.get(0));
+        Map<String, Long> written = new HashMap<>();
+        for (Map<String, Long> batch : batches) {
+            Assertions.assertTrue(batch.values().stream().mapToLong(Long::longValue).sum() <= 2, "batch over maxSize " + batch);
+            written.putAll(batch);
+        }
+        Assertions.assertEquals(Map.of("a", 2L, "b", 1L, "c", 1L, "d", 1L), written);
+    }
+
+    private static ToIntFunction<AtomicLong> add(int value) {
+        return counter -> {
+            counter.addAndGet(value);
+            return value;
+        };
+    }
+
+    private void write(Map<String, AtomicLong> batch) {
+        Map<String, Long> copy = new HashMap<>();
+        batch.forEach((key, value) -> copy.put(key, value.get()));
+        batches.add(copy);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.common.hbase.HbaseTable;
+import com.navercorp.pinpoint.common.hbase.TableNameProvider;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import com.navercorp.pinpoint.common.hbase.distributor.RangeOneByteSimpleHash;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.v2.CpuLoadCodecV2;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatRowKeyDecoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatRowKeyEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatSerializer;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class AgentStatBatchWriterTest {
+
+    private static final long WINDOW = 60_000;
+    // start of a time slot
+    private static final long BASE_TIMESTAMP = 1_700_000_100_000L;
+
+    private final TestPutWriter putWriter = new TestPutWriter();
+
+    @Test
+    public void direct() {
+        AgentStatBatchWriter writer = AgentStatBatchWriter.direct(putWriter);
+        DefaultAgentStatDao<CpuLoadBo> dao = newDao(writer);
+
+        dao.insert("agent", cpuLoads(BASE_TIMESTAMP, 3));
+        dao.insert("agent", cpuLoads(BASE_TIMESTAMP + 15_000, 3));
+
+        Assertions.assertEquals(2, putWriter.puts.size());
+        writer.close();
+    }
+
+    @Test
+    public void batch() {
+        AgentStatBatchWriter writer = new AgentStatBatchWriter("test", putWriter, WINDOW, 100);
+        DefaultAgentStatDao<CpuLoadBo> dao = newDao(writer);
+
+        dao.insert("agent1", cpuLoads(BASE_TIMESTAMP, 3));
+        dao.insert("agent2", cpuLoads(BASE_TIMESTAMP, 3));
+        dao.insert("agent1", cpuLoads(BASE_TIMESTAMP + 15_000, 3));
+        Assertions.assertTrue(putWriter.puts.isEmpty());
+
+        writer.flush();
+
+        // one multi-row write, the batches of agent1 in one cell
+        Assertions.assertEquals(1, putWriter.writes);
+        Assertions.assertEquals(2, putWriter.puts.size());
+        for (Put put : putWriter.puts) {
+            Assertions.assertEquals(1, put.size());
+        }
+        writer.close();
+    }
+
+    @Test
+    public void batch_otherTimeSlot() {
+        AgentStatBatchWriter writer = new AgentStatBatchWriter("test", putWriter, WINDOW, 100);
+        DefaultAgentStatDao<CpuLoadBo> dao = newDao(writer);
+
+        dao.insert("agent", cpuLoads(BASE_TIMESTAMP + 15_000, 3));
+        // arrived later, earlier time slot
+        dao.insert("agent", cpuLoads(BASE_TIMESTAMP - 15_000, 3));
+        writer.flush();
+
+        Assertions.assertEquals(2, putWriter.puts.size());
+        writer.close();
+    }
+
+    @Test
+    public void maxDataPoints() {
+        AgentStatBatchWriter writer = new AgentStatBatchWriter("test", putWriter, WINDOW, 6);
+        DefaultAgentStatDao<CpuLoadBo> dao = newDao(writer);
+
+        dao.insert("agent1", cpuLoads(BASE_TIMESTAMP, 3));
+        Assertions.assertTrue(putWriter.puts.isEmpty());
+
+        dao.insert("agent2", cpuLoads(BASE_TIMESTAMP, 3));
+        Assertions.assertEquals(2, putWriter.puts.size());
+        writer.close();
+    }
+
+    @Test
+    public void close() {
+        AgentStatBatchWriter writer = new AgentStatBatchWriter("test", putWriter, WINDOW, 100);
+        DefaultAgentStatDao<CpuLoadBo> dao = newDao(writer);
+
+        dao.insert("agent", cpuLoads(BASE_TIMESTAMP, 3));
+        writer.close();
+
+        Assertions.assertEquals(1, putWriter.puts.size());
+    }
+
+    private DefaultAgentStatDao<CpuLoadBo> newDao(AgentStatBatchWriter writer) {
+        AgentStatHbaseOperationFactory operations = new AgentStatHbaseOperationFactory(new AgentStatRowKeyEncoder(), new AgentStatRowKeyDecoder(),
+                new RowKeyDistributorByHashPrefix(new RangeOneByteSimpleHash(0, 33, 64)));
+        AgentStatSerializer<CpuLoadBo> serializer = new AgentStatSerializer<>(new AgentStatEncoder<>(new CpuLoadCodecV2(new AgentStatDataPointCodec())));
+        return new DefaultAgentStatDao<>(AgentStatType.CPU_LOAD, HbaseTable.AGENT_STAT_VER2, AgentStatBo::getCpuLoadBos,
+                writer, new TestTableNameProvider(), operations, serializer);
+    }
+
+    private List<CpuLoadBo> cpuLoads(long timestamp, int count) {
+        List<CpuLoadBo> cpuLoads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CpuLoadBo cpuLoad = new CpuLoadBo();
+            cpuLoad.setStartTimestamp(BASE_TIMESTAMP - 1000);
+            cpuLoad.setTimestamp(timestamp + i * 5000L);
+            cpuLoad.setJvmCpuLoad(0.1);
+            cpuLoad.setSystemCpuLoad(0.2);
+            cpuLoads.add(cpuLoad);
+        }
+        return cpuLoads;
+    }
+
+    private static class TestTableNameProvider implements TableNameProvider {
+        @Override
+        public TableName getTableName(HbaseTable hBaseTable) {
+            return TableName.valueOf(hBaseTable.getName());
+        }
+
+        @Override
+        public TableName getTableName(String tableName) {
+            return TableName.valueOf(tableName);
+        }
+
+        @Override
+        public boolean hasDefaultNameSpace() {
+            return true;
+        }
+    }
+
+    private static class TestPutWriter implements HbasePutWriter {
+        private final List<Put> puts = new CopyOnWriteArrayList<>();
+        private volatile int writes;
+
+        @Override
+        public CompletableFuture<Void> put(TableName tableName, Put put) {
+            puts.add(put);
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public List<CompletableFuture<Void>> put(TableName tableName, List<Put> puts) {
+            writes++;
+            List<CompletableFuture<Void>> futures = new ArrayList<>(puts.size());
+            for (Put put : puts) {
+                futures.add(put(tableName, put));
+            }
+            return futures;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.collector.monitor.dao.hbase.LinkFlushReporter;
+import com.navercorp.pinpoint.common.hbase.counter.HbaseBatchPerformanceCounter;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LinkFlushControllerTest {
+
+    private final HbaseBatchPerformanceCounter counter = new HbaseBatchPerformanceCounter();
+    private final LinkFlushReporter reporter = new LinkFlushReporter();
+
+    private LinkFlushConfiguration newConfiguration(boolean enableAdaptive) {
+        return new LinkFlushConfiguration(enableAdaptive, Duration.ofMillis(4000),
+                Duration.ofMillis(1000), Duration.ofMillis(16000),
+                200, 1600, Duration.ofMillis(500), 1000);
+    }
+
+    @Test
+    public void disabled() {
+        LinkFlushController controller = new LinkFlushController(newConfiguration(false), counter, reporter);
+
+        complete(controller, 100, 3000);
+
+        assertThat(controller.isAdaptive()).isFalse();
+        assertThat(controller.nextFlushInterval()).isEqualTo(4000);
+        assertThat(controller.getBatchSize()).isEqualTo(LinkFlushConfiguration.DEFAULT_BATCH_SIZE);
+        assertThat(controller.isBackpressure()).isFalse();
+        assertThat(counter.getOpsCount()).isEqualTo(100L);
+        assertThat(counter.getCurrentOpsCount()).isZero();
+    }
+
+    @Test
+    public void slow() {
+        LinkFlushController controller = new LinkFlushController(newConfiguration(true), counter, reporter);
+        assertThat(controller.getBatchSize()).isEqualTo(200);
+
+        complete(controller, 100, 2000);
+
+        assertThat(controller.nextFlushInterval()).isEqualTo(8000);
+        assertThat(controller.getBatchSize()).isEqualTo(400);
+        assertThat(controller.nextFlushInterval()).isEqualTo(16000);
+        assertThat(controller.nextFlushInterval()).isEqualTo(16000);
+        assertThat(controller.getBatchSize()).isEqualTo(1600);
+        assertThat(controller.isBackpressure()).isFalse();
+
+        assertThat(reporter.getFlushIntervalMillis()).isEqualTo(16000);
+        assertThat(reporter.getBatchSize()).isEqualTo(1600);
+        assertThat(reporter.getLatencyMillis()).isGreaterThanOrEqualTo(2000);
+    }
+
+    @Test
+    public void fast() {
+        LinkFlushController controller = new LinkFlushController(newConfiguration(true), counter, reporter);
+
+        complete(controller, 100, 2000);
+        controller.nextFlushInterval();
+        controller.nextFlushInterval();
+        assertThat(controller.getBatchSize()).isEqualTo(800);
+
+        for (int i = 0; i < 20; i++) {
+            complete(controller, 100, 10);
+        }
+
+        assertThat(controller.nextFlushInterval()).isEqualTo(8000);
+        assertThat(controller.getBatchSize()).isEqualTo(400);
+        assertThat(controller.nextFlushInterval()).isEqualTo(4000);
+        assertThat(controller.nextFlushInterval()).isEqualTo(2000);
+        assertThat(controller.nextFlushInterval()).isEqualTo(1000);
+        assertThat(controller.nextFlushInterval()).isEqualTo(1000);
+        assertThat(controller.getBatchSize()).isEqualTo(200);
+    }
+
+    @Test
+    public void pending() {
+        LinkFlushController controller = new LinkFlushController(newConfiguration(true), counter, reporter);
+        complete(controller, 100, 10);
+
+        controller.onFlush(10000);
+
+        assertThat(controller.nextFlushInterval()).isEqualTo(1000);
+        assertThat(reporter.getPendingCount()).isEqualTo(10000);
+    }
+
+    @Test
+    public void backpressure() {
+        LinkFlushController controller = new LinkFlushController(newConfiguration(true), counter, reporter);
+
+        long startTime = controller.onSubmit(2000);
+        assertThat(controller.nextFlushInterval()).isEqualTo(8000);
+        assertThat(controller.isBackpressure()).isTrue();
+        assertThat(reporter.isBackpressure()).isTrue();
+
+        controller.onComplete(2000, startTime, null);
+        // cleared as soon as the in-flight operations complete, before the next decision
+        assertThat(controller.isBackpressure()).isFalse();
+        controller.nextFlushInterval();
+        assertThat(controller.isBackpressure()).isFalse();
+    }
+
+    @Test
+    public void failed() {
+        LinkFlushController controller = new LinkFlushController(newConfiguration(true), counter, reporter);
+
+        long startTime = controller.onSubmit(10);
+        controller.onComplete(10, startTime, new RuntimeException("test"));
+
+        assertThat(counter.getOpsFailedCount()).isEqualTo(10L);
+        assertThat(counter.getCurrentOpsCount()).isZero();
+    }
+
+    private void complete(LinkFlushController controller, int size, long latencyMillis) {
+        long startTime = controller.onSubmit(size);
+        controller.onComplete(size, startTime - TimeUnit.MILLISECONDS.toNanos(latencyMillis), null);
+    }
+}
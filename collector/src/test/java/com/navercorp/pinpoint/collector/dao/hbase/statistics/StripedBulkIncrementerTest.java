@@ -0,0 +1,267 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.statistics;
+
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.Flusher;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.Incrementer;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.TestData;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.TestDataSet;
+import com.navercorp.pinpoint.collector.dao.hbase.statistics.BulkIncrementerTestClazz.TestVerifier;
+import com.navercorp.pinpoint.common.server.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.sematext.hbase.wd.RowKeyDistributorByHashPrefix;
+import org.apache.commons.collections4.ListUtils;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Increment;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+
+public class StripedBulkIncrementerTest {
+
+    private static final byte[] CF = Bytes.toBytes("CF");
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final RowKeyDistributorByHashPrefix rowKeyDistributor = newRowKeyDistributor();
+
+    private static RowKeyDistributorByHashPrefix newRowKeyDistributor() {
+        RowKeyDistributorByHashPrefix rowKeyDistributor = Mockito.mock(RowKeyDistributorByHashPrefix.class);
+        Mockito.when(rowKeyDistributor.getDistributedKey(any(byte[].class))).then(invocation -> invocation.getArgument(0));
+        return rowKeyDistributor;
+    }
+
+    @Test
+    public void multipleTables() {
+        // Given
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(new RowKeyMerge(CF));
+        TableName tableA = TableName.valueOf("a", "A");
+        TableName tableB = TableName.valueOf("b", "A");
+        TestDataSet testDataSetA_0_0 = new TestDataSet(tableA, 0, 0, 100);
+        TestDataSet testDataSetA_0_1 = new TestDataSet(tableA, 0, 1, 200);
+        TestDataSet testDataSetA_1_0 = new TestDataSet(tableA, 1, 0, 300);
+        TestDataSet testDataSetB_0_0 = new TestDataSet(tableB, 0, 0, 500);
+        TestDataSet testDataSetB_1_1 = new TestDataSet(tableB, 1, 1, 800);
+
+        List<TestData> testDatas = new ArrayList<>();
+        testDatas.addAll(testDataSetA_0_0.getTestDatas());
+        testDatas.addAll(testDataSetA_0_1.getTestDatas());
+        testDatas.addAll(testDataSetA_1_0.getTestDatas());
+        testDatas.addAll(testDataSetB_0_0.getTestDatas());
+        testDatas.addAll(testDataSetB_1_1.getTestDatas());
+        Collections.shuffle(testDatas);
+
+        // When
+        for (TestData testData : testDatas) {
+            bulkIncrementer.increment(testData.getTableName(), testData.getRowKey(), testData.getColumnName());
+        }
+        Assertions.assertEquals(5, bulkIncrementer.getSize());
+
+        // Then
+        Map<TableName, List<Increment>> incrementMap = bulkIncrementer.getIncrements(rowKeyDistributor);
+        TestVerifier verifier = new TestVerifier(incrementMap);
+        verifier.verify(testDataSetA_0_0);
+        verifier.verify(testDataSetA_0_1);
+        verifier.verify(testDataSetA_1_0);
+        verifier.verify(testDataSetB_0_0);
+        verifier.verify(testDataSetB_1_1);
+
+        Assertions.assertEquals(0, bulkIncrementer.getSize());
+        Assertions.assertTrue(bulkIncrementer.getIncrements(rowKeyDistributor).isEmpty());
+    }
+
+    @Test
+    public void addition() {
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(new RowKeyMerge(CF));
+        TableName tableA = TableName.valueOf("A");
+        TestDataSet testDataSet = new TestDataSet(tableA, 0, 0, 150);
+
+        bulkIncrementer.increment(tableA, testDataSet.getRowKey(), testDataSet.getColumnName(), 100);
+        bulkIncrementer.increment(tableA, testDataSet.getRowKey(), testDataSet.getColumnName(), 50);
+
+        TestVerifier verifier = new TestVerifier(bulkIncrementer.getIncrements(rowKeyDistributor));
+        verifier.verify(testDataSet);
+    }
+
+    @Test
+    public void size_sameKeysFromManyThreads() throws Exception {
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(new RowKeyMerge(CF));
+        TableName tableA = TableName.valueOf("A");
+        List<TestDataSet> testDataSets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            testDataSets.add(new TestDataSet(tableA, i, i, 1));
+        }
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Thread thread = new Thread(() -> {
+                for (TestDataSet testDataSet : testDataSets) {
+                    bulkIncrementer.increment(tableA, testDataSet.getRowKey(), testDataSet.getColumnName());
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        Assertions.assertEquals(10, bulkIncrementer.getSize());
+    }
+
+    @Test
+    public void terminatedThread() throws Exception {
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(new RowKeyMerge(CF));
+        TableName tableA = TableName.valueOf("A");
+        TestDataSet testDataSet = new TestDataSet(tableA, 0, 0, 2);
+
+        bulkIncrementer.increment(tableA, testDataSet.getRowKey(), testDataSet.getColumnName());
+        Thread thread = new Thread(() -> bulkIncrementer.increment(tableA, testDataSet.getRowKey(), testDataSet.getColumnName()));
+        thread.start();
+        thread.join();
+
+        Assertions.assertEquals(1, bulkIncrementer.getSize());
+        TestVerifier verifier = new TestVerifier(bulkIncrementer.getIncrements(rowKeyDistributor));
+        verifier.verify(testDataSet);
+        Assertions.assertEquals(0, bulkIncrementer.getSize());
+    }
+
+    @Test
+    public void multipleTablesConcurrent() throws Exception {
+        // Given
+        BulkIncrementer bulkIncrementer = new StripedBulkIncrementer(new RowKeyMerge(CF));
+        List<TestDataSet> testDataSets = BulkIncrementerTestClazz.createRandomTestDataSetList(5, 10, 10, 200);
+
+        List<TestData> testDatas = new ArrayList<>();
+        for (TestDataSet testDataSet : testDataSets) {
+            testDatas.addAll(testDataSet.getTestDatas());
+        }
+        Collections.shuffle(testDatas);
+
+        // When
+        final int numIncrementers = 16;
+        List<List<TestData>> testDataPartitions = ListUtils.partition(testDatas, testDatas.size() / (numIncrementers - 1));
+        final CountDownLatch incrementorLatch = new CountDownLatch(testDataPartitions.size());
+        final CountDownLatch flusherLatch = new CountDownLatch(1);
+
+        FutureTask<Map<TableName, List<Increment>>> flushTask = new FutureTask<>(new Flusher(bulkIncrementer, rowKeyDistributor, incrementorLatch, flusherLatch));
+        new Thread(flushTask, "Flusher").start();
+
+        int counter = 0;
+        for (List<TestData> testDataPartition : testDataPartitions) {
+            Incrementer incrementer = new Incrementer(bulkIncrementer, incrementorLatch, testDataPartition);
+            new Thread(incrementer, "Incrementer-" + counter++).start();
+        }
+
+        flusherLatch.await(30L, TimeUnit.SECONDS);
+
+        // Then
+        Map<TableName, List<Increment>> incrementMap = flushTask.get(5L, TimeUnit.SECONDS);
+        TestVerifier verifier = new TestVerifier(incrementMap);
+        for (TestDataSet testDataSet : testDataSets) {
+            verifier.verify(testDataSet);
+        }
+    }
+
+    @Disabled
+    @Test
+    public void benchmark() throws Exception {
+        final List<SpanEventLink> links = newSpanEventMix(new Random(1), 100_000);
+        final TableName tableName = TableName.valueOf("ApplicationMapStatisticsCaller_Ver2");
+
+        for (int i = 0; i < 3; i++) {
+            long defaultElapsed = replay(new DefaultBulkIncrementer(new RowKeyMerge(CF)), tableName, links, 8, 50);
+            long stripedElapsed = replay(new StripedBulkIncrementer(new RowKeyMerge(CF)), tableName, links, 8, 50);
+            logger.info("increments={} default={}ms striped={}ms", links.size() * 8 * 50, defaultElapsed, stripedElapsed);
+        }
+    }
+
+    /**
+     * replays the span event mix the same way HbaseMapStatisticsCallerDao does : new row key and column name per span event
+     */
+    private long replay(BulkIncrementer bulkIncrementer, TableName tableName, List<SpanEventLink> links, int threads, int loop) throws InterruptedException {
+        final CountDownLatch latch = new CountDownLatch(threads);
+        final long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            new Thread(() -> {
+                for (int i = 0; i < loop; i++) {
+                    for (SpanEventLink link : links) {
+                        RowKey rowKey = new CallRowKey(link.callerApplicationName, ServiceType.STAND_ALONE.getCode(), link.timeSlot);
+                        ColumnName columnName = new CalleeColumnName(link.callerAgentId, link.calleeServiceType.getCode(), link.calleeApplicationName, link.calleeHost, link.slotNumber);
+                        bulkIncrementer.increment(tableName, rowKey, columnName);
+                    }
+                }
+                latch.countDown();
+            }).start();
+        }
+        latch.await();
+        final long elapsed = System.nanoTime() - start;
+        bulkIncrementer.getIncrements(rowKeyDistributor);
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    private static List<SpanEventLink> newSpanEventMix(Random random, int size) {
+        final ServiceType[] calleeServiceTypes = {ServiceType.STAND_ALONE, ServiceType.UNKNOWN, ServiceType.USER};
+        final List<SpanEventLink> links = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ServiceType calleeServiceType = calleeServiceTypes[random.nextInt(calleeServiceTypes.length)];
+            // a few hot links and a long tail
+            int callee = random.nextInt(10) < 8 ? random.nextInt(10) : random.nextInt(1000);
+            int elapsed = (int) Math.abs(random.nextGaussian() * 1000);
+            short slotNumber = ApplicationMapStatisticsUtils.getSlotNumber(calleeServiceType, elapsed, random.nextInt(100) == 0);
+            links.add(new SpanEventLink("caller-" + random.nextInt(20), "agent-" + random.nextInt(100),
+                    calleeServiceType, "callee-" + callee, "host-" + callee % 50, slotNumber, 1700000000000L + random.nextInt(5) * 60000L));
+        }
+        return links;
+    }
+
+    private static class SpanEventLink {
+        private final String callerApplicationName;
+        private final String callerAgentId;
+        private final ServiceType calleeServiceType;
+        private final String calleeApplicationName;
+        private final String calleeHost;
+        private final short slotNumber;
+        private final long timeSlot;
+
+        private SpanEventLink(String callerApplicationName, String callerAgentId, ServiceType calleeServiceType,
+                              String calleeApplicationName, String calleeHost, short slotNumber, long timeSlot) {
+            this.callerApplicationName = callerApplicationName;
+            this.callerAgentId = callerAgentId;
+            this.calleeServiceType = calleeServiceType;
+            this.calleeApplicationName = calleeApplicationName;
+            this.calleeHost = calleeHost;
+            this.slotNumber = slotNumber;
+            this.timeSlot = timeSlot;
+        }
+    }
+}
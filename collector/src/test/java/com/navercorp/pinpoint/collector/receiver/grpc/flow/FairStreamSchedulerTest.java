@@ -0,0 +1,213 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.receiver.grpc.flow;
+
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FairStreamSchedulerTest {
+
+    private final StreamQueueReporter reporter = new StreamQueueReporter("test");
+    private final ManualExecutor executor = new ManualExecutor();
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    void roundRobin() {
+        FairStreamScheduler scheduler = newScheduler(1, 100, Map.of());
+        StreamScheduler.Stream chatty = scheduler.open("app", "chatty");
+        StreamScheduler.Stream quiet = scheduler.open("app", "quiet");
+
+        for (int i = 0; i < 4; i++) {
+            chatty.execute(task("chatty" + i));
+        }
+        quiet.execute(task("quiet0"));
+        quiet.execute(task("quiet1"));
+
+        executor.runAll();
+
+        assertThat(executed).containsExactly("chatty0", "chatty1", "quiet0", "chatty2", "quiet1", "chatty3");
+        assertThat(reporter.getQueueDepth()).isZero();
+    }
+
+    @Test
+    void weight() {
+        FairStreamScheduler scheduler = newScheduler(1, 100, Map.of("heavy", 2));
+        StreamScheduler.Stream heavy = scheduler.open("heavy", "agent-1");
+        StreamScheduler.Stream light = scheduler.open("light", "agent-2");
+
+        for (int i = 0; i < 4; i++) {
+            heavy.execute(task("heavy" + i));
+            light.execute(task("light" + i));
+        }
+        executor.runAll();
+
+        assertThat(executed).containsExactly("heavy0", "light0", "heavy1", "heavy2", "light1", "heavy3", "light2", "light3");
+    }
+
+    @Test
+    void applicationKey() {
+        FairStreamScheduler scheduler = new FairStreamScheduler("test", executor, StreamKeyType.APPLICATION, 1, 100, Map.of(), reporter, 1);
+        scheduler.open("app", "agent-1");
+        scheduler.open("app", "agent-2");
+
+        assertThat(reporter.getQueueCount()).isEqualTo(1);
+    }
+
+    @Test
+    void maxConcurrency() {
+        FairStreamScheduler scheduler = newScheduler(2, 100, Map.of());
+        StreamScheduler.Stream stream = scheduler.open("app", "agent");
+
+        for (int i = 0; i < 5; i++) {
+            stream.execute(task("task" + i));
+        }
+
+        assertThat(executor.tasks).hasSize(2);
+        assertThat(reporter.getQueueDepth()).isEqualTo(3);
+
+        executor.runNext();
+        assertThat(executor.tasks).hasSize(2);
+        assertThat(reporter.getQueueDepth()).isEqualTo(2);
+    }
+
+    @Test
+    void queueFull() {
+        FairStreamScheduler scheduler = newScheduler(1, 2, Map.of());
+        StreamScheduler.Stream stream = scheduler.open("app", "agent");
+
+        // 1 in flight, 2 queued
+        assertThat(stream.execute(task("task0"))).isTrue();
+        assertThat(stream.execute(task("task1"))).isTrue();
+        assertThat(stream.execute(task("task2"))).isTrue();
+        assertThat(stream.execute(task("task3"))).isFalse();
+        stream.drop();
+
+        assertThat(reporter.getDropCount()).isEqualTo(2);
+        executor.runAll();
+        assertThat(executed).containsExactly("task0", "task1", "task2");
+    }
+
+    @Test
+    void rejected() {
+        FairStreamScheduler scheduler = newScheduler(4, 100, Map.of());
+        StreamScheduler.Stream stream = scheduler.open("app", "agent");
+
+        executor.reject = true;
+        assertThat(stream.execute(task("task0"))).isTrue();
+        assertThat(reporter.getRejectedCount()).isEqualTo(1);
+        assertThat(reporter.getQueueDepth()).isEqualTo(1);
+
+        executor.reject = false;
+        stream.execute(task("task1"));
+        executor.runAll();
+
+        assertThat(executed).containsExactly("task0", "task1");
+    }
+
+    @Test
+    void rejected_retryWithoutInFlight() throws InterruptedException {
+        ScheduledExecutorService retryScheduler = Executors.newSingleThreadScheduledExecutor();
+        try {
+            FairStreamScheduler scheduler = new FairStreamScheduler("test", executor, StreamKeyType.AGENT, 4, 100, Map.of(),
+                    reporter, 1, retryScheduler, 10);
+            StreamScheduler.Stream stream = scheduler.open("app", "agent");
+
+            executor.reject = true;
+            assertThat(stream.execute(task("task0"))).isTrue();
+            assertThat(reporter.getRejectedCount()).isEqualTo(1);
+
+            // no further message nor completion, the delayed drain dispatches the queued task
+            executor.reject = false;
+            long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(5);
+            while (executor.tasks.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            executor.runAll();
+
+            assertThat(executed).containsExactly("task0");
+            assertThat(reporter.getQueueDepth()).isZero();
+        } finally {
+            retryScheduler.shutdownNow();
+        }
+    }
+
+    @Test
+    void close() {
+        FairStreamScheduler scheduler = newScheduler(1, 100, Map.of());
+        StreamScheduler.Stream stream1 = scheduler.open("app", "agent");
+        StreamScheduler.Stream stream2 = scheduler.open("app", "agent");
+        assertThat(reporter.getQueueCount()).isEqualTo(1);
+
+        stream1.execute(task("task0"));
+        stream1.execute(task("task1"));
+        stream1.close();
+        stream1.close();
+        stream2.close();
+        // pending messages are still delivered
+        assertThat(reporter.getQueueCount()).isEqualTo(1);
+
+        executor.runAll();
+        assertThat(executed).containsExactly("task0", "task1");
+        assertThat(reporter.getQueueCount()).isZero();
+
+        assertThat(stream1.execute(task("task2"))).isFalse();
+    }
+
+    private FairStreamScheduler newScheduler(int maxConcurrency, int maxQueueSize, Map<String, Integer> weights) {
+        return new FairStreamScheduler("test", executor, StreamKeyType.AGENT, maxConcurrency, maxQueueSize, weights, reporter, 1);
+    }
+
+    private Runnable task(String name) {
+        return () -> executed.add(name);
+    }
+
+    private static class ManualExecutor implements Executor {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean reject;
+
+        @Override
+        public void execute(Runnable command) {
+            if (reject) {
+                throw new RejectedExecutionException("test");
+            }
+            tasks.add(command);
+        }
+
+        void runNext() {
+            tasks.poll().run();
+        }
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                runNext();
+            }
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.navercorp.pinpoint.collector.receiver.grpc.flow;
 
 import com.google.common.util.concurrent.MoreExecutors;
 import com.google.protobuf.Empty;
+import com.navercorp.pinpoint.collector.monitor.receiver.StreamQueueReporter;
 import com.navercorp.pinpoint.grpc.Header;
 import com.navercorp.pinpoint.grpc.trace.PSpanMessage;
 import com.navercorp.pinpoint.grpc.trace.SpanGrpc;
@@ -19,9 +20,11 @@ import org.mockito.Mockito;
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -54,6 +57,35 @@ class StreamRateLimitServerInterceptorTest {
     }
 
 
+    @Test
+    void interceptCall_fair() {
+        Bandwidth bandwidth = bandwidth();
+        StreamQueueReporter reporter = new StreamQueueReporter("span-service");
+        StreamScheduler scheduler = new FairStreamScheduler("span-service", MoreExecutors.directExecutor(), StreamKeyType.AGENT,
+                1, 10, Map.of(), reporter, 1);
+
+        RateLimitClientStreamServerInterceptor interceptor = new RateLimitClientStreamServerInterceptor("span-service", scheduler, bandwidth, 1);
+
+        ServiceDescriptor desc = SpanGrpc.getServiceDescriptor();
+        MethodDescriptor<PSpanMessage, Empty> methodDescriptor = (MethodDescriptor<PSpanMessage, Empty>) desc.getMethods().iterator().next();
+        ServerCall<PSpanMessage, Empty> call = getServerCall(methodDescriptor);
+
+        Metadata headers = getMetadata();
+
+        ServerCallHandler<PSpanMessage, Empty> handler = Mockito.mock(ServerCallHandler.class);
+        ServerCall.Listener<PSpanMessage> serverCallListener = Mockito.mock(ServerCall.Listener.class);
+
+        when(handler.startCall(call, headers)).thenReturn(serverCallListener);
+
+        ServerCall.Listener<PSpanMessage> listener = interceptor.interceptCall(call, headers, handler);
+        assertThat(reporter.getQueueCount()).isEqualTo(1);
+
+        listener.onMessage(PSpanMessage.newBuilder().build());
+        verify(serverCallListener).onMessage(any());
+
+        listener.onComplete();
+        assertThat(reporter.getQueueCount()).isZero();
+    }
 
     @Test
     void interceptCall_reject() {
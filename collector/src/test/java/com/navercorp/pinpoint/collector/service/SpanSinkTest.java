@@ -0,0 +1,108 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.collector.monitor.service.SpanSinkReporter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SpanSinkTest {
+
+    private final SpanSinkReporter reporter = new SpanSinkReporter(SpanSinks.STAT);
+    private final SpanSinkReporter.StageCounter counter = reporter.getStage(SpanSinks.STAT);
+    private final List<String> executed = new ArrayList<>();
+
+    @Test
+    void direct() {
+        SpanSink sink = SpanSink.direct(counter);
+
+        sink.execute(() -> executed.add("task"));
+
+        assertThat(executed).containsExactly("task");
+        assertThat(counter.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void direct_exception() {
+        SpanSink sink = SpanSink.direct(counter);
+
+        assertThatThrownBy(() -> sink.execute(() -> {
+            throw new IllegalStateException("test");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(counter.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void async() {
+        List<Runnable> queue = new ArrayList<>();
+        SpanSink sink = SpanSink.async(queue::add, counter);
+
+        sink.execute(() -> executed.add("task"));
+        assertThat(executed).isEmpty();
+        assertThat(counter.getCount()).isZero();
+
+        queue.forEach(Runnable::run);
+        assertThat(executed).containsExactly("task");
+        assertThat(counter.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void async_exception() {
+        List<Runnable> queue = new ArrayList<>();
+        SpanSink sink = SpanSink.async(queue::add, counter);
+
+        sink.execute(() -> {
+            throw new IllegalStateException("test");
+        });
+        // logged on the sink thread
+        queue.forEach(Runnable::run);
+        assertThat(counter.getCount()).isEqualTo(1);
+    }
+
+    @Test
+    void async_rejected() {
+        SpanSink sink = SpanSink.async(command -> {
+            throw new RejectedExecutionException("full");
+        }, counter);
+
+        sink.execute(() -> executed.add("task"));
+
+        assertThat(executed).isEmpty();
+        assertThat(counter.getRejectedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void async_rejected_callerRuns() {
+        SpanSink sink = SpanSink.async(command -> {
+            throw new RejectedExecutionException("full");
+        }, true, counter);
+
+        sink.execute(() -> executed.add("task"));
+
+        assertThat(executed).containsExactly("task");
+        assertThat(counter.getRejectedCount()).isZero();
+        assertThat(counter.getCallerRunCount()).isEqualTo(1);
+        assertThat(counter.getCount()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.service;
+
+import com.navercorp.pinpoint.common.server.bo.StringMetaDataBo;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class StringMetaDataServiceTest {
+
+    private final List<StringMetaDataBo> written = new ArrayList<>();
+
+    @Test
+    void insert_duplicate() {
+        StringMetaDataService service = new StringMetaDataService(written::add, newCache());
+
+        service.insert(new StringMetaDataBo("agent", 1000, 1, "value"));
+        service.insert(new StringMetaDataBo("agent", 1000, 1, "value"));
+
+        assertThat(written).hasSize(1);
+    }
+
+    @Test
+    void insert_differentKey() {
+        StringMetaDataService service = new StringMetaDataService(written::add, newCache());
+
+        service.insert(new StringMetaDataBo("agent", 1000, 1, "value"));
+        service.insert(new StringMetaDataBo("agent", 2000, 1, "value"));
+        service.insert(new StringMetaDataBo("agent", 1000, 2, "value"));
+        service.insert(new StringMetaDataBo("agent2", 1000, 1, "value"));
+        service.insert(new StringMetaDataBo("agent", 1000, 1, "value2"));
+
+        assertThat(written).hasSize(5);
+    }
+
+    @Test
+    void insert_failed() {
+        MetaDataCache cache = newCache();
+        StringMetaDataService failService = new StringMetaDataService(bo -> {
+            throw new IllegalStateException("hbase");
+        }, cache);
+        assertThatThrownBy(() -> failService.insert(new StringMetaDataBo("agent", 1000, 1, "value")))
+                .isInstanceOf(IllegalStateException.class);
+
+        // not cached, written by the next re-send
+        StringMetaDataService service = new StringMetaDataService(written::add, cache);
+        service.insert(new StringMetaDataBo("agent", 1000, 1, "value"));
+        assertThat(written).hasSize(1);
+    }
+
+    @Test
+    void insert_disabled() {
+        StringMetaDataService service = new StringMetaDataService(written::add, MetaDataCache.disabled("test"));
+
+        service.insert(new StringMetaDataBo("agent", 1000, 1, "value"));
+        service.insert(new StringMetaDataBo("agent", 1000, 1, "value"));
+
+        assertThat(written).hasSize(2);
+    }
+
+    private MetaDataCache newCache() {
+        return MetaDataCache.newCache("test", 100, Duration.ofMinutes(1));
+    }
+}
@@ -2,6 +2,9 @@ package com.navercorp.pinpoint.common.hbase.async;
 
 import com.navercorp.pinpoint.common.util.CpuUtils;
 
+import java.util.ArrayList;
+import java.util.List;
+
 public class AsyncPollerOption {
 
     private int queueSize = 1000 * 100;
@@ -14,6 +17,15 @@ public class AsyncPollerOption {
 
     private int connectionSize = 1;
 
+    private boolean coalesce = false;
+
+    // in-flight bytes budget per poller. 0 : unlimited
+    private long maxInFlightBytes = 0;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+    private int blockTimeout = 1000;
+    // table qualifiers which are never shed
+    private List<String> priorityTables = new ArrayList<>();
+
 
     public int getQueueSize() {
         return queueSize;
@@ -84,6 +96,46 @@ public class AsyncPollerOption {
         this.connectionSize = connectionSize;
     }
 
+    public boolean isCoalesce() {
+        return coalesce;
+    }
+
+    public void setCoalesce(boolean coalesce) {
+        this.coalesce = coalesce;
+    }
+
+    public long getMaxInFlightBytes() {
+        return maxInFlightBytes;
+    }
+
+    public void setMaxInFlightBytes(long maxInFlightBytes) {
+        this.maxInFlightBytes = maxInFlightBytes;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public int getBlockTimeout() {
+        return blockTimeout;
+    }
+
+    public void setBlockTimeout(int blockTimeout) {
+        this.blockTimeout = blockTimeout;
+    }
+
+    public List<String> getPriorityTables() {
+        return priorityTables;
+    }
+
+    public void setPriorityTables(List<String> priorityTables) {
+        this.priorityTables = priorityTables;
+    }
+
     @Override
     public String toString() {
         return "AsyncPollerOption{" +
@@ -94,6 +146,11 @@ public class AsyncPollerOption {
                 ", cpuRatio=" + cpuRatio +
                 ", minCpuCore=" + minCpuCore +
                 ", connectionSize=" + connectionSize +
+                ", coalesce=" + coalesce +
+                ", maxInFlightBytes=" + maxInFlightBytes +
+                ", overflowPolicy=" + overflowPolicy +
+                ", blockTimeout=" + blockTimeout +
+                ", priorityTables=" + priorityTables +
                 '}';
     }
 }
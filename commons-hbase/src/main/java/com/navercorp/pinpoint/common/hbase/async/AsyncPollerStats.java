@@ -0,0 +1,175 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.common.hbase.async;
+
+import org.apache.hadoop.hbase.TableName;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queue depth, in-flight bytes, write latency and shed count of the pollers of an {@link AsyncPollingPutWriter}.
+ * <p>
+ * The latency histogram has fixed buckets so it can be exported without a metrics library.
+ */
+public class AsyncPollerStats {
+
+    /**
+     * upper bounds of the latency buckets in milliseconds, the last bucket has no upper bound
+     */
+    public static final long[] LATENCY_BUCKETS = {10, 50, 100, 500, 1000, 3000, 10000};
+
+    private static final TableListener EMPTY_LISTENER = (tableName, stats) -> {
+    };
+
+    private final String name;
+    private final List<AsyncPollerThread> pollers = new CopyOnWriteArrayList<>();
+    private final ConcurrentMap<TableName, TableStats> tables = new ConcurrentHashMap<>();
+
+    private volatile TableListener listener = EMPTY_LISTENER;
+
+    public AsyncPollerStats(String name) {
+        this.name = Objects.requireNonNull(name, "name");
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void register(AsyncPollerThread poller) {
+        this.pollers.add(poller);
+    }
+
+    public long getQueueDepth() {
+        long depth = 0;
+        for (AsyncPollerThread poller : pollers) {
+            depth += poller.getQueueDepth();
+        }
+        return depth;
+    }
+
+    public long getInFlightBytes() {
+        long bytes = 0;
+        for (AsyncPollerThread poller : pollers) {
+            bytes += poller.getInFlightBytes();
+        }
+        return bytes;
+    }
+
+    public TableStats getTableStats(TableName tableName) {
+        final TableStats stats = tables.get(tableName);
+        if (stats != null) {
+            return stats;
+        }
+        return tables.computeIfAbsent(tableName, this::newTableStats);
+    }
+
+    private TableStats newTableStats(TableName tableName) {
+        final TableStats stats = new TableStats();
+        listener.onAdd(tableName, stats);
+        return stats;
+    }
+
+    /**
+     * Registers the listener and replays the tables that already exist.
+     */
+    public synchronized void setTableListener(TableListener listener) {
+        this.listener = Objects.requireNonNull(listener, "listener");
+        tables.forEach(listener::onAdd);
+    }
+
+    public interface TableListener {
+        void onAdd(TableName tableName, TableStats stats);
+    }
+
+    public static class TableStats {
+        private final LongAdder[] latencyBuckets = newAdders(LATENCY_BUCKETS.length + 1);
+        private final LongAdder latencyCount = new LongAdder();
+        private final LongAdder latencySum = new LongAdder();
+        private final LongAdder failCount = new LongAdder();
+        private final LongAdder shedCount = new LongAdder();
+
+        private static LongAdder[] newAdders(int size) {
+            final LongAdder[] adders = new LongAdder[size];
+            for (int i = 0; i < size; i++) {
+                adders[i] = new LongAdder();
+            }
+            return adders;
+        }
+
+        void latency(long latencyNanos, int puts) {
+            final long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+            latencyBuckets[bucket(latencyMillis)].add(puts);
+            latencyCount.add(puts);
+            latencySum.add(latencyMillis * puts);
+        }
+
+        static int bucket(long latencyMillis) {
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                if (latencyMillis <= LATENCY_BUCKETS[i]) {
+                    return i;
+                }
+            }
+            return LATENCY_BUCKETS.length;
+        }
+
+        void fail(int puts) {
+            failCount.add(puts);
+        }
+
+        void shed(int puts) {
+            shedCount.add(puts);
+        }
+
+        /**
+         * @param index index of {@link #LATENCY_BUCKETS}, or its length for the last bucket
+         * @return number of puts in the bucket
+         */
+        public long getLatencyBucketCount(int index) {
+            return latencyBuckets[index].sum();
+        }
+
+        public long getLatencyCount() {
+            return latencyCount.sum();
+        }
+
+        public long getLatencySum() {
+            return latencySum.sum();
+        }
+
+        public long getFailCount() {
+            return failCount.sum();
+        }
+
+        public long getShedCount() {
+            return shedCount.sum();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "AsyncPollerStats{" +
+                "name='" + name + '\'' +
+                ", pollers=" + pollers.size() +
+                ", tables=" + tables.keySet() +
+                '}';
+    }
+}
@@ -11,9 +11,11 @@ import org.apache.logging.log4j.Logger;
 import java.io.Closeable;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CompletableFuture;
@@ -32,15 +34,29 @@ public class AsyncPollerThread implements Closeable {
     private final int writeBufferSize;
     private final int writeBufferPeriodicFlush;
     private final int pollTimeout;
+    private final boolean coalesce;
+
+    private final InFlightBudget budget;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockTimeout;
+    private final Set<String> priorityTables;
+    private final AsyncPollerStats stats;
 
     private final Thread thread;
     private final AtomicBoolean runState = new AtomicBoolean(true);
 
     public static final RequestNotPermittedException OVERFLOW = new RequestNotPermittedException("write queue is full", false);
+    public static final RequestNotPermittedException BUDGET_EXCEEDED = new RequestNotPermittedException("in-flight bytes exceeded", false);
 
     public AsyncPollerThread(String id, TableWriterFactory writerFactory,
                              AsyncPollerOption option) {
+        this(id, writerFactory, option, new AsyncPollerStats(id));
+    }
+
+    public AsyncPollerThread(String id, TableWriterFactory writerFactory,
+                             AsyncPollerOption option, AsyncPollerStats stats) {
         this.writerFactory = Objects.requireNonNull(writerFactory, "writerFactory");
+        this.stats = Objects.requireNonNull(stats, "stats");
 
         this.queueSize = option.getQueueSize();
         this.queue = new ArrayBlockingQueue<>(queueSize);
@@ -48,6 +64,13 @@ public class AsyncPollerThread implements Closeable {
         this.writeBufferSize = option.getWriteBufferSize();
         this.writeBufferPeriodicFlush = option.getWriteBufferPeriodicFlush();
         this.pollTimeout = Math.max(writeBufferPeriodicFlush / 4, 20);
+        this.coalesce = option.isCoalesce();
+
+        this.budget = new InFlightBudget(option.getMaxInFlightBytes());
+        this.overflowPolicy = Objects.requireNonNull(option.getOverflowPolicy(), "overflowPolicy");
+        this.blockTimeout = option.getBlockTimeout();
+        this.priorityTables = new HashSet<>(option.getPriorityTables());
+        this.stats.register(this);
 
         this.thread = new Thread(this::dispatch, id);
         this.thread.setDaemon(true);
@@ -61,14 +84,66 @@ public class AsyncPollerThread implements Closeable {
             return FutureUtils.newFutureList(() -> CompletableFuture.failedFuture(new IllegalStateException("closed")), puts.size());
         }
 
+        final long bytes = heapSize(puts);
+        if (!acquire(tableName, bytes)) {
+            tLogger.info("in-flight bytes exceeded {} {}", tableName, budget);
+            stats.getTableStats(tableName).shed(puts.size());
+            return FutureUtils.newFutureList(() -> CompletableFuture.failedFuture(BUDGET_EXCEEDED), puts.size());
+        }
+
         WriteRequest writeRequest = new WriteRequest(tableName, puts);
         if (this.queue.offer(writeRequest)) {
+            releaseOnComplete(writeRequest.getFutures(), bytes);
             return writeRequest.getFutures();
         }
+        budget.release(bytes);
+        stats.getTableStats(tableName).shed(puts.size());
         tLogger.info("write queue overflow");
         return FutureUtils.newFutureList(() -> CompletableFuture.failedFuture(OVERFLOW), puts.size());
     }
 
+    private boolean acquire(TableName tableName, long bytes) {
+        if (budget.tryAcquire(bytes)) {
+            return true;
+        }
+        if (overflowPolicy == OverflowPolicy.SHED && !isPriority(tableName)) {
+            return false;
+        }
+        try {
+            return budget.acquire(bytes, blockTimeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private boolean isPriority(TableName tableName) {
+        if (priorityTables.isEmpty()) {
+            return false;
+        }
+        return priorityTables.contains(tableName.getQualifierAsString());
+    }
+
+    private static long heapSize(List<Put> puts) {
+        long size = 0;
+        for (Put put : puts) {
+            size += put.heapSize();
+        }
+        return size;
+    }
+
+    private void releaseOnComplete(List<CompletableFuture<Void>> futures, long bytes) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                .whenComplete((v, t) -> budget.release(bytes));
+    }
+
+    long getQueueDepth() {
+        return queue.size();
+    }
+
+    long getInFlightBytes() {
+        return budget.getInFlightBytes();
+    }
 
     public void dispatch() {
         while (isRun()) {
@@ -88,7 +163,9 @@ public class AsyncPollerThread implements Closeable {
                     List<Put> puts = getPuts(writes);
 
                     AsyncTableWriterFactory.Writer writer = this.writerFactory.writer(tableName);
-                    List<CompletableFuture<Void>> hbaseResults = writer.put(puts);
+                    final long startTime = System.nanoTime();
+                    List<CompletableFuture<Void>> hbaseResults = put(writer, puts);
+                    recordLatency(tableName, hbaseResults, startTime);
                     addListeners(hbaseResults, writes);
                 }
             } catch (Throwable th) {
@@ -101,6 +178,30 @@ public class AsyncPollerThread implements Closeable {
         logger.info("dispatch terminated {}", this.thread.getName());
     }
 
+    private List<CompletableFuture<Void>> put(TableWriterFactory.Writer writer, List<Put> puts) {
+        if (!coalesce) {
+            return writer.put(puts);
+        }
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(puts);
+        if (logger.isDebugEnabled()) {
+            logger.debug("coalesce {} puts:{} -> {}", this.thread.getName(), puts.size(), coalesced.getPuts().size());
+        }
+        List<CompletableFuture<Void>> hbaseResults = writer.put(coalesced.getPuts());
+        return coalesced.expand(hbaseResults);
+    }
+
+    private void recordLatency(TableName tableName, List<CompletableFuture<Void>> hbaseResults, long startTime) {
+        final AsyncPollerStats.TableStats tableStats = stats.getTableStats(tableName);
+        final int size = hbaseResults.size();
+        CompletableFuture.allOf(hbaseResults.toArray(new CompletableFuture[0]))
+                .whenComplete((v, t) -> {
+                    tableStats.latency(System.nanoTime() - startTime, size);
+                    if (t != null) {
+                        tableStats.fail(size);
+                    }
+                });
+    }
+
     private boolean isRun() {
         return runState.get();
     }
@@ -197,6 +298,10 @@ public class AsyncPollerThread implements Closeable {
                 ", writeBufferSize=" + writeBufferSize +
                 ", writeBufferPeriodicFlush=" + writeBufferPeriodicFlush +
                 ", pollTimeout=" + pollTimeout +
+                ", coalesce=" + coalesce +
+                ", budget=" + budget +
+                ", overflowPolicy=" + overflowPolicy +
+                ", priorityTables=" + priorityTables +
                 ", thread=" + thread +
                 '}';
     }
@@ -16,18 +16,24 @@ public class AsyncPollingPutWriter implements HbasePutWriter, Closeable {
 
 
     public AsyncPollingPutWriter(String name, TableWriterFactory factory, AsyncPollerOption option) {
+        this(name, factory, option, new AsyncPollerStats(name));
+    }
+
+    public AsyncPollingPutWriter(String name, TableWriterFactory factory, AsyncPollerOption option, AsyncPollerStats stats) {
         Objects.requireNonNull(name, "name");
         Objects.requireNonNull(factory, "factory");
         Objects.requireNonNull(option, "option");
+        Objects.requireNonNull(stats, "stats");
 
-        this.pollers = newAsyncWriteExecutors(name, factory, option);
+        this.pollers = newAsyncWriteExecutors(name, factory, option, stats);
     }
 
     @SuppressWarnings("resource")
-    private AsyncPollerThread[] newAsyncWriteExecutors(String name, TableWriterFactory writerFactory, AsyncPollerOption option) {
+    private AsyncPollerThread[] newAsyncWriteExecutors(String name, TableWriterFactory writerFactory,
+                                                       AsyncPollerOption option, AsyncPollerStats stats) {
         final AsyncPollerThread[] pollers =  new AsyncPollerThread[option.getParallelism()];
         for (int i = 0; i < pollers.length; i++) {
-            pollers[i] = new AsyncPollerThread(name + i, writerFactory, option);
+            pollers[i] = new AsyncPollerThread(name + i, writerFactory, option, stats);
         }
         return pollers;
     }
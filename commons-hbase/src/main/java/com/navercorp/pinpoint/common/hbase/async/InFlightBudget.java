@@ -0,0 +1,109 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.common.hbase.async;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bytes of the puts that are queued or sent to hbase and not completed yet.
+ * <p>
+ * A request larger than the whole budget is accepted when nothing is in flight, so it can not wait forever.
+ */
+class InFlightBudget {
+
+    private final long maxBytes;
+    private final AtomicLong inFlightBytes = new AtomicLong();
+
+    private final Object lock = new Object();
+    // guarded by lock
+    private int waiters;
+
+    InFlightBudget(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    boolean isUnlimited() {
+        return maxBytes <= 0;
+    }
+
+    boolean tryAcquire(long bytes) {
+        if (isUnlimited()) {
+            inFlightBytes.addAndGet(bytes);
+            return true;
+        }
+        while (true) {
+            final long current = inFlightBytes.get();
+            final long next = current + bytes;
+            if (next > maxBytes && current > 0) {
+                return false;
+            }
+            if (inFlightBytes.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    boolean acquire(long bytes, long timeout, TimeUnit unit) throws InterruptedException {
+        if (tryAcquire(bytes)) {
+            return true;
+        }
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (lock) {
+            waiters++;
+            try {
+                while (!tryAcquire(bytes)) {
+                    final long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        return false;
+                    }
+                    TimeUnit.NANOSECONDS.timedWait(lock, remaining);
+                }
+                return true;
+            } finally {
+                waiters--;
+            }
+        }
+    }
+
+    void release(long bytes) {
+        inFlightBytes.addAndGet(-bytes);
+        if (isUnlimited()) {
+            return;
+        }
+        synchronized (lock) {
+            if (waiters > 0) {
+                lock.notifyAll();
+            }
+        }
+    }
+
+    long getInFlightBytes() {
+        return inFlightBytes.get();
+    }
+
+    long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return "InFlightBudget{" +
+                "maxBytes=" + maxBytes +
+                ", inFlightBytes=" + inFlightBytes +
+                '}';
+    }
+}
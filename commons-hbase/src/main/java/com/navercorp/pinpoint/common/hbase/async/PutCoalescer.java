@@ -0,0 +1,130 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.async;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Merges the Puts of the same row in a write buffer into one multi-column Put.
+ * <p>
+ * Spans and span chunks of one transaction share the row key, and the puts of a row always go to the same poller,
+ * so the span chunks of async heavy services are written with a single mutation per row instead of one per chunk.
+ * Cells keep their own timestamp. Puts with attributes (ttl, acl, ...) or another durability are not merged.
+ */
+final class PutCoalescer {
+
+    private PutCoalescer() {
+    }
+
+    static Coalesced coalesce(List<Put> puts) {
+        final int size = puts.size();
+        final int[] index = new int[size];
+        if (size <= 1) {
+            return new Coalesced(puts, index);
+        }
+
+        final List<Put> merged = new ArrayList<>(size);
+        final BitSet copied = new BitSet();
+        final Map<ByteBuffer, Integer> rows = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            final Put put = puts.get(i);
+            final ByteBuffer row = ByteBuffer.wrap(put.getRow());
+            final Integer target = rows.get(row);
+            if (target != null && mergeable(merged.get(target), put)) {
+                if (!copied.get(target)) {
+                    // do not modify the put of the caller
+                    merged.set(target, copy(merged.get(target)));
+                    copied.set(target);
+                }
+                addCells(merged.get(target), put);
+                index[i] = target;
+                continue;
+            }
+            rows.put(row, merged.size());
+            index[i] = merged.size();
+            merged.add(put);
+        }
+        if (merged.size() == size) {
+            return new Coalesced(puts, index);
+        }
+        return new Coalesced(merged, index);
+    }
+
+    private static boolean mergeable(Put target, Put put) {
+        return target.getDurability() == put.getDurability()
+                && target.getAttributesMap().isEmpty()
+                && put.getAttributesMap().isEmpty();
+    }
+
+    private static Put copy(Put put) {
+        final Put copy = new Put(put.getRow(), put.getTimestamp(), true);
+        copy.setDurability(put.getDurability());
+        addCells(copy, put);
+        return copy;
+    }
+
+    private static void addCells(Put target, Put put) {
+        try {
+            for (List<Cell> cells : put.getFamilyCellMap().values()) {
+                for (Cell cell : cells) {
+                    target.add(cell);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static class Coalesced {
+        private final List<Put> puts;
+        private final int[] index;
+
+        private Coalesced(List<Put> puts, int[] index) {
+            this.puts = puts;
+            this.index = index;
+        }
+
+        List<Put> getPuts() {
+            return puts;
+        }
+
+        /**
+         * @return the result of every original put, in the original order
+         */
+        <T> List<CompletableFuture<T>> expand(List<CompletableFuture<T>> results) {
+            if (puts.size() == index.length) {
+                return results;
+            }
+            final List<CompletableFuture<T>> expanded = new ArrayList<>(index.length);
+            for (int target : index) {
+                expanded.add(results.get(target));
+            }
+            return expanded;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.navercorp.pinpoint.common.hbase.async.AsyncBufferedMutatorFactory;
 import com.navercorp.pinpoint.common.hbase.async.AsyncConnectionFactoryBean;
 import com.navercorp.pinpoint.common.hbase.async.AsyncHbasePutWriter;
 import com.navercorp.pinpoint.common.hbase.async.AsyncPollerOption;
+import com.navercorp.pinpoint.common.hbase.async.AsyncPollerStats;
 import com.navercorp.pinpoint.common.hbase.async.AsyncPollingPutWriter;
 import com.navercorp.pinpoint.common.hbase.async.AsyncTableFactory;
 import com.navercorp.pinpoint.common.hbase.async.AsyncTableWriterFactory;
@@ -20,6 +21,10 @@ import com.navercorp.pinpoint.common.hbase.async.LoggingHbasePutWriter;
 import com.navercorp.pinpoint.common.hbase.async.RoundRobinSelector;
 import com.navercorp.pinpoint.common.hbase.async.SimpleConnectionSelector;
 import com.navercorp.pinpoint.common.hbase.async.TableWriterFactory;
+import com.navercorp.pinpoint.common.hbase.spill.SpillHbasePutWriter;
+import com.navercorp.pinpoint.common.hbase.spill.SpillLog;
+import com.navercorp.pinpoint.common.hbase.spill.SpillOption;
+import com.navercorp.pinpoint.common.util.StringUtils;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.client.AsyncConnection;
 import org.apache.hadoop.hbase.security.User;
@@ -32,6 +37,8 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -58,6 +65,11 @@ public class HbasePutWriterConfiguration {
             return putWriter;
         }
 
+        @Bean
+        public AsyncPollerStats defaultAsyncPollerStats() {
+            return new AsyncPollerStats("hbaseAsyncPoller");
+        }
+
         @Bean
         public HbasePutWriterDecorator concurrencyDecorator(@Value("${hbase.client.put-writer.concurrency-limit:100000}") int concurrency) {
             return new ConcurrencyDecorator(concurrency);
@@ -71,6 +83,11 @@ public class HbasePutWriterConfiguration {
             return putWriter;
         }
 
+        @Bean
+        public AsyncPollerStats spanAsyncPollerStats() {
+            return new AsyncPollerStats("spanAsyncPoller");
+        }
+
         @Bean
         public HbasePutWriterDecorator spanConcurrencyDecorator(@Value("${hbase.client.span-put-writer.concurrency-limit:1000000}") int concurrency) {
             return new ConcurrencyDecorator(concurrency);
@@ -116,6 +133,11 @@ public class HbasePutWriterConfiguration {
             return hbasePutWriter;
         }
 
+        @Bean
+        public AsyncPollerStats defaultAsyncPollerStats() {
+            return new AsyncPollerStats("hbaseAsyncPoller");
+        }
+
         @Bean
         public HbasePutWriterDecorator concurrencyDecorator(@Value("${hbase.client.put-writer.concurrency-limit:100000}") int concurrency) {
             return new ConcurrencyDecorator(concurrency);
@@ -129,6 +151,11 @@ public class HbasePutWriterConfiguration {
             return hbasePutWriter;
         }
 
+        @Bean
+        public AsyncPollerStats spanAsyncPollerStats() {
+            return new AsyncPollerStats("spanAsyncPoller");
+        }
+
         @Bean
         public HbasePutWriterDecorator spanConcurrencyDecorator(@Value("${hbase.client.span-put-writer.concurrency-limit:1000000}") int concurrency) {
             return new ConcurrencyDecorator(concurrency);
@@ -161,10 +188,12 @@ public class HbasePutWriterConfiguration {
         public HbasePutWriter hbasePutWriter(@Qualifier("hbaseAsyncConnection") AsyncConnection connection,
                                              @Qualifier("concurrencyDecorator") HbasePutWriterDecorator decorator,
                                              @Qualifier("defaultPollerOption")
-                                             AsyncPollerOption option) {
+                                             AsyncPollerOption option,
+                                             @Qualifier("defaultAsyncPollerStats")
+                                             AsyncPollerStats stats) {
 
             TableWriterFactory factory = new AsyncTableWriterFactory(connection);
-            HbasePutWriter hbasePutWriter = newPollerWriter("hbaseAsyncPoller-", factory, decorator, option);
+            HbasePutWriter hbasePutWriter = newPollerWriter("hbaseAsyncPoller-", factory, decorator, option, stats);
             logger.info("HbasePollerPutWriter {}", hbasePutWriter);
             return hbasePutWriter;
         }
@@ -175,6 +204,11 @@ public class HbasePutWriterConfiguration {
             return new AsyncPollerOption();
         }
 
+        @Bean
+        public AsyncPollerStats defaultAsyncPollerStats() {
+            return new AsyncPollerStats("hbaseAsyncPoller");
+        }
+
         @Bean
         public HbasePutWriterDecorator concurrencyDecorator(@Value("${hbase.client.put-writer.concurrency-limit:100000}") int concurrency) {
             return new ConcurrencyDecorator(concurrency);
@@ -215,14 +249,37 @@ public class HbasePutWriterConfiguration {
         public HbasePutWriter spanPutWriter(@Qualifier("spanAsyncConnection") ConnectionSelector connection,
                                             @Qualifier("spanConcurrencyDecorator") HbasePutWriterDecorator decorator,
                                             @Qualifier("defaultPollerOption")
-                                            AsyncPollerOption option) {
+                                            AsyncPollerOption option,
+                                            @Qualifier("spanAsyncPollerStats")
+                                            AsyncPollerStats stats,
+                                            @Qualifier("spanSpillOption")
+                                            SpillOption spillOption) throws IOException {
 
             TableWriterFactory factory = new AsyncTableWriterSelectorFactory(connection);
-            HbasePutWriter hbasePutWriter = newPollerWriter("spanAsyncPoller-", factory, decorator, option);
+            HbasePutWriter hbasePutWriter = newPollerWriter("spanAsyncPoller-", factory, decorator, option, stats);
+            if (spillOption.isEnable()) {
+                logger.info("SpanSpillOption {}", spillOption);
+                if (!StringUtils.hasText(spillOption.getDirectory())) {
+                    throw new IllegalStateException("hbase.client.put-writer.span-spill.directory is required");
+                }
+                SpillLog spillLog = new SpillLog(Path.of(spillOption.getDirectory()), spillOption.getSegmentSize(), spillOption.getMaxDiskBytes());
+                hbasePutWriter = new SpillHbasePutWriter("spanSpillReplay", hbasePutWriter, spillLog, spillOption);
+            }
             logger.info("SpanPollerPutWriter {}", hbasePutWriter);
             return hbasePutWriter;
         }
 
+        @ConfigurationProperties(prefix = "hbase.client.put-writer.span-spill")
+        @Bean
+        public SpillOption spanSpillOption() {
+            return new SpillOption();
+        }
+
+        @Bean
+        public AsyncPollerStats spanAsyncPollerStats() {
+            return new AsyncPollerStats("spanAsyncPoller");
+        }
+
         @Bean
         public HbasePutWriterDecorator spanConcurrencyDecorator(@Value("${hbase.client.span-put-writer.concurrency-limit:1000000}") int concurrency) {
             return new ConcurrencyDecorator(concurrency);
@@ -231,8 +288,9 @@ public class HbasePutWriterConfiguration {
         private HbasePutWriter newPollerWriter(String name,
                                                TableWriterFactory factory,
                                                HbasePutWriterDecorator decorator,
-                                               AsyncPollerOption option) {
-            HbasePutWriter writer = new AsyncPollingPutWriter(name, factory, option);
+                                               AsyncPollerOption option,
+                                               AsyncPollerStats stats) {
+            HbasePutWriter writer = new AsyncPollingPutWriter(name, factory, option, stats);
             HbasePutWriter putWriter = decorator.decorator(writer);
             return new LoggingHbasePutWriter(putWriter);
         }
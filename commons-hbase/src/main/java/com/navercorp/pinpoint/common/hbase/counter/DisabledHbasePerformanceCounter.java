@@ -49,4 +49,9 @@ public class DisabledHbasePerformanceCounter implements HBaseBatchPerformance {
         return -1L;
     }
 
+    @Override
+    public Long getOpsAverageLatency() {
+        return -1L;
+    }
+
 }
\ No newline at end of file
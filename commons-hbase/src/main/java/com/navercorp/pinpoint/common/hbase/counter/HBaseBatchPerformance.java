@@ -32,4 +32,6 @@ public interface HBaseBatchPerformance {
 
     Long getOpsFailedCount();
 
+    Long getOpsAverageLatency();
+
 }
\ No newline at end of file
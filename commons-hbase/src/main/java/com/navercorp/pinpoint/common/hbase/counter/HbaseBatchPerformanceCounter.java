@@ -27,6 +27,9 @@ public class HbaseBatchPerformanceCounter implements HBaseBatchPerformance {
 
     private final LongAdder currentOpsCounter = new LongAdder();
 
+    private final LongAdder latencyTotal = new LongAdder();
+    private final LongAdder latencyCount = new LongAdder();
+
 
 
     public void opsCount() {
@@ -63,6 +66,16 @@ public class HbaseBatchPerformanceCounter implements HBaseBatchPerformance {
         this.currentOpsCounter.decrement();
     }
 
+    public void opsFailed(int size) {
+        this.opsFailedCount.add(size);
+        this.currentOpsCounter.add(-size);
+    }
+
+    public void latency(long latencyMillis) {
+        this.latencyTotal.add(latencyMillis);
+        this.latencyCount.increment();
+    }
+
 
 
     @Override
@@ -90,6 +103,15 @@ public class HbaseBatchPerformanceCounter implements HBaseBatchPerformance {
         return opsFailedCount.longValue();
     }
 
+    @Override
+    public Long getOpsAverageLatency() {
+        final long count = latencyCount.longValue();
+        if (count == 0) {
+            return 0L;
+        }
+        return latencyTotal.longValue() / count;
+    }
+
 
 
 }
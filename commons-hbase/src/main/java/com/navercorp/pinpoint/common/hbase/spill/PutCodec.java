@@ -0,0 +1,139 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Durability;
+import org.apache.hadoop.hbase.client.Put;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serializes a Put and its table into a spill record.
+ * <pre>
+ * version table row timestamp durability attributes(count name value) cells(count family qualifier timestamp value)
+ * </pre>
+ */
+final class PutCodec {
+
+    private static final byte VERSION = 1;
+
+    private PutCodec() {
+    }
+
+    static byte[] encode(TableName tableName, Put put) throws IOException {
+        Objects.requireNonNull(tableName, "tableName");
+        Objects.requireNonNull(put, "put");
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream((int) Math.min(put.heapSize(), 1024 * 64));
+        final DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(VERSION);
+        out.writeUTF(tableName.getNameAsString());
+        writeBytes(out, put.getRow());
+        out.writeLong(put.getTimestamp());
+        out.writeUTF(put.getDurability().name());
+
+        final Map<String, byte[]> attributes = put.getAttributesMap();
+        out.writeInt(attributes.size());
+        for (Map.Entry<String, byte[]> attribute : attributes.entrySet()) {
+            out.writeUTF(attribute.getKey());
+            writeBytes(out, attribute.getValue());
+        }
+
+        out.writeInt(put.size());
+        for (List<Cell> cells : put.getFamilyCellMap().values()) {
+            for (Cell cell : cells) {
+                writeBytes(out, CellUtil.cloneFamily(cell));
+                writeBytes(out, CellUtil.cloneQualifier(cell));
+                out.writeLong(cell.getTimestamp());
+                writeBytes(out, CellUtil.cloneValue(cell));
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static SpilledPut decode(byte[] payload) throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        final byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported version:" + version);
+        }
+        final TableName tableName = TableName.valueOf(in.readUTF());
+        final byte[] row = readBytes(in);
+        final long timestamp = in.readLong();
+        final Put put = new Put(row, timestamp, true);
+        put.setDurability(Durability.valueOf(in.readUTF()));
+
+        final int attributes = in.readInt();
+        for (int i = 0; i < attributes; i++) {
+            put.setAttribute(in.readUTF(), readBytes(in));
+        }
+
+        final int cells = in.readInt();
+        for (int i = 0; i < cells; i++) {
+            final byte[] family = readBytes(in);
+            final byte[] qualifier = readBytes(in);
+            final long cellTimestamp = in.readLong();
+            final byte[] value = readBytes(in);
+            put.addColumn(family, qualifier, cellTimestamp, value);
+        }
+        return new SpilledPut(tableName, put);
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static byte[] readBytes(DataInputStream in) throws IOException {
+        final int length = in.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid length:" + length);
+        }
+        final byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return bytes;
+    }
+
+    static class SpilledPut {
+        private final TableName tableName;
+        private final Put put;
+
+        SpilledPut(TableName tableName, Put put) {
+            this.tableName = tableName;
+            this.put = put;
+        }
+
+        TableName getTableName() {
+            return tableName;
+        }
+
+        Put getPut() {
+            return put;
+        }
+    }
+}
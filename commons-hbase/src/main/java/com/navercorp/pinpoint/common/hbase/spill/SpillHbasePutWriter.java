@@ -0,0 +1,413 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import com.navercorp.pinpoint.common.hbase.util.FutureUtils;
+import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
+import com.navercorp.pinpoint.common.profiler.logging.ThrottledLogger;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RetriesExhaustedException;
+import org.apache.hadoop.hbase.exceptions.ConnectionClosedException;
+import org.apache.hadoop.hbase.exceptions.TimeoutIOException;
+import org.apache.hadoop.hbase.ipc.CallTimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes the puts that failed or were rejected by the delegate to a {@link SpillLog},
+ * and replays them in order at {@code replayRate} once hbase accepts writes again.
+ * <p>
+ * A spilled put completes its future successfully. When the disk budget or the write queue is exhausted the put fails with the original error.
+ * The spill log is written by a single writer thread, not by the hbase callback thread, which also flushes it to disk every {@code forceInterval}.
+ * <p>
+ * Replay is at-least-once, a replayed put carries its original timestamps so writing it twice is harmless.
+ * A put which still fails after {@code maxReplayAttempts} is skipped and counted, so it can not hold back the rest of the log.
+ * An attempt counts only while hbase is reachable: while every put of the batch fails with a connection or timeout error,
+ * the batch is retried every {@code retryInterval} without a limit and nothing is committed.
+ */
+public class SpillHbasePutWriter implements HbasePutWriter, Closeable {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+    private final ThrottledLogger tLogger = ThrottledLogger.getLogger(logger, 1000);
+
+    private final HbasePutWriter delegate;
+    private final SpillLog spillLog;
+
+    private final int replayBatchSize;
+    private final long replayIntervalNanos;
+    private final long replayTimeout;
+    private final long retryInterval;
+    private final int maxReplayAttempts;
+    private final int writeQueueSize;
+
+    private final LongAdder spilledCount = new LongAdder();
+    private final LongAdder replayedCount = new LongAdder();
+    private final LongAdder droppedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+
+    private final ScheduledExecutorService writer;
+    private final AtomicInteger pendingWrites = new AtomicInteger();
+
+    private final Object signal = new Object();
+    private final Thread replayThread;
+    private final AtomicBoolean runState = new AtomicBoolean(true);
+
+    public SpillHbasePutWriter(String name, HbasePutWriter delegate, SpillLog spillLog, SpillOption option) {
+        Objects.requireNonNull(name, "name");
+        this.delegate = Objects.requireNonNull(delegate, "delegate");
+        this.spillLog = Objects.requireNonNull(spillLog, "spillLog");
+        Objects.requireNonNull(option, "option");
+
+        this.replayBatchSize = Math.max(option.getReplayBatchSize(), 1);
+        if (option.getReplayRate() <= 0) {
+            throw new IllegalArgumentException("replayRate must be positive:" + option.getReplayRate());
+        }
+        this.replayIntervalNanos = TimeUnit.SECONDS.toNanos(1) / option.getReplayRate();
+        this.replayTimeout = option.getReplayTimeout();
+        this.retryInterval = option.getRetryInterval();
+        this.maxReplayAttempts = Math.max(option.getMaxReplayAttempts(), 1);
+        this.writeQueueSize = Math.max(option.getWriteQueueSize(), 1);
+
+        this.writer = Executors.newSingleThreadScheduledExecutor(PinpointThreadFactory.createThreadFactory(name + "-writer", true));
+        if (option.getForceInterval() > 0) {
+            this.writer.scheduleWithFixedDelay(this::force, option.getForceInterval(), option.getForceInterval(), TimeUnit.MILLISECONDS);
+        }
+
+        this.replayThread = new Thread(this::replay, name);
+        this.replayThread.setDaemon(true);
+        this.replayThread.start();
+    }
+
+    @Override
+    public CompletableFuture<Void> put(TableName tableName, Put put) {
+        CompletableFuture<Void> future;
+        try {
+            future = delegate.put(tableName, put);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        return spillOnFailure(tableName, put, future);
+    }
+
+    @Override
+    public List<CompletableFuture<Void>> put(TableName tableName, List<Put> puts) {
+        List<CompletableFuture<Void>> futures;
+        try {
+            futures = delegate.put(tableName, puts);
+        } catch (RuntimeException e) {
+            futures = FutureUtils.newFutureList(() -> CompletableFuture.failedFuture(e), puts.size());
+        }
+        if (futures.size() != puts.size()) {
+            // empty puts
+            return futures;
+        }
+        final List<CompletableFuture<Void>> results = new ArrayList<>(puts.size());
+        for (int i = 0; i < puts.size(); i++) {
+            results.add(spillOnFailure(tableName, puts.get(i), futures.get(i)));
+        }
+        return results;
+    }
+
+    private CompletableFuture<Void> spillOnFailure(TableName tableName, Put put, CompletableFuture<Void> future) {
+        final CompletableFuture<Void> result = new CompletableFuture<>();
+        future.whenComplete((v, throwable) -> {
+            if (throwable == null) {
+                result.complete(null);
+                return;
+            }
+            spillAsync(tableName, put, throwable, result);
+        });
+        return result;
+    }
+
+    private void spillAsync(TableName tableName, Put put, Throwable cause, CompletableFuture<Void> result) {
+        if (pendingWrites.incrementAndGet() > writeQueueSize) {
+            pendingWrites.decrementAndGet();
+            drop("Spill write queue is full", result, cause);
+            return;
+        }
+        try {
+            writer.execute(() -> {
+                pendingWrites.decrementAndGet();
+                if (spill(tableName, put)) {
+                    result.complete(null);
+                } else {
+                    result.completeExceptionally(cause);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pendingWrites.decrementAndGet();
+            drop("Spill writer is closed", result, cause);
+        }
+    }
+
+    private void drop(String message, CompletableFuture<Void> result, Throwable cause) {
+        droppedCount.increment();
+        if (tLogger.isInfoEnabled()) {
+            tLogger.info("{} {} dropped:{}", message, spillLog, droppedCount.sum());
+        }
+        result.completeExceptionally(cause);
+    }
+
+    private boolean spill(TableName tableName, Put put) {
+        if (!runState.get()) {
+            return false;
+        }
+        try {
+            if (spillLog.append(PutCodec.encode(tableName, put))) {
+                spilledCount.increment();
+                synchronized (signal) {
+                    signal.notifyAll();
+                }
+                return true;
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to spill {}", tableName, e);
+        }
+        droppedCount.increment();
+        if (tLogger.isInfoEnabled()) {
+            tLogger.info("Spill log is full {} dropped:{}", spillLog, droppedCount.sum());
+        }
+        return false;
+    }
+
+    private void replay() {
+        long nextTime = System.nanoTime();
+        while (runState.get()) {
+            try {
+                final List<SpillRecord> records = spillLog.read(replayBatchSize);
+                if (records.isEmpty()) {
+                    await(retryInterval);
+                    continue;
+                }
+                final List<PutCodec.SpilledPut> puts = decode(records);
+                final List<PutCodec.SpilledPut> failed = replayWithRetry(puts);
+                if (!runState.get()) {
+                    // replayed again after restart
+                    break;
+                }
+                if (!failed.isEmpty()) {
+                    skippedCount.add(failed.size());
+                    logger.warn("Skip {} spilled puts failed {} times. skipped:{}", failed.size(), maxReplayAttempts, skippedCount.sum());
+                }
+                spillLog.commit(records);
+                replayedCount.add(puts.size() - failed.size());
+
+                nextTime = pace(nextTime, records.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (!runState.get()) {
+                    break;
+                }
+            } catch (Throwable th) {
+                logger.warn("Replay error", th);
+            }
+        }
+        logger.info("replay terminated {}", replayThread.getName());
+    }
+
+    private List<PutCodec.SpilledPut> decode(List<SpillRecord> records) {
+        final List<PutCodec.SpilledPut> puts = new ArrayList<>(records.size());
+        for (SpillRecord record : records) {
+            try {
+                puts.add(PutCodec.decode(record.getPayload()));
+            } catch (IOException e) {
+                logger.warn("Skip broken spill record", e);
+            }
+        }
+        return puts;
+    }
+
+    /**
+     * @return the puts which still failed after maxReplayAttempts while hbase was reachable
+     */
+    private List<PutCodec.SpilledPut> replayWithRetry(List<PutCodec.SpilledPut> puts) throws InterruptedException {
+        List<PutCodec.SpilledPut> failed = puts;
+        int attempt = 0;
+        while (runState.get()) {
+            final ReplayResult result = replay(failed);
+            failed = result.failed;
+            if (failed.isEmpty()) {
+                return failed;
+            }
+            // hbase is down, wait for it instead of skipping the batch
+            if (result.reachable && ++attempt >= maxReplayAttempts) {
+                return failed;
+            }
+            TimeUnit.MILLISECONDS.sleep(retryInterval);
+        }
+        return failed;
+    }
+
+    /**
+     * @return the failed puts, only those are retried
+     */
+    private ReplayResult replay(List<PutCodec.SpilledPut> puts) throws InterruptedException {
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(puts.size());
+        for (PutCodec.SpilledPut put : puts) {
+            CompletableFuture<Void> future;
+            try {
+                future = delegate.put(put.getTableName(), put.getPut());
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            futures.add(future);
+        }
+
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(replayTimeout);
+        final List<PutCodec.SpilledPut> failed = new ArrayList<>();
+        // some put succeeded or failed for another reason than an unavailable hbase
+        boolean reachable = false;
+        Exception cause = null;
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+                reachable = true;
+            } catch (ExecutionException | TimeoutException e) {
+                failed.add(puts.get(i));
+                cause = e;
+                if (!isUnavailable(e)) {
+                    reachable = true;
+                }
+            }
+        }
+        if (cause != null && tLogger.isInfoEnabled()) {
+            tLogger.info("Replay failed {}/{} reachable:{}, retry after {}ms. {}", failed.size(), puts.size(), reachable, retryInterval, cause.getMessage());
+        }
+        return new ReplayResult(failed, reachable);
+    }
+
+    /**
+     * @return true if the put failed because hbase can not be reached or does not answer in time
+     */
+    static boolean isUnavailable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException
+                    || cause instanceof RequestNotPermittedException
+                    || cause instanceof RetriesExhaustedException
+                    || cause instanceof CallTimeoutException
+                    || cause instanceof TimeoutIOException
+                    || cause instanceof ConnectionClosedException
+                    || cause instanceof SocketException
+                    || cause instanceof SocketTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class ReplayResult {
+        private final List<PutCodec.SpilledPut> failed;
+        private final boolean reachable;
+
+        private ReplayResult(List<PutCodec.SpilledPut> failed, boolean reachable) {
+            this.failed = failed;
+            this.reachable = reachable;
+        }
+    }
+
+    private void force() {
+        try {
+            spillLog.force();
+        } catch (Throwable th) {
+            logger.warn("Failed to force {}", spillLog, th);
+        }
+    }
+
+    private long pace(long nextTime, int records) throws InterruptedException {
+        final long now = System.nanoTime();
+        // do not burst to catch up after an idle period
+        nextTime = Math.max(nextTime, now - TimeUnit.SECONDS.toNanos(1)) + replayIntervalNanos * records;
+        final long sleep = nextTime - now;
+        if (sleep > 0) {
+            TimeUnit.NANOSECONDS.sleep(sleep);
+        }
+        return nextTime;
+    }
+
+    private void await(long millis) throws InterruptedException {
+        synchronized (signal) {
+            signal.wait(millis);
+        }
+    }
+
+    public long getSpilledCount() {
+        return spilledCount.sum();
+    }
+
+    public long getReplayedCount() {
+        return replayedCount.sum();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.sum();
+    }
+
+    public long getSkippedCount() {
+        return skippedCount.sum();
+    }
+
+    @Override
+    public void close() {
+        logger.info("Close {} spilled:{} replayed:{} dropped:{} skipped:{}", replayThread.getName(),
+                getSpilledCount(), getReplayedCount(), getDroppedCount(), getSkippedCount());
+        // the queued puts are still spilled
+        this.writer.shutdown();
+        try {
+            this.writer.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        this.runState.set(false);
+        this.replayThread.interrupt();
+        try {
+            this.replayThread.join(3000);
+        } catch (InterruptedException ignored) {
+            Thread.currentThread().interrupt();
+        }
+        this.spillLog.close();
+    }
+
+    @Override
+    public String toString() {
+        return "SpillHbasePutWriter{" +
+                "delegate=" + delegate +
+                ", spillLog=" + spillLog +
+                '}';
+    }
+}
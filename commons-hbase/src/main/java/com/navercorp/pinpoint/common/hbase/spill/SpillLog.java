@@ -0,0 +1,228 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of memory-mapped segment files.
+ * <p>
+ * Records are read in the order they were appended. A segment file is deleted once every record in it is committed,
+ * and the segments of a previous process are read before the new ones.
+ * The total size of the segment files is limited to {@code maxDiskBytes}, an append fails beyond it.
+ * <p>
+ * The write segment is flushed to disk on roll, on close and by {@link #force()}, records appended after the last flush
+ * may be lost on a crash of the host.
+ */
+public class SpillLog implements Closeable {
+
+    private static final String SEGMENT_SUFFIX = ".spill";
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final Path directory;
+    private final int segmentSize;
+    private final long maxDiskBytes;
+
+    // oldest first, the last one is the write segment
+    private final ArrayDeque<SpillSegment> segments = new ArrayDeque<>();
+    private SpillSegment writeSegment;
+    private long nextSequence;
+
+    public SpillLog(Path directory, int segmentSize, long maxDiskBytes) throws IOException {
+        this.directory = Objects.requireNonNull(directory, "directory");
+        if (segmentSize <= SpillSegment.HEADER_SIZE) {
+            throw new IllegalArgumentException("segmentSize too small:" + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.maxDiskBytes = maxDiskBytes;
+
+        Files.createDirectories(directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        final List<Path> files = new ArrayList<>();
+        try (Stream<Path> list = Files.list(directory)) {
+            list.filter(path -> path.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .forEach(files::add);
+        }
+        for (Path file : files) {
+            final long sequence = parseSequence(file);
+            if (sequence < 0) {
+                logger.warn("Unknown spill file {}", file);
+                continue;
+            }
+            segments.addLast(SpillSegment.open(sequence, file));
+            nextSequence = Math.max(nextSequence, sequence + 1);
+        }
+        if (!segments.isEmpty()) {
+            logger.info("Recover spill log {} segments:{}", directory, segments.size());
+        }
+    }
+
+    private static long parseSequence(Path file) {
+        final String fileName = file.getFileName().toString();
+        final String sequence = fileName.substring(0, fileName.length() - SEGMENT_SUFFIX.length());
+        try {
+            return Long.parseLong(sequence);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private Path segmentPath(long sequence) {
+        // zero padded so the file names sort in order
+        return directory.resolve(String.format("%020d%s", sequence, SEGMENT_SUFFIX));
+    }
+
+    /**
+     * @return false if the record does not fit in a segment or the disk budget is exhausted
+     */
+    public synchronized boolean append(byte[] payload) throws IOException {
+        Objects.requireNonNull(payload, "payload");
+        if (payload.length == 0 || SpillSegment.HEADER_SIZE + payload.length > segmentSize) {
+            return false;
+        }
+        if (writeSegment != null && writeSegment.append(payload)) {
+            return true;
+        }
+        if (getDiskBytes() + segmentSize > maxDiskBytes) {
+            return false;
+        }
+        if (writeSegment != null) {
+            writeSegment.force();
+        }
+        final long sequence = nextSequence++;
+        writeSegment = SpillSegment.create(sequence, segmentPath(sequence), segmentSize);
+        segments.addLast(writeSegment);
+        return writeSegment.append(payload);
+    }
+
+    /**
+     * Reads the records after the last read one. The records are read again after a restart until they are committed.
+     */
+    public synchronized List<SpillRecord> read(int maxRecords) {
+        final List<SpillRecord> records = new ArrayList<>();
+        for (SpillSegment segment : segments) {
+            if (segment.isExhausted()) {
+                continue;
+            }
+            final boolean sealed = segment != writeSegment;
+            while (records.size() < maxRecords) {
+                final SpillRecord record = read(segment, sealed);
+                if (record == null) {
+                    break;
+                }
+                records.add(record);
+            }
+            if (records.size() >= maxRecords || !segment.isExhausted()) {
+                break;
+            }
+        }
+        removeDone();
+        return records;
+    }
+
+    private SpillRecord read(SpillSegment segment, boolean sealed) {
+        try {
+            return segment.read(sealed);
+        } catch (SpillSegment.CorruptedRecordException e) {
+            logger.warn("Skip the rest of the spill segment. {}", e.getMessage());
+            if (segment == writeSegment) {
+                writeSegment = null;
+            }
+            return null;
+        }
+    }
+
+    public synchronized void commit(List<SpillRecord> records) {
+        for (SpillRecord record : records) {
+            record.getSegment().commit(record);
+        }
+        removeDone();
+    }
+
+    private void removeDone() {
+        while (!segments.isEmpty()) {
+            final SpillSegment segment = segments.peekFirst();
+            if (segment != writeSegment) {
+                segment.checkExhausted();
+            }
+            if (!segment.isDone()) {
+                return;
+            }
+            segments.pollFirst();
+            try {
+                Files.deleteIfExists(segment.getPath());
+            } catch (IOException e) {
+                logger.warn("Failed to delete spill segment {}", segment.getPath(), e);
+            }
+            // every record is committed, nothing refers to the mapping any more
+            segment.unmap();
+        }
+    }
+
+    /**
+     * Flushes the records appended to the write segment to disk.
+     */
+    public synchronized void force() {
+        if (writeSegment != null) {
+            writeSegment.force();
+        }
+    }
+
+    public synchronized long getDiskBytes() {
+        long bytes = 0;
+        for (SpillSegment segment : segments) {
+            bytes += segment.capacity();
+        }
+        return bytes;
+    }
+
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    @Override
+    public synchronized void close() {
+        for (SpillSegment segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpillLog{" +
+                "directory=" + directory +
+                ", segmentSize=" + segmentSize +
+                ", maxDiskBytes=" + maxDiskBytes +
+                '}';
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+public class SpillOption {
+
+    private boolean enable = false;
+
+    private String directory;
+    private int segmentSize = 1024 * 1024 * 64;
+    private long maxDiskBytes = 1024L * 1024 * 1024;
+
+    // puts per second
+    private int replayRate = 1000;
+    private int replayBatchSize = 100;
+    private long replayTimeout = 3000;
+    private long retryInterval = 5000;
+    // a replayed put is skipped after it failed maxReplayAttempts times while hbase was reachable
+    private int maxReplayAttempts = 60;
+
+    // failed puts waiting for the writer thread
+    private int writeQueueSize = 1024 * 10;
+    // interval to flush the write segment to disk
+    private long forceInterval = 1000;
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void setEnable(boolean enable) {
+        this.enable = enable;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public long getMaxDiskBytes() {
+        return maxDiskBytes;
+    }
+
+    public void setMaxDiskBytes(long maxDiskBytes) {
+        this.maxDiskBytes = maxDiskBytes;
+    }
+
+    public int getReplayRate() {
+        return replayRate;
+    }
+
+    public void setReplayRate(int replayRate) {
+        this.replayRate = replayRate;
+    }
+
+    public int getReplayBatchSize() {
+        return replayBatchSize;
+    }
+
+    public void setReplayBatchSize(int replayBatchSize) {
+        this.replayBatchSize = replayBatchSize;
+    }
+
+    public long getReplayTimeout() {
+        return replayTimeout;
+    }
+
+    public void setReplayTimeout(long replayTimeout) {
+        this.replayTimeout = replayTimeout;
+    }
+
+    public long getRetryInterval() {
+        return retryInterval;
+    }
+
+    public void setRetryInterval(long retryInterval) {
+        this.retryInterval = retryInterval;
+    }
+
+    public int getMaxReplayAttempts() {
+        return maxReplayAttempts;
+    }
+
+    public void setMaxReplayAttempts(int maxReplayAttempts) {
+        this.maxReplayAttempts = maxReplayAttempts;
+    }
+
+    public int getWriteQueueSize() {
+        return writeQueueSize;
+    }
+
+    public void setWriteQueueSize(int writeQueueSize) {
+        this.writeQueueSize = writeQueueSize;
+    }
+
+    public long getForceInterval() {
+        return forceInterval;
+    }
+
+    public void setForceInterval(long forceInterval) {
+        this.forceInterval = forceInterval;
+    }
+
+    @Override
+    public String toString() {
+        return "SpillOption{" +
+                "enable=" + enable +
+                ", directory='" + directory + '\'' +
+                ", segmentSize=" + segmentSize +
+                ", maxDiskBytes=" + maxDiskBytes +
+                ", replayRate=" + replayRate +
+                ", replayBatchSize=" + replayBatchSize +
+                ", replayTimeout=" + replayTimeout +
+                ", retryInterval=" + retryInterval +
+                ", maxReplayAttempts=" + maxReplayAttempts +
+                ", writeQueueSize=" + writeQueueSize +
+                ", forceInterval=" + forceInterval +
+                '}';
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+/**
+ * A record read from the {@link SpillLog}, pass it to {@link SpillLog#commit(java.util.List)} after it is replayed.
+ */
+public final class SpillRecord {
+    private final SpillSegment segment;
+    private final int position;
+    private final byte[] payload;
+
+    SpillRecord(SpillSegment segment, int position, byte[] payload) {
+        this.segment = segment;
+        this.position = position;
+        this.payload = payload;
+    }
+
+    SpillSegment getSegment() {
+        return segment;
+    }
+
+    int getPosition() {
+        return position;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+}
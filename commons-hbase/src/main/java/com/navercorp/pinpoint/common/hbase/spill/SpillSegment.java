@@ -0,0 +1,237 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed size memory-mapped segment file of the spill log.
+ * <pre>
+ * record : length(int) crc32(int) payload(length)
+ * </pre>
+ * A length of 0 is the end of the segment, a negative length is a replayed record.
+ * The file is zero filled when it is created, so a record is visible only after its length is written.
+ */
+class SpillSegment {
+
+    static final int HEADER_SIZE = 8;
+
+    private static final Logger logger = LogManager.getLogger(SpillSegment.class);
+    private static final MethodHandle UNMAPPER = lookupUnmapper();
+
+    private final long sequence;
+    private final Path path;
+    private final MappedByteBuffer buffer;
+
+    // guarded by SpillLog
+    private int writePosition;
+    private int readPosition;
+    private int pending;
+    private boolean exhausted;
+
+    private SpillSegment(long sequence, Path path, MappedByteBuffer buffer) {
+        this.sequence = sequence;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static SpillSegment create(long sequence, Path path, int size) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+             FileChannel channel = file.getChannel()) {
+            file.setLength(size);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            return new SpillSegment(sequence, path, buffer);
+        }
+    }
+
+    /**
+     * Opens the segment of a previous process. It is only read, the records are appended to a new segment.
+     */
+    static SpillSegment open(long sequence, Path path) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw");
+             FileChannel channel = file.getChannel()) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+            SpillSegment segment = new SpillSegment(sequence, path, buffer);
+            segment.writePosition = buffer.capacity();
+            return segment;
+        }
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    boolean append(byte[] payload) {
+        final int position = writePosition;
+        if (position + HEADER_SIZE + payload.length > buffer.capacity()) {
+            return false;
+        }
+        buffer.duplicate().position(position + HEADER_SIZE).put(payload);
+        buffer.putInt(position + 4, crc32(payload));
+        // the length is written last
+        buffer.putInt(position, payload.length);
+        writePosition = position + HEADER_SIZE + payload.length;
+        return true;
+    }
+
+    /**
+     * Moves the read position to the next record not yet replayed.
+     * The segment is exhausted when it is sealed and every record is read, or a record does not match its crc.
+     *
+     * @return the next record, or null at the end of the written records
+     * @throws CorruptedRecordException if the record is broken, the rest of the segment is not readable
+     */
+    SpillRecord read(boolean sealed) {
+        while (readPosition + HEADER_SIZE <= writePosition) {
+            final int position = readPosition;
+            final int length = buffer.getInt(position);
+            if (length == 0) {
+                break;
+            }
+            final int size = Math.abs(length);
+            if (length == Integer.MIN_VALUE || position + HEADER_SIZE + size > buffer.capacity()) {
+                exhausted = true;
+                throw new CorruptedRecordException(path + " position:" + position + " length:" + length);
+            }
+            readPosition = position + HEADER_SIZE + size;
+            if (length < 0) {
+                // replayed
+                continue;
+            }
+            final byte[] payload = new byte[size];
+            buffer.duplicate().position(position + HEADER_SIZE).get(payload);
+            if (crc32(payload) != buffer.getInt(position + 4)) {
+                exhausted = true;
+                throw new CorruptedRecordException(path + " position:" + position + " crc mismatch");
+            }
+            pending++;
+            return new SpillRecord(this, position, payload);
+        }
+        if (sealed) {
+            exhausted = true;
+        }
+        return null;
+    }
+
+    /**
+     * Marks the record as replayed, so it is skipped after a restart.
+     */
+    void commit(SpillRecord record) {
+        buffer.putInt(record.getPosition(), -record.getPayload().length);
+        pending--;
+    }
+
+    /**
+     * Marks a sealed segment exhausted when no record is left after the read position.
+     */
+    void checkExhausted() {
+        if (exhausted) {
+            return;
+        }
+        if (readPosition + HEADER_SIZE > writePosition || buffer.getInt(readPosition) == 0) {
+            exhausted = true;
+        }
+    }
+
+    /**
+     * @return true if every record is read and replayed, the file can be deleted
+     */
+    boolean isDone() {
+        return exhausted && pending == 0;
+    }
+
+    boolean isExhausted() {
+        return exhausted;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Releases the mapping of a deleted segment, otherwise the disk space is held until the buffer is garbage collected.
+     * The segment must not be accessed after this.
+     */
+    void unmap() {
+        if (UNMAPPER == null) {
+            return;
+        }
+        try {
+            UNMAPPER.invokeExact((ByteBuffer) buffer);
+        } catch (Throwable th) {
+            logger.warn("Failed to unmap spill segment {}", path, th);
+        }
+    }
+
+    private static MethodHandle lookupUnmapper() {
+        try {
+            final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            final Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            final Object unsafe = field.get(null);
+            final MethodHandle invokeCleaner = MethodHandles.lookup()
+                    .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class));
+            return invokeCleaner.bindTo(unsafe);
+        } catch (Throwable th) {
+            logger.info("Unmapping spill segments is not supported, the mapping is released by gc. {}", th.getMessage());
+            return null;
+        }
+    }
+
+    private static int crc32(byte[] payload) {
+        CRC32 crc32 = new CRC32();
+        crc32.update(payload);
+        return (int) crc32.getValue();
+    }
+
+    static class CorruptedRecordException extends RuntimeException {
+        CorruptedRecordException(String message) {
+            super(message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpillSegment{" +
+                "path=" + path +
+                ", writePosition=" + writePosition +
+                ", readPosition=" + readPosition +
+                ", pending=" + pending +
+                '}';
+    }
+}
@@ -7,9 +7,14 @@ import org.apache.hadoop.hbase.client.Row;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import org.apache.hadoop.hbase.util.Bytes;
+
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 
@@ -48,6 +53,147 @@ class AsyncPollerThreadTest {
         poller.close();
     }
 
+    @Test
+    void write_coalesce() throws Exception {
+        List<Integer> writeSizes = new CopyOnWriteArrayList<>();
+        TableWriterFactory factory = tableName -> puts -> {
+            writeSizes.add(puts.size());
+            return putAll(puts);
+        };
+
+        AsyncPollerOption option = new AsyncPollerOption();
+        option.setQueueSize(100);
+        option.setWriteBufferSize(3);
+        option.setWriteBufferPeriodicFlush(1000);
+        option.setCoalesce(true);
+
+        AsyncPollerThread poller = new AsyncPollerThread("test", factory, option);
+
+        byte[] row = nextBytes(8);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.addAll(poller.write(this.table, List.of(newPut(row, "span"))));
+        futures.addAll(poller.write(this.table, List.of(newPut(row, "chunk1"))));
+        futures.addAll(poller.write(this.table, List.of(newPut(row, "chunk2"))));
+
+        for (int i = 0; i < futures.size(); i++) {
+            Assertions.assertNull(awaitAndGet(futures, i));
+        }
+        Assertions.assertEquals(List.of(1), writeSizes);
+
+        poller.close();
+    }
+
+    @Test
+    void write_shed() throws Exception {
+        List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        TableWriterFactory factory = tableName -> puts -> pending(puts, pending);
+
+        AsyncPollerOption option = new AsyncPollerOption();
+        option.setQueueSize(100);
+        option.setWriteBufferSize(1);
+        option.setMaxInFlightBytes(1);
+        option.setOverflowPolicy(OverflowPolicy.SHED);
+        option.setPriorityTables(List.of("priority"));
+
+        AsyncPollerStats stats = new AsyncPollerStats("test");
+        AsyncPollerThread poller = new AsyncPollerThread("test", factory, option, stats);
+
+        List<CompletableFuture<Void>> future1 = poller.write(this.table, List.of(new Put(nextBytes(8))));
+        Assertions.assertTrue(stats.getInFlightBytes() > 0);
+
+        List<CompletableFuture<Void>> future2 = poller.write(this.table, List.of(new Put(nextBytes(8))));
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> awaitAndGet(future2, 0));
+        Assertions.assertSame(AsyncPollerThread.BUDGET_EXCEEDED, exception.getCause());
+        Assertions.assertEquals(1, stats.getTableStats(this.table).getShedCount());
+
+        // priority tables wait for the budget
+        TableName priority = TableName.valueOf("priority");
+        CompletableFuture<List<CompletableFuture<Void>>> future3 =
+                CompletableFuture.supplyAsync(() -> poller.write(priority, List.of(new Put(nextBytes(8)))));
+        completeAll(pending, 1);
+        Assertions.assertNull(awaitAndGet(future1, 0));
+
+        completeAll(pending, 2);
+        Assertions.assertNull(awaitAndGet(future3.get(1000, TimeUnit.MILLISECONDS), 0));
+        Assertions.assertEquals(0, stats.getTableStats(priority).getShedCount());
+        Assertions.assertEquals(0, stats.getInFlightBytes());
+
+        poller.close();
+    }
+
+    @Test
+    void write_blockTimeout() throws Exception {
+        List<CompletableFuture<Void>> pending = new CopyOnWriteArrayList<>();
+        TableWriterFactory factory = tableName -> puts -> pending(puts, pending);
+
+        AsyncPollerOption option = new AsyncPollerOption();
+        option.setQueueSize(100);
+        option.setWriteBufferSize(1);
+        option.setMaxInFlightBytes(1);
+        option.setOverflowPolicy(OverflowPolicy.BLOCK);
+        option.setBlockTimeout(10);
+
+        AsyncPollerStats stats = new AsyncPollerStats("test");
+        AsyncPollerThread poller = new AsyncPollerThread("test", factory, option, stats);
+
+        List<CompletableFuture<Void>> future1 = poller.write(this.table, List.of(new Put(nextBytes(8))));
+        List<CompletableFuture<Void>> future2 = poller.write(this.table, List.of(new Put(nextBytes(8))));
+        ExecutionException exception = Assertions.assertThrows(ExecutionException.class, () -> awaitAndGet(future2, 0));
+        Assertions.assertSame(AsyncPollerThread.BUDGET_EXCEEDED, exception.getCause());
+
+        completeAll(pending, 1);
+        Assertions.assertNull(awaitAndGet(future1, 0));
+
+        List<CompletableFuture<Void>> future3 = poller.write(this.table, List.of(new Put(nextBytes(8))));
+        completeAll(pending, 2);
+        Assertions.assertNull(awaitAndGet(future3, 0));
+
+        poller.close();
+    }
+
+    @Test
+    void write_latency() throws Exception {
+        TableWriterFactory factory = tableName -> this::putAll;
+
+        AsyncPollerOption option = new AsyncPollerOption();
+        option.setQueueSize(100);
+        option.setWriteBufferSize(2);
+
+        AsyncPollerStats stats = new AsyncPollerStats("test");
+        AsyncPollerThread poller = new AsyncPollerThread("test", factory, option, stats);
+
+        List<CompletableFuture<Void>> futures = poller.write(this.table, List.of(new Put(nextBytes(8)), new Put(nextBytes(8))));
+        Assertions.assertNull(awaitAndGet(futures, 0));
+        Assertions.assertNull(awaitAndGet(futures, 1));
+
+        AsyncPollerStats.TableStats tableStats = stats.getTableStats(this.table);
+        Assertions.assertEquals(2, tableStats.getLatencyCount());
+        Assertions.assertEquals(0, tableStats.getFailCount());
+        Assertions.assertEquals(0, stats.getQueueDepth());
+
+        poller.close();
+    }
+
+    private List<CompletableFuture<Void>> pending(List<? extends Row> puts, List<CompletableFuture<Void>> pending) {
+        List<CompletableFuture<Void>> futures = FutureUtils.newFutureList(CompletableFuture::new, puts.size());
+        pending.addAll(futures);
+        return futures;
+    }
+
+    private void completeAll(List<CompletableFuture<Void>> pending, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (pending.size() < expected && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        pending.forEach(future -> future.complete(null));
+    }
+
+    private Put newPut(byte[] row, String qualifier) {
+        Put put = new Put(row);
+        put.addColumn(Bytes.toBytes("S"), Bytes.toBytes(qualifier), Bytes.toBytes(qualifier));
+        return put;
+    }
+
     private byte[] nextBytes(int size) {
         byte[] bytes = new byte[size];
         random.nextBytes(bytes);
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.async;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+class InFlightBudgetTest {
+
+    @Test
+    void tryAcquire() {
+        InFlightBudget budget = new InFlightBudget(100);
+
+        Assertions.assertTrue(budget.tryAcquire(60));
+        Assertions.assertFalse(budget.tryAcquire(60));
+        Assertions.assertTrue(budget.tryAcquire(40));
+        Assertions.assertEquals(100, budget.getInFlightBytes());
+
+        budget.release(100);
+        Assertions.assertEquals(0, budget.getInFlightBytes());
+    }
+
+    @Test
+    void tryAcquire_oversize() {
+        InFlightBudget budget = new InFlightBudget(100);
+
+        Assertions.assertTrue(budget.tryAcquire(200));
+        Assertions.assertFalse(budget.tryAcquire(1));
+    }
+
+    @Test
+    void unlimited() {
+        InFlightBudget budget = new InFlightBudget(0);
+
+        Assertions.assertTrue(budget.isUnlimited());
+        Assertions.assertTrue(budget.tryAcquire(Integer.MAX_VALUE));
+        Assertions.assertTrue(budget.tryAcquire(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void acquire_timeout() throws Exception {
+        InFlightBudget budget = new InFlightBudget(100);
+        budget.tryAcquire(100);
+
+        Assertions.assertFalse(budget.acquire(1, 10, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void acquire_release() throws Exception {
+        InFlightBudget budget = new InFlightBudget(100);
+        budget.tryAcquire(100);
+
+        CompletableFuture<Boolean> acquired = CompletableFuture.supplyAsync(() -> {
+            try {
+                return budget.acquire(50, 3000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                return false;
+            }
+        });
+        budget.release(100);
+
+        Assertions.assertTrue(acquired.get(3000, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(50, budget.getInFlightBytes());
+    }
+}
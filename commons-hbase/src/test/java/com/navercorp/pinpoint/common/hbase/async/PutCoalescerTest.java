@@ -0,0 +1,105 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.async;
+
+import org.apache.hadoop.hbase.client.Durability;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+class PutCoalescerTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("S");
+
+    @Test
+    void coalesce() {
+        Put span = newPut("row1", "span", 10);
+        Put chunk = newPut("row1", "chunk", 20);
+        Put other = newPut("row2", "span", 30);
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(List.of(span, other, chunk));
+
+        List<Put> puts = coalesced.getPuts();
+        Assertions.assertEquals(2, puts.size());
+
+        Put merged = puts.get(0);
+        Assertions.assertArrayEquals(Bytes.toBytes("row1"), merged.getRow());
+        Assertions.assertEquals(2, merged.size());
+        Assertions.assertTrue(merged.has(FAMILY, Bytes.toBytes("span"), 10));
+        Assertions.assertTrue(merged.has(FAMILY, Bytes.toBytes("chunk"), 20));
+        Assertions.assertSame(other, puts.get(1));
+
+        // the put of the caller is not modified
+        Assertions.assertEquals(1, span.size());
+    }
+
+    @Test
+    void expand() {
+        Put span = newPut("row1", "span", 10);
+        Put other = newPut("row2", "span", 10);
+        Put chunk = newPut("row1", "chunk", 10);
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(List.of(span, other, chunk));
+
+        CompletableFuture<Void> row1 = new CompletableFuture<>();
+        CompletableFuture<Void> row2 = new CompletableFuture<>();
+        List<CompletableFuture<Void>> expanded = coalesced.expand(List.of(row1, row2));
+
+        Assertions.assertEquals(List.of(row1, row2, row1), expanded);
+    }
+
+    @Test
+    void noDuplicateRow() {
+        List<Put> puts = List.of(newPut("row1", "span", 10), newPut("row2", "span", 10));
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(puts);
+
+        Assertions.assertSame(puts, coalesced.getPuts());
+    }
+
+    @Test
+    void durability() {
+        Put put1 = newPut("row1", "span", 10);
+        Put put2 = newPut("row1", "chunk", 10);
+        put2.setDurability(Durability.SKIP_WAL);
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(List.of(put1, put2));
+
+        Assertions.assertEquals(2, coalesced.getPuts().size());
+    }
+
+    @Test
+    void attribute() {
+        Put put1 = newPut("row1", "span", 10);
+        Put put2 = newPut("row1", "chunk", 10);
+        put2.setTTL(1000);
+
+        PutCoalescer.Coalesced coalesced = PutCoalescer.coalesce(List.of(put1, put2));
+
+        Assertions.assertEquals(2, coalesced.getPuts().size());
+    }
+
+    private Put newPut(String row, String qualifier, long timestamp) {
+        Put put = new Put(Bytes.toBytes(row), timestamp, true);
+        put.addColumn(FAMILY, Bytes.toBytes(qualifier), Bytes.toBytes(qualifier));
+        return put;
+    }
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import com.navercorp.pinpoint.common.hbase.RequestNotPermittedException;
+import com.navercorp.pinpoint.common.hbase.async.HbasePutWriter;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Durability;
+import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+class SpillHbasePutWriterTest {
+
+    private static final byte[] FAMILY = Bytes.toBytes("S");
+
+    private final TableName table = TableName.valueOf("table");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void codec() throws Exception {
+        Put put = new Put(Bytes.toBytes("row"), 10, true);
+        put.setDurability(Durability.SKIP_WAL);
+        put.setAttribute("attr", Bytes.toBytes("value"));
+        put.addColumn(FAMILY, Bytes.toBytes("q1"), 20, Bytes.toBytes("v1"));
+        put.addColumn(FAMILY, Bytes.toBytes("q2"), 30, Bytes.toBytes("v2"));
+
+        PutCodec.SpilledPut decoded = PutCodec.decode(PutCodec.encode(table, put));
+
+        Assertions.assertEquals(table, decoded.getTableName());
+        Put result = decoded.getPut();
+        Assertions.assertArrayEquals(put.getRow(), result.getRow());
+        Assertions.assertEquals(10, result.getTimestamp());
+        Assertions.assertEquals(Durability.SKIP_WAL, result.getDurability());
+        Assertions.assertArrayEquals(Bytes.toBytes("value"), result.getAttributesMap().get("attr"));
+        Assertions.assertEquals(2, result.size());
+        Assertions.assertTrue(result.has(FAMILY, Bytes.toBytes("q2"), 30));
+    }
+
+    @Test
+    void spillAndReplay() throws Exception {
+        FailingPutWriter delegate = new FailingPutWriter();
+        SpillOption option = new SpillOption();
+        option.setRetryInterval(10);
+
+        SpillLog spillLog = new SpillLog(directory, 1024 * 64, 1024 * 1024);
+        SpillHbasePutWriter writer = new SpillHbasePutWriter("test", delegate, spillLog, option);
+
+        delegate.fail = true;
+        CompletableFuture<Void> future = writer.put(table, newPut("row1"));
+        List<CompletableFuture<Void>> futures = writer.put(table, List.of(newPut("row2"), newPut("row3")));
+
+        Assertions.assertNull(future.get(1000, TimeUnit.MILLISECONDS));
+        for (CompletableFuture<Void> spilled : futures) {
+            Assertions.assertNull(spilled.get(1000, TimeUnit.MILLISECONDS));
+        }
+        Assertions.assertEquals(3, writer.getSpilledCount());
+
+        delegate.fail = false;
+        awaitReplayed(writer, 3);
+        Assertions.assertEquals(List.of("row1", "row2", "row3"), delegate.written);
+        Assertions.assertTrue(spillLog.read(10).isEmpty());
+
+        writer.close();
+    }
+
+    @Test
+    void diskFull() throws Exception {
+        FailingPutWriter delegate = new FailingPutWriter();
+        delegate.fail = true;
+
+        SpillLog spillLog = new SpillLog(directory, 1024, 0);
+        SpillHbasePutWriter writer = new SpillHbasePutWriter("test", delegate, spillLog, new SpillOption());
+
+        CompletableFuture<Void> future = writer.put(table, newPut("row1"));
+
+        Assertions.assertThrows(ExecutionException.class, () -> future.get(1000, TimeUnit.MILLISECONDS));
+        Assertions.assertEquals(1, writer.getDroppedCount());
+
+        writer.close();
+    }
+
+    @Test
+    void skipAfterMaxReplayAttempts() throws Exception {
+        FailingPutWriter delegate = new FailingPutWriter();
+        SpillOption option = new SpillOption();
+        option.setRetryInterval(10);
+        option.setMaxReplayAttempts(3);
+
+        SpillLog spillLog = new SpillLog(directory, 1024 * 64, 1024 * 1024);
+        SpillHbasePutWriter writer = new SpillHbasePutWriter("test", delegate, spillLog, option);
+
+        delegate.fail = true;
+        List<CompletableFuture<Void>> futures = writer.put(table, List.of(newPut("poison"), newPut("row1")));
+        for (CompletableFuture<Void> spilled : futures) {
+            Assertions.assertNull(spilled.get(1000, TimeUnit.MILLISECONDS));
+        }
+
+        delegate.failRows.add("poison");
+        delegate.fail = false;
+        awaitReplayed(writer, 1);
+        Assertions.assertEquals(1, writer.getSkippedCount());
+        Assertions.assertEquals(List.of("row1"), delegate.written);
+        Assertions.assertTrue(spillLog.read(10).isEmpty());
+
+        writer.close();
+    }
+
+    @Test
+    void noSkipWhileUnavailable() throws Exception {
+        FailingPutWriter delegate = new FailingPutWriter();
+        SpillOption option = new SpillOption();
+        option.setRetryInterval(10);
+        option.setMaxReplayAttempts(3);
+
+        SpillLog spillLog = new SpillLog(directory, 1024 * 64, 1024 * 1024);
+        SpillHbasePutWriter writer = new SpillHbasePutWriter("test", delegate, spillLog, option);
+
+        delegate.fail = true;
+        List<CompletableFuture<Void>> futures = writer.put(table, List.of(newPut("row1"), newPut("row2")));
+        for (CompletableFuture<Void> spilled : futures) {
+            Assertions.assertNull(spilled.get(1000, TimeUnit.MILLISECONDS));
+        }
+
+        // well over maxReplayAttempts retries while hbase is down
+        TimeUnit.MILLISECONDS.sleep(300);
+        Assertions.assertEquals(0, writer.getSkippedCount());
+        Assertions.assertEquals(0, writer.getReplayedCount());
+
+        delegate.fail = false;
+        awaitReplayed(writer, 2);
+        Assertions.assertEquals(0, writer.getSkippedCount());
+        Assertions.assertEquals(List.of("row1", "row2"), delegate.written);
+        Assertions.assertTrue(spillLog.read(10).isEmpty());
+
+        writer.close();
+    }
+
+    @Test
+    void unavailable() {
+        Assertions.assertTrue(SpillHbasePutWriter.isUnavailable(new ExecutionException(new RequestNotPermittedException("test", false))));
+        Assertions.assertTrue(SpillHbasePutWriter.isUnavailable(new ExecutionException(new IOException(new ConnectException("refused")))));
+        Assertions.assertTrue(SpillHbasePutWriter.isUnavailable(new TimeoutException()));
+        Assertions.assertFalse(SpillHbasePutWriter.isUnavailable(new ExecutionException(new IllegalArgumentException("bad put"))));
+    }
+
+    private void awaitReplayed(SpillHbasePutWriter writer, long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 3000;
+        while (writer.getReplayedCount() < expected && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        Assertions.assertEquals(expected, writer.getReplayedCount());
+    }
+
+    private Put newPut(String row) {
+        Put put = new Put(Bytes.toBytes(row));
+        put.addColumn(FAMILY, Bytes.toBytes("q"), Bytes.toBytes("v"));
+        return put;
+    }
+
+    private static class FailingPutWriter implements HbasePutWriter {
+        private volatile boolean fail;
+        private final Set<String> failRows = ConcurrentHashMap.newKeySet();
+        private final List<String> written = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<Void> put(TableName tableName, Put put) {
+            if (fail) {
+                return CompletableFuture.failedFuture(new RequestNotPermittedException("test", false));
+            }
+            if (failRows.contains(Bytes.toString(put.getRow()))) {
+                return CompletableFuture.failedFuture(new IllegalArgumentException("rejected put"));
+            }
+            written.add(Bytes.toString(put.getRow()));
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public List<CompletableFuture<Void>> put(TableName tableName, List<Put> puts) {
+            return puts.stream().map(put -> put(tableName, put)).collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase.spill;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class SpillLogTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void appendAndRead() throws Exception {
+        SpillLog spillLog = new SpillLog(directory, 1024, 1024 * 10);
+        Assertions.assertTrue(spillLog.append(bytes("a")));
+        Assertions.assertTrue(spillLog.append(bytes("b")));
+
+        List<SpillRecord> records = spillLog.read(10);
+        Assertions.assertEquals(List.of("a", "b"), toString(records));
+        Assertions.assertTrue(spillLog.read(10).isEmpty());
+
+        Assertions.assertTrue(spillLog.append(bytes("c")));
+        Assertions.assertEquals(List.of("c"), toString(spillLog.read(10)));
+        spillLog.close();
+    }
+
+    @Test
+    void rollAndDelete() throws Exception {
+        // 2 records per segment
+        SpillLog spillLog = new SpillLog(directory, 2 * (SpillSegment.HEADER_SIZE + 1), 1024);
+        for (String value : List.of("a", "b", "c", "d", "e")) {
+            Assertions.assertTrue(spillLog.append(bytes(value)));
+        }
+        Assertions.assertEquals(3, spillLog.getSegmentCount());
+
+        List<SpillRecord> records = spillLog.read(3);
+        Assertions.assertEquals(List.of("a", "b", "c"), toString(records));
+        Assertions.assertEquals(3, spillLog.getSegmentCount());
+
+        spillLog.commit(records);
+        Assertions.assertEquals(2, spillLog.getSegmentCount());
+        Assertions.assertEquals(2, listFiles().size());
+        spillLog.close();
+    }
+
+    @Test
+    void diskBudget() throws Exception {
+        SpillLog spillLog = new SpillLog(directory, SpillSegment.HEADER_SIZE + 1, 2 * (SpillSegment.HEADER_SIZE + 1));
+        Assertions.assertTrue(spillLog.append(bytes("a")));
+        Assertions.assertTrue(spillLog.append(bytes("b")));
+        Assertions.assertFalse(spillLog.append(bytes("c")));
+        // larger than a segment
+        Assertions.assertFalse(spillLog.append(bytes("long")));
+
+        spillLog.commit(spillLog.read(1));
+        Assertions.assertTrue(spillLog.append(bytes("c")));
+        spillLog.close();
+    }
+
+    @Test
+    void recover() throws Exception {
+        SpillLog spillLog = new SpillLog(directory, 1024, 1024 * 10);
+        spillLog.append(bytes("a"));
+        spillLog.append(bytes("b"));
+        spillLog.append(bytes("c"));
+        spillLog.commit(spillLog.read(1));
+        // read but not committed
+        spillLog.read(1);
+        spillLog.close();
+
+        SpillLog recovered = new SpillLog(directory, 1024, 1024 * 10);
+        recovered.append(bytes("d"));
+        List<SpillRecord> records = recovered.read(10);
+        Assertions.assertEquals(List.of("b", "c", "d"), toString(records));
+
+        recovered.commit(records);
+        Assertions.assertEquals(1, recovered.getSegmentCount());
+        recovered.close();
+    }
+
+    @Test
+    void corrupted() throws Exception {
+        SpillLog spillLog = new SpillLog(directory, 1024, 1024 * 10);
+        spillLog.append(bytes("a"));
+        spillLog.append(bytes("b"));
+        spillLog.close();
+
+        Path segment = listFiles().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            // payload of "b"
+            file.seek(2 * SpillSegment.HEADER_SIZE + 1);
+            file.write('x');
+        }
+
+        SpillLog recovered = new SpillLog(directory, 1024, 1024 * 10);
+        List<SpillRecord> records = recovered.read(10);
+        Assertions.assertEquals(List.of("a"), toString(records));
+
+        recovered.commit(records);
+        Assertions.assertTrue(listFiles().isEmpty());
+        recovered.close();
+    }
+
+    private List<Path> listFiles() throws Exception {
+        try (Stream<Path> list = Files.list(directory)) {
+            return list.sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> toString(List<SpillRecord> records) {
+        return records.stream()
+                .map(record -> new String(record.getPayload(), StandardCharsets.UTF_8))
+                .collect(Collectors.toList());
+    }
+}
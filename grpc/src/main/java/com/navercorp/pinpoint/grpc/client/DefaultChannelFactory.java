@@ -21,6 +21,8 @@ import com.navercorp.pinpoint.grpc.ChannelTypeEnum;
 import com.navercorp.pinpoint.grpc.ExecutorUtils;
 import com.navercorp.pinpoint.grpc.client.config.ClientOption;
 import com.navercorp.pinpoint.grpc.client.config.ClientRetryOption;
+import com.navercorp.pinpoint.grpc.client.interceptor.MessageCompressionClientInterceptor;
+import com.navercorp.pinpoint.grpc.compress.MessageCodecs;
 import io.grpc.ClientInterceptor;
 import io.grpc.ManagedChannel;
 import io.grpc.Metadata;
@@ -150,6 +152,7 @@ public class DefaultChannelFactory implements ChannelFactory {
 
         addHeader(channelBuilder);
         addClientInterceptor(channelBuilder);
+        setupCompression(channelBuilder, channelName);
 
         channelBuilder.executor(executorService);
         if (nameResolverProvider != null) {
@@ -202,6 +205,19 @@ public class DefaultChannelFactory implements ChannelFactory {
         channelBuilder.intercept(clientInterceptorList);
     }
 
+    private void setupCompression(NettyChannelBuilder channelBuilder, String channelName) {
+        channelBuilder.compressorRegistry(MessageCodecs.newCompressorRegistry());
+        channelBuilder.decompressorRegistry(MessageCodecs.newDecompressorRegistry());
+
+        final String compression = clientOption.getCompression();
+        if (compression == null || MessageCodecs.IDENTITY.equals(compression)) {
+            return;
+        }
+        final ClientInterceptor compressionInterceptor = new MessageCompressionClientInterceptor(compression, clientOption.getCompressionMinMessageSize());
+        logger.info("{} enable message compression {}", channelName, compressionInterceptor);
+        channelBuilder.intercept(compressionInterceptor);
+    }
+
     private void setupClientOption(final NettyChannelBuilder channelBuilder) {
         channelBuilder.keepAliveTime(clientOption.getKeepAliveTime(), TimeUnit.MILLISECONDS);
         channelBuilder.keepAliveTimeout(clientOption.getKeepAliveTimeout(), TimeUnit.MILLISECONDS);
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.grpc.client.config;
 import com.navercorp.pinpoint.common.config.Value;
 import com.navercorp.pinpoint.common.util.ByteSizeUnit;
 import com.navercorp.pinpoint.grpc.ChannelTypeEnum;
+import com.navercorp.pinpoint.grpc.compress.MessageCodecs;
 import io.grpc.internal.GrpcUtil;
 
 import java.util.Objects;
@@ -51,6 +52,9 @@ public class ClientOption {
 
     public static final String DEFAULT_LOAD_BALANCER = GrpcUtil.DEFAULT_LB_POLICY;
 
+    public static final String DEFAULT_COMPRESSION = MessageCodecs.IDENTITY;
+    public static final int DEFAULT_COMPRESSION_MIN_MESSAGE_SIZE = 1024;
+
     @Value("${keepalive.time.millis}")
     private long keepAliveTime = DEFAULT_KEEPALIVE_TIME;
     @Value("${keepalive.timeout.millis}")
@@ -81,6 +85,11 @@ public class ClientOption {
     @Value("${loadbalancer}")
     private String defaultLoadBalancer = DEFAULT_LOAD_BALANCER;
 
+    // identity, gzip, deflate
+    @Value("${compression}")
+    private String compression = DEFAULT_COMPRESSION;
+    private int compressionMinMessageSize = DEFAULT_COMPRESSION_MIN_MESSAGE_SIZE;
+
     public ClientOption() {
     }
 
@@ -168,6 +177,19 @@ public class ClientOption {
         return defaultLoadBalancer;
     }
 
+    public String getCompression() {
+        return compression;
+    }
+
+    public int getCompressionMinMessageSize() {
+        return compressionMinMessageSize;
+    }
+
+    @Value("${compression.message.size.min}")
+    void setCompressionMinMessageSize(String compressionMinMessageSize) {
+        this.compressionMinMessageSize = (int) ByteSizeUnit.getByteSize(compressionMinMessageSize, DEFAULT_COMPRESSION_MIN_MESSAGE_SIZE);
+    }
+
     @Value("${headers.size.max}")
     void setMaxHeaderListSize(String maxHeaderListSize) {
         this.maxHeaderListSize = (int) ByteSizeUnit.getByteSize(maxHeaderListSize, DEFAULT_MAX_HEADER_LIST_SIZE);
@@ -208,6 +230,8 @@ public class ClientOption {
                 ", maxTraceEvent=" + maxTraceEvent +
                 ", limitCount=" + limitCount +
                 ", limitTime=" + limitTime +
+                ", compression='" + compression + '\'' +
+                ", compressionMinMessageSize=" + compressionMinMessageSize +
                 '}';
     }
 }
\ No newline at end of file
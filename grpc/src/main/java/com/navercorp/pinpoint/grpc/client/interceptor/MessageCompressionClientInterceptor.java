@@ -0,0 +1,138 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.navercorp.pinpoint.grpc.client.interceptor;
+
+import com.google.protobuf.MessageLite;
+import com.navercorp.pinpoint.grpc.compress.MessageCodecs;
+import io.grpc.CallOptions;
+import io.grpc.Channel;
+import io.grpc.ClientCall;
+import io.grpc.ClientInterceptor;
+import io.grpc.ForwardingClientCall;
+import io.grpc.ForwardingClientCallListener;
+import io.grpc.Metadata;
+import io.grpc.MethodDescriptor;
+import io.grpc.Status;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.Objects;
+
+/**
+ * Compresses outgoing messages with the configured encoding.
+ * <p>
+ * Messages smaller than {@code minMessageSize} are sent uncompressed.
+ * If the server does not advertise the encoding in {@code grpc-accept-encoding}, or rejects a call with UNIMPLEMENTED
+ * (old collector without the decompressor), compression is turned off for the following calls of this channel.
+ */
+public class MessageCompressionClientInterceptor implements ClientInterceptor {
+
+    static final Metadata.Key<String> ACCEPT_ENCODING_KEY = Metadata.Key.of("grpc-accept-encoding", Metadata.ASCII_STRING_MARSHALLER);
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final String compression;
+    private final int minMessageSize;
+
+    private volatile boolean disabled = false;
+
+    public MessageCompressionClientInterceptor(String compression, int minMessageSize) {
+        this.compression = Objects.requireNonNull(compression, "compression");
+        if (!MessageCodecs.isSupported(compression)) {
+            throw new IllegalArgumentException("unsupported compression:" + compression);
+        }
+        if (minMessageSize < 0) {
+            throw new IllegalArgumentException("negative minMessageSize:" + minMessageSize);
+        }
+        this.minMessageSize = minMessageSize;
+    }
+
+    @Override
+    public <ReqT, RespT> ClientCall<ReqT, RespT> interceptCall(MethodDescriptor<ReqT, RespT> method, CallOptions callOptions, Channel next) {
+        if (disabled) {
+            return next.newCall(method, callOptions);
+        }
+        final ClientCall<ReqT, RespT> newCall = next.newCall(method, callOptions.withCompression(compression));
+        return new CompressionClientCall<>(newCall);
+    }
+
+    boolean isDisabled() {
+        return disabled;
+    }
+
+    private void disable(String reason) {
+        if (!disabled) {
+            disabled = true;
+            logger.warn("Disable message compression:{} reason:{}", compression, reason);
+        }
+    }
+
+    private boolean isAccepted(String acceptEncoding) {
+        for (String encoding : acceptEncoding.split(",")) {
+            if (compression.equals(encoding.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private class CompressionClientCall<ReqT, RespT> extends ForwardingClientCall.SimpleForwardingClientCall<ReqT, RespT> {
+
+        private CompressionClientCall(ClientCall<ReqT, RespT> delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public void start(Listener<RespT> responseListener, Metadata headers) {
+            super.start(new ForwardingClientCallListener.SimpleForwardingClientCallListener<RespT>(responseListener) {
+                @Override
+                public void onHeaders(Metadata headers) {
+                    final String acceptEncoding = headers.get(ACCEPT_ENCODING_KEY);
+                    if (acceptEncoding != null && !isAccepted(acceptEncoding)) {
+                        disable("grpc-accept-encoding:" + acceptEncoding);
+                    }
+                    super.onHeaders(headers);
+                }
+
+                @Override
+                public void onClose(Status status, Metadata trailers) {
+                    if (status.getCode() == Status.Code.UNIMPLEMENTED) {
+                        disable(String.valueOf(status.getDescription()));
+                    }
+                    super.onClose(status, trailers);
+                }
+            }, headers);
+        }
+
+        @Override
+        public void sendMessage(ReqT message) {
+            if (message instanceof MessageLite) {
+                final int size = ((MessageLite) message).getSerializedSize();
+                super.setMessageCompression(size >= minMessageSize);
+            }
+            super.sendMessage(message);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MessageCompressionClientInterceptor{" +
+                "compression='" + compression + '\'' +
+                ", minMessageSize=" + minMessageSize +
+                ", disabled=" + disabled +
+                '}';
+    }
+}
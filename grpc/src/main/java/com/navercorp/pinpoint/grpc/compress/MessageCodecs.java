@@ -0,0 +1,55 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.grpc.compress;
+
+import io.grpc.Codec;
+import io.grpc.CompressorRegistry;
+import io.grpc.DecompressorRegistry;
+
+/**
+ * Compressor/decompressor registries shared by the agent channels and the collector servers.
+ * Supported encodings : identity, gzip, deflate
+ */
+public final class MessageCodecs {
+
+    public static final String IDENTITY = Codec.Identity.NONE.getMessageEncoding();
+    public static final String GZIP = new Codec.Gzip().getMessageEncoding();
+    public static final String DEFLATE = DeflateCodec.MESSAGE_ENCODING;
+
+    private MessageCodecs() {
+    }
+
+    public static CompressorRegistry newCompressorRegistry() {
+        // do not register to CompressorRegistry.getDefaultInstance(), it is shared with the application
+        final CompressorRegistry registry = CompressorRegistry.newEmptyInstance();
+        registry.register(Codec.Identity.NONE);
+        registry.register(new Codec.Gzip());
+        registry.register(new DeflateCodec());
+        return registry;
+    }
+
+    public static DecompressorRegistry newDecompressorRegistry() {
+        return DecompressorRegistry.getDefaultInstance()
+                .with(new DeflateCodec(), true);
+    }
+
+    public static boolean isSupported(String messageEncoding) {
+        return IDENTITY.equals(messageEncoding)
+                || GZIP.equals(messageEncoding)
+                || DEFLATE.equals(messageEncoding);
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.grpc.server;
+
+import io.grpc.Metadata;
+import io.grpc.ServerStreamTracer;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts inbound message bytes on the wire (possibly compressed) and after decompression.
+ */
+public class MessageSizeStreamTracerFactory extends ServerStreamTracer.Factory {
+
+    private final LongAdder inboundMessages = new LongAdder();
+    private final LongAdder inboundWireBytes = new LongAdder();
+    private final LongAdder inboundUncompressedBytes = new LongAdder();
+
+    public MessageSizeStreamTracerFactory() {
+    }
+
+    @Override
+    public ServerStreamTracer newServerStreamTracer(String fullMethodName, Metadata headers) {
+        return new ServerStreamTracer() {
+            @Override
+            public void inboundMessage(int seqNo) {
+                inboundMessages.increment();
+            }
+
+            @Override
+            public void inboundWireSize(long bytes) {
+                inboundWireBytes.add(bytes);
+            }
+
+            @Override
+            public void inboundUncompressedSize(long bytes) {
+                inboundUncompressedBytes.add(bytes);
+            }
+        };
+    }
+
+    public long getInboundMessages() {
+        return inboundMessages.sum();
+    }
+
+    public long getInboundWireBytes() {
+        return inboundWireBytes.sum();
+    }
+
+    public long getInboundUncompressedBytes() {
+        return inboundUncompressedBytes.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "MessageSizeStreamTracerFactory{" +
+                "inboundMessages=" + getInboundMessages() +
+                ", inboundWireBytes=" + getInboundWireBytes() +
+                ", inboundUncompressedBytes=" + getInboundUncompressedBytes() +
+                '}';
+    }
+}
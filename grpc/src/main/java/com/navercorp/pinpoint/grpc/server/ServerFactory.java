@@ -20,11 +20,13 @@ import com.navercorp.pinpoint.common.profiler.concurrent.PinpointThreadFactory;
 import com.navercorp.pinpoint.common.util.CpuUtils;
 import com.navercorp.pinpoint.grpc.ExecutorUtils;
 import com.navercorp.pinpoint.grpc.channelz.ChannelzRegistry;
+import com.navercorp.pinpoint.grpc.compress.MessageCodecs;
 import io.grpc.InternalWithLogId;
 import io.grpc.Server;
 import io.grpc.ServerCallExecutorSupplier;
 import io.grpc.ServerInterceptor;
 import io.grpc.ServerServiceDefinition;
+import io.grpc.ServerStreamTracer;
 import io.grpc.ServerTransportFilter;
 import io.grpc.netty.NettyServerBuilder;
 import io.netty.buffer.ByteBufAllocator;
@@ -72,6 +74,7 @@ public class ServerFactory {
     private final List<ServerServiceDefinition> bindableServices = new ArrayList<>();
     private final List<ServerTransportFilter> serverTransportFilters = new ArrayList<>();
     private final List<ServerInterceptor> serverInterceptors = new ArrayList<>();
+    private final List<ServerStreamTracer.Factory> streamTracerFactories = new ArrayList<>();
 
     private final ServerOption serverOption;
     private final ByteBufAllocator byteBufAllocator;
@@ -143,6 +146,11 @@ public class ServerFactory {
         this.serverInterceptors.add(serverInterceptor);
     }
 
+    public void addStreamTracerFactory(ServerStreamTracer.Factory streamTracerFactory) {
+        Objects.requireNonNull(streamTracerFactory, "streamTracerFactory");
+        this.streamTracerFactories.add(streamTracerFactory);
+    }
+
     public Server build() throws SSLException, NoSuchFieldException, IllegalAccessException {
         InetSocketAddress bindAddress = new InetSocketAddress(this.hostname, this.port);
         NettyServerBuilder serverBuilder = NettyServerBuilder.forAddress(bindAddress);
@@ -168,6 +176,14 @@ public class ServerFactory {
             serverBuilder.intercept(serverInterceptor);
         }
 
+        for (ServerStreamTracer.Factory streamTracerFactory : this.streamTracerFactories) {
+            logger.info("Add ServerStreamTracer.Factory={}, server={}", streamTracerFactory, name);
+            serverBuilder.addStreamTracerFactory(streamTracerFactory);
+        }
+
+        serverBuilder.compressorRegistry(MessageCodecs.newCompressorRegistry());
+        serverBuilder.decompressorRegistry(MessageCodecs.newDecompressorRegistry());
+
         serverBuilder.executor(this.serverExecutor);
 
         if (this.callExecutor != null) {
@@ -58,5 +58,22 @@ public class ClientOptionTest {
 
         assertEquals(7, clientOption.getWriteBufferHighWaterMark());
         assertEquals(8, clientOption.getWriteBufferLowWaterMark());
+
+        assertEquals(ClientOption.DEFAULT_COMPRESSION, clientOption.getCompression());
+        assertEquals(ClientOption.DEFAULT_COMPRESSION_MIN_MESSAGE_SIZE, clientOption.getCompressionMinMessageSize());
+    }
+
+    @Test
+    public void compression() {
+        Properties properties = new Properties();
+        properties.setProperty("compression", "deflate");
+        properties.setProperty("compression.message.size.min", "2K");
+
+        ClientOption clientOption = new ClientOption();
+        ValueAnnotationProcessor processor = new ValueAnnotationProcessor();
+        processor.process(clientOption, properties);
+
+        assertEquals("deflate", clientOption.getCompression());
+        assertEquals(2 * 1024, clientOption.getCompressionMinMessageSize());
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.grpc.compress;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DeflateCodecTest {
+
+    @Test
+    public void compressAndDecompress() throws IOException {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            builder.append("SELECT * FROM member WHERE id = ? AND name = ?\n");
+        }
+        final byte[] source = builder.toString().getBytes(StandardCharsets.UTF_8);
+
+        DeflateCodec codec = new DeflateCodec();
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        try (OutputStream os = codec.compress(compressed)) {
+            os.write(source);
+        }
+        assertThat(compressed.size()).isLessThan(source.length);
+
+        ByteArrayOutputStream decompressed = new ByteArrayOutputStream();
+        try (InputStream is = codec.decompress(new ByteArrayInputStream(compressed.toByteArray()))) {
+            byte[] buffer = new byte[256];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                decompressed.write(buffer, 0, read);
+            }
+        }
+        assertThat(decompressed.toByteArray()).isEqualTo(source);
+    }
+
+    @Test
+    public void registry() {
+        assertThat(MessageCodecs.newCompressorRegistry().lookupCompressor(MessageCodecs.DEFLATE)).isNotNull();
+        assertThat(MessageCodecs.newCompressorRegistry().lookupCompressor(MessageCodecs.GZIP)).isNotNull();
+        assertThat(MessageCodecs.newDecompressorRegistry().lookupDecompressor(MessageCodecs.DEFLATE)).isNotNull();
+        assertThat(MessageCodecs.newDecompressorRegistry().getKnownMessageEncodings()).contains(MessageCodecs.DEFLATE, MessageCodecs.GZIP);
+    }
+}
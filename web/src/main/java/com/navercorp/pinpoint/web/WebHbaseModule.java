@@ -4,19 +4,29 @@ import com.navercorp.pinpoint.common.hbase.config.DistributorConfiguration;
 import com.navercorp.pinpoint.common.hbase.config.HbaseNamespaceConfiguration;
 import com.navercorp.pinpoint.common.hbase.config.HbaseTemplateConfiguration;
 import com.navercorp.pinpoint.common.server.CommonsHbaseConfiguration;
+import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
 import com.navercorp.pinpoint.common.server.hbase.config.HbaseClientConfiguration;
+import com.navercorp.pinpoint.common.server.util.CallerUtils;
 import com.navercorp.pinpoint.web.applicationmap.config.MapHbaseConfiguration;
+import com.navercorp.pinpoint.web.applicationmap.config.TaskExecutorCustomizer;
 import com.navercorp.pinpoint.web.dao.hbase.config.AgentStatDaoConfiguration;
 import com.navercorp.pinpoint.web.dao.hbase.config.AgentStatOperationConfiguration;
 import com.navercorp.pinpoint.web.dao.hbase.config.ApplicationMetricConfiguration;
 import com.navercorp.pinpoint.web.dao.hbase.config.SampledAgentStatDaoConfiguration;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Import;
 import org.springframework.context.annotation.PropertySource;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.concurrent.Executor;
 
 @Configuration
 @Import({
@@ -55,4 +65,24 @@ public class WebHbaseModule {
     public WebHbaseModule() {
         logger.info("Install {}", WebHbaseModule.class.getSimpleName());
     }
+
+    @Bean
+    @Validated
+    @ConfigurationProperties("web.hbase.trace.select.worker")
+    public ExecutorProperties traceSelectExecutorProperties() {
+        return new ExecutorProperties();
+    }
+
+    @Bean
+    public Executor traceSelectExecutor(@Qualifier("traceSelectExecutorProperties") ExecutorProperties executorProperties) {
+        // hbase gets do not need the request context
+        TaskExecutorCustomizer customizer = new TaskExecutorCustomizer(null);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        customizer.customize(executor, executorProperties);
+
+        String beanName = CallerUtils.getCallerMethodName();
+        executor.setThreadNamePrefix(beanName);
+        return executor;
+    }
 }
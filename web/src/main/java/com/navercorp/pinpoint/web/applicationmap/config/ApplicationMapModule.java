@@ -96,8 +96,11 @@ public class ApplicationMapModule {
                                                    ApplicationsMapCreatorFactory applicationsMapCreatorFactory,
                                                    HostApplicationMapDao hostApplicationMapDao,
                                                    Optional<ServerMapDataFilter> serverMapDataFilter,
-                                                   Supplier<LinkDataMapProcessor> applicationLimiterProcessorFactory) {
-        return new LinkSelectorFactory(linkDataMapService, applicationsMapCreatorFactory, hostApplicationMapDao, serverMapDataFilter, applicationLimiterProcessorFactory);
+                                                   Supplier<LinkDataMapProcessor> applicationLimiterProcessorFactory,
+                                                   @Qualifier("applicationsMapCreateExecutor") Executor executor,
+                                                   @Value("${web.servermap.selector.pipeline.max-concurrency:0}") int pipelineMaxConcurrency) {
+        return new LinkSelectorFactory(linkDataMapService, applicationsMapCreatorFactory, hostApplicationMapDao, serverMapDataFilter, applicationLimiterProcessorFactory,
+                executor, pipelineMaxConcurrency);
     }
 
     @Bean
@@ -35,6 +35,9 @@ import com.navercorp.pinpoint.common.server.executor.ExecutorProperties;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapResponseDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapStatisticsCalleeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.MapStatisticsCallerDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.CachedMapStatisticsCalleeDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.CachedMapStatisticsCallerDao;
+import com.navercorp.pinpoint.web.applicationmap.dao.cache.LinkDataMapSlotCache;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapResponseTimeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapStatisticsCalleeDao;
 import com.navercorp.pinpoint.web.applicationmap.dao.hbase.HbaseMapStatisticsCallerDao;
@@ -53,10 +56,13 @@ import org.apache.logging.log4j.Logger;
 import org.springframework.beans.factory.FactoryBean;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.scheduling.concurrent.ThreadPoolExecutorFactoryBean;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
@@ -141,6 +147,18 @@ public class MapHbaseConfiguration {
         return new HbaseMapResponseTimeDao(hbaseTemplate, tableNameProvider, responseTimeMapper, mapScanFactory, rowKeyDistributor);
     }
 
+    @Bean
+    @ConditionalOnProperty(name = "web.servermap.slot-cache.enable", havingValue = "true")
+    public LinkDataMapSlotCache linkDataMapSlotCache(@Value("${web.servermap.slot-cache.slot-size:300000}") long slotSize,
+                                                     @Value("${web.servermap.slot-cache.close-delay:180000}") long closeDelay,
+                                                     @Value("${web.servermap.slot-cache.max-slots:12}") int maxSlots,
+                                                     @Value("${web.servermap.slot-cache.max-weight:1000000}") long maxWeight,
+                                                     @Value("${web.servermap.slot-cache.expire-after-write:3600000}") long expireAfterWrite) {
+        logger.info("LinkDataMap slot cache slotSize:{} closeDelay:{} maxSlots:{} maxWeight:{}", slotSize, closeDelay, maxSlots, maxWeight);
+        return new LinkDataMapSlotCache(Duration.ofMillis(slotSize), Duration.ofMillis(closeDelay), maxSlots,
+                maxWeight, Duration.ofMillis(expireAfterWrite), Clock.systemUTC());
+    }
+
     @Bean
     public MapStatisticsCalleeDao hbaseMapStatisticsCalleeDao(@Qualifier("mapHbaseTemplate")
                                                               HbaseTemplate hbaseTemplate,
@@ -149,8 +167,11 @@ public class MapHbaseConfiguration {
                                                               RowMapperFactory<LinkDataMap> calleeMapper,
                                                               MapScanFactory mapScanFactory,
                                                               @Qualifier("statisticsCalleeRowKeyDistributor")
-                                                              RowKeyDistributorByHashPrefix rowKeyDistributor) {
-        return new HbaseMapStatisticsCalleeDao(hbaseTemplate, tableNameProvider, calleeMapper, mapScanFactory, rowKeyDistributor);
+                                                              RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                                              Optional<LinkDataMapSlotCache> slotCache) {
+        MapStatisticsCalleeDao dao = new HbaseMapStatisticsCalleeDao(hbaseTemplate, tableNameProvider, calleeMapper, mapScanFactory, rowKeyDistributor);
+        return slotCache.<MapStatisticsCalleeDao>map(cache -> new CachedMapStatisticsCalleeDao(dao, cache))
+                .orElse(dao);
     }
 
     @Bean
@@ -161,8 +182,11 @@ public class MapHbaseConfiguration {
                                                               RowMapperFactory<LinkDataMap> callerMapper,
                                                               MapScanFactory mapScanFactory,
                                                               @Qualifier("statisticsCallerRowKeyDistributor")
-                                                              RowKeyDistributorByHashPrefix rowKeyDistributor) {
-        return new HbaseMapStatisticsCallerDao(hbaseTemplate, tableNameProvider, callerMapper, mapScanFactory, rowKeyDistributor);
+                                                              RowKeyDistributorByHashPrefix rowKeyDistributor,
+                                                              Optional<LinkDataMapSlotCache> slotCache) {
+        MapStatisticsCallerDao dao = new HbaseMapStatisticsCallerDao(hbaseTemplate, tableNameProvider, callerMapper, mapScanFactory, rowKeyDistributor);
+        return slotCache.<MapStatisticsCallerDao>map(cache -> new CachedMapStatisticsCallerDao(dao, cache))
+                .orElse(dao);
     }
 }
 
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindow;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowDownSampler;
+import com.navercorp.pinpoint.web.applicationmap.link.LinkDirection;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkCallData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMapUtils;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Caches the LinkDataMap of the map statistics tables per (application, time slot).
+ * <p>
+ * The server map polls the same range every few seconds, while only the newest minutes change.
+ * A slot is closed once its end is older than {@code closeDelay}, and its statistics are not updated anymore.
+ * Closed slots are read once and cached, the partial slots at both ends of the range and the open tail are scanned every time,
+ * and all of them are merged into the time window of the requested range.
+ * <p>
+ * Cached maps are never modified. {@link LinkDataMap#addLinkDataMap(LinkDataMap)} copies the histograms into the result.
+ */
+public class LinkDataMapSlotCache {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long STATS_LOG_INTERVAL = TimeUnit.MINUTES.toMillis(1);
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final long slotSize;
+    private final long closeDelay;
+    private final int maxSlots;
+    private final Clock clock;
+
+    private final Cache<SlotKey, LinkDataMap> cache;
+    private final AtomicLong lastStatsLogTime = new AtomicLong();
+
+    public LinkDataMapSlotCache(Duration slotSize, Duration closeDelay, int maxSlots,
+                                long maximumWeight, Duration expireAfterWrite, Clock clock) {
+        Objects.requireNonNull(slotSize, "slotSize");
+        Objects.requireNonNull(closeDelay, "closeDelay");
+        Objects.requireNonNull(expireAfterWrite, "expireAfterWrite");
+        this.slotSize = slotSize.toMillis();
+        if (this.slotSize < ONE_MINUTE || this.slotSize % ONE_MINUTE != 0) {
+            throw new IllegalArgumentException("slotSize must be a multiple of one minute:" + slotSize);
+        }
+        this.closeDelay = closeDelay.toMillis();
+        if (this.closeDelay < 0) {
+            throw new IllegalArgumentException("negative closeDelay:" + closeDelay);
+        }
+        if (maxSlots <= 0) {
+            throw new IllegalArgumentException("maxSlots must be positive:" + maxSlots);
+        }
+        this.maxSlots = maxSlots;
+        this.clock = Objects.requireNonNull(clock, "clock");
+
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(LinkDataMapSlotCache::weigh)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * @param loader scans the map statistics of the given range
+     */
+    public LinkDataMap select(LinkDirection direction, Application application, Range range, boolean timeAggregated,
+                              Function<Range, LinkDataMap> loader) {
+        Objects.requireNonNull(direction, "direction");
+        Objects.requireNonNull(application, "application");
+        Objects.requireNonNull(range, "range");
+        Objects.requireNonNull(loader, "loader");
+
+        // statistics rows are per minute, and the minute of range.to is included in the scan
+        final long firstSlot = ceil(floorMinute(range.getFrom()), slotSize);
+        final long rangeEnd = floorMinute(range.getTo()) + ONE_MINUTE;
+        final long closedEnd = floor(clock.millis() - closeDelay, slotSize);
+        final long cachedEnd = Math.min(floor(rangeEnd, slotSize), closedEnd);
+
+        final long slots = (cachedEnd - firstSlot) / slotSize;
+        if (slots <= 0 || slots > maxSlots) {
+            return loader.apply(range);
+        }
+
+        final LinkDataMap result = new LinkDataMap(new TimeWindow(range, TimeWindowDownSampler.SAMPLER));
+        if (range.getFrom() < firstSlot) {
+            result.addLinkDataMap(loader.apply(Range.between(range.getFrom(), firstSlot - 1)));
+        }
+        for (long slot = firstSlot; slot < cachedEnd; slot += slotSize) {
+            final SlotKey key = new SlotKey(direction, application, timeAggregated, slot);
+            final LinkDataMap slotMap = cache.get(key, k -> loader.apply(Range.between(k.slot, k.slot + slotSize - 1)));
+            result.addLinkDataMap(slotMap);
+        }
+        if (cachedEnd < rangeEnd) {
+            result.addLinkDataMap(loader.apply(Range.between(cachedEnd, range.getTo())));
+        }
+        logStats();
+
+        if (LinkDataMapUtils.hasLength(result)) {
+            return result;
+        }
+        return new LinkDataMap();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    private void logStats() {
+        final long now = clock.millis();
+        final long last = lastStatsLogTime.get();
+        if (now - last < STATS_LOG_INTERVAL || !lastStatsLogTime.compareAndSet(last, now)) {
+            return;
+        }
+        if (logger.isInfoEnabled()) {
+            final CacheStats stats = cache.stats();
+            logger.info("LinkDataMap slot cache hitRate:{} hit:{} miss:{} eviction:{} size:{}",
+                    stats.hitRate(), stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+        }
+    }
+
+    private static long floorMinute(long timestamp) {
+        return floor(timestamp, ONE_MINUTE);
+    }
+
+    private static long floor(long timestamp, long unit) {
+        return Math.floorDiv(timestamp, unit) * unit;
+    }
+
+    private static long ceil(long timestamp, long unit) {
+        return -Math.floorDiv(-timestamp, unit) * unit;
+    }
+
+    /**
+     * number of time histograms, each of them holds the counters of every response time slot
+     */
+    private static int weigh(SlotKey key, LinkDataMap linkDataMap) {
+        long weight = 1;
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            for (LinkCallData linkCallData : linkData.getLinkCallDataMap().getLinkDataList()) {
+                weight += linkCallData.getTimeHistogramCount();
+            }
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static final class SlotKey {
+        private final LinkDirection direction;
+        private final Application application;
+        private final boolean timeAggregated;
+        private final long slot;
+
+        private SlotKey(LinkDirection direction, Application application, boolean timeAggregated, long slot) {
+            this.direction = direction;
+            this.application = application;
+            this.timeAggregated = timeAggregated;
+            this.slot = slot;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SlotKey slotKey = (SlotKey) o;
+            return timeAggregated == slotKey.timeAggregated
+                    && slot == slotKey.slot
+                    && direction == slotKey.direction
+                    && application.equals(slotKey.application);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = direction.hashCode();
+            result = 31 * result + application.hashCode();
+            result = 31 * result + Boolean.hashCode(timeAggregated);
+            result = 31 * result + Long.hashCode(slot);
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "SlotKey{" +
+                    "direction=" + direction +
+                    ", application=" + application +
+                    ", timeAggregated=" + timeAggregated +
+                    ", slot=" + slot +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowFunction;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.SlotType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Time histograms of one schema, stored in primitive arrays.
+ * <p>
+ * The counters of the time histogram of ordinal {@code i} are {@code counts[i * SLOT_COUNT + slotType.ordinal()]}.
+ * A map over days of one-minute slots holds thousands of time histograms per link,
+ * so they are kept in a few arrays instead of a {@link TimeHistogram} and a map entry each,
+ * and are materialized by {@link #toTimeHistograms()} only when the map is built.
+ * <p>
+ * not thread safe
+ */
+public class ColumnarTimeHistogram {
+
+    private static final SlotType[] SLOT_TYPES = SlotType.values();
+    private static final int SLOT_COUNT = SLOT_TYPES.length;
+    private static final int MAX_STAT = SlotType.MAX_STAT.ordinal();
+
+    private static final long[] EMPTY = new long[0];
+    // timestamps are looked up by a linear scan up to this size
+    private static final int LINEAR_SCAN_SIZE = 8;
+
+    private final HistogramSchema schema;
+
+    private long[] timestamps = EMPTY;
+    private long[] counts = EMPTY;
+    private int size;
+
+    // open addressing, ordinal + 1 of the timestamp, 0 is empty
+    private int[] table;
+
+    public ColumnarTimeHistogram(HistogramSchema schema) {
+        this.schema = Objects.requireNonNull(schema, "schema");
+    }
+
+    public HistogramSchema getHistogramSchema() {
+        return schema;
+    }
+
+    public void addCallCount(long timestamp, short slotTime, long count) {
+        // the time histogram exists even if the slot is unknown, as TimeHistogram does
+        final int ordinal = ordinal(timestamp);
+        final SlotType slotType = Histogram.findSlotType(schema, slotTime);
+        if (slotType == null) {
+            return;
+        }
+        add(ordinal * SLOT_COUNT + slotType.ordinal(), count);
+    }
+
+    public void add(long timestamp, Histogram histogram) {
+        Objects.requireNonNull(histogram, "histogram");
+        checkSchema(histogram.getHistogramSchema());
+
+        final int offset = ordinal(timestamp) * SLOT_COUNT;
+        for (SlotType slotType : SLOT_TYPES) {
+            if (slotType == SlotType.ERROR) {
+                // getCount(ERROR) is the sum of every error
+                add(offset + slotType.ordinal(), histogram.getErrorCount());
+            } else {
+                add(offset + slotType.ordinal(), histogram.getCount(slotType));
+            }
+        }
+    }
+
+    /**
+     * @param timeWindow refines the timestamps of the other histograms
+     */
+    public void add(ColumnarTimeHistogram other, TimeWindowFunction timeWindow) {
+        Objects.requireNonNull(other, "other");
+        Objects.requireNonNull(timeWindow, "timeWindow");
+        checkSchema(other.schema);
+
+        final long[] otherCounts = other.counts;
+        for (int i = 0; i < other.size; i++) {
+            final int offset = ordinal(timeWindow.refineTimestamp(other.timestamps[i])) * SLOT_COUNT;
+            final int otherOffset = i * SLOT_COUNT;
+            for (int slot = 0; slot < SLOT_COUNT; slot++) {
+                add(offset + slot, otherCounts[otherOffset + slot]);
+            }
+        }
+    }
+
+    private void add(int index, long count) {
+        if (index % SLOT_COUNT == MAX_STAT) {
+            counts[index] = Math.max(counts[index], count);
+        } else {
+            counts[index] += count;
+        }
+    }
+
+    private void checkSchema(HistogramSchema schema) {
+        if (this.schema != schema) {
+            throw new IllegalArgumentException("schema not equals. this=" + this.schema + ", other=" + schema);
+        }
+    }
+
+    /**
+     * @return number of time histograms
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * same as the sum of {@link Histogram#getTotalCount()} of every time histogram
+     */
+    public long getTotalCount() {
+        long totalCount = 0;
+        for (int i = 0; i < size; i++) {
+            final int offset = i * SLOT_COUNT;
+            totalCount += counts[offset + SlotType.FAST.ordinal()]
+                    + counts[offset + SlotType.NORMAL.ordinal()]
+                    + counts[offset + SlotType.SLOW.ordinal()]
+                    + counts[offset + SlotType.VERY_SLOW.ordinal()]
+                    + counts[offset + SlotType.ERROR.ordinal()]
+                    + counts[offset + SlotType.FAST_ERROR.ordinal()]
+                    + counts[offset + SlotType.NORMAL_ERROR.ordinal()]
+                    + counts[offset + SlotType.SLOW_ERROR.ordinal()]
+                    + counts[offset + SlotType.VERY_SLOW_ERROR.ordinal()];
+        }
+        return totalCount;
+    }
+
+    public List<TimeHistogram> toTimeHistograms() {
+        final List<TimeHistogram> histograms = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            final TimeHistogram histogram = new TimeHistogram(schema, timestamps[i]);
+            final int offset = i * SLOT_COUNT;
+            for (SlotType slotType : SLOT_TYPES) {
+                final long count = counts[offset + slotType.ordinal()];
+                if (count != 0) {
+                    histogram.addCount(slotType, count);
+                }
+            }
+            histograms.add(histogram);
+        }
+        return histograms;
+    }
+
+    private int ordinal(long timestamp) {
+        if (table == null) {
+            for (int i = 0; i < size; i++) {
+                if (timestamps[i] == timestamp) {
+                    return i;
+                }
+            }
+            if (size < LINEAR_SCAN_SIZE) {
+                return append(timestamp);
+            }
+            rehash(LINEAR_SCAN_SIZE * 4);
+        }
+
+        final int mask = table.length - 1;
+        int index = hash(timestamp) & mask;
+        while (true) {
+            final int entry = table[index];
+            if (entry == 0) {
+                final int ordinal = append(timestamp);
+                table[index] = ordinal + 1;
+                if (size * 2 > table.length) {
+                    rehash(table.length * 2);
+                }
+                return ordinal;
+            }
+            if (timestamps[entry - 1] == timestamp) {
+                return entry - 1;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private int append(long timestamp) {
+        if (size == timestamps.length) {
+            final int capacity = Math.max(1, size * 2);
+            timestamps = Arrays.copyOf(timestamps, capacity);
+            counts = Arrays.copyOf(counts, capacity * SLOT_COUNT);
+        }
+        timestamps[size] = timestamp;
+        return size++;
+    }
+
+    private void rehash(int capacity) {
+        final int[] table = new int[capacity];
+        final int mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            int index = hash(timestamps[i]) & mask;
+            while (table[index] != 0) {
+                index = (index + 1) & mask;
+            }
+            table[index] = i + 1;
+        }
+        this.table = table;
+    }
+
+    private static int hash(long timestamp) {
+        final long hash = timestamp * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    @Override
+    public String toString() {
+        return "ColumnarTimeHistogram{" +
+                "schema=" + schema +
+                ", size=" + size +
+                '}';
+    }
+}
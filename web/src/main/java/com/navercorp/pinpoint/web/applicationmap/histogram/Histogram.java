@@ -73,69 +73,84 @@ public class Histogram implements StatisticsHistogram {
 
     // TODO one may extract slot number from this class
     public void addCallCount(final short slotTime, final long count) {
-        final HistogramSchema schema = this.schema;
+        final SlotType slotType = findSlotType(this.schema, slotTime);
+        if (slotType == null) {
+            if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("slot not found slotTime=" + slotTime + ", count=" + count + ", schema=" + schema);
+            }
+            return;
+        }
+        addCount(slotType, count);
+    }
 
+    /**
+     * @return the slot of the slotTime, or null if the schema has no such slot
+     */
+    static SlotType findSlotType(HistogramSchema schema, short slotTime) {
         if (slotTime == schema.getSumStatSlot().getSlotTime()) {
-            this.sumElapsed += count;
-            return;
+            return SlotType.SUM_STAT;
         }
         if (slotTime == schema.getMaxStatSlot().getSlotTime()) {
-            updateMaxElapsed(count);
-            return;
+            return SlotType.MAX_STAT;
         }
         if (slotTime == schema.getPingSlot().getSlotTime()) { // ping
-            this.pingCount += count;
-            return;
+            return SlotType.PING;
         }
 
         if (slotTime <= schema.getVerySlowErrorSlot().getSlotTime()) {
-            this.verySlowErrorCount += count;
-            return;
+            return SlotType.VERY_SLOW_ERROR;
         }
 
         if (slotTime <= schema.getSlowErrorSlot().getSlotTime()) {
-            this.slowErrorCount += count;
-            return;
+            return SlotType.SLOW_ERROR;
         }
 
 
         if (slotTime <= schema.getNormalErrorSlot().getSlotTime()) {
-            this.normalErrorCount += count;
-            return;
+            return SlotType.NORMAL_ERROR;
         }
 
         if (slotTime <= schema.getFastErrorSlot().getSlotTime()) {
-            this.fastErrorCount += count;
-            return;
+            return SlotType.FAST_ERROR;
         }
 
         if (slotTime <= schema.getErrorSlot().getSlotTime()) { // -1 is error
-            this.errorCount += count;
-            return;
+            return SlotType.ERROR;
         }
 
         if (slotTime == schema.getVerySlowSlot().getSlotTime()) { // 0 is slow slotTime
-            this.verySlowCount += count;
-            return;
+            return SlotType.VERY_SLOW;
         }
 
         if (slotTime <= schema.getFastSlot().getSlotTime()) {
-            this.fastCount += count;
-            return;
+            return SlotType.FAST;
         }
 
         if (slotTime <= schema.getNormalSlot().getSlotTime()) {
-            this.normalCount += count;
-            return;
+            return SlotType.NORMAL;
         }
 
         if (slotTime <= schema.getSlowSlot().getSlotTime()) {
-            this.slowCount += count;
-            return;
+            return SlotType.SLOW;
         }
+        return null;
+    }
 
-        if (LOGGER.isDebugEnabled()) {
-            LOGGER.debug("slot not found slotTime=" + slotTime + ", count=" + count + ", schema=" + schema);
+    void addCount(SlotType slotType, long count) {
+        switch (slotType) {
+            case FAST -> this.fastCount += count;
+            case NORMAL -> this.normalCount += count;
+            case SLOW -> this.slowCount += count;
+            case VERY_SLOW -> this.verySlowCount += count;
+            case ERROR -> this.errorCount += count;
+            case FAST_ERROR -> this.fastErrorCount += count;
+            case NORMAL_ERROR -> this.normalErrorCount += count;
+            case SLOW_ERROR -> this.slowErrorCount += count;
+            case VERY_SLOW_ERROR -> this.verySlowErrorCount += count;
+            case SUM_STAT -> this.sumElapsed += count;
+            case MAX_STAT -> updateMaxElapsed(count);
+            case PING -> this.pingCount += count;
+            default -> throw new IllegalArgumentException("slotType:" + slotType);
         }
     }
 
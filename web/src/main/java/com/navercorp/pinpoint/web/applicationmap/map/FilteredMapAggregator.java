@@ -0,0 +1,153 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.map;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Aggregates the transactions of a filtered map as they are fetched, without keeping them.
+ * <p>
+ * If {@code maxConcurrency} is greater than 1, transactions are collected in batches and each batch is added to
+ * one of {@code maxConcurrency} partial builders on the executor. The partial builders are merged by {@link #build()}.
+ * When every partial builder is busy, {@link #addTransaction(List)} waits, so at most {@code maxConcurrency + 1}
+ * batches are held at a time.
+ * <p>
+ * {@link #addTransaction(List)} and {@link #build()} must be called on the same thread.
+ */
+public class FilteredMapAggregator {
+
+    private final FilteredMapBuilder builder;
+    private final Executor executor;
+    private final int batchSize;
+
+    // idle partial builders, null if the transactions are added on the calling thread
+    private final BlockingQueue<FilteredMapBuilder> idleBuilders;
+    private final int partialBuilderCount;
+
+    private List<List<SpanBo>> batch;
+    private volatile Throwable error;
+
+    public FilteredMapAggregator(FilteredMapBuilder builder, Executor executor, int maxConcurrency, int batchSize) {
+        this.builder = Objects.requireNonNull(builder, "builder");
+        this.executor = executor;
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("batchSize must be positive:" + batchSize);
+        }
+        this.batchSize = batchSize;
+
+        if (executor == null || maxConcurrency <= 1) {
+            this.idleBuilders = null;
+            this.partialBuilderCount = 0;
+        } else {
+            this.idleBuilders = new ArrayBlockingQueue<>(maxConcurrency);
+            for (int i = 0; i < maxConcurrency; i++) {
+                this.idleBuilders.add(builder.newPartialBuilder());
+            }
+            this.partialBuilderCount = maxConcurrency;
+            this.batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    public void addTransaction(List<SpanBo> transaction) {
+        Objects.requireNonNull(transaction, "transaction");
+        if (idleBuilders == null) {
+            builder.addTransaction(transaction);
+            return;
+        }
+        batch.add(transaction);
+        if (batch.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
+        final List<List<SpanBo>> transactions = this.batch;
+        this.batch = new ArrayList<>(batchSize);
+
+        final FilteredMapBuilder partialBuilder = takeIdleBuilder();
+        try {
+            executor.execute(() -> aggregate(partialBuilder, transactions));
+        } catch (RejectedExecutionException e) {
+            aggregate(partialBuilder, transactions);
+            checkError();
+        }
+    }
+
+    private void aggregate(FilteredMapBuilder partialBuilder, List<List<SpanBo>> transactions) {
+        try {
+            partialBuilder.addTransactions(transactions);
+        } catch (Throwable th) {
+            this.error = th;
+        } finally {
+            idleBuilders.add(partialBuilder);
+        }
+    }
+
+    private FilteredMapBuilder takeIdleBuilder() {
+        try {
+            final FilteredMapBuilder partialBuilder = idleBuilders.take();
+            checkError();
+            return partialBuilder;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while aggregating the filtered map", e);
+        }
+    }
+
+    private void checkError() {
+        final Throwable error = this.error;
+        if (error == null) {
+            return;
+        }
+        if (error instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (error instanceof Error e) {
+            throw e;
+        }
+        throw new IllegalStateException(error);
+    }
+
+    public FilteredMap build() {
+        if (idleBuilders == null) {
+            return builder.build();
+        }
+        flush();
+
+        // waits for every partial builder
+        final List<FilteredMapBuilder> partialBuilders = new ArrayList<>(partialBuilderCount);
+        for (int i = 0; i < partialBuilderCount; i++) {
+            partialBuilders.add(takeIdleBuilder());
+        }
+        for (FilteredMapBuilder partialBuilder : partialBuilders) {
+            builder.merge(partialBuilder);
+        }
+        return builder.build();
+    }
+}
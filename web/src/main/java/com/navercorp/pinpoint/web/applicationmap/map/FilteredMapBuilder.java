@@ -63,6 +63,8 @@ public class FilteredMapBuilder {
 
     private final ServiceTypeRegistryService registry;
 
+    private final Range range;
+
     private final int version;
 
     private final TimeWindow timeWindow;
@@ -76,19 +78,27 @@ public class FilteredMapBuilder {
     // @Nullable
     private ServerMapDataFilter serverMapDataFilter;
 
-    private final Map<String, Application> applicationHashMap = new HashMap<>();
+    // shared with the partial builders
+    private final Map<String, Application> applicationHashMap;
 
     public FilteredMapBuilder(ApplicationFactory applicationFactory, ServiceTypeRegistryService registry, Range range, int version) {
+        // not a ConcurrentHashMap, endPoint of a span event may be null
+        this(applicationFactory, registry, range, version, Collections.synchronizedMap(new HashMap<>()));
+    }
+
+    private FilteredMapBuilder(ApplicationFactory applicationFactory, ServiceTypeRegistryService registry, Range range, int version,
+                               Map<String, Application> applicationHashMap) {
         this.applicationFactory = Objects.requireNonNull(applicationFactory, "applicationFactory");
         this.registry = Objects.requireNonNull(registry, "registry");
 
+        this.range = Objects.requireNonNull(range, "range");
         this.version = version;
 
-        Objects.requireNonNull(range, "range");
         this.timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
         this.linkDataDuplexMap = new LinkDataDuplexMap();
         this.responseHistogramsBuilder = new ResponseHistograms.Builder(range);
         this.dotExtractor = new DotExtractor();
+        this.applicationHashMap = Objects.requireNonNull(applicationHashMap, "applicationHashMap");
     }
 
     public FilteredMapBuilder serverMapDataFilter(ServerMapDataFilter serverMapDataFilter) {
@@ -96,6 +106,26 @@ public class FilteredMapBuilder {
         return this;
     }
 
+    /**
+     * Creates an empty builder of the same map. Transactions can be added to it on another thread,
+     * and it is added to this builder later with {@link #merge(FilteredMapBuilder)}.
+     * Aliases found by any of the builders are visible to all of them.
+     */
+    public FilteredMapBuilder newPartialBuilder() {
+        FilteredMapBuilder partialBuilder = new FilteredMapBuilder(applicationFactory, registry, range, version, applicationHashMap);
+        partialBuilder.serverMapDataFilter(serverMapDataFilter);
+        return partialBuilder;
+    }
+
+    public FilteredMapBuilder merge(FilteredMapBuilder partialBuilder) {
+        Objects.requireNonNull(partialBuilder, "partialBuilder");
+
+        this.linkDataDuplexMap.addLinkDataDuplexMap(partialBuilder.linkDataDuplexMap);
+        this.responseHistogramsBuilder.merge(partialBuilder.responseHistogramsBuilder);
+        this.dotExtractor.merge(partialBuilder.dotExtractor);
+        return this;
+    }
+
     public FilteredMapBuilder addTransactions(List<List<SpanBo>> transactionList) {
         for (List<SpanBo> transaction : transactionList) {
             addTransaction(transaction);
@@ -103,6 +103,13 @@ public class LinkSelectContext {
         }
     }
 
+    /**
+     * @return a context of the same depth that collects its own next applications
+     */
+    public LinkSelectContext fork() {
+        return new LinkSelectContext(range, outDepth, inDepth, linkVisitChecker, timeAggregated);
+    }
+
     public LinkSelectContext advance() {
         SearchDepth nextOutDepth = outDepth.nextDepth();
         SearchDepth nextInDepth = inDepth.nextDepth();
@@ -27,6 +27,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Supplier;
 
 /**
@@ -44,17 +45,40 @@ public class LinkSelectorFactory {
     private final ServerMapDataFilter serverMapDataFilter;
     private final Supplier<LinkDataMapProcessor> applicationLimiterProcessorFactory;
 
+    private final Executor pipelineExecutor;
+    private final int pipelineMaxConcurrency;
+
     public LinkSelectorFactory(
             LinkDataMapService linkDataMapService,
             ApplicationsMapCreatorFactory applicationsMapCreatorFactory,
             HostApplicationMapDao hostApplicationMapDao,
             Optional<ServerMapDataFilter> serverMapDataFilter,
             Supplier<LinkDataMapProcessor> applicationLimiterProcessorFactory) {
+        this(linkDataMapService, applicationsMapCreatorFactory, hostApplicationMapDao, serverMapDataFilter, applicationLimiterProcessorFactory, null, 0);
+    }
+
+    /**
+     * @param pipelineMaxConcurrency if positive, bidirectional searches are pipelined on the pipelineExecutor ({@link PipelinedLinkSelector})
+     */
+    public LinkSelectorFactory(
+            LinkDataMapService linkDataMapService,
+            ApplicationsMapCreatorFactory applicationsMapCreatorFactory,
+            HostApplicationMapDao hostApplicationMapDao,
+            Optional<ServerMapDataFilter> serverMapDataFilter,
+            Supplier<LinkDataMapProcessor> applicationLimiterProcessorFactory,
+            Executor pipelineExecutor,
+            int pipelineMaxConcurrency) {
         this.linkDataMapService = Objects.requireNonNull(linkDataMapService, "linkDataMapService");
         this.applicationsMapCreatorFactory = Objects.requireNonNull(applicationsMapCreatorFactory, "applicationsMapCreatorFactory");
         this.hostApplicationMapDao = Objects.requireNonNull(hostApplicationMapDao, "hostApplicationMapDao");
         this.serverMapDataFilter = Objects.requireNonNull(serverMapDataFilter, "serverMapDataFilter").orElse(null);
         this.applicationLimiterProcessorFactory = Objects.requireNonNull(applicationLimiterProcessorFactory, "applicationLimiterProcessorFactory");
+        if (pipelineMaxConcurrency > 0) {
+            this.pipelineExecutor = Objects.requireNonNull(pipelineExecutor, "pipelineExecutor");
+        } else {
+            this.pipelineExecutor = null;
+        }
+        this.pipelineMaxConcurrency = pipelineMaxConcurrency;
     }
 
     public LinkSelector createLinkSelector(LinkSelectorType linkSelectorType) {
@@ -73,6 +97,10 @@ public class LinkSelectorFactory {
 
         ApplicationMapCreator applicationMapCreator = new DefaultApplicationMapCreator(linkDataMapService, outLinkProcessors, inLinkProcessors);
 
+        if (LinkSelectorType.BIDIRECTIONAL == linkSelectorType && pipelineMaxConcurrency > 0) {
+            return new PipelinedLinkSelector(applicationMapCreator, pipelineExecutor, pipelineMaxConcurrency, virtualLinkHandler, serverMapDataFilter);
+        }
+
         ApplicationsMapCreator applicationsMapCreator = applicationsMapCreatorFactory.create(applicationMapCreator);
 
         if (LinkSelectorType.UNIDIRECTIONAL == linkSelectorType) {
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.map;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.applicationmap.service.SearchDepth;
+import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+
+/**
+ * Bidirectional link search without level barriers.
+ * <p>
+ * {@link BidirectionalLinkSelector} waits for every application of a depth before it starts the next depth,
+ * so the slowest scan of each depth adds up. Here each application enqueues its neighbours as soon as its own scan is done,
+ * and at most {@code maxConcurrency} applications are scanned at a time.
+ * <p>
+ * An application may be reached through a longer path first. When a shorter path shows up later,
+ * its lower depth is propagated to the neighbours already found, and the directions that were out of depth are scanned,
+ * so the selected links are the same as the ones of the breadth-first search.
+ * Each direction of an application is still scanned once ({@link LinkVisitChecker}).
+ * <p>
+ * not thread safe
+ */
+public class PipelinedLinkSelector implements LinkSelector {
+
+    private final Logger logger = LogManager.getLogger(this.getClass());
+
+    private final ApplicationMapCreator applicationMapCreator;
+
+    private final Executor executor;
+
+    private final int maxConcurrency;
+
+    private final VirtualLinkHandler virtualLinkHandler;
+
+    private final ServerMapDataFilter serverMapDataFilter;
+
+    private final LinkVisitChecker linkVisitChecker = new LinkVisitChecker();
+
+    PipelinedLinkSelector(
+            ApplicationMapCreator applicationMapCreator,
+            Executor executor,
+            int maxConcurrency,
+            VirtualLinkHandler virtualLinkHandler,
+            ServerMapDataFilter serverMapDataFilter) {
+        this.applicationMapCreator = Objects.requireNonNull(applicationMapCreator, "applicationMapCreator");
+        this.executor = Objects.requireNonNull(executor, "executor");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("maxConcurrency must be positive:" + maxConcurrency);
+        }
+        this.maxConcurrency = maxConcurrency;
+        this.virtualLinkHandler = Objects.requireNonNull(virtualLinkHandler, "virtualLinkHandler");
+        this.serverMapDataFilter = serverMapDataFilter;
+    }
+
+    @Override
+    public LinkDataDuplexMap select(List<Application> sourceApplications, Range range, int outSearchDepth, int inSearchDepth) {
+        return select(sourceApplications, range, outSearchDepth, inSearchDepth, false);
+    }
+
+    @Override
+    public LinkDataDuplexMap select(List<Application> sourceApplications, Range range, int outSearchDepth, int inSearchDepth, boolean timeAggregated) {
+        logger.debug("Creating link data map for {}", sourceApplications);
+        final SearchDepth outDepth = new SearchDepth(outSearchDepth);
+        final SearchDepth inDepth = new SearchDepth(inSearchDepth);
+        final LinkSelectContext linkSelectContext = new LinkSelectContext(range, outDepth, inDepth, linkVisitChecker, timeAggregated);
+
+        final Expansion expansion = new Expansion(linkSelectContext, Math.max(outSearchDepth, inSearchDepth));
+        logger.info("pipelined search start. outDepth:{}, inDepth:{}, nodes:{}", outSearchDepth, inSearchDepth, sourceApplications);
+        final LinkDataDuplexMap linkDataDuplexMap = expansion.expand(filterApplications(sourceApplications));
+        logger.info("pipelined search end. nodes:{}", expansion.nodeCount());
+
+        return virtualLinkHandler.processVirtualLinks(linkDataDuplexMap, linkVisitChecker, range);
+    }
+
+    private List<Application> filterApplications(List<Application> applications) {
+        if (serverMapDataFilter == null) {
+            return applications;
+        }
+        List<Application> filteredApplications = new ArrayList<>();
+        for (Application application : applications) {
+            if (!serverMapDataFilter.filter(application)) {
+                filteredApplications.add(application);
+            }
+        }
+        return filteredApplications;
+    }
+
+    private class Expansion {
+        // context of each depth that can still be scanned
+        private final List<LinkSelectContext> depthContexts;
+
+        private final Queue<LinkDataDuplexMap> results = new ConcurrentLinkedQueue<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        private final Object lock = new Object();
+        // guarded by lock
+        private final Map<Application, Node> nodes = new HashMap<>();
+        private final ArrayDeque<Node> pending = new ArrayDeque<>();
+        private int inFlight;
+
+        private Expansion(LinkSelectContext linkSelectContext, int maxDepth) {
+            this.depthContexts = new ArrayList<>(maxDepth);
+            LinkSelectContext context = linkSelectContext;
+            for (int depth = 0; depth < maxDepth; depth++) {
+                this.depthContexts.add(context);
+                context = context.advance();
+            }
+        }
+
+        private LinkDataDuplexMap expand(List<Application> sourceApplications) {
+            offer(sourceApplications, 0);
+            dispatch();
+            done.join();
+
+            final LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
+            for (LinkDataDuplexMap result : results) {
+                linkDataDuplexMap.addLinkDataDuplexMap(result);
+            }
+            return linkDataDuplexMap;
+        }
+
+        private int nodeCount() {
+            synchronized (lock) {
+                return nodes.size();
+            }
+        }
+
+        private void offer(List<Application> applications, int depth) {
+            synchronized (lock) {
+                for (Application application : applications) {
+                    final Node node = nodes.computeIfAbsent(application, Node::new);
+                    if (depth >= node.depth) {
+                        continue;
+                    }
+                    node.depth = depth;
+                    if (depth >= depthContexts.size()) {
+                        // out of depth in both directions
+                        continue;
+                    }
+                    if (node.running) {
+                        node.rerun = true;
+                    } else {
+                        node.running = true;
+                        pending.addLast(node);
+                    }
+                }
+            }
+        }
+
+        private void dispatch() {
+            while (true) {
+                final Node node;
+                synchronized (lock) {
+                    if (done.isDone()) {
+                        return;
+                    }
+                    if (inFlight >= maxConcurrency) {
+                        return;
+                    }
+                    node = pending.pollFirst();
+                    if (node == null) {
+                        if (inFlight == 0) {
+                            done.complete(null);
+                        }
+                        return;
+                    }
+                    inFlight++;
+                }
+
+                try {
+                    executor.execute(() -> run(node));
+                } catch (Throwable th) {
+                    done.completeExceptionally(th);
+                    return;
+                }
+            }
+        }
+
+        private void run(Node node) {
+            try {
+                search(node);
+            } catch (Throwable th) {
+                done.completeExceptionally(th);
+            } finally {
+                synchronized (lock) {
+                    inFlight--;
+                }
+                dispatch();
+            }
+        }
+
+        private void search(Node node) {
+            while (true) {
+                final int depth;
+                synchronized (lock) {
+                    depth = node.depth;
+                }
+                final LinkSelectContext context = depthContexts.get(depth).fork();
+                final LinkDataDuplexMap result = applicationMapCreator.createMap(node.application, context);
+                if (result.size() > 0) {
+                    results.add(result);
+                }
+
+                final List<Application> nextApplications = filterApplications(context.getNextApplications());
+                final List<Application> neighbours;
+                synchronized (lock) {
+                    node.neighbours.addAll(nextApplications);
+                    neighbours = new ArrayList<>(node.neighbours);
+                }
+                offer(neighbours, depth + 1);
+
+                synchronized (lock) {
+                    if (!node.rerun) {
+                        node.running = false;
+                        return;
+                    }
+                    // found through a shorter path while searching
+                    node.rerun = false;
+                }
+            }
+        }
+    }
+
+    private static class Node {
+        private final Application application;
+        private final Set<Application> neighbours = new LinkedHashSet<>();
+
+        private int depth = Integer.MAX_VALUE;
+        private boolean running;
+        private boolean rerun;
+
+        private Node(Application application) {
+            this.application = application;
+        }
+    }
+}
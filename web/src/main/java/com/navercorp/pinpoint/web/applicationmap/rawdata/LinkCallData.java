@@ -16,14 +16,13 @@
 
 package com.navercorp.pinpoint.web.applicationmap.rawdata;
 
+import com.navercorp.pinpoint.web.applicationmap.histogram.ColumnarTimeHistogram;
 import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
 import com.navercorp.pinpoint.web.applicationmap.link.LinkKey;
 import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowFunction;
 import com.navercorp.pinpoint.web.vo.Application;
 
 import java.util.Collection;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 /**
@@ -36,7 +35,7 @@ public class LinkCallData {
 
     private final Application target;
 
-    private final Map<Long, TimeHistogram> targetHistogramTimeMap;
+    private final ColumnarTimeHistogram targetHistogram;
     private final TimeWindowFunction timeWindow;
 
     public LinkCallData(LinkKey linkKey) {
@@ -49,7 +48,7 @@ public class LinkCallData {
         this.source = linkKey.getFrom();
         this.target = linkKey.getTo();
 
-        this.targetHistogramTimeMap = new HashMap<>();
+        this.targetHistogram = new ColumnarTimeHistogram(target.getServiceType().getHistogramSchema());
         this.timeWindow = Objects.requireNonNull(timeWindow, "timeWindow");
     }
 
@@ -62,19 +61,24 @@ public class LinkCallData {
         return target;
     }
 
+    /**
+     * @return new TimeHistogram copies of the call data
+     */
     public Collection<TimeHistogram> getTimeHistogram() {
-        return targetHistogramTimeMap.values();
+        return targetHistogram.toTimeHistograms();
+    }
+
+    public int getTimeHistogramCount() {
+        return targetHistogram.size();
     }
 
     public void addCallData(long timestamp, short slot, long count) {
-        TimeHistogram histogram = getTimeHistogram(timestamp);
-        histogram.addCallCount(slot, count);
+        targetHistogram.addCallCount(timeWindow.refineTimestamp(timestamp), slot, count);
     }
 
     public void addCallData(Collection<TimeHistogram> timeHistogramList) {
         for (TimeHistogram timeHistogram : timeHistogramList) {
-            TimeHistogram histogram = getTimeHistogram(timeHistogram.getTimeStamp());
-            histogram.add(timeHistogram);
+            targetHistogram.add(timeWindow.refineTimestamp(timeHistogram.getTimeStamp()), timeHistogram);
         }
     }
 
@@ -88,29 +92,11 @@ public class LinkCallData {
             throw new IllegalArgumentException("target not equals");
         }
 
-        for (Map.Entry<Long, TimeHistogram> copyEntry : copyLinkCallData.targetHistogramTimeMap.entrySet()) {
-            final Long timeStamp = copyEntry.getKey();
-            TimeHistogram histogram = getTimeHistogram(timeStamp);
-            histogram.add(copyEntry.getValue());
-        }
-    }
-
-    private TimeHistogram getTimeHistogram(final Long timeStamp) {
-        final Long refineTimestamp = timeWindow.refineTimestamp(timeStamp);
-        TimeHistogram histogram = targetHistogramTimeMap.get(refineTimestamp);
-        if (histogram == null) {
-            histogram = new TimeHistogram(target.getServiceType(), refineTimestamp);
-            targetHistogramTimeMap.put(refineTimestamp, histogram);
-        }
-        return histogram;
+        targetHistogram.add(copyLinkCallData.targetHistogram, timeWindow);
     }
 
     public long getTotalCount() {
-        long totalCount = 0;
-        for (TimeHistogram timeHistogram : targetHistogramTimeMap.values()) {
-            totalCount += timeHistogram.getTotalCount();
-        }
-        return totalCount;
+        return targetHistogram.getTotalCount();
     }
 
     @Override
@@ -17,7 +17,6 @@
 
 package com.navercorp.pinpoint.web.applicationmap.service;
 
-import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
 import com.navercorp.pinpoint.common.profiler.util.TransactionId;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.util.time.Range;
@@ -33,6 +32,7 @@ import com.navercorp.pinpoint.web.applicationmap.appender.server.DefaultServerGr
 import com.navercorp.pinpoint.web.applicationmap.appender.server.StatisticsServerGroupListFactory;
 import com.navercorp.pinpoint.web.applicationmap.appender.server.datasource.ServerGroupListDataSource;
 import com.navercorp.pinpoint.web.applicationmap.map.FilteredMap;
+import com.navercorp.pinpoint.web.applicationmap.map.FilteredMapAggregator;
 import com.navercorp.pinpoint.web.applicationmap.map.FilteredMapBuilder;
 import com.navercorp.pinpoint.web.component.ApplicationFactory;
 import com.navercorp.pinpoint.web.dao.ApplicationTraceIndexDao;
@@ -45,6 +45,7 @@ import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
@@ -56,6 +57,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.Executor;
 
 /**
  * @author netspider
@@ -81,18 +83,26 @@ public class FilteredMapServiceImpl implements FilteredMapService {
 
     private final ApplicationMapBuilderFactory applicationMapBuilderFactory;
 
+    private final Executor aggregateExecutor;
+
     private static final Object V = new Object();
 
+    private static final int AGGREGATE_BATCH_SIZE = 100;
+
     @Value("${web.servermap.build.timeout:600000}")
     private long buildTimeoutMillis;
 
+    @Value("${web.servermap.filtered.aggregate.max-concurrency:0}")
+    private int aggregateMaxConcurrency;
+
     public FilteredMapServiceImpl(TraceDao traceDao,
                                   ApplicationTraceIndexDao applicationTraceIndexDao,
                                   ServiceTypeRegistryService registry,
                                   ApplicationFactory applicationFactory,
                                   ServerInstanceDatasourceService serverInstanceDatasourceService,
                                   Optional<ServerMapDataFilter> serverMapDataFilter,
-                                  ApplicationMapBuilderFactory applicationMapBuilderFactory) {
+                                  ApplicationMapBuilderFactory applicationMapBuilderFactory,
+                                  @Qualifier("applicationsMapCreateExecutor") Executor aggregateExecutor) {
         this.traceDao = Objects.requireNonNull(traceDao, "traceDao");
         this.applicationTraceIndexDao = Objects.requireNonNull(applicationTraceIndexDao, "applicationTraceIndexDao");
         this.registry = Objects.requireNonNull(registry, "registry");
@@ -100,6 +110,7 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         this.serverInstanceDatasourceService = Objects.requireNonNull(serverInstanceDatasourceService, "serverInstanceDatasourceService");
         this.serverMapDataFilter = Objects.requireNonNull(serverMapDataFilter, "serverMapDataFilter").orElse(null);
         this.applicationMapBuilderFactory = Objects.requireNonNull(applicationMapBuilderFactory, "applicationMapBuilderFactory");
+        this.aggregateExecutor = Objects.requireNonNull(aggregateExecutor, "aggregateExecutor");
     }
 
     @Override
@@ -119,22 +130,8 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return this.applicationTraceIndexDao.scanTraceIndex(applicationName, range, limit, backwardDirection);
     }
 
-    private List<List<SpanBo>> filterList2(List<List<SpanBo>> transactionList, Filter<List<SpanBo>> filter) {
-        final List<List<SpanBo>> filteredResult = new ArrayList<>();
-        for (List<SpanBo> transaction : transactionList) {
-            if (filter.include(transaction)) {
-                filteredResult.add(transaction);
-            }
-        }
-        return filteredResult;
-    }
-
     public ApplicationMap selectApplicationMap(FilteredMapServiceOption option) {
-        final List<List<SpanBo>> filterList = selectFilteredSpan(option.getTransactionIdList(), option.getFilter(), option.getColumnGetCount());
-        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
-        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
-        FilteredMap filteredMap = filteredMapBuilder.build();
+        FilteredMap filteredMap = selectFilteredMap(option);
 
         return createMap(option, filteredMap);
     }
@@ -143,11 +140,7 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(option.getTransactionIdList(), option.getFilter(), option.getColumnGetCount());
-        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
-        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
-        filteredMapBuilder.addTransactions(filterList);
-        FilteredMap filteredMap = filteredMapBuilder.build();
+        FilteredMap filteredMap = selectFilteredMap(option);
 
         ApplicationMap map = createMap(option, filteredMap);
 
@@ -160,15 +153,23 @@ public class FilteredMapServiceImpl implements FilteredMapService {
     }
 
 
-    private List<List<SpanBo>> selectFilteredSpan(List<TransactionId> transactionIdList, Filter<List<SpanBo>> filter, ColumnGetCount columnGetCount) {
+    private FilteredMap selectFilteredMap(FilteredMapServiceOption option) {
+        FilteredMapBuilder filteredMapBuilder = new FilteredMapBuilder(applicationFactory, registry, option.getOriginalRange(), option.getVersion());
+        filteredMapBuilder.serverMapDataFilter(serverMapDataFilter);
+        FilteredMapAggregator aggregator = new FilteredMapAggregator(filteredMapBuilder, aggregateExecutor, aggregateMaxConcurrency, AGGREGATE_BATCH_SIZE);
+
         // filters out recursive calls by looking at each objects
         // do not filter here if we change to a tree-based collision check in the future.
-        final List<TransactionId> recursiveFilterList = recursiveCallFilter(transactionIdList);
-
-        // FIXME might be better to simply traverse the List<Span> and create a process chain for execution
-        final List<List<SpanBo>> originalList = this.traceDao.selectAllSpans(recursiveFilterList, columnGetCount);
+        final List<TransactionId> recursiveFilterList = recursiveCallFilter(option.getTransactionIdList());
 
-        return filterList2(originalList, filter);
+        // transactions are filtered and aggregated as they arrive, none of them is kept
+        final Filter<List<SpanBo>> filter = option.getFilter();
+        this.traceDao.selectAllSpans(recursiveFilterList, option.getColumnGetCount(), transaction -> {
+            if (filter.include(transaction)) {
+                aggregator.addTransaction(transaction);
+            }
+        });
+        return aggregator.build();
     }
 
     private ApplicationMap createMap(FilteredMapServiceOption option, FilteredMap filteredMap) {
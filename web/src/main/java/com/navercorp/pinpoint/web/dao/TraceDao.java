@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.web.service.FetchResult;
 import com.navercorp.pinpoint.web.vo.GetTraceInfo;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * @author emeroad
@@ -40,5 +41,11 @@ public interface TraceDao {
 
     List<List<SpanBo>> selectAllSpans(List<TransactionId> transactionIdList, ColumnGetCount columnGetCount);
 
+    /**
+     * Hands each transaction to the consumer as soon as it is fetched, instead of returning all of them at once.
+     * The consumer is called on the calling thread. The order of the transactions is not preserved.
+     */
+    void selectAllSpans(List<TransactionId> transactionIdList, ColumnGetCount columnGetCount, Consumer<List<SpanBo>> transactionConsumer);
+
 
 }
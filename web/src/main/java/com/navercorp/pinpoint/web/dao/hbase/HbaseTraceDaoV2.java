@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.web.dao.hbase;
 import com.navercorp.pinpoint.common.hbase.HbaseColumnFamily;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.common.hbase.TableCallback;
 import com.navercorp.pinpoint.common.hbase.TableNameProvider;
 import com.navercorp.pinpoint.common.hbase.bo.ColumnGetCount;
 import com.navercorp.pinpoint.common.hbase.rowmapper.RequestAwareDynamicRowMapper;
@@ -39,6 +40,8 @@ import org.apache.commons.collections4.ListUtils;
 import org.apache.hadoop.hbase.CompareOperator;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Table;
 import org.apache.hadoop.hbase.filter.BinaryPrefixComparator;
 import org.apache.hadoop.hbase.filter.ByteArrayComparable;
 import org.apache.hadoop.hbase.filter.Filter;
@@ -53,6 +56,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -73,12 +78,17 @@ public class HbaseTraceDaoV2 implements TraceDao {
 
     private final SpanMapperFactory spanMapperFactory;
 
+    private final Executor selectExecutor;
+
     @Value("${web.hbase.selectSpans.limit:500}")
     private int selectSpansLimit;
 
     @Value("${web.hbase.selectAllSpans.limit:500}")
     private int selectAllSpansLimit;
 
+    @Value("${web.hbase.selectAllSpans.max-concurrency:1}")
+    private int selectAllSpansMaxConcurrency;
+
     @Value("${web.hbase.trace.max.results.limit:50000}")
     private int traceMaxResultsPerColumnFamily;
 
@@ -87,11 +97,13 @@ public class HbaseTraceDaoV2 implements TraceDao {
     public HbaseTraceDaoV2(HbaseOperations template2,
                            TableNameProvider tableNameProvider,
                            @Qualifier("traceRowKeyEncoderV2") RowKeyEncoder<TransactionId> rowKeyEncoder,
-                           SpanMapperFactory spanMapperFactory) {
+                           SpanMapperFactory spanMapperFactory,
+                           @Qualifier("traceSelectExecutor") Executor selectExecutor) {
         this.template2 = Objects.requireNonNull(template2, "template2");
         this.tableNameProvider = Objects.requireNonNull(tableNameProvider, "tableNameProvider");
         this.rowKeyEncoder = Objects.requireNonNull(rowKeyEncoder, "rowKeyEncoder");
         this.spanMapperFactory = Objects.requireNonNull(spanMapperFactory, "spanMapperFactory");
+        this.selectExecutor = Objects.requireNonNull(selectExecutor, "selectExecutor");
     }
 
     @Override
@@ -167,6 +179,50 @@ public class HbaseTraceDaoV2 implements TraceDao {
         return partitionSelect(partitionGetTraceInfoList, DESCRIPTOR.getName(), filter);
     }
 
+    @Override
+    public void selectAllSpans(List<TransactionId> transactionIdList, ColumnGetCount columnGetCount, Consumer<List<SpanBo>> transactionConsumer) {
+        Objects.requireNonNull(transactionConsumer, "transactionConsumer");
+        if (CollectionUtils.isEmpty(transactionIdList)) {
+            return;
+        }
+        final Filter filter = ColumnGetCount.toFilter(columnGetCount);
+
+        final List<SpanQuery> spanQueryList = transactionIdList.stream()
+                .map(SpanQuery::new)
+                .collect(Collectors.toList());
+        // the chunks are fetched in request order unless they run in parallel
+        final List<Object> locations = selectAllSpansMaxConcurrency > 1 ? locate(spanQueryList) : null;
+
+        final ParallelMultiGet multiGet = new ParallelMultiGet(selectExecutor, selectAllSpansLimit, selectAllSpansMaxConcurrency);
+        multiGet.select(spanQueryList, locations,
+                chunk -> bulkSelect(chunk, DESCRIPTOR.getName(), filter), transactionConsumer);
+    }
+
+    /**
+     * @return region server of each query, or null if the regions can not be located
+     */
+    private List<Object> locate(List<SpanQuery> spanQueryList) {
+        final TableName traceTableName = tableNameProvider.getTableName(DESCRIPTOR.getTable());
+        try {
+            return template2.execute(traceTableName, new TableCallback<>() {
+                @Override
+                public List<Object> doInTable(Table table) throws Throwable {
+                    try (RegionLocator regionLocator = table.getRegionLocator()) {
+                        final List<Object> locations = new ArrayList<>(spanQueryList.size());
+                        for (SpanQuery spanQuery : spanQueryList) {
+                            final byte[] rowKey = rowKeyEncoder.encodeRowKey(spanQuery.getTransactionId());
+                            locations.add(regionLocator.getRegionLocation(rowKey).getServerName());
+                        }
+                        return locations;
+                    }
+                }
+            });
+        } catch (Exception e) {
+            logger.info("Failed to locate regions of {}, chunks are not grouped by region server. message:{}", traceTableName, e.getMessage());
+            return null;
+        }
+    }
+
     private List<List<SpanQuery>> partition(List<SpanQuery> getTraceInfoList, int maxTransactionIdListSize) {
         return ListUtils.partition(getTraceInfoList, maxTransactionIdListSize);
     }
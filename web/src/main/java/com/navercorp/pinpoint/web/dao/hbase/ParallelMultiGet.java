@@ -0,0 +1,171 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import com.navercorp.pinpoint.common.hbase.HbaseSystemException;
+import org.apache.commons.collections4.ListUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Splits a multi get into chunks of one region server each and runs up to {@code maxConcurrency} chunks at a time.
+ * <p>
+ * A slow region server then delays only its own chunks, and the results of a chunk are handed to the consumer
+ * as soon as it completes, so the caller does not hold the results of every chunk at once.
+ * A completed chunk is not referenced after its results are consumed.
+ * The consumer is always called on the calling thread, in completion order.
+ */
+class ParallelMultiGet {
+
+    private final Executor executor;
+    private final int chunkSize;
+    private final int maxConcurrency;
+
+    ParallelMultiGet(Executor executor, int chunkSize, int maxConcurrency) {
+        this.executor = executor;
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive:" + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * @param requests     requests of the multi get
+     * @param locations    location (region server) of each request, or null if unknown
+     * @param chunkSelector runs the multi get of a chunk
+     * @param consumer     receives every result
+     */
+    <R, T> void select(List<R> requests, List<?> locations,
+                       Function<List<R>, List<T>> chunkSelector, Consumer<T> consumer) {
+        Objects.requireNonNull(requests, "requests");
+        Objects.requireNonNull(chunkSelector, "chunkSelector");
+        Objects.requireNonNull(consumer, "consumer");
+
+        final List<List<R>> chunks = chunk(requests, locations, chunkSize);
+        if (executor == null || maxConcurrency <= 1 || chunks.size() <= 1) {
+            for (List<R> chunk : chunks) {
+                chunkSelector.apply(chunk).forEach(consumer);
+            }
+            return;
+        }
+
+        final CompletionService<List<T>> completionService = new ExecutorCompletionService<>(executor);
+        // pending chunks only, a taken future holds the results of its chunk
+        final Set<Future<List<T>>> futures = new HashSet<>();
+        final Iterator<List<R>> iterator = chunks.iterator();
+        int inFlight = 0;
+        try {
+            while (inFlight < maxConcurrency && iterator.hasNext()) {
+                if (submit(completionService, futures, chunkSelector, iterator.next(), consumer)) {
+                    inFlight++;
+                }
+            }
+            while (inFlight > 0) {
+                final Future<List<T>> future = completionService.take();
+                futures.remove(future);
+                inFlight--;
+                // a rejected chunk is selected inline without taking a slot, so refill until a chunk is submitted or none is left
+                while (inFlight < maxConcurrency && iterator.hasNext()) {
+                    if (submit(completionService, futures, chunkSelector, iterator.next(), consumer)) {
+                        inFlight++;
+                    }
+                }
+                future.get().forEach(consumer);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new HbaseSystemException(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new HbaseSystemException(cause);
+        } finally {
+            for (Future<List<T>> future : futures) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * @return false if the executor is exhausted and the chunk was selected on the calling thread
+     */
+    private <R, T> boolean submit(CompletionService<List<T>> completionService, Set<Future<List<T>>> futures,
+                                  Function<List<R>, List<T>> chunkSelector, List<R> chunk, Consumer<T> consumer) {
+        try {
+            futures.add(completionService.submit(() -> chunkSelector.apply(chunk)));
+            return true;
+        } catch (RejectedExecutionException e) {
+            chunkSelector.apply(chunk).forEach(consumer);
+            return false;
+        }
+    }
+
+    /**
+     * Groups the requests by location and splits each group into chunks of at most chunkSize.
+     * Chunks of the locations are interleaved, so concurrent chunks go to different region servers.
+     */
+    static <R> List<List<R>> chunk(List<R> requests, List<?> locations, int chunkSize) {
+        if (locations == null) {
+            return ListUtils.partition(requests, chunkSize);
+        }
+        if (requests.size() != locations.size()) {
+            throw new IllegalArgumentException("requests and locations size not equals");
+        }
+
+        final Map<Object, List<R>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            groups.computeIfAbsent(locations.get(i), k -> new ArrayList<>()).add(requests.get(i));
+        }
+
+        final List<Iterator<List<R>>> groupChunks = new ArrayList<>(groups.size());
+        for (List<R> group : groups.values()) {
+            groupChunks.add(ListUtils.partition(group, chunkSize).iterator());
+        }
+
+        final List<List<R>> chunks = new ArrayList<>();
+        boolean remaining = true;
+        while (remaining) {
+            remaining = false;
+            for (Iterator<List<R>> iterator : groupChunks) {
+                if (iterator.hasNext()) {
+                    chunks.add(iterator.next());
+                    remaining = true;
+                }
+            }
+        }
+        return chunks;
+    }
+}
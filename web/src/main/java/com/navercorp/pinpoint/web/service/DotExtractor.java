@@ -56,6 +56,14 @@ public class DotExtractor {
         logger.trace("Application:{} Dot:{}", application, dot);
     }
 
+    public void merge(DotExtractor dotExtractor) {
+        Objects.requireNonNull(dotExtractor, "dotExtractor");
+
+        for (Map.Entry<Application, List<Dot>> entry : dotExtractor.dotMap.entrySet()) {
+            getDotList(entry.getKey()).addAll(entry.getValue());
+        }
+    }
+
     public Dot newDot(SpanBo span) {
         Objects.requireNonNull(span, "span");
 
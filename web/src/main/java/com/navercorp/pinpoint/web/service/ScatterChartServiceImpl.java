@@ -68,13 +68,11 @@ public class ScatterChartServiceImpl implements ScatterChartService {
         Objects.requireNonNull(applicationName, "applicationName");
         Objects.requireNonNull(filter, "filter");
 
-        final List<List<SpanBo>> traceList = traceDao.selectAllSpans(transactionIdList);
-
         final List<Dot> result = new ArrayList<>();
 
-        for (List<SpanBo> trace : traceList) {
+        traceDao.selectAllSpans(transactionIdList, null, trace -> {
             if (!filter.include(trace)) {
-                continue;
+                return;
             }
 
             for (SpanBo span : trace) {
@@ -84,7 +82,7 @@ public class ScatterChartServiceImpl implements ScatterChartService {
                     result.add(dot);
                 }
             }
-        }
+        });
 
         return result;
     }
@@ -126,15 +124,17 @@ public class ScatterChartServiceImpl implements ScatterChartService {
         Objects.requireNonNull(applicationName, "applicationName");
         Objects.requireNonNull(filter, "filter");
 
-        final List<List<SpanBo>> traceList = traceDao.selectAllSpans(transactionIdList);
+        // filters out the transactions as they arrive, the filter does not look at agent names
+        final List<List<SpanBo>> traceList = new ArrayList<>();
+        traceDao.selectAllSpans(transactionIdList, null, trace -> {
+            if (filter.include(trace)) {
+                traceList.add(trace);
+            }
+        });
         populateAgentNameListOfList(traceList);
 
         ScatterDataBuilder scatterData = new ScatterDataBuilder(range.getFrom(), range.getTo(), xGroupUnit, yGroupUnit);
         for (List<SpanBo> trace : traceList) {
-            if (!filter.include(trace)) {
-                continue;
-            }
-
             for (SpanBo span : trace) {
                 if (applicationName.equals(span.getApplicationId())) {
                     final TransactionId transactionId = span.getTransactionId();
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.dao.cache;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindow;
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowDownSampler;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.link.LinkDirection;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LinkDataMapSlotCacheTest {
+
+    private static final long ONE_MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long SLOT_SIZE = TimeUnit.MINUTES.toMillis(5);
+    // aligned to the slot size
+    private static final long BASE = 5_666_667 * SLOT_SIZE;
+    private static final long NOW = BASE + 20 * ONE_MINUTE + 30_000;
+
+    private final Application application = new Application("app", ServiceType.STAND_ALONE);
+    private final Application destination = new Application("dest", ServiceType.STAND_ALONE);
+
+    private final List<Range> scanned = new ArrayList<>();
+
+    @Test
+    void closedSlotsAreCached() {
+        LinkDataMapSlotCache cache = newCache(12);
+        Range range = Range.between(BASE + 2 * ONE_MINUTE, NOW);
+
+        LinkDataMap first = cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+        assertThat(first.getTotalCount()).isEqualTo(19);
+        assertThat(scanned).containsExactly(
+                Range.between(BASE + 2 * ONE_MINUTE, BASE + 5 * ONE_MINUTE - 1),
+                Range.between(BASE + 5 * ONE_MINUTE, BASE + 10 * ONE_MINUTE - 1),
+                Range.between(BASE + 10 * ONE_MINUTE, BASE + 15 * ONE_MINUTE - 1),
+                Range.between(BASE + 15 * ONE_MINUTE, NOW));
+
+        scanned.clear();
+        LinkDataMap second = cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+        assertThat(second.getTotalCount()).isEqualTo(19);
+        assertThat(scanned).containsExactly(
+                Range.between(BASE + 2 * ONE_MINUTE, BASE + 5 * ONE_MINUTE - 1),
+                Range.between(BASE + 15 * ONE_MINUTE, NOW));
+    }
+
+    @Test
+    void sameResultAsFullScan() {
+        LinkDataMapSlotCache cache = newCache(12);
+        Range range = Range.between(BASE + 2 * ONE_MINUTE, NOW);
+
+        LinkDataMap expected = scan(range);
+        LinkDataMap cached = cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+        // the cached slots are not modified by the merge
+        cached = cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+
+        assertThat(cached.size()).isEqualTo(expected.size());
+        assertThat(cached.getTotalCount()).isEqualTo(expected.getTotalCount());
+        assertThat(histogramCount(cached)).isEqualTo(histogramCount(expected));
+    }
+
+    @Test
+    void keyedByDirection() {
+        LinkDataMapSlotCache cache = newCache(12);
+        Range range = Range.between(BASE, BASE + 10 * ONE_MINUTE - 1);
+
+        cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+        cache.select(LinkDirection.IN_LINK, application, range, false, this::scan);
+        cache.select(LinkDirection.OUT_LINK, application, range, true, this::scan);
+        assertThat(scanned).hasSize(6);
+
+        scanned.clear();
+        cache.select(LinkDirection.IN_LINK, application, range, false, this::scan);
+        assertThat(scanned).isEmpty();
+    }
+
+    @Test
+    void openRangeIsNotCached() {
+        LinkDataMapSlotCache cache = newCache(12);
+        Range range = Range.between(BASE + 16 * ONE_MINUTE, NOW);
+
+        cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+        cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+        assertThat(scanned).containsExactly(range, range);
+    }
+
+    @Test
+    void tooManySlots() {
+        LinkDataMapSlotCache cache = newCache(1);
+        Range range = Range.between(BASE, NOW);
+
+        LinkDataMap linkDataMap = cache.select(LinkDirection.OUT_LINK, application, range, false, this::scan);
+        assertThat(linkDataMap.getTotalCount()).isEqualTo(21);
+        assertThat(scanned).containsExactly(range);
+    }
+
+    private LinkDataMapSlotCache newCache(int maxSlots) {
+        Clock clock = Clock.fixed(Instant.ofEpochMilli(NOW), ZoneOffset.UTC);
+        return new LinkDataMapSlotCache(Duration.ofMillis(SLOT_SIZE), Duration.ofMinutes(3), maxSlots,
+                10_000, Duration.ofHours(1), clock);
+    }
+
+    /**
+     * one call per minute, like the statistics rows of the range
+     */
+    private LinkDataMap scan(Range range) {
+        scanned.add(range);
+        LinkDataMap linkDataMap = new LinkDataMap(new TimeWindow(range, TimeWindowDownSampler.SAMPLER));
+        long from = range.getFrom() / ONE_MINUTE * ONE_MINUTE;
+        for (long minute = from; minute <= range.getTo(); minute += ONE_MINUTE) {
+            linkDataMap.addLinkData(application, "agent", destination, "dest-agent", minute, (short) 100, 1);
+        }
+        return linkDataMap;
+    }
+
+    private static int histogramCount(LinkDataMap linkDataMap) {
+        return linkDataMap.getLinkDataList().stream()
+                .flatMap(linkData -> linkData.getLinkCallDataMap().getLinkDataList().stream())
+                .mapToInt(linkCallData -> linkCallData.getTimeHistogram().size())
+                .sum();
+    }
+}
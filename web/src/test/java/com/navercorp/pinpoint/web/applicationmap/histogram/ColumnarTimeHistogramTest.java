@@ -0,0 +1,151 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.server.util.timewindow.TimeWindowFunction;
+import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.common.trace.HistogramSlot;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ColumnarTimeHistogramTest {
+
+    private final HistogramSchema schema = BaseHistogramSchema.NORMAL_SCHEMA;
+
+    private final HistogramSlot[] slots = {
+            schema.getFastSlot(), schema.getNormalSlot(), schema.getSlowSlot(), schema.getVerySlowSlot(),
+            schema.getErrorSlot(), schema.getFastErrorSlot(), schema.getNormalErrorSlot(),
+            schema.getSlowErrorSlot(), schema.getVerySlowErrorSlot(),
+            schema.getSumStatSlot(), schema.getMaxStatSlot(), schema.getPingSlot()
+    };
+
+    @Test
+    void addCallCount() {
+        ColumnarTimeHistogram columnar = new ColumnarTimeHistogram(schema);
+        Map<Long, TimeHistogram> expected = new HashMap<>();
+
+        Random random = new Random(10);
+        for (int i = 0; i < 5000; i++) {
+            // enough timestamps to switch to the hash table
+            long timestamp = 60_000L * random.nextInt(100);
+            short slotTime = slots[random.nextInt(slots.length)].getSlotTime();
+            long count = random.nextInt(1000);
+
+            columnar.addCallCount(timestamp, slotTime, count);
+            expected.computeIfAbsent(timestamp, t -> new TimeHistogram(schema, t)).addCallCount(slotTime, count);
+        }
+
+        assertThat(columnar.size()).isEqualTo(expected.size());
+        assertEquals(expected, columnar);
+        assertThat(columnar.getTotalCount()).isEqualTo(totalCount(expected));
+    }
+
+    @Test
+    void unknownSlot() {
+        ColumnarTimeHistogram columnar = new ColumnarTimeHistogram(schema);
+        columnar.addCallCount(1000, (short) 12345, 1);
+
+        assertThat(columnar.size()).isEqualTo(1);
+        assertThat(columnar.getTotalCount()).isZero();
+    }
+
+    @Test
+    void addTimeHistogram() {
+        TimeHistogram histogram = new TimeHistogram(schema, 1000);
+        for (HistogramSlot slot : slots) {
+            histogram.addCallCount(slot.getSlotTime(), 3);
+        }
+
+        ColumnarTimeHistogram columnar = new ColumnarTimeHistogram(schema);
+        columnar.add(1000, histogram);
+        columnar.add(1000, histogram);
+
+        TimeHistogram expected = new TimeHistogram(schema, 1000);
+        expected.add(histogram);
+        expected.add(histogram);
+
+        List<TimeHistogram> actual = columnar.toTimeHistograms();
+        assertThat(actual).hasSize(1);
+        assertEquals(expected, actual.get(0));
+        assertThat(actual.get(0).getMaxElapsed()).isEqualTo(3);
+    }
+
+    @Test
+    void addColumnar() {
+        ColumnarTimeHistogram source = new ColumnarTimeHistogram(schema);
+        Map<Long, TimeHistogram> expected = new HashMap<>();
+        TimeWindowFunction fiveMinutes = timestamp -> timestamp - (timestamp % 300_000);
+
+        for (int i = 0; i < 60; i++) {
+            long timestamp = 60_000L * i;
+            short slotTime = slots[i % slots.length].getSlotTime();
+            source.addCallCount(timestamp, slotTime, i);
+
+            TimeHistogram histogram = new TimeHistogram(schema, timestamp);
+            histogram.addCallCount(slotTime, i);
+            expected.computeIfAbsent(fiveMinutes.refineTimestamp(timestamp), t -> new TimeHistogram(schema, t)).add(histogram);
+        }
+
+        ColumnarTimeHistogram target = new ColumnarTimeHistogram(schema);
+        target.add(source, fiveMinutes);
+
+        assertThat(target.size()).isEqualTo(12);
+        assertEquals(expected, target);
+    }
+
+    @Test
+    void schemaMismatch() {
+        ColumnarTimeHistogram columnar = new ColumnarTimeHistogram(schema);
+        TimeHistogram histogram = new TimeHistogram(BaseHistogramSchema.FAST_SCHEMA, 1000);
+
+        assertThatThrownBy(() -> columnar.add(1000, histogram)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void assertEquals(Map<Long, TimeHistogram> expected, ColumnarTimeHistogram columnar) {
+        List<TimeHistogram> actual = columnar.toTimeHistograms();
+        actual.sort(Comparator.comparingLong(TimeHistogram::getTimeStamp));
+        assertThat(actual).hasSize(expected.size());
+        for (TimeHistogram histogram : actual) {
+            assertEquals(expected.get(histogram.getTimeStamp()), histogram);
+        }
+    }
+
+    private void assertEquals(TimeHistogram expected, TimeHistogram actual) {
+        assertThat(actual.getTimeStamp()).isEqualTo(expected.getTimeStamp());
+        for (HistogramSlot slot : slots) {
+            assertThat(actual.getCount(slot.getSlotType())).isEqualTo(expected.getCount(slot.getSlotType()));
+        }
+    }
+
+    private long totalCount(Map<Long, TimeHistogram> histograms) {
+        long totalCount = 0;
+        for (TimeHistogram histogram : histograms.values()) {
+            totalCount += histogram.getTotalCount();
+        }
+        return totalCount;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.map;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.loader.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.web.TestTraceUtils;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.component.ApplicationFactory;
+import com.navercorp.pinpoint.web.component.DefaultApplicationFactory;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.ResponseTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FilteredMapAggregatorTest {
+
+    private static final int VERSION = 0;
+
+    private final ServiceTypeRegistryService registry = TestTraceUtils.mockServiceTypeRegistryService();
+
+    private final ApplicationFactory applicationFactory = new DefaultApplicationFactory(registry);
+
+    private final Range range = Range.between(1, 200000);
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void parallel() {
+        List<List<SpanBo>> transactions = newTransactions(1000);
+
+        FilteredMap expected = aggregate(transactions, 0);
+        FilteredMap actual = aggregate(transactions, 3);
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void sequential() {
+        List<List<SpanBo>> transactions = newTransactions(10);
+
+        FilteredMapBuilder builder = new FilteredMapBuilder(applicationFactory, registry, range, VERSION);
+        FilteredMap expected = builder.addTransactions(transactions).build();
+        FilteredMap actual = aggregate(transactions, 1);
+
+        assertEquals(expected, actual);
+    }
+
+    private FilteredMap aggregate(List<List<SpanBo>> transactions, int maxConcurrency) {
+        FilteredMapBuilder builder = new FilteredMapBuilder(applicationFactory, registry, range, VERSION);
+        FilteredMapAggregator aggregator = new FilteredMapAggregator(builder, executor, maxConcurrency, 7);
+        for (List<SpanBo> transaction : transactions) {
+            aggregator.addTransaction(transaction);
+        }
+        return aggregator.build();
+    }
+
+    private void assertEquals(FilteredMap expected, FilteredMap actual) {
+        LinkDataDuplexMap expectedLinks = expected.getLinkDataDuplexMap();
+        LinkDataDuplexMap actualLinks = actual.getLinkDataDuplexMap();
+        assertThat(actualLinks.size()).isEqualTo(expectedLinks.size());
+        assertThat(actualLinks.getSourceLinkDataMap().getTotalCount()).isEqualTo(expectedLinks.getSourceLinkDataMap().getTotalCount());
+        assertThat(actualLinks.getTargetLinkDataMap().getTotalCount()).isEqualTo(expectedLinks.getTargetLinkDataMap().getTotalCount());
+
+        for (String applicationName : List.of("ROOT_APP", "APP_A")) {
+            Application application = new Application(applicationName, registry.findServiceType(TestTraceUtils.TEST_STAND_ALONE_TYPE_CODE));
+            assertThat(totalCount(actual.getResponseHistograms().getResponseTimeList(application)))
+                    .isEqualTo(totalCount(expected.getResponseHistograms().getResponseTimeList(application)));
+        }
+
+        assertThat(dotCount(actual)).isEqualTo(dotCount(expected));
+    }
+
+    private long totalCount(List<ResponseTime> responseTimes) {
+        long totalCount = 0;
+        for (ResponseTime responseTime : responseTimes) {
+            totalCount += responseTime.getApplicationResponseHistogram().getTotalCount();
+        }
+        return totalCount;
+    }
+
+    private long dotCount(FilteredMap filteredMap) {
+        return filteredMap.getApplicationScatterScanResult(range.getFrom(), range.getTo()).stream()
+                .flatMap(result -> result.getScatterScanResult().getScatter().values().stream())
+                .mapToLong(List::size)
+                .sum();
+    }
+
+    /**
+     * USER -> ROOT_APP -> APP_A -> CACHE
+     */
+    private List<List<SpanBo>> newTransactions(int count) {
+        Random random = new Random(0);
+        List<List<SpanBo>> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            long startTime = 1000L + random.nextInt(100000);
+            int elapsed = random.nextInt(5000);
+
+            SpanBo rootSpan = new TestTraceUtils.SpanBuilder("ROOT_APP", "root-agent")
+                    .spanId(random.nextLong())
+                    .startTime(startTime)
+                    .collectorAcceptTime(startTime + elapsed)
+                    .elapsed(elapsed)
+                    .build();
+            long appASpanId = random.nextLong();
+            SpanBo appASpan = new TestTraceUtils.SpanBuilder("APP_A", "app-a")
+                    .spanId(appASpanId)
+                    .parentSpan(rootSpan)
+                    .startTime(startTime + 10)
+                    .collectorAcceptTime(startTime + 10 + elapsed / 2)
+                    .elapsed(elapsed / 2)
+                    .build();
+            SpanEventBo rootRpcSpanEvent = new TestTraceUtils.RpcSpanEventBuilder("www.foo.com/bar", 10, elapsed - 10)
+                    .nextSpanId(appASpanId)
+                    .build();
+            rootSpan.addSpanEvent(rootRpcSpanEvent);
+            SpanEventBo appACacheSpanEvent = new TestTraceUtils.CacheSpanEventBuilder("CacheName", "1.1.1.1", 5, 5 + random.nextInt(100)).build();
+            appASpan.addSpanEvent(appACacheSpanEvent);
+
+            transactions.add(List.of(rootSpan, appASpan));
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.applicationmap.map;
+
+import com.navercorp.pinpoint.common.server.util.time.Range;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.applicationmap.link.LinkKey;
+import com.navercorp.pinpoint.web.applicationmap.map.processor.LinkDataMapProcessor;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataDuplexMap;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.applicationmap.service.LinkDataMapService;
+import com.navercorp.pinpoint.web.vo.Application;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the bidirectional tests on the pipelined search.
+ */
+public class PipelinedLinkSelectorTest extends BidirectionalLinkSelectorTest {
+
+    @Override
+    protected LinkSelectorFactory newLinkSelectorFactory(ApplicationsMapCreatorFactory applicationsMapCreatorFactory, Executor executor) {
+        return new LinkSelectorFactory(linkDataMapService, applicationsMapCreatorFactory, hostApplicationMapDao, Optional.empty(), () -> LinkDataMapProcessor.NO_OP,
+                executor, 2);
+    }
+
+    @Test
+    public void createPipelinedLinkSelector() {
+        assertThat(linkSelectorFactory.createLinkSelector(LinkSelectorType.BIDIRECTIONAL)).isInstanceOf(PipelinedLinkSelector.class);
+        assertThat(linkSelectorFactory.createLinkSelector(LinkSelectorType.UNIDIRECTIONAL)).isInstanceOf(UnidirectionalLinkSelector.class);
+    }
+
+    @Test
+    public void shorterPathFoundLater() throws Exception {
+        // SOURCE_1 -> APP_X -> APP_B -> APP_C
+        // SOURCE_2 (slow) -> APP_B
+        final Application SOURCE_1 = new Application("SOURCE_1", ServiceType.TEST_STAND_ALONE);
+        final Application SOURCE_2 = new Application("SOURCE_2", ServiceType.TEST_STAND_ALONE);
+        final Application APP_X = new Application("APP_X", ServiceType.TEST_STAND_ALONE);
+        final Application APP_B = new Application("APP_B", ServiceType.TEST_STAND_ALONE);
+        final Application APP_C = new Application("APP_C", ServiceType.TEST_STAND_ALONE);
+
+        final CountDownLatch appXScanned = new CountDownLatch(1);
+        LinkDataMapService service = new LinkDataMapService() {
+            @Override
+            public LinkDataMap selectCallerLinkDataMap(Application application, Range range, boolean timeAggregated) {
+                if (application.equals(SOURCE_1)) {
+                    return newLinkDataMap(SOURCE_1, APP_X);
+                }
+                if (application.equals(APP_X)) {
+                    appXScanned.countDown();
+                    return newLinkDataMap(APP_X, APP_B);
+                }
+                if (application.equals(SOURCE_2)) {
+                    await(appXScanned);
+                    return newLinkDataMap(SOURCE_2, APP_B);
+                }
+                if (application.equals(APP_B)) {
+                    return newLinkDataMap(APP_B, APP_C);
+                }
+                return newEmptyLinkDataMap();
+            }
+
+            @Override
+            public LinkDataMap selectCalleeLinkDataMap(Application application, Range range, boolean timeAggregated) {
+                return newEmptyLinkDataMap();
+            }
+        };
+        when(hostApplicationMapDao.findAcceptApplicationName(any(Application.class), any(Range.class))).thenReturn(Set.of());
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            LinkSelectorFactory factory = new LinkSelectorFactory(service, new ApplicationsMapCreatorFactory(executor), hostApplicationMapDao,
+                    Optional.empty(), () -> LinkDataMapProcessor.NO_OP, executor, 2);
+            LinkSelector linkSelector = factory.createLinkSelector(LinkSelectorType.BIDIRECTIONAL);
+            LinkDataDuplexMap linkData = linkSelector.select(List.of(SOURCE_1, SOURCE_2), range, 2, 0);
+
+            // APP_B is at depth 1 through SOURCE_2, even though it was found at depth 2 through APP_X first
+            assertThat(linkData.getSourceLinkData(new LinkKey(APP_B, APP_C))).isNotNull();
+            assertThat(linkData.getSourceLinkDataList()).hasSize(4);
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(3, TimeUnit.SECONDS);
+        }
+    }
+
+    private LinkDataMap newLinkDataMap(Application from, Application to) {
+        LinkDataMap linkDataMap = new LinkDataMap();
+        linkDataMap.addLinkData(from, "agent", to, "agent", 1000, ServiceType.TEST_STAND_ALONE.getHistogramSchema().getNormalSlot().getSlotTime(), 1);
+        return linkDataMap;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(3, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
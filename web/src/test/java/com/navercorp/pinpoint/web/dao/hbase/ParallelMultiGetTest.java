@@ -0,0 +1,158 @@
+/*
+ * Copyright 2024 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.dao.hbase;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ParallelMultiGetTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void chunkByLocation() {
+        List<Integer> requests = List.of(1, 2, 3, 4, 5, 6, 7);
+        List<String> locations = List.of("a", "b", "a", "a", "b", "c", "a");
+
+        List<List<Integer>> chunks = ParallelMultiGet.chunk(requests, locations, 2);
+
+        assertThat(chunks).containsExactly(List.of(1, 3), List.of(2, 5), List.of(6), List.of(4, 7));
+    }
+
+    @Test
+    void chunkWithoutLocation() {
+        List<List<Integer>> chunks = ParallelMultiGet.chunk(List.of(1, 2, 3), null, 2);
+
+        assertThat(chunks).containsExactly(List.of(1, 2), List.of(3));
+    }
+
+    @Test
+    void select() {
+        List<Integer> requests = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        List<Integer> locations = requests.stream().map(i -> i % 7).collect(Collectors.toList());
+
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        Thread caller = Thread.currentThread();
+        List<Integer> results = new ArrayList<>();
+
+        ParallelMultiGet multiGet = new ParallelMultiGet(executor, 10, 3);
+        multiGet.select(requests, locations, chunk -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                return chunk.stream().map(i -> i * 2).collect(Collectors.toList());
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }, result -> {
+            assertThat(Thread.currentThread()).isEqualTo(caller);
+            results.add(result);
+        });
+
+        assertThat(results).hasSize(requests.size());
+        assertThat(results).containsOnly(requests.stream().map(i -> i * 2).toArray());
+        assertThat(maxInFlight.get()).isLessThanOrEqualTo(3);
+    }
+
+    @Test
+    void rejected() {
+        // accepts the first chunks only, the rest is rejected
+        AtomicInteger accepted = new AtomicInteger();
+        Executor rejectingExecutor = command -> {
+            if (accepted.getAndIncrement() >= 2) {
+                throw new RejectedExecutionException("test");
+            }
+            executor.execute(command);
+        };
+        List<Integer> requests = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        List<Integer> results = new ArrayList<>();
+
+        ParallelMultiGet multiGet = new ParallelMultiGet(rejectingExecutor, 1, 2);
+        multiGet.select(requests, null, chunk -> chunk, results::add);
+
+        assertThat(results).containsExactlyInAnyOrderElementsOf(requests);
+    }
+
+    @Test
+    void completedChunkNotRetained() throws InterruptedException {
+        List<Integer> requests = IntStream.range(0, 10).boxed().collect(Collectors.toList());
+        List<WeakReference<List<Integer>>> chunkResults = new CopyOnWriteArrayList<>();
+        AtomicInteger consumed = new AtomicInteger();
+        AtomicInteger released = new AtomicInteger();
+
+        ParallelMultiGet multiGet = new ParallelMultiGet(executor, 1, 2);
+        multiGet.select(requests, null, chunk -> {
+            List<Integer> result = new ArrayList<>(chunk);
+            chunkResults.add(new WeakReference<>(result));
+            return result;
+        }, result -> {
+            if (consumed.incrementAndGet() < requests.size()) {
+                return;
+            }
+            // only the chunk being consumed is still referenced
+            for (int i = 0; i < 10 && released.get() < requests.size() - 1; i++) {
+                System.gc();
+                released.set((int) chunkResults.stream().filter(ref -> ref.get() == null).count());
+            }
+        });
+
+        assertThat(released.get()).isEqualTo(requests.size() - 1);
+    }
+
+    @Test
+    void sequential() {
+        List<Integer> results = new ArrayList<>();
+        ParallelMultiGet multiGet = new ParallelMultiGet(executor, 2, 1);
+        multiGet.select(List.of(1, 2, 3, 4, 5), null, chunk -> chunk, results::add);
+
+        assertThat(results).containsExactly(1, 2, 3, 4, 5);
+    }
+
+    @Test
+    void exception() {
+        ParallelMultiGet multiGet = new ParallelMultiGet(executor, 1, 4);
+
+        assertThatThrownBy(() -> multiGet.select(List.of(1, 2, 3, 4, 5), null, chunk -> {
+            if (chunk.contains(3)) {
+                throw new IllegalStateException("test");
+            }
+            return chunk;
+        }, result -> {
+        })).isInstanceOf(IllegalStateException.class);
+    }
+}